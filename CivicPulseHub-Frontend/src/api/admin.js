@@ -1,4 +1,5 @@
 import api from "./axios";
 
-export const fetchAdminComplaints = () =>
-  api.get("/api/admin/complaints");
+// Paged: response body is { content, page, size, totalElements, totalPages, last }
+export const fetchAdminComplaints = (params = { page: 0, size: 500 }) =>
+  api.get("/api/admin/complaints", { params });
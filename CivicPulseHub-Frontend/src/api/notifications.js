@@ -0,0 +1,11 @@
+import api from "./axios";
+
+// Inbox of the signed-in user (admins also get admin broadcasts).
+// Missed notifications themselves come back over STOMP, see hooks/notificationCursor.js
+
+// { unread, lastReadId, latestId }
+export const fetchUnreadCount = () => api.get("/api/notifications/unread-count");
+
+// upTo omitted marks everything read
+export const markNotificationsRead = (upTo) =>
+  api.post("/api/notifications/read", null, { params: { upTo } });
@@ -0,0 +1,73 @@
+// Highest notification id this browser has shown, per signed-in user.
+// Sent as the "since" header when (re)subscribing so only missed ones come back.
+
+const cursorKey = () => {
+  try {
+    const token = localStorage.getItem("token");
+    const { sub } = JSON.parse(atob(token.split(".")[1]));
+    return `notificationCursor:${sub}`;
+  } catch {
+    return "notificationCursor";
+  }
+};
+
+// Ids of live frames that arrived while catch-up was still paging. The cursor
+// only moves past them once everything older has been delivered.
+let catchingUp = false;
+const heldIds = new Set();
+
+const storeCursor = (id) => {
+  const key = cursorKey();
+  if (id > Number(localStorage.getItem(key) || 0)) {
+    localStorage.setItem(key, String(id));
+  }
+};
+
+export const advanceCursor = (id) => {
+  if (!id) return;
+  if (catchingUp) {
+    heldIds.add(id);
+    return;
+  }
+  storeCursor(id);
+};
+
+// Call from onConnect: delivers the notifications missed while offline, oldest
+// first, one page per subscription until the server reports none left
+export const subscribeCatchUp = (client, onNotify) => {
+  catchingUp = true;
+  heldIds.clear();
+
+  const finish = () => {
+    catchingUp = false;
+    heldIds.forEach(storeCursor);
+    heldIds.clear();
+  };
+
+  const fetchPage = (since) => {
+    const subscription = client.subscribe(
+      "/app/notifications",
+      (msg) => {
+        subscription.unsubscribe();
+        try {
+          const { notifications, hasMore, nextSince } = JSON.parse(msg.body);
+          notifications.forEach((n) => {
+            storeCursor(n.id);
+            // Already shown if it also came in live
+            if (!heldIds.has(n.id)) onNotify(n);
+          });
+          if (hasMore && client.connected) {
+            fetchPage(nextSince);
+            return;
+          }
+        } catch (e) {
+          console.error("❌ Notification catch-up parse error", e);
+        }
+        finish();
+      },
+      since ? { since: String(since) } : {}
+    );
+  };
+
+  fetchPage(localStorage.getItem(cursorKey()));
+};
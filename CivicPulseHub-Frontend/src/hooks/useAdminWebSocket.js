@@ -1,6 +1,7 @@
 import { useState, useEffect } from "react";
 import SockJS from "sockjs-client";
 import { Client } from "@stomp/stompjs";
+import { advanceCursor, subscribeCatchUp } from "./notificationCursor";
 
 let client = null;
 
@@ -20,13 +21,20 @@ export default function useAdminWebSocket() {
       onConnect: () => {
         console.log("✅ Admin WebSocket connected");
 
-        client.subscribe("/topic/admin/complaints", (msg) => {
-          const dto = JSON.parse(msg.body);
+        const addNotification = (dto) => {
+          advanceCursor(dto.id);
           setNotifications((prev) => [
             { complaintId: dto.complaintId, message: dto.status },
             ...prev,
           ]);
+        };
+
+        client.subscribe("/topic/admin/complaints", (msg) => {
+          addNotification(JSON.parse(msg.body));
         });
+
+        // Broadcasts missed since this browser last saw one
+        subscribeCatchUp(client, addNotification);
       },
 
       onStompError: (frame) => console.error("❌ STOMP error:", frame.headers.message),
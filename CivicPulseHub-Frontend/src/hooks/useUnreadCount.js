@@ -0,0 +1,34 @@
+import { useState, useEffect, useCallback } from "react";
+import { fetchUnreadCount, markNotificationsRead } from "../api/notifications";
+
+// Server-side unread count for the sidebar badge; survives reloads and other tabs
+export default function useUnreadCount() {
+  const [unread, setUnread] = useState(0);
+
+  const refresh = useCallback(async () => {
+    try {
+      const res = await fetchUnreadCount();
+      setUnread(res.data.unread || 0);
+    } catch (err) {
+      console.error("Failed to fetch unread count:", err);
+    }
+  }, []);
+
+  // A live notification arrived
+  const bump = useCallback(() => setUnread((n) => n + 1), []);
+
+  const markAllRead = useCallback(async () => {
+    try {
+      await markNotificationsRead();
+      setUnread(0);
+    } catch (err) {
+      console.error("Failed to mark notifications read:", err);
+    }
+  }, []);
+
+  useEffect(() => {
+    refresh();
+  }, [refresh]);
+
+  return { unread, refresh, bump, markAllRead };
+}
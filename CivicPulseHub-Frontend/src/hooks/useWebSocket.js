@@ -1,5 +1,6 @@
 import SockJS from "sockjs-client";
 import { Client } from "@stomp/stompjs";
+import { advanceCursor, subscribeCatchUp } from "./notificationCursor";
 
 let stompClient = null;
 let isConnected = false;
@@ -42,11 +43,16 @@ export const connectWebSocket = ({
       if (onCitizenNotify) {
         stompClient.subscribe("/user/queue/notify", (msg) => {
           try {
-            onCitizenNotify(JSON.parse(msg.body));
+            const payload = JSON.parse(msg.body);
+            advanceCursor(payload.id);
+            onCitizenNotify(payload);
           } catch (e) {
             console.error("❌ Citizen WS parse error", e);
           }
         });
+
+        // Anything sent while this user was offline
+        subscribeCatchUp(stompClient, onCitizenNotify);
       }
 
       // ================= Admin Broadcast =================
@@ -20,7 +20,7 @@ import {
   BarChart3,
   MapPin,
 } from "lucide-react";
-import { MapContainer, TileLayer, Marker, Popup } from "react-leaflet";
+import { MapContainer, TileLayer, Marker, Popup, CircleMarker, useMapEvents } from "react-leaflet";
 import "leaflet/dist/leaflet.css";
 import L from "leaflet";
 
@@ -49,8 +49,11 @@ const AdminAnalytics = () => {
 
   useEffect(() => {
     axios
-      .get("http://localhost:8081/api/admin/complaints", axiosConfig)
-      .then(res => setComplaints(res.data || []))
+      .get("http://localhost:8081/api/admin/complaints", {
+        ...axiosConfig,
+        params: { page: 0, size: 500 },
+      })
+      .then(res => setComplaints(res.data?.content || []))
       .finally(() => setLoading(false));
   }, [axiosConfig]);
 
@@ -85,19 +88,14 @@ const AdminAnalytics = () => {
   const officerWorkloadData = useMemo(() => {
     const map = {};
     complaints.forEach(c => {
-      if (c.assignedOfficer?.name) {
-        map[c.assignedOfficer.name] =
-          (map[c.assignedOfficer.name] || 0) + 1;
+      if (c.assignedOfficerName) {
+        map[c.assignedOfficerName] =
+          (map[c.assignedOfficerName] || 0) + 1;
       }
     });
     return Object.entries(map).map(([name, value]) => ({ name, value }));
   }, [complaints]);
 
-  const mapComplaints = useMemo(
-    () => complaints.filter(c => c.latitude && c.longitude),
-    [complaints]
-  );
-
   /* ---------------- EXPORT ---------------- */
   const exportExcel = () => {
     const ws = XLSX.utils.json_to_sheet(complaints);
@@ -132,15 +130,7 @@ const AdminAnalytics = () => {
         <Card span={24} title="Complaint Hotspots" icon={<MapPin color="#2b50ff" />}>
           <MapContainer center={[20, 78]} zoom={5} style={{ height: "100%" }}>
             <TileLayer url="https://{s}.tile.openstreetmap.org/{z}/{x}/{y}.png" />
-            {mapComplaints.map((c, i) => (
-              <Marker key={i} position={[c.latitude, c.longitude]}>
-                <Popup>
-                  <strong>{c.category}</strong><br />
-                  Status: {c.status}<br />
-                  Priority: {c.priority}
-                </Popup>
-              </Marker>
-            ))}
+            <HotspotLayer axiosConfig={axiosConfig} />
           </MapContainer>
         </Card>
 
@@ -171,6 +161,83 @@ const AdminAnalytics = () => {
   );
 };
 
+/* ---------- MAP HOTSPOTS ---------- */
+/* Zoomed out: server-side clusters per tile. Street level: individual points. */
+const POINTS_ZOOM = 13;
+
+const HotspotLayer = ({ axiosConfig }) => {
+  const [clusters, setClusters] = useState([]);
+  const [points, setPoints] = useState([]);
+
+  const load = map => {
+    const b = map.getBounds();
+    const zoom = map.getZoom();
+    const params = {
+      south: Math.max(b.getSouth(), -90),
+      west: Math.max(b.getWest(), -180),
+      north: Math.min(b.getNorth(), 90),
+      east: Math.min(b.getEast(), 180),
+    };
+
+    if (zoom >= POINTS_ZOOM) {
+      axios
+        .get("http://localhost:8081/api/map/complaints", { ...axiosConfig, params })
+        .then(res => {
+          setPoints(res.data?.points || []);
+          setClusters([]);
+        });
+    } else {
+      axios
+        .get("http://localhost:8081/api/map/clusters", { ...axiosConfig, params: { ...params, zoom } })
+        .then(res => {
+          setClusters(res.data || []);
+          setPoints([]);
+        });
+    }
+  };
+
+  const map = useMapEvents({
+    moveend: () => load(map),
+  });
+
+  useEffect(() => {
+    load(map);
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [map, axiosConfig]);
+
+  return (
+    <>
+      {clusters.map(c => (
+        <CircleMarker
+          key={`${c.tileX}-${c.tileY}`}
+          center={[c.latitude, c.longitude]}
+          radius={Math.min(8 + Math.log2(c.count) * 4, 40)}
+          pathOptions={{ color: "#2b50ff", fillOpacity: 0.45 }}
+        >
+          <Popup>
+            <strong>{c.count} complaints</strong><br />
+            {Object.entries(c.byCategory).map(([k, v]) => (
+              <span key={k}>{k}: {v}<br /></span>
+            ))}
+            {Object.entries(c.byStatus).map(([k, v]) => (
+              <span key={k}>{k}: {v}<br /></span>
+            ))}
+          </Popup>
+        </CircleMarker>
+      ))}
+      {points.map(p => (
+        <Marker key={p.complaintId} position={[p.latitude, p.longitude]}>
+          <Popup>
+            <strong>{p.category}</strong><br />
+            Status: {p.status}<br />
+            Priority: {p.priority}
+          </Popup>
+        </Marker>
+      ))}
+    </>
+  );
+};
+
 /* ---------- REUSABLE COMPONENTS ---------- */
 const Card = ({ span, title, icon, children }) => (
   <Box
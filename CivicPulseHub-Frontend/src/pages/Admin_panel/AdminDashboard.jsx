@@ -37,7 +37,7 @@ export default function AdminDashboard() {
     const loadComplaints = async () => {
       try {
         const res = await fetchAdminComplaints();
-        if (isMounted) setComplaints(res.data || []);
+        if (isMounted) setComplaints(res.data?.content || []);
       } catch (err) {
         console.error("Failed to load complaints:", err);
       }
@@ -175,7 +175,7 @@ export default function AdminDashboard() {
               complaints={filteredComplaints}
               refresh={async () => {
                 const res = await fetchAdminComplaints();
-                setComplaints(res.data || []);
+                setComplaints(res.data?.content || []);
               }}
             />
           )}
@@ -1,4 +1,4 @@
-import React, { useEffect, useState } from "react";
+import React, { useEffect } from "react";
 import { useNavigate } from "react-router-dom";
 import {
   LayoutGrid,
@@ -11,28 +11,17 @@ import {
   LogOut
 } from "lucide-react";
 import logoImg from "../../assets/Logo.jpg";
-import axios from "axios";
+import useUnreadCount from "../../hooks/useUnreadCount";
 
 const AdminSidebar = ({ selected, setSelected }) => {
   const navigate = useNavigate();
-  const [notifications, setNotifications] = useState([]);
+  const { unread, refresh, markAllRead } = useUnreadCount();
 
-  // Fetch notifications from backend
+  // Opening the list reads everything; other pages pick up new broadcasts
   useEffect(() => {
-    const fetchNotifications = async () => {
-      try {
-        const token = localStorage.getItem("adminToken");
-        const res = await axios.get("http://localhost:8081/api/admin/notifications", {
-          headers: { Authorization: `Bearer ${token}` },
-        });
-        setNotifications(res.data); // assuming res.data is an array of notifications
-      } catch (err) {
-        console.error("Failed to fetch notifications:", err);
-      }
-    };
-
-    fetchNotifications();
-  }, []);
+    if (selected === "Notifications") markAllRead();
+    else refresh();
+  }, [selected, markAllRead, refresh]);
 
   const menuItems = [
     { label: "Dashboard", icon: LayoutGrid },
@@ -40,6 +29,7 @@ const AdminSidebar = ({ selected, setSelected }) => {
     { label: "Create Officer", icon: UserPlus }, 
     { label: "OfficerRequest", icon: UserPlus}, 
     { label: "Analytics", icon: BarChart3 },
+    { label: "Notifications", icon: Bell, badge: unread },
     { label: "Feedback", icon: MessageSquare },
     { label: "Profile", icon: User },
     { label: "Logout", icon: LogOut, isLogout: true },
@@ -55,13 +55,16 @@ const AllComplaints = () => {
     setLoading(true);
     try {
       const [complaintsRes, officersRes] = await Promise.all([
-        axios.get("http://localhost:8081/api/admin/complaints", axiosConfig),
+        axios.get("http://localhost:8081/api/admin/complaints", {
+          ...axiosConfig,
+          params: { page: 0, size: 500 },
+        }),
         axios.get(
           "http://localhost:8081/api/admin/complaints/officers/workload",
           axiosConfig
         ),
       ]);
-      setComplaints(complaintsRes.data);
+      setComplaints(complaintsRes.data?.content || []);
       setOfficers(officersRes.data);
     } catch (err) {
       console.error(err);
@@ -97,7 +100,15 @@ const AllComplaints = () => {
       setComplaints((prev) =>
         prev.map((c) =>
           c.id === complaintId
-            ? { ...c, assignedOfficer: officers.find((o) => o.id === officerId) }
+            ? (() => {
+                const officer = officers.find((o) => o.id === officerId);
+                return {
+                  ...c,
+                  assignedOfficerId: officerId,
+                  assignedOfficerName: officer?.name,
+                  assignedOfficerStatus: officer?.status,
+                };
+              })()
             : c
         )
       );
@@ -486,11 +497,11 @@ const AllComplaints = () => {
                       </TableCell>
 
                       <TableCell>
-                        {c.assignedOfficer ? (
+                        {c.assignedOfficerId ? (
                           <div style={{ display: "flex", flexDirection: "column" }}>
-                            <span style={{ fontWeight: "700" }}>{c.assignedOfficer.name}</span>
-                            <span style={{ fontSize: "11px", color: c.assignedOfficer.status === "AVAILABLE" ? "#10b981" : "#ef4444", fontWeight: "700" }}>
-                              ● {c.assignedOfficer.status}
+                            <span style={{ fontWeight: "700" }}>{c.assignedOfficerName}</span>
+                            <span style={{ fontSize: "11px", color: c.assignedOfficerStatus === "AVAILABLE" ? "#10b981" : "#ef4444", fontWeight: "700" }}>
+                              ● {c.assignedOfficerStatus}
                             </span>
                           </div>
                         ) : (
@@ -503,7 +514,13 @@ const AllComplaints = () => {
                           <div style={{ position: "relative", width: "60px", height: "45px", cursor: "pointer" }}
                             onClick={() => handleOpenPreview(`http://localhost:8081${c.officerEvidenceUrl}`)}>
                             <img
-                              src={`http://localhost:8081${c.officerEvidenceUrl}`}
+                              src={`http://localhost:8081${c.officerEvidenceThumbnailUrl || c.officerEvidenceUrl}`}
+                              onError={(e) => {
+                                if (!e.currentTarget.dataset.fallback) {
+                                  e.currentTarget.dataset.fallback = "1";
+                                  e.currentTarget.src = `http://localhost:8081${c.officerEvidenceUrl}`;
+                                }
+                              }}
                               alt="Evidence"
                               style={{ width: "100%", height: "100%", objectFit: "cover", borderRadius: "8px" }}
                             />
@@ -517,7 +534,7 @@ const AllComplaints = () => {
                       </TableCell>
 
                       <TableCell align="right">
-                        {(!c.assignedOfficer && selectedDept && c.category === selectedDept) ? (
+                        {(!c.assignedOfficerId && selectedDept && c.category === selectedDept) ? (
                           <Button
                             variant="contained"
                             size="small"
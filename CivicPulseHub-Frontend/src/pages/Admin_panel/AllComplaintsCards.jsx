@@ -96,12 +96,18 @@ const AllComplaintsCards = ({ complaints, handleViewDetails }) => {
                   height="200"
                   image={
                     c.imageUrl
-                      ? `http://localhost:8081${c.imageUrl}`
+                      ? `http://localhost:8081${c.imageMediumUrl || c.imageUrl}`
                       : "https://via.placeholder.com/400x200"
                   }
-                  onError={(e) =>
-                    (e.target.src = "https://via.placeholder.com/400x200")
-                  }
+                  onError={(e) => {
+                    // Medium size may still be generating: try the original, then the placeholder
+                    if (c.imageUrl && !e.target.dataset.fallback) {
+                      e.target.dataset.fallback = "1";
+                      e.target.src = `http://localhost:8081${c.imageUrl}`;
+                    } else {
+                      e.target.src = "https://via.placeholder.com/400x200";
+                    }
+                  }}
                   sx={{
                     borderTopLeftRadius: 12,
                     borderTopRightRadius: 12,
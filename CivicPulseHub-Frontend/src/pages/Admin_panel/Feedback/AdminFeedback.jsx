@@ -1,25 +1,43 @@
 import React, { useEffect, useState } from "react";
-import { Star, MessageSquare, TrendingUp } from "lucide-react";
+import { Star, MessageSquare, TrendingUp, ChevronLeft, ChevronRight } from "lucide-react";
 import api from "../../../api/axios";
 import { toast } from "react-toastify";
 
+const PAGE_SIZE = 20;
+
 const AdminFeedback = () => {
   const [feedbacks, setFeedbacks] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
+  const [totalCount, setTotalCount] = useState(0);
   const [avgRating, setAvgRating] = useState(0);
+  const [avgBehaviour, setAvgBehaviour] = useState(null);
 
+  // Averages come from the pre-aggregated totals (all time), not the loaded page
   useEffect(() => {
-    api.get("/api/admin/feedback/all")
-      .then(res => {
-        setFeedbacks(res.data);
-        if (res.data.length > 0) {
-          const avg = (res.data.reduce((sum, f) => sum + f.rating, 0) / res.data.length).toFixed(1);
-          setAvgRating(avg);
+    api.get("/api/admin/feedback/analytics/summary", { params: { days: 0 } })
+      .then((res) => {
+        if (res.data.averageRating != null) {
+          setAvgRating(res.data.averageRating.toFixed(1));
+        }
+        if (res.data.averageBehaviourRating != null) {
+          setAvgBehaviour(res.data.averageBehaviourRating.toFixed(1));
         }
       })
+      .catch(() => toast.error("Failed to load feedback summary."));
+  }, []);
+
+  useEffect(() => {
+    api.get("/api/admin/feedback/all", { params: { page, size: PAGE_SIZE } })
+      .then((res) => {
+        setFeedbacks(res.data.content);
+        setTotalCount(res.data.totalElements);
+        setTotalPages(res.data.totalPages);
+      })
       .catch(() => toast.error("Failed to load feedbacks. Please try again later."))
       .finally(() => setLoading(false));
-  }, []);
+  }, [page]);
 
   // Define the handleClick function to resolve the undefined error
   function handleClick() {
@@ -50,7 +68,7 @@ const AdminFeedback = () => {
     );
   }
 
-  if (!feedbacks || feedbacks.length === 0) {
+  if (totalCount === 0) {
     return (
       <div style={{
         background: "var(--surface)",
@@ -142,7 +160,7 @@ const AdminFeedback = () => {
             fontWeight: "700",
             color: "var(--accent)",
           }}>
-            {feedbacks.length}
+            {totalCount}
           </p>
         </div>
 
@@ -198,9 +216,7 @@ const AdminFeedback = () => {
               fontWeight: "700",
               color: "white",
             }}>
-              {feedbacks.length > 0
-                ? (feedbacks.reduce((sum, f) => sum + f.officerBehaviourRating, 0) / feedbacks.length).toFixed(1)
-                : "N/A"}
+              {avgBehaviour ?? "N/A"}
             </p>
             <TrendingUp size={24} color="white" />
           </div>
@@ -474,8 +490,50 @@ const AdminFeedback = () => {
           </div>
         ))}
       </div>
+
+      {/* Pager */}
+      {totalPages > 1 && (
+        <div style={{
+          display: "flex",
+          alignItems: "center",
+          justifyContent: "center",
+          gap: "1rem",
+          marginTop: "2rem",
+        }}>
+          <button
+            type="button"
+            onClick={() => setPage((p) => p - 1)}
+            disabled={page === 0}
+            style={pagerButtonStyle(page === 0)}
+          >
+            <ChevronLeft size={18} />
+          </button>
+          <span style={{ color: "var(--text-muted)", fontSize: "0.9rem" }}>
+            Page {page + 1} of {totalPages}
+          </span>
+          <button
+            type="button"
+            onClick={() => setPage((p) => p + 1)}
+            disabled={page >= totalPages - 1}
+            style={pagerButtonStyle(page >= totalPages - 1)}
+          >
+            <ChevronRight size={18} />
+          </button>
+        </div>
+      )}
     </div>
   );
 };
 
+const pagerButtonStyle = (disabled) => ({
+  display: "flex",
+  alignItems: "center",
+  padding: "0.5rem 0.75rem",
+  borderRadius: "8px",
+  border: "1px solid var(--border)",
+  background: "var(--surface)",
+  color: disabled ? "var(--border)" : "var(--primary)",
+  cursor: disabled ? "default" : "pointer",
+});
+
 export default AdminFeedback;
@@ -86,7 +86,14 @@ const RecentComplaintsTable = ({ complaints }) => {
                     <div style={{ position: "relative", width: "48px", height: "48px", cursor: "pointer" }}
                       onClick={() => c.imageUrl && handleImageClick(`http://localhost:8081${c.imageUrl}`)}>
                       <img
-                        src={c.imageUrl ? `http://localhost:8081${c.imageUrl}` : "https://via.placeholder.com/48"}
+                        src={c.imageUrl ? `http://localhost:8081${c.imageThumbnailUrl || c.imageUrl}` : "https://via.placeholder.com/48"}
+                        onError={(e) => {
+                          // Thumbnail may still be generating: fall back to the original once
+                          if (c.imageUrl && !e.currentTarget.dataset.fallback) {
+                            e.currentTarget.dataset.fallback = "1";
+                            e.currentTarget.src = `http://localhost:8081${c.imageUrl}`;
+                          }
+                        }}
                         alt={c.title}
                         style={{ width: "100%", height: "100%", objectFit: "cover", borderRadius: "10px" }}
                       />
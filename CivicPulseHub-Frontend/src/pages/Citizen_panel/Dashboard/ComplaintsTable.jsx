@@ -192,28 +192,28 @@ const ComplaintsTable = ({
                      {c.status === "RESOLVED" && (
                       <button
                         type="button"
-                        disabled={!!c.feedback}
+                        disabled={c.feedbackSubmitted}
                         onClick={() => onFeedback(c)}
                         style={{
                           padding: "0.5rem 1rem",
-                          background: c.feedback
+                          background: c.feedbackSubmitted
                             ? "#e5e7eb"
                             : "linear-gradient(135deg, var(--primary), var(--primary-strong))",
                           border: "none",
                           borderRadius: "10px",
-                          color: c.feedback ? "#6b7280" : "white",
-                          cursor: c.feedback ? "not-allowed" : "pointer",
+                          color: c.feedbackSubmitted ? "#6b7280" : "white",
+                          cursor: c.feedbackSubmitted ? "not-allowed" : "pointer",
                           fontSize: "0.85rem",
                           fontWeight: "600",
                           display: "flex",
                           alignItems: "center",
                           gap: "0.4rem",
-                          opacity: c.feedback ? 0.6 : 1,
-                          pointerEvents: c.feedback ? "none" : "auto",
+                          opacity: c.feedbackSubmitted ? 0.6 : 1,
+                          pointerEvents: c.feedbackSubmitted ? "none" : "auto",
                         }}
                       >
                         <MessageSquare size={16} />
-                        {c.feedback ? "Feedback Submitted" : "Feedback"}
+                        {c.feedbackSubmitted ? "Feedback Submitted" : "Feedback"}
                       </button>
                     )}
                     </div>
@@ -10,18 +10,18 @@ import {
 } from "lucide-react";
 import logoImg from "../../../assets/Logo.jpg";
 
-const Sidebar = ({ selected, setSelected, notifications, navigate }) => {
+const Sidebar = ({ selected, setSelected, unreadCount, navigate }) => {
   const propTypes = {
     selected: "string",
     setSelected: "function",
-    notifications: "array",
+    unreadCount: "number",
     navigate: "function",
   };
   const sidebarItems = [
     { label: "Dashboard", icon: LayoutGrid },
     { label: "Submit Grievance", icon: BookOpen },
     { label: "Track Complaints", icon: TrendingUp },
-    { label: "Notifications", icon: Bell, badge: notifications?.length || 0 },
+    { label: "Notifications", icon: Bell, badge: unreadCount || 0 },
     { label: "Feedback", icon: MessageSquare },
     { label: "My Profile", icon: User },
     { label: "Logout", icon: LogOut, isLogout: true },
@@ -45,13 +45,16 @@ const TrackComplaints = ({ initialComplaints, loading, token }) => {
           const payload = JSON.parse(message.body);
           console.log("🟢 TrackComplaints received notification:", payload);
 
-          setComplaints((prev) =>
-            prev.map((c) =>
-              c.id === payload.complaintId
-                ? { ...c, status: payload.status }
-                : c
-            )
-          );
+          // payload.status is the message text; complaintStatus is the actual status
+          if (payload.complaintStatus) {
+            setComplaints((prev) =>
+              prev.map((c) =>
+                c.id === payload.complaintId
+                  ? { ...c, status: payload.complaintStatus }
+                  : c
+              )
+            );
+          }
 
           setUpdatedComplaintId(payload.complaintId);
           setTimeout(() => setUpdatedComplaintId(null), 5000);
@@ -2,6 +2,7 @@ import React, { useEffect, useState, useCallback } from "react";
 import { useNavigate } from "react-router-dom";
 import { Moon, Sun } from "lucide-react";
 import { useThemePreference } from "../../../hooks/useThemePreference.js";
+import useUnreadCount from "../../../hooks/useUnreadCount.js";
 
 import Sidebar from "./Sidebar";
 import ComplaintsTable from "./ComplaintsTable";
@@ -20,6 +21,7 @@ const UserDashboard = () => {
   const [notifications, setNotifications] = useState([]);
   const [complaintLoading, setComplaintLoading] = useState(false);
   const [feedbackComplaint, setFeedbackComplaint] = useState(null);
+  const { unread, bump, markAllRead } = useUnreadCount();
 
   const token = localStorage.getItem("token");
 
@@ -55,6 +57,11 @@ const UserDashboard = () => {
     fetchComplaints();
   }, [fetchComplaints]);
 
+  // Opening the list reads everything up to the latest notification
+  useEffect(() => {
+    if (selected === "Notifications") markAllRead();
+  }, [selected, markAllRead]);
+
   // ================= WEBSOCKET NOTIFICATIONS =================
   const initializeWebSocket = useCallback(async () => {
     try {
@@ -88,20 +95,23 @@ const UserDashboard = () => {
       const payload = JSON.parse(message.body);
       console.log("🟢 Received notification:", payload);
 
-      // Update complaint list live
-      setComplaints((prev) =>
-        prev.map((c) =>
-          c.id === payload.complaintId
-            ? { ...c, status: payload.status || payload.message }
-            : c
-        )
-      );
+      // Update complaint list live; payload.status is the message text
+      if (payload.complaintStatus) {
+        setComplaints((prev) =>
+          prev.map((c) =>
+            c.id === payload.complaintId
+              ? { ...c, status: payload.complaintStatus }
+              : c
+          )
+        );
+      }
 
       // Add notification to notifications list
-      const messageText = `Complaint #${payload.complaintId} status updated to ${payload.status}`;
+      const messageText = `Complaint #${payload.complaintId}: ${payload.status}`;
       setNotifications((prev) => [messageText, ...prev]);
+      bump();
     });
-  }, []);
+  }, [bump]);
 
   useEffect(() => {
     if (!token) return;
@@ -118,7 +128,7 @@ const UserDashboard = () => {
 
   return (
     <div className="dashboard-shell">
-      <Sidebar selected={selected} setSelected={setSelected} notifications={notifications} navigate={navigate} />
+      <Sidebar selected={selected} setSelected={setSelected} unreadCount={unread} navigate={navigate} />
 
       <div className="dashboard-content">
         <header className="dashboard-header">
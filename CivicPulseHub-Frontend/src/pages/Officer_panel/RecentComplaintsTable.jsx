@@ -158,7 +158,8 @@ const RecentComplaintsTable = ({ complaints }) => {
                     <td style={{ padding: "1rem" }}>
                       {citizenImage ? (
                         <ImageThumb
-                          src={citizenImage}
+                          src={resolveImageUrl(c.imageThumbnailUrl)}
+                          fallback={citizenImage}
                           onClick={() => setPreviewImage(citizenImage)}
                           hovered={hoveredImage === `citizen-${c.id}`}
                           onEnter={() => setHoveredImage(`citizen-${c.id}`)}
@@ -172,7 +173,8 @@ const RecentComplaintsTable = ({ complaints }) => {
                     <td style={{ padding: "1rem" }}>
                       {officerImage ? (
                         <ImageThumb
-                          src={officerImage}
+                          src={resolveImageUrl(c.officerEvidenceThumbnailUrl)}
+                          fallback={officerImage}
                           onClick={() => setPreviewImage(officerImage)}
                           hovered={hoveredImage === `officer-${c.id}`}
                           onEnter={() => setHoveredImage(`officer-${c.id}`)}
@@ -261,7 +263,7 @@ const RecentComplaintsTable = ({ complaints }) => {
 };
 
 /* 🔹 Thumbnail */
-const ImageThumb = ({ src, onClick, hovered, onEnter, onLeave }) => (
+const ImageThumb = ({ src, fallback, onClick, hovered, onEnter, onLeave }) => (
   <div
     style={{ position: "relative", width: 45, height: 45, cursor: "pointer" }}
     onClick={onClick}
@@ -269,7 +271,14 @@ const ImageThumb = ({ src, onClick, hovered, onEnter, onLeave }) => (
     onMouseLeave={onLeave}
   >
     <img
-      src={src}
+      src={src || fallback}
+      onError={(e) => {
+        // Thumbnail may still be generating: fall back to the original once
+        if (fallback && !e.currentTarget.dataset.fallback) {
+          e.currentTarget.dataset.fallback = "1";
+          e.currentTarget.src = fallback;
+        }
+      }}
       alt="Evidence"
       style={{ width: "100%", height: "100%", objectFit: "cover", borderRadius: 10 }}
     />
@@ -89,6 +89,7 @@ public class SecurityConfig {
 
                 .requestMatchers("/uploads/**").permitAll()
                 .requestMatchers("/ws/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
 
@@ -98,6 +99,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/officer/workload").hasAnyRole("OFFICER", "ADMIN")
 
                 // ---------- ROLE BASED ----------
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/officer/**").hasRole("OFFICER")
                 .requestMatchers("/api/citizen/**").hasRole("CITIZEN")
@@ -0,0 +1,43 @@
+package com.example.demo.config;
+
+import com.example.demo.storage.UploadServingFilter;
+import com.example.demo.storage.UploadStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class StorageConfig {
+
+    // Image decoding is CPU and memory heavy; keep it to a couple of threads
+    @Bean(name = "imageExecutor")
+    public ThreadPoolTaskExecutor imageExecutor(
+            @Value("${app.uploads.variants.workers:2}") int workers,
+            @Value("${app.uploads.variants.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs before Spring Security's filter chain, so public uploads skip it entirely
+    @Bean
+    public FilterRegistrationBean<UploadServingFilter> uploadServingFilter(
+            UploadStorageService uploadStorageService
+    ) {
+        FilterRegistrationBean<UploadServingFilter> registration =
+                new FilterRegistrationBean<>(new UploadServingFilter(uploadStorageService));
+        registration.addUrlPatterns(UploadStorageService.URL_PREFIX + "*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
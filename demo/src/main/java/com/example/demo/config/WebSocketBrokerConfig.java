@@ -0,0 +1,70 @@
+package com.example.demo.config;
+
+import com.example.demo.websocket.BackpressureWebSocketHandler;
+import com.example.demo.websocket.OverflowPolicy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+
+import java.util.concurrent.Executor;
+
+// Replaces @EnableWebSocketMessageBroker so the session handler can be swapped for one with
+// slow-consumer protection; broker, endpoints and limits still come from WebSocketConfig
+@Configuration
+public class WebSocketBrokerConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    @Value("${app.websocket.overflow-policy:terminate}")
+    private String overflowPolicy;
+
+    private final MeterRegistry meterRegistry;
+
+    public WebSocketBrokerConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new BackpressureWebSocketHandler(
+                clientInboundChannel, clientOutboundChannel, parsePolicy(overflowPolicy), meterRegistry);
+    }
+
+    // Backlog of the thread pools that read client frames and write frames to sessions
+    @Bean
+    public MeterBinder webSocketChannelMetrics(
+            @Qualifier("clientInboundChannelExecutor") Executor inbound,
+            @Qualifier("clientOutboundChannelExecutor") Executor outbound) {
+        return registry -> {
+            bindExecutor(registry, "websocket.inbound", inbound);
+            bindExecutor(registry, "websocket.outbound", outbound);
+        };
+    }
+
+    private static void bindExecutor(MeterRegistry registry, String prefix, Executor executor) {
+        if (!(executor instanceof ThreadPoolTaskExecutor pool)) return;
+        Gauge.builder(prefix + ".queue.size", pool, p -> p.getThreadPoolExecutor().getQueue().size())
+                .description("Messages waiting for a channel thread")
+                .register(registry);
+        Gauge.builder(prefix + ".active", pool, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Channel threads busy")
+                .register(registry);
+    }
+
+    static OverflowPolicy parsePolicy(String policy) {
+        try {
+            return OverflowPolicy.valueOf(policy.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid app.websocket.overflow-policy: " + policy
+                    + " (expected terminate, drop-oldest or conflate)");
+        }
+    }
+}
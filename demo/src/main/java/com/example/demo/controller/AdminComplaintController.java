@@ -20,22 +20,57 @@ public class AdminComplaintController {
 
     private final AdminComplaintService adminComplaintService;
 
-    // ---------------- LIST ALL COMPLAINTS ----------------
+    // ---------------- LIST ALL COMPLAINTS (PAGED) ----------------
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public List<Complaint> listComplaints(
+    public PagedResponse<ComplaintListResponse> listComplaints(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String priority) {
+            @RequestParam(required = false) String priority,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
 
-        return adminComplaintService.listAllComplaints(search, status, priority);
+        return PagedResponse.of(
+                adminComplaintService.listAllComplaints(search, status, priority, page, size)
+        );
+    }
+
+    // ---------------- RANKED FULL-TEXT SEARCH ----------------
+    // Matches title, description, location and remarks; best matches first
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public PagedResponse<ComplaintListResponse> searchComplaints(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return PagedResponse.of(
+                adminComplaintService.searchComplaints(q, status, priority, category, page, size)
+        );
     }
 
     // ---------------- GET COMPLAINT BY ID ----------------
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public Complaint getComplaint(@PathVariable Long id) {
-        return adminComplaintService.getComplaintDetails(id);
+    public ComplaintDetailResponse getComplaint(@PathVariable Long id) {
+        return adminComplaintService.getComplaintDetailView(id);
+    }
+
+    // ---------------- LIKELY DUPLICATES OF A COMPLAINT ----------------
+    @GetMapping("/{id}/duplicates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<Complaint> getDuplicates(@PathVariable Long id) {
+        return adminComplaintService.getDuplicates(id);
+    }
+
+    // ---------------- LIFECYCLE HISTORY ----------------
+    @GetMapping("/{id}/events")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<ComplaintEventResponse> getEvents(@PathVariable Long id) {
+        return adminComplaintService.getEvents(id);
     }
 
     // ---------------- ASSIGN OFFICER ----------------
@@ -98,7 +133,8 @@ public class AdminComplaintController {
     // ---------------- OFFICER WORKLOAD ----------------
     @GetMapping("/officers/workload")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<OfficerWorkloadResponse> getOfficersWorkload() {
-        return adminComplaintService.getAllOfficersWorkload();
+    public List<OfficerWorkloadResponse> getOfficersWorkload(
+            @RequestParam(required = false) String department) {
+        return adminComplaintService.getAllOfficersWorkload(department);
     }
 }
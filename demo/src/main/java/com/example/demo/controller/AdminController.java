@@ -3,9 +3,9 @@ package com.example.demo.controller;
 import com.example.demo.entity.Admin;
 import com.example.demo.entity.OfficerUpdateRequest;
 import com.example.demo.payload.*;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.AdminService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -17,6 +17,7 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final CurrentUser currentUser;
 
     // -------------------- Admin Signup --------------------
     @PostMapping("/signup")
@@ -56,22 +57,16 @@ public class AdminController {
 
     // -------------------- Get Admin Profile --------------------
     @GetMapping("/profile")
-    public AdminProfileResponse getMyProfile(Authentication authentication) {
-        Admin admin = (Admin) authentication.getPrincipal();
-        return AdminProfileResponse.builder()
-                .name(admin.getName())
-                .email(admin.getEmail())
-                .build();
+    public AdminProfileResponse getMyProfile() {
+        return adminService.getMyProfile(currentUser.admin());
     }
 
     // -------------------- Update Admin Profile --------------------
     @PutMapping("/profile")
     public String updateMyProfile(
-            @RequestBody AdminProfileUpdateRequest request,
-            Authentication authentication
+            @RequestBody AdminProfileUpdateRequest request
     ) {
-        Admin admin = (Admin) authentication.getPrincipal();
-        adminService.updateMyProfile(admin, request.getName());
+        adminService.updateMyProfile(currentUser.adminId(), request.getName());
         return "✅ Admin profile updated successfully";
     }
 
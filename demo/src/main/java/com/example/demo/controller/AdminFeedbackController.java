@@ -5,10 +5,14 @@ import java.util.List;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.payload.FeedbackStatsResponse;
 import com.example.demo.payload.FeedbackViewResponse;
+import com.example.demo.payload.PagedResponse;
 import com.example.demo.service.AdminFeedbackService;
+import com.example.demo.service.FeedbackStatsService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,10 +23,39 @@ import lombok.RequiredArgsConstructor;
 public class AdminFeedbackController {
 
     private final AdminFeedbackService feedbackService;
+    private final FeedbackStatsService feedbackStatsService;
 
-    // Admin can see all citizen feedback
+    // Admin can see all citizen feedback, newest first
     @GetMapping("/all")
-    public List<FeedbackViewResponse> getAllFeedback() {
-        return feedbackService.getAllFeedbacks();
+    public PagedResponse<FeedbackViewResponse> getAllFeedback(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return PagedResponse.of(feedbackService.getAllFeedbacks(page, size));
+    }
+
+    // ---------------- ANALYTICS (pre-aggregated; days <= 0 = all time) ----------------
+    @GetMapping("/analytics/summary")
+    public FeedbackStatsResponse getSummary(@RequestParam(defaultValue = "90") int days) {
+        return feedbackStatsService.getSummary(days);
+    }
+
+    @GetMapping("/analytics/departments")
+    public List<FeedbackStatsResponse> getByDepartment(@RequestParam(defaultValue = "90") int days) {
+        return feedbackStatsService.getByDepartment(days);
+    }
+
+    @GetMapping("/analytics/officers")
+    public List<FeedbackStatsResponse> getByOfficer(
+            @RequestParam(defaultValue = "90") int days,
+            @RequestParam(required = false) String department) {
+        return feedbackStatsService.getByOfficer(days, department);
+    }
+
+    @GetMapping("/analytics/daily")
+    public List<FeedbackStatsResponse> getDaily(
+            @RequestParam(defaultValue = "90") int days,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Long officerId) {
+        return feedbackStatsService.getDaily(days, department, officerId);
     }
 }
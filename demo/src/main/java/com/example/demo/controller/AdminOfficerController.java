@@ -18,7 +18,8 @@ public class AdminOfficerController {
 
     @GetMapping("/workload-summary")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<OfficerWorkloadResponse> getOfficerWorkloadSummary() {
-        return adminComplaintService.getAllOfficersWorkload();
+    public List<OfficerWorkloadResponse> getOfficerWorkloadSummary(
+            @RequestParam(required = false) String department) {
+        return adminComplaintService.getAllOfficersWorkload(department);
     }
 }
@@ -0,0 +1,28 @@
+package com.example.demo.controller;
+
+import com.example.demo.payload.SlaStatsResponse;
+import com.example.demo.service.ComplaintEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/sla")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class AdminSlaController {
+
+    private final ComplaintEventService complaintEventService;
+
+    // ---------------- SLA PERCENTILES ----------------
+    // metric: TIME_TO_ASSIGN | TIME_TO_RESOLVE, groupBy: ALL | CATEGORY | OFFICER
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<SlaStatsResponse> getSlaStats(
+            @RequestParam(defaultValue = "TIME_TO_RESOLVE") String metric,
+            @RequestParam(defaultValue = "CATEGORY") String groupBy) {
+        return complaintEventService.getSlaStats(metric, groupBy);
+    }
+}
@@ -3,8 +3,7 @@ package com.example.demo.controller;
 import com.example.demo.entity.Citizen;
 import com.example.demo.entity.Complaint;
 import com.example.demo.payload.*;
-import com.example.demo.repositories.CitizenRepository;
-import com.example.demo.security.JwtUtils;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.CitizenService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,25 +23,12 @@ import java.util.stream.Collectors;
 public class CitizenController {
 
     private final CitizenService citizenService;
-    private final CitizenRepository citizenRepository;
-    private final JwtUtils jwtUtils;
+    private final CurrentUser currentUser;
 
     // ================== HELPER ==================
-    private Citizen getCitizenFromRequest(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new RuntimeException("Missing or invalid Authorization header");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtUtils.extractEmail(token);
-
-        Citizen citizen = citizenRepository.findByEmail(email);
-        if (citizen == null) {
-            throw new RuntimeException("Citizen not found");
-        }
-        return citizen;
+    // The token's id, no query; only the profile read loads the row
+    private Long getCitizenIdFromRequest(HttpServletRequest request) {
+        return currentUser.citizenId();
     }
 
     // ================== AUTH ==================
@@ -76,18 +62,18 @@ public class CitizenController {
 
     @GetMapping("/complaints/my")
     public ResponseEntity<List<CitizenComplaintResponse>> getMyComplaints(HttpServletRequest request) {
-        Citizen citizen = getCitizenFromRequest(request);
+        Long citizenId = getCitizenIdFromRequest(request);
         return ResponseEntity.ok(
-                citizenService.getMyComplaints(citizen.getId())
+                citizenService.getMyComplaints(citizenId)
         );
     }
 
     @GetMapping("/complaints/deleted")
     public ResponseEntity<List<CitizenComplaintResponse>> getDeletedComplaints(HttpServletRequest request) {
-        Citizen citizen = getCitizenFromRequest(request);
+        Long citizenId = getCitizenIdFromRequest(request);
 
         List<CitizenComplaintResponse> deleted =
-                citizenService.getMyComplaints(citizen.getId())
+                citizenService.getMyComplaints(citizenId)
                         .stream()
                         .filter(CitizenComplaintResponse::isDeleted)
                         .collect(Collectors.toList());
@@ -100,9 +86,9 @@ public class CitizenController {
             @PathVariable Long complaintId,
             HttpServletRequest request
     ) {
-        Citizen citizen = getCitizenFromRequest(request);
+        Long citizenId = getCitizenIdFromRequest(request);
         return ResponseEntity.ok(
-                citizenService.getComplaintDetails(citizen.getId(), complaintId)
+                citizenService.getComplaintDetails(citizenId, complaintId)
         );
     }
 
@@ -111,9 +97,9 @@ public class CitizenController {
             @RequestBody Complaint complaint,
             HttpServletRequest request
     ) {
-        Citizen citizen = getCitizenFromRequest(request);
+        Long citizenId = getCitizenIdFromRequest(request);
         return new ResponseEntity<>(
-                citizenService.submitComplaint(citizen.getId(), complaint),
+                citizenService.submitComplaint(citizenId, complaint),
                 HttpStatus.CREATED
         );
     }
@@ -125,12 +111,12 @@ public class CitizenController {
             @RequestBody Map<String, String> body,
             HttpServletRequest request
     ) {
-        Citizen citizen = getCitizenFromRequest(request);
+        Long citizenId = getCitizenIdFromRequest(request);
 
         String message = body.get("message");
         return ResponseEntity.ok(
                 citizenService.replyToComplaint(
-                        citizen.getId(),
+                        citizenId,
                         complaintId,
                         message
                 )
@@ -140,7 +126,7 @@ public class CitizenController {
     // ================== PROFILE ==================
     @GetMapping("/profile")
     public CitizenProfileResponse getMyProfile(HttpServletRequest request) {
-        Citizen citizen = getCitizenFromRequest(request);
+        Citizen citizen = currentUser.citizen();
 
         return CitizenProfileResponse.builder()
                 .name(citizen.getName())
@@ -157,7 +143,6 @@ public class CitizenController {
             HttpServletRequest request,
             @RequestBody CitizenProfileUpdateRequest updateRequest
     ) {
-        Citizen citizen = getCitizenFromRequest(request);
-        return citizenService.updateMyProfile(citizen, updateRequest);
+        return citizenService.updateMyProfile(getCitizenIdFromRequest(request), updateRequest);
     }
 }
@@ -2,10 +2,10 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.Citizen;
 import com.example.demo.entity.Complaint;
+import com.example.demo.payload.ComplaintListResponse;
 import com.example.demo.payload.ComplaintRequestDTO;
-import com.example.demo.security.JwtUtils;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.ComplaintService;
-import com.example.demo.repositories.CitizenRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,25 +20,12 @@ import java.util.List;
 public class ComplaintController {
 
     private final ComplaintService complaintService;
-    private final CitizenRepository citizenRepository;
-    private final JwtUtils jwtUtils;
+    private final CurrentUser currentUser;
 
     // ---------------- GET LOGGED-IN CITIZEN ----------------
+    // Only complaint creation copies the citizen's row; everything else goes by the token's id
     private Citizen getCitizenFromRequest(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new RuntimeException("Missing or invalid Authorization header");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtUtils.extractEmail(token);
-
-        Citizen citizen = citizenRepository.findByEmail(email);
-        if (citizen == null) {
-            throw new RuntimeException("Citizen not found");
-        }
-        return citizen;
+        return currentUser.citizen();
     }
 
     // ================= CREATE COMPLAINT WITH IMAGE =================
@@ -58,10 +45,9 @@ public class ComplaintController {
 
     // ================= GET MY COMPLAINTS =================
     @GetMapping("/complaints")
-    public ResponseEntity<List<Complaint>> getMyComplaints(HttpServletRequest request) {
-        Citizen citizen = getCitizenFromRequest(request);
-        List<Complaint> complaints = complaintService.getComplaintsByCitizen(citizen);
-        System.out.println("📦 Controller: Fetched " + complaints.size() + " complaints for: " + citizen.getEmail());
+    public ResponseEntity<List<ComplaintListResponse>> getMyComplaints(HttpServletRequest request) {
+        List<ComplaintListResponse> complaints = complaintService.getComplaintsByCitizen(currentUser.citizenReference());
+        System.out.println("📦 Controller: Fetched " + complaints.size() + " complaints for: " + currentUser.get().email());
         return ResponseEntity.ok(complaints);
     }
 
@@ -71,10 +57,9 @@ public class ComplaintController {
             HttpServletRequest request,
             @PathVariable Long id
     ) {
-        Citizen citizen = getCitizenFromRequest(request);
-        Complaint complaint = complaintService.getComplaintById(id, citizen);
+        Complaint complaint = complaintService.getComplaintById(id, currentUser.citizenReference());
         System.out.println("📦 Controller: Fetched complaint ID=" + complaint.getId() +
-                " for: " + citizen.getEmail());
+                " for: " + currentUser.get().email());
         return ResponseEntity.ok(complaint);
     }
 
@@ -86,11 +71,10 @@ public class ComplaintController {
             @ModelAttribute ComplaintRequestDTO dto,
             @RequestParam(value = "image", required = false) MultipartFile image
     ) {
-        Citizen citizen = getCitizenFromRequest(request);
-        Complaint updated = complaintService.updateFromDto(citizen.getId(), id, dto, image);
+        Complaint updated = complaintService.updateFromDto(currentUser.citizenId(), id, dto, image);
 
         System.out.println("📩 Controller: Complaint updated, ID=" + updated.getId() +
-                " | Notifications sent to: " + citizen.getEmail());
+                " | Notifications sent to: " + currentUser.get().email());
         return ResponseEntity.ok(updated);
     }
 
@@ -100,11 +84,10 @@ public class ComplaintController {
             HttpServletRequest request,
             @PathVariable Long id
     ) {
-        Citizen citizen = getCitizenFromRequest(request);
-        complaintService.deleteComplaint(citizen.getId(), id);
+        complaintService.deleteComplaint(currentUser.citizenId(), id);
 
         System.out.println("📩 Controller: Complaint deleted, ID=" + id +
-                " | Notifications sent to: " + citizen.getEmail());
+                " | Notifications sent to: " + currentUser.get().email());
         return ResponseEntity.ok("✅ Complaint deleted successfully");
     }
 }
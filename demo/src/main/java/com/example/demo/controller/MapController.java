@@ -1,30 +1,80 @@
 package com.example.demo.controller;
 
+import com.example.demo.payload.MapClusterResponse;
 import com.example.demo.payload.MapLocationRequest;
+import com.example.demo.payload.MapQueryResponse;
+import com.example.demo.security.CurrentUser;
+import com.example.demo.service.MapClusterService;
+import com.example.demo.service.MapLocationService;
+import com.example.demo.service.MapQueryService;
 import com.example.demo.entity.MapLocation;
-import com.example.demo.repositories.MapLocationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/map")
 public class MapController {
 
     @Autowired
-    private MapLocationRepository mapLocationRepo;
+    private MapLocationService mapLocationService;
 
-    @PostMapping("/save-location")
-    public String saveLocation(@RequestBody MapLocationRequest request) {
+    @Autowired
+    private MapQueryService mapQueryService;
 
-        MapLocation location = new MapLocation();
-        location.setLatitude(request.getLatitude());
-        location.setLongitude(request.getLongitude());
+    @Autowired
+    private MapClusterService mapClusterService;
+
+    @Autowired
+    private CurrentUser currentUser;
 
-        // STORE ONLY IDS — NOT ENTITY OBJECTS
-        location.setCitizenId(request.getCitizenId());
-        location.setComplaintId(request.getComplaintId());
+    // ---------------- CLUSTERS FOR ZOOMED-OUT VIEWS ----------------
+    @GetMapping("/clusters")
+    public List<MapClusterResponse> clusters(
+            @RequestParam int zoom,
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east
+    ) {
+        return mapClusterService.getClusters(zoom, south, west, north, east);
+    }
+
+    // ---------------- COMPLAINTS IN VIEWPORT ----------------
+    @GetMapping("/complaints")
+    public MapQueryResponse complaintsInViewport(
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return mapQueryService.findInViewport(south, west, north, east, limit);
+    }
+
+    // ---------------- COMPLAINTS NEAR A POINT ----------------
+    @GetMapping("/complaints/nearby")
+    public MapQueryResponse complaintsNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "1000") double radius,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return mapQueryService.findNearby(lat, lng, radius, limit);
+    }
+
+    @PostMapping("/save-location")
+    public String saveLocation(@RequestBody MapLocationRequest request) {
 
-        mapLocationRepo.save(location);
+        // STORE ONLY IDS — NOT ENTITY OBJECTS; one row per complaint.
+        // The citizen is the caller, never the id in the body
+        MapLocation location = mapLocationService.saveForCitizen(
+                request.getComplaintId(),
+                currentUser.citizenId(),
+                request.getLatitude(),
+                request.getLongitude()
+        );
 
         return "Location saved successfully with ID: " + location.getId();
     }
@@ -0,0 +1,57 @@
+package com.example.demo.controller;
+
+import com.example.demo.payload.NotificationCatchUpResponse;
+import com.example.demo.payload.NotificationDto;
+import com.example.demo.payload.UnreadCountResponse;
+import com.example.demo.service.NotificationInboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationInboxService notificationInboxService;
+
+    // ---------------- INBOX (ANY SIGNED-IN USER) ----------------
+    // since: last id the client has; omitted means everything unread
+    @GetMapping
+    public List<NotificationDto> getNotifications(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "50") int limit,
+            Principal principal) {
+        return notificationInboxService.since(notificationInboxService.readerOf(principal), since, limit);
+    }
+
+    @GetMapping("/unread-count")
+    public UnreadCountResponse getUnreadCount(Principal principal) {
+        return notificationInboxService.unreadCount(notificationInboxService.readerOf(principal));
+    }
+
+    // upTo omitted: mark everything read
+    @PostMapping("/read")
+    public UnreadCountResponse markRead(
+            @RequestParam(required = false) Long upTo,
+            Principal principal) {
+        return notificationInboxService.markRead(notificationInboxService.readerOf(principal), upTo);
+    }
+
+    // ---------------- STOMP CATCH-UP ----------------
+    // SUBSCRIBE /app/notifications with a "since" header on (re)connect; one page
+    // of missed notifications comes back, to this session only. While hasMore is
+    // set the client subscribes again from nextSince
+    @SubscribeMapping("/notifications")
+    public NotificationCatchUpResponse catchUp(
+            @Header(name = "since", required = false) Long since,
+            Principal principal) {
+        if (principal == null) return new NotificationCatchUpResponse(List.of(), false, since != null ? since : 0);
+        return notificationInboxService.catchUp(notificationInboxService.readerOf(principal), since);
+    }
+}
@@ -2,15 +2,12 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.*;
 import com.example.demo.payload.*;
-import com.example.demo.repositories.ComplaintRepository;
-import com.example.demo.repositories.OfficerRepository;
-import com.example.demo.security.JwtUtils;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.OfficerComplaintService;
 import com.example.demo.service.OfficerService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -25,26 +22,12 @@ public class OfficerComplaintController {
 
     private final OfficerComplaintService officerComplaintService;
     private final OfficerService officerService;
-    private final OfficerRepository officerRepository;
-    private final ComplaintRepository complaintRepository;
-    private final JwtUtils jwtUtils;
+    private final CurrentUser currentUser;
 
     // ================== HELPER ==================
+    // Unloaded reference from the token's id: the services below only read its id
     private Officer getOfficerFromRequest(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new RuntimeException("Missing or invalid Authorization header");
-        }
-
-        String token = authHeader.substring(7);
-        String email = jwtUtils.extractEmail(token);
-
-        Officer officer = officerRepository.findByEmail(email);
-        if (officer == null) {
-            throw new RuntimeException("Officer not found");
-        }
-        return officer;
+        return currentUser.officerReference();
     }
 
     // -------------------- LOGIN --------------------
@@ -137,10 +120,10 @@ public class OfficerComplaintController {
     // ------------------------------- OFFICER SINGLE FEEDBACK-------------------------------------------------------------------------------
     @GetMapping("/{complaintId}/feedback")
     public OfficerFeedbackResponse viewFeedback(
-            @AuthenticationPrincipal Officer officer,
+            HttpServletRequest request,
             @PathVariable Long complaintId
     ) {
-        return officerComplaintService.getFeedbackForOfficer(officer, complaintId);
+        return officerComplaintService.getFeedbackForOfficer(getOfficerFromRequest(request), complaintId);
     }
     
     //--------------------------------OFFICER GET ALL FEEDBACK-------------------------------------------------------------------------------
@@ -149,43 +132,27 @@ public class OfficerComplaintController {
  // -------------------- GET ALL FEEDBACKS --------------------
     @GetMapping("/feedbacks")
     public ResponseEntity<List<OfficerFeedbackResponse>> viewAllFeedbacks(
-            @AuthenticationPrincipal Officer officer
+            HttpServletRequest request
     ) {
-        List<OfficerFeedbackResponse> feedbacks = officerComplaintService.getAllFeedbackForOfficer(officer);
+        List<OfficerFeedbackResponse> feedbacks =
+                officerComplaintService.getAllFeedbackForOfficer(getOfficerFromRequest(request));
         return ResponseEntity.ok(feedbacks);
     }
 
     // -------------------- OFFICER WORKLOAD --------------------
     @GetMapping("/workload")
-    public ResponseEntity<List<OfficerWorkloadResponse>> getOfficerWorkload() {
-
-        List<OfficerWorkloadResponse> workload =
-                officerRepository.findAll().stream().map(officer -> {
-
-                    long active =
-                            complaintRepository.countActiveComplaintsByOfficer(officer.getId());
-
-                    String status =
-                            active == 0 ? "AVAILABLE" :
-                            active <= 3 ? "BUSY" : "OVERLOADED";
-
-                    return OfficerWorkloadResponse.builder()
-                            .id(officer.getId())
-                            .name(officer.getName())
-                            .email(officer.getEmail())
-                            .department(officer.getDepartment().name())
-                            .activeComplaints(active)
-                            .status(status)
-                            .build();
-                }).toList();
-
-        return ResponseEntity.ok(workload);
+    public ResponseEntity<List<OfficerWorkloadResponse>> getOfficerWorkload(
+            @RequestParam(required = false) String department
+    ) {
+        return ResponseEntity.ok(
+                officerComplaintService.getAllOfficersWorkload(department)
+        );
     }
 
     // ================== PROFILE ==================
     @GetMapping("/profile")
     public OfficerProfileUpdateResponse getMyProfile(HttpServletRequest request) {
-        Officer officer = getOfficerFromRequest(request);
+        Officer officer = currentUser.officer();
 
         return OfficerProfileUpdateResponse.builder()
                 .name(officer.getName())
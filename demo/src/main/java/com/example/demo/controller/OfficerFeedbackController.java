@@ -1,11 +1,11 @@
 package com.example.demo.controller;
 import com.example.demo.payload.FeedbackViewResponse;
+import com.example.demo.payload.PagedResponse;
+import com.example.demo.security.CurrentUser;
 import com.example.demo.service.OfficerFeedbackService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/officer/feedback")
 @RequiredArgsConstructor
@@ -13,10 +13,13 @@ import java.util.List;
 public class OfficerFeedbackController {
 
     private final OfficerFeedbackService feedbackService;
+    private final CurrentUser currentUser;
 
     // Officer sees feedback given on his solved complaints
     @GetMapping("/my-complaints")
-    public List<FeedbackViewResponse> getMyFeedbacks() {
-        return feedbackService.getMyComplaintFeedbacks();
+    public PagedResponse<FeedbackViewResponse> getMyFeedbacks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return PagedResponse.of(feedbackService.getMyComplaintFeedbacks(currentUser.officerReference(), page, size));
     }
-}
\ No newline at end of file
+}
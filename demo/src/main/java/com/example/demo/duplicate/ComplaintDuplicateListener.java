@@ -0,0 +1,46 @@
+package com.example.demo.duplicate;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.service.DuplicateDetectionService;
+import com.example.demo.support.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the duplicate index in step with complaint writes, after commit.
+ * New reports are added, edits re-sign the text, and complaints leave the
+ * index once resolved, rejected or deleted.
+ */
+@Component
+public class ComplaintDuplicateListener {
+
+    // Lazy: the service needs repositories, which need this listener's EntityManagerFactory
+    private final ObjectProvider<DuplicateDetectionService> duplicateDetectionService;
+
+    public ComplaintDuplicateListener(ObjectProvider<DuplicateDetectionService> duplicateDetectionService) {
+        this.duplicateDetectionService = duplicateDetectionService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Complaint complaint) {
+        long id = complaint.getId();
+        DuplicateIndex.Entry entry = DuplicateDetectionService.isOpen(complaint)
+                ? DuplicateDetectionService.toEntry(
+                        complaint.getLatitude(), complaint.getLongitude(), complaint.getCategory(),
+                        complaint.getTitle(), complaint.getDescription(),
+                        complaint.getSubmissionDate(), complaint.getDuplicateOfId())
+                : null;
+
+        AfterCommit.run(() -> duplicateDetectionService.getObject().update(id, entry));
+    }
+
+    @PostRemove
+    void onRemove(Complaint complaint) {
+        long id = complaint.getId();
+        AfterCommit.run(() -> duplicateDetectionService.getObject().update(id, null));
+    }
+}
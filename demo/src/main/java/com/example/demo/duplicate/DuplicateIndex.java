@@ -0,0 +1,178 @@
+package com.example.demo.duplicate;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.map.GeoBounds;
+import com.example.demo.map.GeoHash;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Open complaints bucketed by category and geohash cell (precision 7, about
+ * 150m x 150m), each with the MinHash signature of its text. A lookup only
+ * compares against the few buckets around the new report's position, so
+ * its cost depends on local density, not on the total number of complaints.
+ * Complaints without text to compare (null signature) are neither indexed
+ * nor matched.
+ */
+public class DuplicateIndex {
+
+    public static final int CELL_PRECISION = 7;
+
+    /**
+     * duplicateOf is set when the entry itself was linked to an earlier
+     * complaint, so a match resolves to the original report.
+     */
+    public record Entry(double latitude, double longitude, ComplaintCategory category,
+                        int[] signature, long submittedAtMillis, Long duplicateOf) {}
+
+    public record Match(long complaintId, double similarity, double distanceMeters) {}
+
+    private final Map<String, Map<Long, Entry>> buckets = new HashMap<>();
+    private final Map<Long, String> bucketById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bucketById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------- WRITES ----------------
+    public void put(long id, Entry entry) {
+        if (entry.signature() == null) {
+            remove(id);
+            return;
+        }
+        String key = key(entry.category(), GeoHash.encode(entry.latitude(), entry.longitude(), CELL_PRECISION));
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            buckets.computeIfAbsent(key, k -> new HashMap<>()).put(id, entry);
+            bucketById.put(id, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            bucketById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drops entries submitted before the cutoff; returns how many were removed
+    public int evictOlderThan(long cutoffMillis) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            var it = buckets.values().iterator();
+            while (it.hasNext()) {
+                Map<Long, Entry> bucket = it.next();
+                var entries = bucket.entrySet().iterator();
+                while (entries.hasNext()) {
+                    var e = entries.next();
+                    if (e.getValue().submittedAtMillis() < cutoffMillis) {
+                        entries.remove();
+                        bucketById.remove(e.getKey());
+                        removed++;
+                    }
+                }
+                if (bucket.isEmpty()) it.remove();
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        String key = bucketById.remove(id);
+        if (key == null) return;
+        Map<Long, Entry> bucket = buckets.get(key);
+        bucket.remove(id);
+        if (bucket.isEmpty()) buckets.remove(key);
+    }
+
+    // ---------------- LOOKUP ----------------
+    /**
+     * Most similar entry of the same category within radiusMeters, at or
+     * above minSimilarity and submitted at or after notBeforeMillis.
+     * Returns null when nothing qualifies.
+     */
+    public Match findBest(ComplaintCategory category, double latitude, double longitude, int[] signature,
+                          double radiusMeters, double minSimilarity, long notBeforeMillis) {
+        if (signature == null) return null;
+        Set<String> keys = new LinkedHashSet<>();
+        for (String cell : cellsAround(latitude, longitude, radiusMeters)) keys.add(key(category, cell));
+
+        lock.readLock().lock();
+        try {
+            Match best = null;
+            for (String key : keys) {
+                Map<Long, Entry> bucket = buckets.get(key);
+                if (bucket == null) continue;
+
+                for (Map.Entry<Long, Entry> e : bucket.entrySet()) {
+                    Entry entry = e.getValue();
+                    if (entry.submittedAtMillis() < notBeforeMillis) continue;
+
+                    double distance = GeoBounds.distanceMeters(latitude, longitude, entry.latitude(), entry.longitude());
+                    if (distance > radiusMeters) continue;
+
+                    double similarity = MinHash.similarity(signature, entry.signature());
+                    if (similarity < minSimilarity) continue;
+
+                    if (best == null || similarity > best.similarity()
+                            || similarity == best.similarity() && distance < best.distanceMeters()) {
+                        long original = entry.duplicateOf() != null ? entry.duplicateOf() : e.getKey();
+                        best = new Match(original, similarity, distance);
+                    }
+                }
+            }
+            return best;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every precision-7 cell the radius box touches: 1 to 9 cells for radii up to a cell width
+    static Set<String> cellsAround(double latitude, double longitude, double radiusMeters) {
+        GeoBounds box = GeoBounds.around(latitude, longitude, radiusMeters);
+        double dLat = GeoHash.cellHeight(CELL_PRECISION);
+        double dLng = GeoHash.cellWidth(CELL_PRECISION);
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat = box.south(); ; lat = Math.min(lat + dLat, box.north())) {
+            for (double lng = box.west(); ; lng = Math.min(lng + dLng, box.east())) {
+                cells.add(GeoHash.encode(lat, lng, CELL_PRECISION));
+                if (lng >= box.east()) break;
+            }
+            if (lat >= box.north()) break;
+        }
+        return cells;
+    }
+
+    private static String key(ComplaintCategory category, String cell) {
+        return (category != null ? category.name() : "") + ":" + cell;
+    }
+}
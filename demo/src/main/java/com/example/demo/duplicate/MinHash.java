@@ -0,0 +1,90 @@
+package com.example.demo.duplicate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over character 3-gram shingles of normalized text. The
+ * fraction of equal signature slots estimates the Jaccard similarity of the
+ * two shingle sets, so "Big pothole near MG road bus stop" and "pothole on
+ * MG road near the bus stop" compare high despite different wording order,
+ * while two unrelated reports compare near zero.
+ */
+public final class MinHash {
+
+    public static final int SIGNATURE_SIZE = 64;
+    private static final int SHINGLE_LENGTH = 3;
+
+    // Fixed seeds: signatures must stay comparable across restarts
+    private static final long[] SEEDS = new SplittableRandom(0x5EED_C0FFEEL).longs(SIGNATURE_SIZE).toArray();
+
+    private MinHash() {
+    }
+
+    // Null when the text has no letters or digits: all such signatures would be equal
+    public static int[] signature(String text) {
+        Set<Integer> shingles = shingles(normalize(text));
+        if (shingles.isEmpty()) return null;
+
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (int shingle : shingles) {
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int h = (int) (mix(shingle ^ SEEDS[i]) >>> 32);
+                if (h < signature[i]) signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    // Lower-case letters and digits, single spaces between words
+    static String normalize(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                sb.append(Character.toLowerCase(ch));
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') sb.setLength(end - 1);
+        return sb.toString();
+    }
+
+    static Set<Integer> shingles(String normalized) {
+        Set<Integer> shingles = new HashSet<>();
+        if (normalized.isEmpty()) return shingles;
+        if (normalized.length() <= SHINGLE_LENGTH) {
+            shingles.add(normalized.hashCode());
+            return shingles;
+        }
+        for (int i = 0; i + SHINGLE_LENGTH <= normalized.length(); i++) {
+            shingles.add(normalized.substring(i, i + SHINGLE_LENGTH).hashCode());
+        }
+        return shingles;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
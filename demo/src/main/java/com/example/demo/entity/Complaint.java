@@ -4,16 +4,42 @@ import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.example.demo.duplicate.ComplaintDuplicateListener;
+import com.example.demo.map.ComplaintMapListener;
+import com.example.demo.search.ComplaintSearchListener;
+import com.example.demo.sla.ComplaintDeadlineListener;
+import com.example.demo.sla.ComplaintEventListener;
+import com.example.demo.storage.ImageVariant;
 
 @Entity
-@Table(name = "complaints")
+@Table(
+        name = "complaints",
+        indexes = {
+                // Admin list: WHERE deleted/status/priority ORDER BY submission_date
+                @Index(name = "idx_complaints_admin_list",
+                        columnList = "deleted, status, priority, submission_date"),
+                @Index(name = "idx_complaints_deleted_submitted",
+                        columnList = "deleted, submission_date"),
+                // Officer workload: active count per officer
+                @Index(name = "idx_complaints_officer_status",
+                        columnList = "officer_id, status"),
+                @Index(name = "idx_complaints_duplicate_of",
+                        columnList = "duplicate_of_id"),
+                // SLA breach detector: unbreached deadlines in a date range
+                @Index(name = "idx_complaints_sla_deadline",
+                        columnList = "sla_breached_at, expected_completion_date")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@EntityListeners({ComplaintMapListener.class, ComplaintDuplicateListener.class, ComplaintSearchListener.class,
+        ComplaintEventListener.class, ComplaintDeadlineListener.class})
 public class Complaint {
 
     @Id
@@ -96,6 +122,9 @@ public class Complaint {
 
     private LocalDateTime resolutionDate;
 
+    // Set once the expected completion date has passed unresolved; cleared when the date moves
+    private LocalDateTime slaBreachedAt;
+
     @ManyToOne
     @JoinColumn(name = "admin_id")
     private Admin assignedAdmin;
@@ -109,15 +138,58 @@ public class Complaint {
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private ComplaintStage complaintStage = ComplaintStage.REGISTERED;
+
+    // Earlier open complaint this one likely repeats (same category, nearby, similar text)
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
     
     
  
    
 
 
+    // Lifecycle values as last loaded or written; ComplaintEventListener
+    // compares against them to log what an update changed
+    @Transient
+    @JsonIgnore
+    private ComplaintStatus loadedStatus;
+
+    @Transient
+    @JsonIgnore
+    private ComplaintStage loadedStage;
+
+    @Transient
+    @JsonIgnore
+    private Long loadedOfficerId;
+
+    @Transient
+    @JsonIgnore
+    private boolean loadedDeleted;
+
+    @Transient
+    @JsonIgnore
+    private boolean loadedSlaBreached;
+
     @OneToOne(mappedBy = "complaint", cascade = CascadeType.ALL)
     @JsonIgnoreProperties("complaint")
     private Feedback feedback;
 
+    // Downscaled copies for list views; null for uploads without variants
+    public String getImageThumbnailUrl() {
+        return ImageVariant.THUMBNAIL.urlFor(imageUrl);
+    }
+
+    public String getImageMediumUrl() {
+        return ImageVariant.MEDIUM.urlFor(imageUrl);
+    }
+
+    public String getOfficerEvidenceThumbnailUrl() {
+        return ImageVariant.THUMBNAIL.urlFor(officerEvidenceUrl);
+    }
+
+    public String getOfficerEvidenceMediumUrl() {
+        return ImageVariant.MEDIUM.urlFor(officerEvidenceUrl);
+    }
+
 	
 }
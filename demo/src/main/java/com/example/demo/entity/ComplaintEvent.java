@@ -0,0 +1,59 @@
+package com.example.demo.entity;
+
+import com.example.demo.sla.SlaMetric;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Append-only lifecycle history of a complaint; rows are never updated.
+// Inserted in JDBC batches by ComplaintEventService.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "complaint_events",
+        indexes = {
+                @Index(name = "idx_complaint_events_complaint", columnList = "complaint_id, occurred_at")
+        }
+)
+public class ComplaintEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "complaint_id", nullable = false)
+    private Long complaintId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private ComplaintEventType type;
+
+    @Column(name = "from_value", length = 32)
+    private String fromValue;
+
+    @Column(name = "to_value", length = 32)
+    private String toValue;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private ComplaintCategory category;
+
+    @Column(name = "officer_id")
+    private Long officerId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Set when the event completes an SLA interval (e.g. first assignment, resolution)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "sla_metric", length = 32)
+    private SlaMetric slaMetric;
+
+    @Column(name = "duration_seconds")
+    private Long durationSeconds;
+}
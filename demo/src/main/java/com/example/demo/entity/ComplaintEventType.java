@@ -0,0 +1,10 @@
+package com.example.demo.entity;
+
+public enum ComplaintEventType {
+    CREATED,
+    ASSIGNED,
+    STATUS_CHANGED,
+    STAGE_CHANGED,
+    DELETED,
+    SLA_BREACHED
+}
@@ -1,11 +1,21 @@
 package com.example.demo.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum ComplaintStatus {
     PENDING,
     IN_PROGRESS,
     RESOLVED,
     REJECTED, 
     REOPENED, 
-    CLARIFICATION_REQUIRED
+    CLARIFICATION_REQUIRED;
+
+    // Still waiting on someone; resolved and rejected complaints are closed
+    public static final Set<ComplaintStatus> OPEN = EnumSet.of(
+            PENDING, IN_PROGRESS, REOPENED, CLARIFICATION_REQUIRED);
 
+    public boolean isOpen() {
+        return OPEN.contains(this);
+    }
 }
@@ -0,0 +1,8 @@
+package com.example.demo.entity;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
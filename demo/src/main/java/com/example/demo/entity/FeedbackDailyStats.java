@@ -0,0 +1,102 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Running feedback totals for one (day, department, officer) bucket.
+// Averages and distributions are derived from the sums at read time.
+@Entity
+@Data
+@NoArgsConstructor
+@Table(
+        name = "feedback_daily_stats",
+        indexes = {
+                @Index(name = "idx_feedback_stats_officer_day", columnList = "officer_id, stats_day")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_feedback_stats_bucket",
+                columnNames = {"stats_day", "category", "officer_id"})
+)
+public class FeedbackDailyStats {
+
+    // Bucket for complaints without an assigned officer
+    public static final long UNASSIGNED = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "day" is reserved in H2
+    @Column(name = "stats_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ComplaintCategory category;
+
+    @Column(name = "officer_id", nullable = false)
+    private Long officerId;
+
+    private long feedbackCount;
+
+    private long ratingSum;
+    private long ratingCount;
+    private long rating1;
+    private long rating2;
+    private long rating3;
+    private long rating4;
+    private long rating5;
+
+    private long behaviourRatingSum;
+    private long behaviourRatingCount;
+
+    private long onTime;
+    private long slightDelay;
+    private long veryLate;
+
+    private long resolved;
+    private long partiallyResolved;
+    private long notResolved;
+
+    private long reopened;
+
+    public FeedbackDailyStats(LocalDate day, ComplaintCategory category, Long officerId) {
+        this.day = day;
+        this.category = category;
+        this.officerId = officerId;
+    }
+
+    // Adds one submitted feedback; unknown or missing values only count towards feedbackCount
+    public void record(Integer rating, Integer behaviourRating, String timeliness,
+                       String resolutionStatus, Boolean reopened) {
+        feedbackCount++;
+
+        if (rating != null && rating >= 1 && rating <= 5) {
+            ratingSum += rating;
+            ratingCount++;
+            switch (rating) {
+                case 1 -> rating1++;
+                case 2 -> rating2++;
+                case 3 -> rating3++;
+                case 4 -> rating4++;
+                default -> rating5++;
+            }
+        }
+        if (behaviourRating != null && behaviourRating >= 1 && behaviourRating <= 5) {
+            behaviourRatingSum += behaviourRating;
+            behaviourRatingCount++;
+        }
+
+        if ("ON_TIME".equals(timeliness)) onTime++;
+        else if ("SLIGHT_DELAY".equals(timeliness)) slightDelay++;
+        else if ("VERY_LATE".equals(timeliness)) veryLate++;
+
+        if ("RESOLVED".equals(resolutionStatus)) resolved++;
+        else if ("PARTIALLY_RESOLVED".equals(resolutionStatus)) partiallyResolved++;
+        else if ("NOT_RESOLVED".equals(resolutionStatus)) notResolved++;
+
+        if (Boolean.TRUE.equals(reopened)) this.reopened++;
+    }
+}
@@ -1,11 +1,20 @@
 package com.example.demo.entity;
 
+import com.example.demo.map.GeoHash;
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "map_location")
+@Table(
+        name = "map_location",
+        indexes = {
+                // Viewport queries: range scans on geohash prefixes
+                @Index(name = "idx_map_location_geohash", columnList = "geohash")
+        }
+        // One row per complaint: uk_map_location_complaint is added by MapLocationService
+        // once older duplicates are compacted, since ddl-auto cannot add it while they remain
+)
 public class MapLocation {
 
     @Id
@@ -15,6 +24,18 @@ public class MapLocation {
     private Double latitude;
     private Double longitude;
 
+    // Full-precision geohash of (latitude, longitude), kept in sync on write
+    @Column(length = GeoHash.MAX_PRECISION)
+    private String geohash;
+
     private Long citizenId;
     private Long complaintId;
+
+    @PrePersist
+    @PreUpdate
+    public void updateGeohash() {
+        geohash = latitude != null && longitude != null
+                ? GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION)
+                : null;
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Append-only notification inbox; rows are never updated and are dropped after a TTL.
+// Inserted in JDBC batches by NotificationInboxService, in id order per dispatcher.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "notifications",
+        indexes = {
+                @Index(name = "idx_notifications_recipient", columnList = "recipient, id"),
+                @Index(name = "idx_notifications_created", columnList = "created_at")
+        }
+)
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Lower-cased user email, or NotificationInboxService.ADMINS for admin broadcasts
+    @Column(nullable = false, length = 150)
+    private String recipient;
+
+    @Column(name = "complaint_id")
+    private Long complaintId;
+
+    @Column(nullable = false, length = 2000)
+    private String message;
+
+    // Complaint status when the notification was sent
+    @Enumerated(EnumType.STRING)
+    @Column(name = "complaint_status", length = 30)
+    private ComplaintStatus complaintStatus;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
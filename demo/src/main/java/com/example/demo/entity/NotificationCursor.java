@@ -0,0 +1,21 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Highest notification id a user has read; everything after it is unread
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "notification_cursors")
+public class NotificationCursor {
+
+    @Id
+    @Column(length = 150)
+    private String recipient;
+
+    @Column(name = "last_read_id", nullable = false)
+    private long lastReadId;
+}
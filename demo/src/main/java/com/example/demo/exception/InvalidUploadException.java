@@ -0,0 +1,9 @@
+package com.example.demo.exception;
+
+public class InvalidUploadException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A template parsed once into alternating literal and {{placeholder}}
+ * segments. Rendering appends straight into a caller-supplied buffer,
+ * so nothing is re-parsed or concatenated per send.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // literals.length == params.length + 1
+    private final String[] literals;
+    private final String[] params;
+    private final boolean escapeHtml;
+    private final int sizeHint;
+
+    private EmailTemplate(String[] literals, String[] params, boolean escapeHtml) {
+        this.literals = literals;
+        this.params = params;
+        this.escapeHtml = escapeHtml;
+
+        int size = 0;
+        for (String literal : literals) size += literal.length();
+        this.sizeHint = size + params.length * 16;
+    }
+
+    public static EmailTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> params = new ArrayList<>();
+
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, pos);
+            if (open < 0) break;
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            literals.add(source.substring(pos, open));
+            params.add(source.substring(open + OPEN.length(), close).trim());
+            pos = close + CLOSE.length();
+        }
+        literals.add(source.substring(pos));
+
+        return new EmailTemplate(
+                literals.toArray(new String[0]),
+                params.toArray(new String[0]),
+                escapeHtml
+        );
+    }
+
+    public int sizeHint() {
+        return sizeHint;
+    }
+
+    public void renderTo(StringBuilder out, Map<String, String> values) {
+        renderTo(out, values::get);
+    }
+
+    // Missing values render as empty strings
+    public void renderTo(StringBuilder out, Function<String, String> values) {
+        out.ensureCapacity(out.length() + sizeHint);
+        for (int i = 0; i < params.length; i++) {
+            out.append(literals[i]);
+            String value = values.apply(params[i]);
+            if (value == null) continue;
+            if (escapeHtml) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[params.length]);
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        renderTo(out, values);
+        return out.toString();
+    }
+
+    static void appendEscaped(StringBuilder out, String value) {
+        int first = 0;
+        while (first < value.length() && !needsEscape(value.charAt(first))) first++;
+        if (first == value.length()) {
+            out.append(value); // common case: nothing to escape
+            return;
+        }
+
+        out.append(value, 0, first);
+        for (int i = first; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static boolean needsEscape(char c) {
+        return c == '<' || c == '>' || c == '&' || c == '"' || c == '\'';
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.mail;
+
+import com.example.demo.entity.EmailType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Loads and compiles every email template once at startup
+ * (classpath:templates/email) and renders them into per-thread buffers.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    public record RenderedEmail(String subject, String html) {}
+
+    private record CompiledEmail(EmailTemplate subject, EmailTemplate body) {}
+
+    // Buffers above this size are dropped rather than kept per thread
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Map<EmailType, CompiledEmail> templates = new EnumMap<>(EmailType.class);
+
+    private final ThreadLocal<StringBuilder> buffers =
+            ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    public EmailTemplateEngine() {
+        register(EmailType.OTP, "Your OTP for Password Reset", "otp.html");
+        register(EmailType.CREDENTIALS, "Your {{userType}} Account Credentials", "credentials.html");
+        register(EmailType.COMPLAINT_STATUS, "Update on your complaint #{{complaintId}}", "complaint-status.html");
+    }
+
+    // 'recipient' is always available to templates
+    public RenderedEmail render(EmailType type, String recipient, Map<String, String> params) {
+        CompiledEmail compiled = templates.get(type);
+        if (compiled == null) {
+            throw new IllegalArgumentException("No email template for " + type);
+        }
+
+        Function<String, String> values =
+                key -> "recipient".equals(key) ? recipient : params.get(key);
+
+        StringBuilder buffer = buffers.get();
+        try {
+            buffer.setLength(0);
+            compiled.subject().renderTo(buffer, values);
+            String subject = buffer.toString();
+
+            buffer.setLength(0);
+            compiled.body().renderTo(buffer, values);
+            return new RenderedEmail(subject, buffer.toString());
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                buffers.remove();
+            }
+        }
+    }
+
+    private void register(EmailType type, String subject, String file) {
+        templates.put(type, new CompiledEmail(
+                EmailTemplate.compile(subject, false),
+                EmailTemplate.compile(load(file), true)
+        ));
+    }
+
+    private static String load(String file) {
+        ClassPathResource resource = new ClassPathResource("templates/email/" + file);
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Missing email template " + file, e);
+        }
+    }
+}
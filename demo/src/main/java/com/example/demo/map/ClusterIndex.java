@@ -0,0 +1,164 @@
+package com.example.demo.map;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-level grid of complaint counts, updated point by point. Level L cells
+ * are Web Mercator tiles at zoom L, so a map at zoom Z asking for level Z+3
+ * gets roughly one cell per 32px. Each cell keeps its count, coordinate sums
+ * (for the centroid) and counts by category and status.
+ *
+ * Memory is bounded by occupied cells, never by empty space: a cell is
+ * dropped when its count returns to zero.
+ */
+public class ClusterIndex {
+
+    public record Point(double latitude, double longitude, ComplaintCategory category, ComplaintStatus status) {}
+
+    public record Cluster(int level, int x, int y, int count, double latitude, double longitude,
+                          Map<ComplaintCategory, Integer> byCategory,
+                          Map<ComplaintStatus, Integer> byStatus) {}
+
+    private static final ComplaintCategory[] CATEGORIES = ComplaintCategory.values();
+    private static final ComplaintStatus[] STATUSES = ComplaintStatus.values();
+
+    private static final class Cell {
+        int count;
+        double sumLat;
+        double sumLng;
+        final int[] byCategory = new int[CATEGORIES.length + 1]; // last slot: no category
+        final int[] byStatus = new int[STATUSES.length + 1];
+    }
+
+    private final int maxLevel;
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+    private final Map<Long, Point> points = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ClusterIndex(int maxLevel) {
+        this.maxLevel = maxLevel;
+        for (int level = 0; level <= maxLevel; level++) levels.add(new HashMap<>());
+    }
+
+    public int maxLevel() {
+        return maxLevel;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------- WRITES ----------------
+    // Replaces the complaint's previous contribution, if any
+    public void put(long id, Point point) {
+        lock.writeLock().lock();
+        try {
+            Point previous = points.put(id, point);
+            if (previous != null) apply(previous, -1);
+            apply(point, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Point previous = points.remove(id);
+            if (previous != null) apply(previous, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            points.clear();
+            levels.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Point p, int delta) {
+        for (int level = 0; level <= maxLevel; level++) {
+            long key = TileMath.key(TileMath.tileX(p.longitude(), level), TileMath.tileY(p.latitude(), level));
+            Map<Long, Cell> cells = levels.get(level);
+            Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+
+            cell.count += delta;
+            if (cell.count == 0) {
+                cells.remove(key);
+                continue;
+            }
+            cell.sumLat += delta * p.latitude();
+            cell.sumLng += delta * p.longitude();
+            cell.byCategory[p.category() != null ? p.category().ordinal() : CATEGORIES.length] += delta;
+            cell.byStatus[p.status() != null ? p.status().ordinal() : STATUSES.length] += delta;
+        }
+    }
+
+    // ---------------- READS ----------------
+    public List<Cluster> clusters(int level, GeoBounds bounds) {
+        int lvl = Math.max(0, Math.min(maxLevel, level));
+        int minX = TileMath.tileX(bounds.west(), lvl);
+        int maxX = TileMath.tileX(bounds.east(), lvl);
+        int minY = TileMath.tileY(bounds.north(), lvl); // y grows southwards
+        int maxY = TileMath.tileY(bounds.south(), lvl);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> cells = levels.get(lvl);
+            List<Cluster> result = new ArrayList<>();
+
+            // Probe the viewport's cells or walk the occupied ones, whichever is fewer
+            long span = (long) (maxX - minX + 1) * (maxY - minY + 1);
+            if (span <= cells.size()) {
+                for (int x = minX; x <= maxX; x++) {
+                    for (int y = minY; y <= maxY; y++) {
+                        Cell cell = cells.get(TileMath.key(x, y));
+                        if (cell != null) result.add(toCluster(lvl, x, y, cell));
+                    }
+                }
+            } else {
+                cells.forEach((key, cell) -> {
+                    int x = TileMath.keyX(key);
+                    int y = TileMath.keyY(key);
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        result.add(toCluster(lvl, x, y, cell));
+                    }
+                });
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Cluster toCluster(int level, int x, int y, Cell cell) {
+        Map<ComplaintCategory, Integer> byCategory = new EnumMap<>(ComplaintCategory.class);
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (cell.byCategory[i] > 0) byCategory.put(CATEGORIES[i], cell.byCategory[i]);
+        }
+        Map<ComplaintStatus, Integer> byStatus = new EnumMap<>(ComplaintStatus.class);
+        for (int i = 0; i < STATUSES.length; i++) {
+            if (cell.byStatus[i] > 0) byStatus.put(STATUSES[i], cell.byStatus[i]);
+        }
+        return new Cluster(level, x, y, cell.count,
+                cell.sumLat / cell.count, cell.sumLng / cell.count, byCategory, byStatus);
+    }
+}
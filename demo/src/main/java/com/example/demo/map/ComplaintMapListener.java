@@ -0,0 +1,44 @@
+package com.example.demo.map;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.service.MapClusterService;
+import com.example.demo.support.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds complaint writes into the map clusters. Values are captured when
+ * Hibernate flushes and applied only after commit, so a rolled-back change
+ * never shows on the map. Status changes from officer and admin screens are
+ * covered too, since every write goes through the entity.
+ */
+@Component
+public class ComplaintMapListener {
+
+    // Lazy: the service needs repositories, which need this listener's EntityManagerFactory
+    private final ObjectProvider<MapClusterService> mapClusterService;
+
+    public ComplaintMapListener(ObjectProvider<MapClusterService> mapClusterService) {
+        this.mapClusterService = mapClusterService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Complaint complaint) {
+        long id = complaint.getId();
+        ClusterIndex.Point point = complaint.isDeleted() ? null : MapClusterService.toPoint(
+                complaint.getLatitude(), complaint.getLongitude(),
+                complaint.getCategory(), complaint.getStatus());
+
+        AfterCommit.run(() -> mapClusterService.getObject().update(id, point));
+    }
+
+    @PostRemove
+    void onRemove(Complaint complaint) {
+        long id = complaint.getId();
+        AfterCommit.run(() -> mapClusterService.getObject().update(id, null));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.map;
+
+// Viewport in degrees; west <= east (viewports crossing the antimeridian are not supported)
+public record GeoBounds(double south, double west, double north, double east) {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    public GeoBounds {
+        if (south > north || west > east
+                || south < -90 || north > 90 || west < -180 || east > 180) {
+            throw new IllegalArgumentException("Invalid bounds");
+        }
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= south && latitude <= north && longitude >= west && longitude <= east;
+    }
+
+    // Smallest box containing the circle (clamped at the poles and the antimeridian)
+    public static GeoBounds around(double latitude, double longitude, double radiusMeters) {
+        double dLat = radiusMeters / METERS_PER_DEGREE;
+        double cos = Math.cos(Math.toRadians(latitude));
+        double dLng = cos < 1e-6 ? 180 : Math.min(180, radiusMeters / (METERS_PER_DEGREE * cos));
+        return new GeoBounds(
+                Math.max(-90, latitude - dLat), Math.max(-180, longitude - dLng),
+                Math.min(90, latitude + dLat), Math.min(180, longitude + dLng));
+    }
+
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
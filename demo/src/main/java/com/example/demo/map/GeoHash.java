@@ -0,0 +1,143 @@
+package com.example.demo.map;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Base-32 geohash encoding. A geohash prefix is a rectangular cell, and all
+ * points inside it share that prefix, so an index on the full hash answers
+ * "points in cell" with a range scan. {@link #covering} picks the cells for
+ * a viewport and {@link #ranges} merges neighbouring cells into fewer scans.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    // Sorts after every base-32 character: "abc" .. "abc~" spans the whole cell
+    private static final String RANGE_END = "~";
+
+    // Inclusive geohash range [from, to]
+    public record Range(String from, String to) {}
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean even = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (even) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            even = !even;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // Cell size in degrees: longitude gets the extra bit on odd totals
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    /**
+     * Geohash prefixes covering the box, at the finest precision that needs
+     * no more than maxCells cells. Returns an empty set when even one-letter
+     * cells would exceed the limit (the caller should then skip the cell filter).
+     */
+    public static Set<String> covering(GeoBounds bounds, int maxCells) {
+        for (int precision = MAX_PRECISION; precision >= 1; precision--) {
+            double height = cellHeight(precision);
+            double width = cellWidth(precision);
+            long rows = (long) Math.floor(bounds.north() / height) - (long) Math.floor(bounds.south() / height) + 1;
+            long cols = (long) Math.floor(bounds.east() / width) - (long) Math.floor(bounds.west() / width) + 1;
+            if (rows * cols > maxCells) continue;
+
+            Set<String> cells = new LinkedHashSet<>();
+            for (long r = 0; r < rows; r++) {
+                double lat = Math.min(bounds.north(), (Math.floor(bounds.south() / height) + r + 0.5) * height);
+                for (long c = 0; c < cols; c++) {
+                    double lng = Math.min(bounds.east(), (Math.floor(bounds.west() / width) + c + 0.5) * width);
+                    cells.add(encode(clampLat(lat), clampLng(lng), precision));
+                }
+            }
+            return cells;
+        }
+        return Set.of();
+    }
+
+    /**
+     * Index ranges for a set of same-precision cells. Cells whose hashes are
+     * consecutive (e.g. "te7u", "te7v") share one range.
+     */
+    public static List<Range> ranges(Set<String> cells) {
+        List<Range> ranges = new ArrayList<>();
+        String first = null;
+        String last = null;
+        for (String cell : new TreeSet<>(cells)) {
+            if (last != null && isNext(last, cell)) {
+                last = cell;
+                continue;
+            }
+            if (first != null) ranges.add(new Range(first, last + RANGE_END));
+            first = cell;
+            last = cell;
+        }
+        if (first != null) ranges.add(new Range(first, last + RANGE_END));
+        return ranges;
+    }
+
+    private static boolean isNext(String cell, String candidate) {
+        int n = cell.length();
+        if (candidate.length() != n || !cell.regionMatches(0, candidate, 0, n - 1)) return false;
+        return indexOf(candidate.charAt(n - 1)) == indexOf(cell.charAt(n - 1)) + 1;
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < BASE32.length; i++) {
+            if (BASE32[i] == c) return i;
+        }
+        return -1;
+    }
+
+    private static double clampLat(double lat) {
+        return Math.max(-90, Math.min(90 - 1e-9, lat));
+    }
+
+    private static double clampLng(double lng) {
+        return Math.max(-180, Math.min(180 - 1e-9, lng));
+    }
+}
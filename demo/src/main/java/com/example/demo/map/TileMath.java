@@ -0,0 +1,36 @@
+package com.example.demo.map;
+
+// Web Mercator (slippy map) tile arithmetic, as used by Leaflet/OSM
+public final class TileMath {
+
+    // Mercator is undefined at the poles; map libraries clip here
+    public static final double MAX_LATITUDE = 85.05112878;
+
+    private TileMath() {
+    }
+
+    public static int tileX(double longitude, int level) {
+        int n = 1 << level;
+        int x = (int) Math.floor((longitude + 180.0) / 360.0 * n);
+        return Math.max(0, Math.min(n - 1, x));
+    }
+
+    public static int tileY(double latitude, int level) {
+        int n = 1 << level;
+        double lat = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        int y = (int) Math.floor((1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2 * n);
+        return Math.max(0, Math.min(n - 1, y));
+    }
+
+    public static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int keyX(long key) {
+        return (int) (key >>> 32);
+    }
+
+    public static int keyY(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.demo.notify;
+
+import com.example.demo.entity.Notification;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.payload.NotificationDto;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.ComplaintStatusView;
+import com.example.demo.service.NotificationInboxService;
+import com.example.demo.support.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends complaint notifications over STOMP off the request thread.
+ * Notifications raised inside a transaction are only queued once it
+ * commits (a rollback sends nothing). Everything queued for the same
+ * recipient and complaint within the coalescing window goes out as one
+ * frame, with the distinct messages joined in order. Each frame is stored in
+ * the user's inbox before it is sent and carries the inbox id (the client's
+ * catch-up cursor) and the complaint's committed status as a separate field.
+ * The queue is bounded; its depth, sends, merges and drops are published as
+ * notifications.* metrics.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    public static final String USER_QUEUE = "/queue/notify";
+    public static final String ADMIN_TOPIC = "/topic/admin/complaints";
+
+    private static final String SEPARATOR = "; ";
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+
+    // user is null for broadcasts to destination
+    private record Target(String user, String destination, Long complaintId) {
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationInboxService inbox;
+    private final ComplaintRepository complaintRepository;
+    private final long windowMs;
+    private final int maxPending;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "notify-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this
+    private Map<Target, Set<String>> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private final Object sendLock = new Object();
+
+    private final Counter sent;
+    private final Counter coalesced;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter storeFailed;
+
+    public NotificationDispatcher(SimpMessagingTemplate messagingTemplate,
+                                  NotificationInboxService inbox,
+                                  ComplaintRepository complaintRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.notify.coalesce-window-ms:200}") long windowMs,
+                                  @Value("${app.notify.max-pending:10000}") int maxPending) {
+        this.messagingTemplate = messagingTemplate;
+        this.inbox = inbox;
+        this.complaintRepository = complaintRepository;
+        this.windowMs = Math.max(windowMs, 0);
+        this.maxPending = Math.max(maxPending, 1);
+
+        Gauge.builder("notifications.pending", this, NotificationDispatcher::pendingCount)
+                .description("Notification frames waiting to be sent")
+                .register(meterRegistry);
+        this.sent = Counter.builder("notifications.sent")
+                .description("Notification frames sent")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("notifications.coalesced")
+                .description("Notifications merged into an already queued frame")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notifications.dropped")
+                .description("Notifications dropped because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notifications.failed")
+                .description("Notification frames the broker rejected")
+                .register(meterRegistry);
+        this.storeFailed = Counter.builder("notifications.store.failed")
+                .description("Notification frames sent without an inbox copy")
+                .register(meterRegistry);
+    }
+
+    // ---------------- PUBLISH ----------------
+    public void toUser(String email, Long complaintId, String message) {
+        if (email == null) return;
+        // Principals are lower-cased on STOMP CONNECT
+        publish(new Target(email.toLowerCase(), USER_QUEUE, complaintId), message);
+    }
+
+    public void toAdmins(Long complaintId, String message) {
+        publish(new Target(null, ADMIN_TOPIC, complaintId), message);
+    }
+
+    private void publish(Target target, String message) {
+        AfterCommit.run(() -> enqueue(target, message));
+    }
+
+    private synchronized void enqueue(Target target, String message) {
+        Set<String> messages = pending.get(target);
+        if (messages != null) {
+            messages.add(message);
+            coalesced.increment();
+        } else if (pending.size() >= maxPending) {
+            dropped.increment();
+            return;
+        } else {
+            messages = new LinkedHashSet<>();
+            messages.add(message);
+            pending.put(target, messages);
+        }
+
+        if (!flushScheduled) {
+            try {
+                executor.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+                flushScheduled = true;
+            } catch (RejectedExecutionException e) {
+                // Shutting down: close() flushes what is left
+            }
+        }
+    }
+
+    // ---------------- SEND ----------------
+    // Single sender at a time, so stored ids follow send order
+    public void flush() {
+        synchronized (sendLock) {
+            Map<Target, Set<String>> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                flushScheduled = false;
+            }
+            if (batch.isEmpty()) return;
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Target> targets = new ArrayList<>(batch.keySet());
+            Map<Long, ComplaintStatus> statuses = statusesOf(targets);
+            List<Notification> stored = new ArrayList<>(targets.size());
+            for (Target target : targets) {
+                stored.add(Notification.builder()
+                        .recipient(target.user() != null ? target.user() : NotificationInboxService.ADMINS)
+                        .complaintId(target.complaintId())
+                        .message(truncate(String.join(SEPARATOR, batch.get(target))))
+                        .complaintStatus(statuses.get(target.complaintId()))
+                        .createdAt(now)
+                        .build());
+            }
+            try {
+                inbox.append(stored);
+            } catch (RuntimeException e) {
+                // Live delivery still goes out; only catch-up misses these
+                storeFailed.increment(stored.size());
+                log.warn("Could not store {} notifications: {}", stored.size(), e.getMessage());
+            }
+
+            for (int i = 0; i < targets.size(); i++) {
+                send(targets.get(i), stored.get(i));
+            }
+        }
+    }
+
+    private void send(Target target, Notification notification) {
+        NotificationDto payload = new NotificationDto(notification.getComplaintId(), notification.getMessage(),
+                notification.getComplaintStatus() != null ? notification.getComplaintStatus().name() : null,
+                notification.getId(), notification.getCreatedAt());
+        try {
+            if (target.user() != null) {
+                messagingTemplate.convertAndSendToUser(target.user(), target.destination(), payload);
+            } else {
+                messagingTemplate.convertAndSend(target.destination(), payload);
+            }
+            sent.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Notification to {} {} failed: {}",
+                    target.user() != null ? target.user() : "", target.destination(), e.getMessage());
+        }
+    }
+
+    // Read after commit, so it is the status the notified change left behind
+    private Map<Long, ComplaintStatus> statusesOf(List<Target> targets) {
+        Set<Long> ids = new HashSet<>();
+        for (Target target : targets) {
+            if (target.complaintId() != null) ids.add(target.complaintId());
+        }
+        Map<Long, ComplaintStatus> statuses = new HashMap<>();
+        if (ids.isEmpty()) return statuses;
+        try {
+            for (ComplaintStatusView view : complaintRepository.findStatusesByIdIn(ids)) {
+                statuses.put(view.getId(), view.getStatus());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read complaint statuses for notifications: {}", e.getMessage());
+        }
+        return statuses;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        flush();
+    }
+}
@@ -19,11 +19,14 @@ public class CitizenComplaintResponse {
     private String officerRemark;
     private String adminRemark;
     private String officerEvidenceUrl;
+    private String officerEvidenceThumbnailUrl;
+    private String officerEvidenceMediumUrl;
     //private LocalDateTime expectedCompletionDate;
     private LocalDate expectedCompletionDate;
     private LocalDateTime submissionDate;
     private boolean deleted;
     private String deletionReason;
     private String clarificationMessage;
+    private Long duplicateOfId;
 
 }
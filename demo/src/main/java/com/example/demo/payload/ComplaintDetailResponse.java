@@ -0,0 +1,48 @@
+package com.example.demo.payload;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComplaintDetailResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private String category;
+    private String priority;
+    private String status;
+    private String complaintStage;
+    private Double latitude;
+    private Double longitude;
+    private String location;
+    private String citizenName;
+    private String citizenPhone;
+    private LocalDateTime submissionDate;
+    private LocalDateTime assignedDate;
+    private LocalDate expectedCompletionDate;
+    private LocalDateTime resolutionDate;
+    private String officerRemark;
+    private String adminRemark;
+    private String clarificationMessage;
+    private String deletionReason;
+    private String imageUrl;
+    private String imageThumbnailUrl;
+    private String imageMediumUrl;
+    private String officerEvidenceUrl;
+    private String officerEvidenceThumbnailUrl;
+    private String officerEvidenceMediumUrl;
+    private Long assignedOfficerId;
+    private String assignedOfficerName;
+    private String assignedOfficerEmail;
+    private String assignedOfficerDepartment;
+    private String assignedOfficerStatus;
+    private Long duplicateOfId;
+    private boolean deleted;
+    private boolean feedbackSubmitted;
+}
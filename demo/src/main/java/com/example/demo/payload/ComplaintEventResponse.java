@@ -0,0 +1,21 @@
+package com.example.demo.payload;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComplaintEventResponse {
+
+    private Long id;
+    private String type;
+    private String fromValue;
+    private String toValue;
+    private Long officerId;
+    private LocalDateTime occurredAt;
+    private String slaMetric;
+    private Long durationSeconds;
+}
@@ -0,0 +1,37 @@
+package com.example.demo.payload;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One row of the admin and citizen complaint lists; read in a single query
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComplaintListResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private String category;
+    private String priority;
+    private String status;
+    private String complaintStage;
+    private String location;
+    private LocalDateTime submissionDate;
+    private LocalDate expectedCompletionDate;
+    private LocalDateTime resolutionDate;
+    private String imageUrl;
+    private String imageThumbnailUrl;
+    private String imageMediumUrl;
+    private String officerEvidenceUrl;
+    private String officerEvidenceThumbnailUrl;
+    private Long assignedOfficerId;
+    private String assignedOfficerName;
+    private String assignedOfficerStatus;
+    private Long duplicateOfId;
+    private boolean deleted;
+    private boolean feedbackSubmitted;
+}
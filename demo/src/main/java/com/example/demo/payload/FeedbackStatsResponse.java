@@ -0,0 +1,34 @@
+package com.example.demo.payload;
+
+import lombok.*;
+
+import java.util.List;
+
+// Feedback totals for one group (department, officer, day or overall)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedbackStatsResponse {
+
+    // Department name, officer id, ISO date or "ALL"
+    private String key;
+    private String label;
+
+    private long feedbackCount;
+    private Double averageRating;
+    private Double averageBehaviourRating;
+
+    // Counts of 1..5 star ratings
+    private List<Long> ratingHistogram;
+
+    private long onTime;
+    private long slightDelay;
+    private long veryLate;
+
+    private long resolved;
+    private long partiallyResolved;
+    private long notResolved;
+
+    private long reopened;
+}
@@ -0,0 +1,24 @@
+package com.example.demo.payload;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MapClusterResponse {
+
+    // Web Mercator cell (zoom + 3) the cluster aggregates
+    private int tileX;
+    private int tileY;
+
+    // Centroid of the complaints in the cell
+    private double latitude;
+    private double longitude;
+
+    private int count;
+    private Map<String, Integer> byCategory;
+    private Map<String, Integer> byStatus;
+}
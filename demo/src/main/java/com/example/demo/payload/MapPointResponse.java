@@ -0,0 +1,21 @@
+package com.example.demo.payload;
+
+import lombok.*;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MapPointResponse {
+
+    private Long complaintId;
+    private Double latitude;
+    private Double longitude;
+    private String title;
+    private String category;
+    private String status;
+    private String priority;
+
+    // Only set for radius queries
+    private Double distanceMeters;
+}
@@ -0,0 +1,18 @@
+package com.example.demo.payload;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MapQueryResponse {
+
+    private List<MapPointResponse> points;
+    private int count;
+
+    // More complaints matched than the requested limit
+    private boolean truncated;
+}
@@ -0,0 +1,16 @@
+package com.example.demo.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class NotificationCatchUpResponse {
+
+    private List<NotificationDto> notifications;
+    // More are waiting: subscribe again with nextSince as the "since" header
+    private boolean hasMore;
+    private long nextSince;
+}
@@ -2,11 +2,28 @@ package com.example.demo.payload;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 public class NotificationDto {
 
 	 private Long complaintId;
 	    private String status;
+
+    // Human-readable text lives in status (several messages joined when coalesced);
+    // this is the complaint's actual status, null if the complaint is gone
+    private String complaintStatus;
+
+    // Inbox id: clients keep the highest one seen as their catch-up cursor.
+    // Null when the notification could not be stored.
+    private Long id;
+    private LocalDateTime createdAt;
+
+    public NotificationDto(Long complaintId, String status) {
+        this(complaintId, status, null, null, null);
+    }
 }
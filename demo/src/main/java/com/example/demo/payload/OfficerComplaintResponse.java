@@ -27,8 +27,13 @@ public class OfficerComplaintResponse {
     private Double longitude;
     private LocalDateTime submissionDate;
     private String imageUrl;
+    private String imageThumbnailUrl;
+    private String imageMediumUrl;
     private String officerEvidenceUrl;
+    private String officerEvidenceThumbnailUrl;
+    private String officerEvidenceMediumUrl;
     private String complaintStage;
+    private Long duplicateOfId;
 
     // Assigned Officer Info
     private String assignedOfficerName;
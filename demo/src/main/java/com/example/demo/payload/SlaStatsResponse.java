@@ -0,0 +1,21 @@
+package com.example.demo.payload;
+
+import lombok.*;
+
+// Percentiles of one SLA metric for a category, an officer or overall (seconds)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlaStatsResponse {
+
+    private String metric;
+    private String key;
+    private String label;
+    private long count;
+    private double meanSeconds;
+    private long p50Seconds;
+    private long p90Seconds;
+    private long p99Seconds;
+    private long maxSeconds;
+}
@@ -0,0 +1,14 @@
+package com.example.demo.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UnreadCountResponse {
+
+    private long unread;
+    private long lastReadId;
+    // Highest notification id in the inbox (0 when empty)
+    private long latestId;
+}
@@ -0,0 +1,13 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.AppInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AppInstanceRepository extends JpaRepository<AppInstance, String> {
+
+    // Other instances that have refreshed their row recently
+    List<AppInstance> findByInstanceIdNotAndLastSeenAfter(String instanceId, LocalDateTime since);
+}
@@ -0,0 +1,11 @@
+package com.example.demo.repositories;
+
+import java.time.LocalDate;
+
+// Open complaint with a pending expected completion date
+public interface ComplaintDeadlineView {
+
+    Long getId();
+
+    LocalDate getExpectedCompletionDate();
+}
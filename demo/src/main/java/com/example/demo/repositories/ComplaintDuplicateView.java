@@ -0,0 +1,25 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+
+import java.time.LocalDateTime;
+
+// Row used to build the in-memory duplicate index
+public interface ComplaintDuplicateView {
+
+    Long getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    ComplaintCategory getCategory();
+
+    String getTitle();
+
+    String getDescription();
+
+    LocalDateTime getSubmissionDate();
+
+    Long getDuplicateOfId();
+}
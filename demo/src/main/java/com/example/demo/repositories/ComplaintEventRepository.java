@@ -0,0 +1,24 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ComplaintEventRepository extends JpaRepository<ComplaintEvent, Long> {
+
+    List<ComplaintEvent> findByComplaintIdOrderByOccurredAtAscIdAsc(Long complaintId);
+
+    // Keyset pages of completed SLA intervals, for rebuilding the histograms
+    @Query("""
+        SELECT e.id AS id, e.slaMetric AS slaMetric, e.category AS category,
+               e.officerId AS officerId, e.durationSeconds AS durationSeconds
+        FROM ComplaintEvent e
+        WHERE e.slaMetric IS NOT NULL AND e.id > :afterId
+        ORDER BY e.id
+    """)
+    List<ComplaintSlaView> findSlaRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+
+import java.time.LocalDateTime;
+
+// Lifecycle timestamps of a complaint, for seeding complaint_events on existing installs
+public interface ComplaintLifecycleView {
+
+    Long getId();
+
+    ComplaintCategory getCategory();
+
+    ComplaintStatus getStatus();
+
+    Long getOfficerId();
+
+    LocalDateTime getSubmissionDate();
+
+    LocalDateTime getAssignedDate();
+
+    LocalDateTime getResolutionDate();
+}
@@ -0,0 +1,18 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+
+// Row used to build the in-memory map clusters
+public interface ComplaintMapView {
+
+    Long getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    ComplaintCategory getCategory();
+
+    ComplaintStatus getStatus();
+}
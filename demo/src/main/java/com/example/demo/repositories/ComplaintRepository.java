@@ -4,13 +4,119 @@ import com.example.demo.entity.Complaint;
 import com.example.demo.entity.ComplaintStatus;
 import com.example.demo.entity.Officer;
 import com.example.demo.entity.Citizen;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
+public interface ComplaintRepository extends JpaRepository<Complaint, Long>,
+        JpaSpecificationExecutor<Complaint>, ComplaintRepositoryCustom {
+
+    // ------------------ MAP ------------------
+    // Keyset pages of live complaints for the cluster index
+    @Query("""
+        SELECT c.id AS id, c.latitude AS latitude, c.longitude AS longitude,
+               c.category AS category, c.status AS status
+        FROM Complaint c
+        WHERE c.deleted = false AND c.id > :afterId
+        ORDER BY c.id
+    """)
+    List<ComplaintMapView> findMapPointsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // ------------------ LIFECYCLE EVENTS ------------------
+    // Keyset pages of every complaint, for seeding complaint_events once
+    @Query("""
+        SELECT c.id AS id, c.category AS category, c.status AS status,
+               c.assignedOfficer.id AS officerId, c.submissionDate AS submissionDate,
+               c.assignedDate AS assignedDate, c.resolutionDate AS resolutionDate
+        FROM Complaint c
+        WHERE c.id > :afterId
+        ORDER BY c.id
+    """)
+    List<ComplaintLifecycleView> findLifecycleRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // ------------------ SLA DEADLINES ------------------
+    // Unbreached open complaints due after (afterDate, afterId) and before toDate, in index
+    // order: idx_complaints_sla_deadline is (sla_breached_at, expected_completion_date) and
+    // InnoDB appends the primary key, so each page continues the range scan without sorting
+    @Query("""
+        SELECT c.id AS id, c.expectedCompletionDate AS expectedCompletionDate
+        FROM Complaint c
+        WHERE c.slaBreachedAt IS NULL
+          AND (c.expectedCompletionDate > :afterDate
+               OR c.expectedCompletionDate = :afterDate AND c.id > :afterId)
+          AND c.expectedCompletionDate < :toDate
+          AND c.deleted = false AND c.status IN :statuses
+        ORDER BY c.expectedCompletionDate, c.id
+    """)
+    List<ComplaintDeadlineView> findDeadlinesAfter(@Param("afterDate") LocalDate afterDate,
+                                                   @Param("afterId") Long afterId,
+                                                   @Param("toDate") LocalDate toDate,
+                                                   @Param("statuses") Collection<ComplaintStatus> statuses,
+                                                   Pageable pageable);
+
+    // Claims the breach: 0 if another instance already flagged it or the complaint changed.
+    // Clears the persistence context so callers re-read the row instead of saving a stale copy
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Complaint c SET c.slaBreachedAt = :now
+        WHERE c.id = :id AND c.slaBreachedAt IS NULL
+          AND c.deleted = false AND c.status IN :statuses
+          AND c.expectedCompletionDate < :dueBefore
+    """)
+    int markSlaBreached(@Param("id") Long id,
+                        @Param("now") LocalDateTime now,
+                        @Param("dueBefore") LocalDate dueBefore,
+                        @Param("statuses") Collection<ComplaintStatus> statuses);
+
+    // ------------------ NOTIFICATIONS ------------------
+    @Query("SELECT c.id AS id, c.status AS status FROM Complaint c WHERE c.id IN :ids")
+    List<ComplaintStatusView> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ------------------ DUPLICATES ------------------
+    // Keyset pages of recent open complaints for the duplicate index
+    @Query("""
+        SELECT c.id AS id, c.latitude AS latitude, c.longitude AS longitude,
+               c.category AS category, c.title AS title, c.description AS description,
+               c.submissionDate AS submissionDate, c.duplicateOfId AS duplicateOfId
+        FROM Complaint c
+        WHERE c.deleted = false AND c.id > :afterId
+          AND c.submissionDate >= :since AND c.status IN :statuses
+        ORDER BY c.id
+    """)
+    List<ComplaintDuplicateView> findDuplicateCandidatesAfter(
+            @Param("afterId") Long afterId,
+            @Param("since") LocalDateTime since,
+            @Param("statuses") Collection<ComplaintStatus> statuses,
+            Pageable pageable);
+
+    // ------------------ SEARCH ------------------
+    // Keyset pages of live complaints for the search index rebuild
+    @Query("""
+        SELECT c.id AS id, c.title AS title, c.description AS description, c.location AS location,
+               c.officerRemark AS officerRemark, c.adminRemark AS adminRemark,
+               c.status AS status, c.priority AS priority, c.category AS category,
+               c.submissionDate AS submissionDate
+        FROM Complaint c
+        WHERE c.deleted = false AND c.id > :afterId
+        ORDER BY c.id
+    """)
+    List<ComplaintSearchView> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByDeletedFalse();
+
+    // Later reports linked to an original complaint
+    List<Complaint> findByDuplicateOfIdAndDeletedFalseOrderByIdAsc(Long duplicateOfId);
 
     // ------------------ CITIZEN ------------------
     List<Complaint> findByCitizen(Citizen citizen);
@@ -19,6 +125,11 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     // ------------------ OFFICER ------------------
     List<Complaint> findByAssignedOfficer(Officer officer);
 
+    // Officer dashboard list: eager to-one associations joined in, no per-row selects
+    @EntityGraph(attributePaths = {"assignedOfficer", "assignedAdmin", "feedback", "feedback.feedbackBy"})
+    @Query("SELECT c FROM Complaint c WHERE c.assignedOfficer = :officer")
+    List<Complaint> findAssignedWithDetails(@Param("officer") Officer officer);
+
     long countByAssignedOfficerAndStatusIn(Officer officer, List<ComplaintStatus> statuses);
 
     @Query("SELECT c FROM Complaint c WHERE c.assignedOfficer.id = :officerId")
@@ -33,8 +144,10 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
 
     // ================= ADMIN / FEEDBACK =================
 
-    // ✅ REQUIRED FOR ADMIN FEEDBACK VIEW
-    List<Complaint> findByFeedbackIsNotNull();
+    // Paged admin list: to-one associations fetched with the page, not per row
+    @Override
+    @EntityGraph(attributePaths = {"citizen", "assignedOfficer", "assignedAdmin", "feedback"})
+    Page<Complaint> findAll(Specification<Complaint> spec, Pageable pageable);
 
     // ✅ Get all UNASSIGNED complaints
     List<Complaint> findByAssignedOfficerIsNull();
@@ -46,4 +159,8 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
         AND c.status <> 'RESOLVED'
     """)
     long countActiveComplaintsByOfficer(@Param("officerId") Long officerId);
+
+    // Row lock that serializes writers of the complaint's map_location row
+    @Query(value = "SELECT id FROM complaints WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("id") Long id);
 }
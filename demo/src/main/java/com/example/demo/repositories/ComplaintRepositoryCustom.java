@@ -0,0 +1,23 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.payload.ComplaintDetailResponse;
+import com.example.demo.payload.ComplaintListResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+// List and detail reads that select only the columns the screens show:
+// one statement per page (plus the count), no entity or association loading
+public interface ComplaintRepositoryCustom {
+
+    Page<ComplaintListResponse> findListPage(Specification<Complaint> spec, Pageable pageable);
+
+    List<ComplaintListResponse> findListRows(Specification<Complaint> spec, Sort sort);
+
+    Optional<ComplaintDetailResponse> findDetail(Long complaintId);
+}
@@ -0,0 +1,229 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.entity.Feedback;
+import com.example.demo.entity.Officer;
+import com.example.demo.payload.ComplaintDetailResponse;
+import com.example.demo.payload.ComplaintListResponse;
+import com.example.demo.storage.ImageVariant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ComplaintListResponse> findListPage(Specification<Complaint> spec, Pageable pageable) {
+        CriteriaQuery<Tuple> query = listQuery(spec, pageable.getSort());
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        List<ComplaintListResponse> content = typed.getResultList().stream()
+                .map(ComplaintRepositoryImpl::toListRow)
+                .toList();
+
+        // Skip the count when this page already shows where the list ends
+        long total;
+        if (pageable.isUnpaged()) {
+            total = content.size();
+        } else if (content.size() < pageable.getPageSize() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            total = pageable.getOffset() + content.size();
+        } else {
+            total = count(spec);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<ComplaintListResponse> findListRows(Specification<Complaint> spec, Sort sort) {
+        return entityManager.createQuery(listQuery(spec, sort))
+                .getResultList()
+                .stream()
+                .map(ComplaintRepositoryImpl::toListRow)
+                .toList();
+    }
+
+    @Override
+    public Optional<ComplaintDetailResponse> findDetail(Long complaintId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Complaint> c = query.from(Complaint.class);
+        Join<Complaint, Officer> o = c.join("assignedOfficer", JoinType.LEFT);
+
+        List<Selection<?>> columns = new ArrayList<>(commonColumns(cb, query, c, o));
+        columns.add(c.get("latitude").alias("latitude"));
+        columns.add(c.get("longitude").alias("longitude"));
+        columns.add(c.get("citizenName").alias("citizenName"));
+        columns.add(c.get("citizenPhone").alias("citizenPhone"));
+        columns.add(c.get("assignedDate").alias("assignedDate"));
+        columns.add(c.get("officerRemark").alias("officerRemark"));
+        columns.add(c.get("adminRemark").alias("adminRemark"));
+        columns.add(c.get("clarificationMessage").alias("clarificationMessage"));
+        columns.add(c.get("deletionReason").alias("deletionReason"));
+        columns.add(o.get("email").alias("officerEmail"));
+        columns.add(o.get("department").alias("officerDepartment"));
+
+        query.multiselect(columns).where(cb.equal(c.get("id"), complaintId));
+
+        return entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(ComplaintRepositoryImpl::toDetail);
+    }
+
+    // ---------------- QUERY BUILDING ----------------
+    private CriteriaQuery<Tuple> listQuery(Specification<Complaint> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Complaint> c = query.from(Complaint.class);
+        Join<Complaint, Officer> o = c.join("assignedOfficer", JoinType.LEFT);
+
+        query.multiselect(commonColumns(cb, query, c, o));
+        Predicate where = spec != null ? spec.toPredicate(c, query, cb) : null;
+        if (where != null) {
+            query.where(where);
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, c, cb));
+        }
+        return query;
+    }
+
+    private long count(Specification<Complaint> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Complaint> c = query.from(Complaint.class);
+        query.select(cb.count(c));
+        Predicate where = spec != null ? spec.toPredicate(c, query, cb) : null;
+        if (where != null) {
+            query.where(where);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Selection<?>> commonColumns(CriteriaBuilder cb, CriteriaQuery<?> query,
+                                                    Root<Complaint> c, Join<Complaint, Officer> o) {
+        // Feedback is a separate table; an EXISTS keeps one row per complaint
+        Subquery<Long> feedback = query.subquery(Long.class);
+        Root<Feedback> f = feedback.from(Feedback.class);
+        feedback.select(f.get("id")).where(cb.equal(f.get("complaint").get("id"), c.get("id")));
+
+        return List.of(
+                c.get("id").alias("id"),
+                c.get("title").alias("title"),
+                c.get("description").alias("description"),
+                c.get("category").alias("category"),
+                c.get("priority").alias("priority"),
+                c.get("status").alias("status"),
+                c.get("complaintStage").alias("complaintStage"),
+                c.get("location").alias("location"),
+                c.get("submissionDate").alias("submissionDate"),
+                c.get("expectedCompletionDate").alias("expectedCompletionDate"),
+                c.get("resolutionDate").alias("resolutionDate"),
+                c.get("imageUrl").alias("imageUrl"),
+                c.get("officerEvidenceUrl").alias("officerEvidenceUrl"),
+                c.get("duplicateOfId").alias("duplicateOfId"),
+                c.get("deleted").alias("deleted"),
+                o.get("id").alias("officerId"),
+                o.get("name").alias("officerName"),
+                o.get("status").alias("officerStatus"),
+                cb.selectCase().when(cb.exists(feedback), true).otherwise(false).alias("feedbackSubmitted")
+        );
+    }
+
+    // ---------------- MAPPING ----------------
+    private static ComplaintListResponse toListRow(Tuple t) {
+        String imageUrl = t.get("imageUrl", String.class);
+        String evidenceUrl = t.get("officerEvidenceUrl", String.class);
+        return ComplaintListResponse.builder()
+                .id(t.get("id", Long.class))
+                .title(t.get("title", String.class))
+                .description(t.get("description", String.class))
+                .category(name(t, "category"))
+                .priority(name(t, "priority"))
+                .status(name(t, "status"))
+                .complaintStage(name(t, "complaintStage"))
+                .location(t.get("location", String.class))
+                .submissionDate(t.get("submissionDate", LocalDateTime.class))
+                .expectedCompletionDate(t.get("expectedCompletionDate", LocalDate.class))
+                .resolutionDate(t.get("resolutionDate", LocalDateTime.class))
+                .imageUrl(imageUrl)
+                .imageThumbnailUrl(ImageVariant.THUMBNAIL.urlFor(imageUrl))
+                .imageMediumUrl(ImageVariant.MEDIUM.urlFor(imageUrl))
+                .officerEvidenceUrl(evidenceUrl)
+                .officerEvidenceThumbnailUrl(ImageVariant.THUMBNAIL.urlFor(evidenceUrl))
+                .assignedOfficerId(t.get("officerId", Long.class))
+                .assignedOfficerName(t.get("officerName", String.class))
+                .assignedOfficerStatus(name(t, "officerStatus"))
+                .duplicateOfId(t.get("duplicateOfId", Long.class))
+                .deleted(Boolean.TRUE.equals(t.get("deleted", Boolean.class)))
+                .feedbackSubmitted(Boolean.TRUE.equals(t.get("feedbackSubmitted", Boolean.class)))
+                .build();
+    }
+
+    private static ComplaintDetailResponse toDetail(Tuple t) {
+        String imageUrl = t.get("imageUrl", String.class);
+        String evidenceUrl = t.get("officerEvidenceUrl", String.class);
+        return ComplaintDetailResponse.builder()
+                .id(t.get("id", Long.class))
+                .title(t.get("title", String.class))
+                .description(t.get("description", String.class))
+                .category(name(t, "category"))
+                .priority(name(t, "priority"))
+                .status(name(t, "status"))
+                .complaintStage(name(t, "complaintStage"))
+                .latitude(t.get("latitude", Double.class))
+                .longitude(t.get("longitude", Double.class))
+                .location(t.get("location", String.class))
+                .citizenName(t.get("citizenName", String.class))
+                .citizenPhone(t.get("citizenPhone", String.class))
+                .submissionDate(t.get("submissionDate", LocalDateTime.class))
+                .assignedDate(t.get("assignedDate", LocalDateTime.class))
+                .expectedCompletionDate(t.get("expectedCompletionDate", LocalDate.class))
+                .resolutionDate(t.get("resolutionDate", LocalDateTime.class))
+                .officerRemark(t.get("officerRemark", String.class))
+                .adminRemark(t.get("adminRemark", String.class))
+                .clarificationMessage(t.get("clarificationMessage", String.class))
+                .deletionReason(t.get("deletionReason", String.class))
+                .imageUrl(imageUrl)
+                .imageThumbnailUrl(ImageVariant.THUMBNAIL.urlFor(imageUrl))
+                .imageMediumUrl(ImageVariant.MEDIUM.urlFor(imageUrl))
+                .officerEvidenceUrl(evidenceUrl)
+                .officerEvidenceThumbnailUrl(ImageVariant.THUMBNAIL.urlFor(evidenceUrl))
+                .officerEvidenceMediumUrl(ImageVariant.MEDIUM.urlFor(evidenceUrl))
+                .assignedOfficerId(t.get("officerId", Long.class))
+                .assignedOfficerName(t.get("officerName", String.class))
+                .assignedOfficerEmail(t.get("officerEmail", String.class))
+                .assignedOfficerDepartment(name(t, "officerDepartment"))
+                .assignedOfficerStatus(name(t, "officerStatus"))
+                .duplicateOfId(t.get("duplicateOfId", Long.class))
+                .deleted(Boolean.TRUE.equals(t.get("deleted", Boolean.class)))
+                .feedbackSubmitted(Boolean.TRUE.equals(t.get("feedbackSubmitted", Boolean.class)))
+                .build();
+    }
+
+    private static String name(Tuple t, String alias) {
+        Enum<?> value = t.get(alias, Enum.class);
+        return value != null ? value.name() : null;
+    }
+}
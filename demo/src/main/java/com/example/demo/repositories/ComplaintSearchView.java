@@ -0,0 +1,31 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.entity.Priority;
+
+import java.time.LocalDateTime;
+
+// Row used to rebuild the full-text search index
+public interface ComplaintSearchView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getLocation();
+
+    String getOfficerRemark();
+
+    String getAdminRemark();
+
+    ComplaintStatus getStatus();
+
+    Priority getPriority();
+
+    ComplaintCategory getCategory();
+
+    LocalDateTime getSubmissionDate();
+}
@@ -0,0 +1,18 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.sla.SlaMetric;
+
+// Completed SLA interval from complaint_events
+public interface ComplaintSlaView {
+
+    Long getId();
+
+    SlaMetric getSlaMetric();
+
+    ComplaintCategory getCategory();
+
+    Long getOfficerId();
+
+    Long getDurationSeconds();
+}
@@ -0,0 +1,87 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.entity.Priority;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Locale;
+
+// Filters for the admin complaint list, evaluated in the database
+public final class ComplaintSpecifications {
+
+    private ComplaintSpecifications() {
+    }
+
+    public static Specification<Complaint> notDeleted() {
+        return (root, query, cb) -> cb.isFalse(root.get("deleted"));
+    }
+
+    // Unknown status values match nothing (same as the old in-memory filter)
+    public static Specification<Complaint> hasStatus(String status) {
+        if (status == null || status.isBlank()) return null;
+        try {
+            ComplaintStatus value = ComplaintStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+            return (root, query, cb) -> cb.equal(root.get("status"), value);
+        } catch (IllegalArgumentException e) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+    }
+
+    public static Specification<Complaint> hasPriority(String priority) {
+        if (priority == null || priority.isBlank()) return null;
+        try {
+            Priority value = Priority.valueOf(priority.trim().toUpperCase(Locale.ROOT));
+            return (root, query, cb) -> cb.equal(root.get("priority"), value);
+        } catch (IllegalArgumentException e) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+    }
+
+    public static Specification<Complaint> titleContains(String search) {
+        if (search == null || search.isBlank()) return null;
+        String pattern = "%" + escapeLike(search.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, '\\');
+    }
+
+    public static Specification<Complaint> hasCategory(String category) {
+        if (category == null || category.isBlank()) return null;
+        try {
+            ComplaintCategory value = ComplaintCategory.valueOf(category.trim().toUpperCase(Locale.ROOT));
+            return (root, query, cb) -> cb.equal(root.get("category"), value);
+        } catch (IllegalArgumentException e) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+    }
+
+    // Unranked substring match; only used while the search index is not ready
+    public static Specification<Complaint> textContains(String search) {
+        if (search == null || search.isBlank()) return null;
+        String pattern = "%" + escapeLike(search.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, '\\'),
+                cb.like(cb.lower(root.get("description")), pattern, '\\'),
+                cb.like(cb.lower(root.get("location")), pattern, '\\'));
+    }
+
+    public static Specification<Complaint> ownedBy(Long citizenId) {
+        return (root, query, cb) -> cb.equal(root.get("citizen").get("id"), citizenId);
+    }
+
+    public static Specification<Complaint> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Complaint> adminFilter(String search, String status, String priority) {
+        return notDeleted()
+                .and(hasStatus(status))
+                .and(hasPriority(priority))
+                .and(titleContains(search));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
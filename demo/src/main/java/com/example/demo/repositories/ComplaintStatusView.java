@@ -0,0 +1,11 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintStatus;
+
+// Current status of a complaint, for notification frames
+public interface ComplaintStatusView {
+
+    Long getId();
+
+    ComplaintStatus getStatus();
+}
@@ -0,0 +1,55 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.EmailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("""
+        SELECT e.id FROM EmailOutbox e
+        WHERE e.status = com.example.demo.entity.EmailStatus.PENDING
+        AND e.nextAttemptAt <= :now
+        ORDER BY e.id
+    """)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Claim a batch in one statement; rows already taken by another node are skipped
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE EmailOutbox e
+        SET e.status = com.example.demo.entity.EmailStatus.SENDING,
+            e.claimToken = :token, e.claimedAt = :now
+        WHERE e.id IN :ids
+        AND e.status = com.example.demo.entity.EmailStatus.PENDING
+    """)
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("token") String token,
+              @Param("now") LocalDateTime now);
+
+    List<EmailOutbox> findByClaimTokenOrderByIdAsc(String claimToken);
+
+    // Rows left in SENDING by a crashed worker go back to the queue
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE EmailOutbox e
+        SET e.status = com.example.demo.entity.EmailStatus.PENDING,
+            e.claimToken = NULL
+        WHERE e.status = com.example.demo.entity.EmailStatus.SENDING
+        AND e.claimedAt < :cutoff
+    """)
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(EmailStatus status);
+}
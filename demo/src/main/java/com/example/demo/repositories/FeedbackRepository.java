@@ -2,7 +2,11 @@ package com.example.demo.repositories;
 
 import com.example.demo.entity.Citizen;
 import com.example.demo.entity.Feedback;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +14,45 @@ import java.util.Optional;
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     List<Feedback> findAllByFeedbackBy(Citizen citizen);
     Optional<Feedback> findByComplaintId(Long complaintId);
+
+    // ------------------ DASHBOARDS ------------------
+    // Feedback, complaint and citizen columns in one query (no per-row loading)
+    String VIEW_COLUMNS = """
+        SELECT c.id AS complaintId, c.title AS complaintTitle,
+               c.category AS complaintCategory, c.status AS complaintStatus,
+               cz.id AS citizenId, cz.name AS citizenName, cz.address AS citizenLocation,
+               f.rating AS rating, f.officerBehaviourRating AS officerBehaviourRating,
+               f.resolutionStatus AS resolutionStatus, f.timeliness AS timeliness,
+               f.feedbackComment AS feedbackComment, f.feedbackImageUrl AS feedbackImageUrl,
+               f.reopened AS reopened, f.feedbackSubmittedAt AS submittedAt
+        FROM Feedback f
+        JOIN f.complaint c
+        LEFT JOIN c.citizen cz
+    """;
+
+    @Query(value = VIEW_COLUMNS + " ORDER BY f.id DESC",
+            countQuery = "SELECT COUNT(f) FROM Feedback f")
+    Page<FeedbackView> findFeedbackViews(Pageable pageable);
+
+    @Query(value = VIEW_COLUMNS + " WHERE c.assignedOfficer.id = :officerId ORDER BY f.id DESC",
+            countQuery = "SELECT COUNT(f) FROM Feedback f WHERE f.complaint.assignedOfficer.id = :officerId")
+    Page<FeedbackView> findFeedbackViewsByOfficer(@Param("officerId") Long officerId, Pageable pageable);
+
+    @Query(VIEW_COLUMNS + " WHERE c.assignedOfficer.id = :officerId ORDER BY f.id DESC")
+    List<FeedbackView> findAllFeedbackViewsByOfficer(@Param("officerId") Long officerId);
+
+    // ------------------ ANALYTICS ------------------
+    // Keyset pages for rebuilding feedback_daily_stats
+    @Query("""
+        SELECT f.id AS id, f.feedbackSubmittedAt AS submittedAt,
+               c.category AS category, c.assignedOfficer.id AS officerId,
+               f.rating AS rating, f.officerBehaviourRating AS officerBehaviourRating,
+               f.timeliness AS timeliness, f.resolutionStatus AS resolutionStatus,
+               f.reopened AS reopened
+        FROM Feedback f
+        JOIN f.complaint c
+        WHERE f.id > :afterId
+        ORDER BY f.id
+    """)
+    List<FeedbackStatsSourceView> findStatsSourceAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,28 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.FeedbackDailyStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface FeedbackStatsRepository extends JpaRepository<FeedbackDailyStats, Long>,
+        FeedbackStatsRepositoryCustom {
+
+    boolean existsByDayAndCategoryAndOfficerId(LocalDate day, ComplaintCategory category, Long officerId);
+
+    // Row lock so concurrent submissions to one bucket add up instead of overwriting
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT s FROM FeedbackDailyStats s
+        WHERE s.day = :day AND s.category = :category AND s.officerId = :officerId
+    """)
+    Optional<FeedbackDailyStats> lockBucket(@Param("day") LocalDate day,
+                                            @Param("category") ComplaintCategory category,
+                                            @Param("officerId") Long officerId);
+}
@@ -0,0 +1,17 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.payload.FeedbackStatsResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FeedbackStatsRepositoryCustom {
+
+    enum GroupBy { ALL, DEPARTMENT, OFFICER, DAY }
+
+    // Sums the daily buckets in [from, to]; null bounds and filters are open.
+    // Cost grows with the number of buckets, not the number of feedbacks.
+    List<FeedbackStatsResponse> aggregate(GroupBy groupBy, LocalDate from, LocalDate to,
+                                          ComplaintCategory category, Long officerId);
+}
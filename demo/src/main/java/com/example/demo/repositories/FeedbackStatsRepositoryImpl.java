@@ -0,0 +1,91 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.FeedbackDailyStats;
+import com.example.demo.payload.FeedbackStatsResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FeedbackStatsRepositoryImpl implements FeedbackStatsRepositoryCustom {
+
+    // Summed columns, in select order after the group key
+    private static final List<String> COLUMNS = List.of(
+            "feedbackCount", "ratingSum", "ratingCount",
+            "rating1", "rating2", "rating3", "rating4", "rating5",
+            "behaviourRatingSum", "behaviourRatingCount",
+            "onTime", "slightDelay", "veryLate",
+            "resolved", "partiallyResolved", "notResolved",
+            "reopened");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FeedbackStatsResponse> aggregate(GroupBy groupBy, LocalDate from, LocalDate to,
+                                                 ComplaintCategory category, Long officerId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<FeedbackDailyStats> s = query.from(FeedbackDailyStats.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (from != null) where.add(cb.greaterThanOrEqualTo(s.get("day"), from));
+        if (to != null) where.add(cb.lessThanOrEqualTo(s.get("day"), to));
+        if (category != null) where.add(cb.equal(s.get("category"), category));
+        if (officerId != null) where.add(cb.equal(s.get("officerId"), officerId));
+
+        Expression<?> key = switch (groupBy) {
+            case ALL -> cb.literal("ALL");
+            case DEPARTMENT -> s.get("category");
+            case OFFICER -> s.get("officerId");
+            case DAY -> s.get("day");
+        };
+
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(key);
+        for (String column : COLUMNS) {
+            columns.add(cb.coalesce(cb.sumAsLong(s.get(column)), 0L));
+        }
+
+        query.multiselect(columns).where(where.toArray(Predicate[]::new));
+        if (groupBy != GroupBy.ALL) {
+            query.groupBy(key).orderBy(cb.asc(key));
+        }
+
+        // ALL always yields one row (zero totals when no bucket matches)
+        return entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .map(FeedbackStatsRepositoryImpl::toResponse)
+                .toList();
+    }
+
+    private static FeedbackStatsResponse toResponse(Tuple t) {
+        Object key = t.get(0);
+        long[] v = new long[COLUMNS.size()];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = t.get(i + 1, Long.class);
+        }
+        String keyText = key instanceof Enum<?> e ? e.name() : String.valueOf(key);
+        return FeedbackStatsResponse.builder()
+                .key(keyText)
+                .label(keyText)
+                .feedbackCount(v[0])
+                .averageRating(v[2] > 0 ? (double) v[1] / v[2] : null)
+                .ratingHistogram(List.of(v[3], v[4], v[5], v[6], v[7]))
+                .averageBehaviourRating(v[9] > 0 ? (double) v[8] / v[9] : null)
+                .onTime(v[10])
+                .slightDelay(v[11])
+                .veryLate(v[12])
+                .resolved(v[13])
+                .partiallyResolved(v[14])
+                .notResolved(v[15])
+                .reopened(v[16])
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+
+import java.time.LocalDateTime;
+
+// Feedback row with the complaint's bucket keys, for rebuilding feedback_daily_stats
+public interface FeedbackStatsSourceView {
+
+    Long getId();
+
+    LocalDateTime getSubmittedAt();
+
+    ComplaintCategory getCategory();
+
+    Long getOfficerId();
+
+    Integer getRating();
+
+    Integer getOfficerBehaviourRating();
+
+    String getTimeliness();
+
+    String getResolutionStatus();
+
+    Boolean getReopened();
+}
@@ -0,0 +1,40 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+
+import java.time.LocalDateTime;
+
+// Feedback row joined with its complaint and citizen, for the feedback dashboards
+public interface FeedbackView {
+
+    Long getComplaintId();
+
+    String getComplaintTitle();
+
+    ComplaintCategory getComplaintCategory();
+
+    ComplaintStatus getComplaintStatus();
+
+    Long getCitizenId();
+
+    String getCitizenName();
+
+    String getCitizenLocation();
+
+    Integer getRating();
+
+    Integer getOfficerBehaviourRating();
+
+    String getResolutionStatus();
+
+    String getTimeliness();
+
+    String getFeedbackComment();
+
+    String getFeedbackImageUrl();
+
+    Boolean getReopened();
+
+    LocalDateTime getSubmittedAt();
+}
@@ -1,7 +1,47 @@
 package com.example.demo.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.demo.entity.MapLocation;
 
-public interface MapLocationRepository extends JpaRepository<MapLocation, Long> {}
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface MapLocationRepository extends JpaRepository<MapLocation, Long>, MapLocationRepositoryCustom {
+
+    Optional<MapLocation> findByComplaintId(Long complaintId);
+
+    @Modifying
+    @Query("DELETE FROM MapLocation m WHERE m.complaintId = :complaintId")
+    int deleteByComplaintId(@Param("complaintId") Long complaintId);
+
+    // Rows written before the geohash column existed
+    @Query("SELECT m FROM MapLocation m WHERE m.geohash IS NULL AND m.latitude IS NOT NULL AND m.longitude IS NOT NULL")
+    List<MapLocation> findMissingGeohash(Pageable pageable);
+
+    // ---------------- COMPACTION ----------------
+    // Complaints that still have more than one row from before the upsert
+    @Query("SELECT m.complaintId FROM MapLocation m WHERE m.complaintId IS NOT NULL " +
+           "GROUP BY m.complaintId HAVING COUNT(m) > 1")
+    List<Long> findDuplicatedComplaintIds(Pageable pageable);
+
+    @Query("SELECT MAX(m.id) FROM MapLocation m WHERE m.complaintId IN :complaintIds GROUP BY m.complaintId")
+    List<Long> findLatestIds(@Param("complaintIds") Collection<Long> complaintIds);
+
+    // Two steps (ids first): MySQL rejects a DELETE that selects from its own table
+    @Modifying
+    @Query("DELETE FROM MapLocation m WHERE m.complaintId IN :complaintIds AND m.id NOT IN :keepIds")
+    int deleteAllExcept(@Param("complaintIds") Collection<Long> complaintIds,
+                        @Param("keepIds") Collection<Long> keepIds);
+
+    // Rows left behind by deleted complaints, or saved without one
+    @Modifying
+    @Query("DELETE FROM MapLocation m WHERE m.complaintId IS NULL OR NOT EXISTS " +
+           "(SELECT c.id FROM Complaint c WHERE c.id = m.complaintId AND c.deleted = false)")
+    int deleteOrphans();
+}
@@ -0,0 +1,14 @@
+package com.example.demo.repositories;
+
+import com.example.demo.map.GeoBounds;
+import com.example.demo.map.GeoHash;
+import com.example.demo.payload.MapPointResponse;
+
+import java.util.List;
+
+public interface MapLocationRepositoryCustom {
+
+    // Non-deleted complaints located in the box, newest first. A non-null
+    // range limits the scan to one geohash index range.
+    List<MapPointResponse> findPointsInBounds(GeoBounds bounds, GeoHash.Range range, int limit);
+}
@@ -0,0 +1,68 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.entity.MapLocation;
+import com.example.demo.map.GeoBounds;
+import com.example.demo.map.GeoHash;
+import com.example.demo.payload.MapPointResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MapLocationRepositoryImpl implements MapLocationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MapPointResponse> findPointsInBounds(GeoBounds bounds, GeoHash.Range range, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<MapLocation> m = query.from(MapLocation.class);
+        Root<Complaint> c = query.from(Complaint.class);
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(c.get("id"), m.get("complaintId")));
+        where.add(cb.isFalse(c.get("deleted")));
+
+        // A single BETWEEN, not an OR of ranges: H2 and MySQL only use the index for the former
+        if (range != null) {
+            where.add(cb.between(m.get("geohash"), range.from(), range.to()));
+        }
+        // Cells overhang the box; exact filter on the coordinates
+        where.add(cb.between(m.get("latitude"), bounds.south(), bounds.north()));
+        where.add(cb.between(m.get("longitude"), bounds.west(), bounds.east()));
+
+        query.multiselect(
+                m.get("complaintId"), m.get("latitude"), m.get("longitude"),
+                c.get("title"), c.get("category"), c.get("status"), c.get("priority"))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(m.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(MapLocationRepositoryImpl::toPoint)
+                .toList();
+    }
+
+    private static MapPointResponse toPoint(Tuple t) {
+        Enum<?> category = t.get(4, Enum.class);
+        Enum<?> status = t.get(5, Enum.class);
+        Enum<?> priority = t.get(6, Enum.class);
+        return MapPointResponse.builder()
+                .complaintId(t.get(0, Long.class))
+                .latitude(t.get(1, Double.class))
+                .longitude(t.get(2, Double.class))
+                .title(t.get(3, String.class))
+                .category(category != null ? category.name() : null)
+                .status(status != null ? status.name() : null)
+                .priority(priority != null ? priority.name() : null)
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.NotificationCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NotificationCursorRepository extends JpaRepository<NotificationCursor, String> {
+}
@@ -0,0 +1,27 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // Index range scans on (recipient, id)
+    List<Notification> findByRecipientInAndIdGreaterThanOrderByIdAsc(
+            Collection<String> recipients, Long afterId, Pageable pageable);
+
+    long countByRecipientInAndIdGreaterThan(Collection<String> recipients, Long afterId);
+
+    @Query("SELECT MAX(n.id) FROM Notification n WHERE n.recipient IN :recipients")
+    Long findLatestId(@Param("recipients") Collection<String> recipients);
+
+    // Expired rows, oldest first, for batched compaction
+    @Query("SELECT n.id FROM Notification n WHERE n.createdAt < :cutoff ORDER BY n.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
@@ -1,13 +1,36 @@
 package com.example.demo.repositories;
 
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
 import com.example.demo.entity.Officer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OfficerRepository extends JpaRepository<Officer, Long> {
 
     // Find officer by email
     Officer findByEmail(String email);
-    
+
+    // Every officer with its active complaint count in one GROUP BY (department optional)
+    @Query("""
+        SELECT o.id AS id, o.name AS name, o.email AS email,
+               o.department AS department, o.status AS status,
+               COUNT(c.id) AS activeComplaints
+        FROM Officer o
+        LEFT JOIN Complaint c
+               ON c.assignedOfficer = o AND c.status IN :statuses
+        WHERE (:department IS NULL OR o.department = :department)
+        GROUP BY o.id, o.name, o.email, o.department, o.status
+        ORDER BY o.id
+    """)
+    List<OfficerWorkloadView> findWorkload(
+            @Param("statuses") Collection<ComplaintStatus> statuses,
+            @Param("department") ComplaintCategory department
+    );
 }
@@ -0,0 +1,20 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.OfficerStatus;
+
+// Row of the grouped officer workload query (one per officer)
+public interface OfficerWorkloadView {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    ComplaintCategory getDepartment();
+
+    OfficerStatus getStatus();
+
+    long getActiveComplaints();
+}
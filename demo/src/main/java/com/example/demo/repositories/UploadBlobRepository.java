@@ -0,0 +1,22 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entity.UploadBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UploadBlobRepository extends JpaRepository<UploadBlob, String> {
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UploadBlob b SET b.refCount = b.refCount + 1 WHERE b.sha256 = :sha")
+    int incrementRefCount(@Param("sha") String sha256);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UploadBlob b SET b.refCount = b.refCount - 1 WHERE b.sha256 = :sha AND b.refCount > 0")
+    int decrementRefCount(@Param("sha") String sha256);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM UploadBlob b WHERE b.sha256 = :sha AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("sha") String sha256);
+}
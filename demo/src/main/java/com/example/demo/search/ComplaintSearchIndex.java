@@ -0,0 +1,234 @@
+package com.example.demo.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index over complaint text (title, description, location and the
+ * officer/admin remarks, in one field), with status, priority and category
+ * as exact-match filter fields. Only ids are stored; callers load the rows
+ * they need.
+ *
+ * Writes go straight to the IndexWriter and become visible to the next
+ * search (near-real-time reopen); {@link #commit} makes them durable.
+ */
+public class ComplaintSearchIndex implements Closeable {
+
+    public static final String ID = "id";
+    public static final String TEXT = "text";
+    public static final String STATUS = "status";
+    public static final String PRIORITY = "priority";
+    public static final String CATEGORY = "category";
+    public static final String SUBMITTED = "submitted";
+
+    // Filter-only queries have no score to rank by
+    private static final Sort NEWEST = new Sort(new SortField(SUBMITTED, SortField.Type.LONG, true));
+
+    /** What gets indexed for one complaint; null fields are skipped. */
+    public record Fields(long id, String title, String description, String location, String remarks,
+                         String status, String priority, String category, LocalDateTime submittedAt) {}
+
+    /** Filters are exact enum names; null means "any". */
+    public record Criteria(String text, String status, String priority, String category) {}
+
+    /** total is capped at the search's countLimit. */
+    public record Hits(long total, List<Long> ids) {}
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public ComplaintSearchIndex(Directory directory) throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    // ---------------- WRITES ----------------
+    public void update(Fields fields) {
+        try {
+            writer.updateDocument(new Term(ID, Long.toString(fields.id())), toDocument(fields));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index complaint " + fields.id(), e);
+        }
+    }
+
+    public void delete(long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, Long.toString(id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove complaint " + id + " from the index", e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear the search index", e);
+        }
+    }
+
+    // Durable point; userData is read back on the next start
+    public void commit(Map<String, String> userData) {
+        try {
+            writer.setLiveCommitData(userData.entrySet());
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to commit the search index", e);
+        }
+    }
+
+    public Map<String, String> committedUserData() {
+        try {
+            if (!DirectoryReader.indexExists(writer.getDirectory())) return Map.of();
+            try (DirectoryReader reader = DirectoryReader.open(writer.getDirectory())) {
+                return new HashMap<>(reader.getIndexCommit().getUserData());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the search index commit", e);
+        }
+    }
+
+    public int size() {
+        return withSearcher(searcher -> searcher.getIndexReader().numDocs());
+    }
+
+    // ---------------- SEARCH ----------------
+    /**
+     * Ranked page of ids. Hits are counted exactly up to countLimit and
+     * reported as countLimit beyond it, which lets Lucene skip blocks of
+     * low-scoring documents instead of visiting every match.
+     */
+    public Hits search(Criteria criteria, int offset, int limit, int countLimit) {
+        Query lucene = toLuceneQuery(criteria);
+        int numHits = Math.max(offset + limit, 1);
+
+        return withSearcher(searcher -> {
+            TopDocs top = lucene instanceof ConstantScoreQuery
+                    ? searcher.search(lucene, new TopFieldCollectorManager(NEWEST, numHits, null, countLimit))
+                    : searcher.search(lucene, new TopScoreDocCollectorManager(numHits, null, countLimit));
+
+            StoredFields stored = searcher.storedFields();
+            List<Long> ids = new ArrayList<>(limit);
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ids.add(Long.parseLong(stored.document(top.scoreDocs[i].doc).get(ID)));
+            }
+            return new Hits(Math.min(top.totalHits.value, countLimit), ids);
+        });
+    }
+
+    /**
+     * Every word must appear (AND), ranked by BM25; filters narrow without
+     * scoring. With no words the query only filters and results come newest
+     * first. A pure conjunction on one field lets Lucene skip whole blocks
+     * that cannot reach the top page; per-field boost clauses would not.
+     */
+    Query toLuceneQuery(Criteria criteria) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        List<String> terms = analyze(criteria.text());
+
+        for (String term : terms) {
+            builder.add(new TermQuery(new Term(TEXT, term)), BooleanClause.Occur.MUST);
+        }
+
+        addFilter(builder, STATUS, criteria.status());
+        addFilter(builder, PRIORITY, criteria.priority());
+        addFilter(builder, CATEGORY, criteria.category());
+
+        if (terms.isEmpty()) {
+            builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+            return new ConstantScoreQuery(builder.build());
+        }
+        return builder.build();
+    }
+
+    private static void addFilter(BooleanQuery.Builder builder, String field, String value) {
+        if (value != null) builder.add(new TermQuery(new Term(field, value)), BooleanClause.Occur.FILTER);
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) return terms;
+
+        try (TokenStream stream = analyzer.tokenStream(TEXT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                String value = term.toString();
+                if (!terms.contains(value)) terms.add(value);
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Document toDocument(Fields f) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, Long.toString(f.id()), Field.Store.YES));
+        // The title goes in twice: its words weigh more in the BM25 term frequency
+        StringBuilder text = new StringBuilder();
+        for (String part : new String[]{f.title(), f.title(), f.location(), f.description(), f.remarks()}) {
+            if (part != null && !part.isBlank()) text.append(part).append('\n');
+        }
+        doc.add(new TextField(TEXT, text.toString(), Field.Store.NO));
+        if (f.status() != null) doc.add(new StringField(STATUS, f.status(), Field.Store.NO));
+        if (f.priority() != null) doc.add(new StringField(PRIORITY, f.priority(), Field.Store.NO));
+        if (f.category() != null) doc.add(new StringField(CATEGORY, f.category(), Field.Store.NO));
+        long submitted = f.submittedAt() != null ? f.submittedAt().toEpochSecond(ZoneOffset.UTC) : 0;
+        doc.add(new NumericDocValuesField(SUBMITTED, submitted));
+        return doc;
+    }
+
+    private interface SearcherCall<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+
+    // Picks up writes since the last search, then runs against a stable snapshot
+    private <T> T withSearcher(SearcherCall<T> call) {
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return call.apply(searcher);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+}
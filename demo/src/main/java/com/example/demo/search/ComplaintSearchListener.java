@@ -0,0 +1,41 @@
+package com.example.demo.search;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.service.ComplaintSearchService;
+import com.example.demo.support.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-indexes a complaint after every committed write, whichever service
+ * made it (citizen edits, officer remarks, admin status changes). Deleted
+ * complaints leave the index.
+ */
+@Component
+public class ComplaintSearchListener {
+
+    // Lazy: the service needs repositories, which need this listener's EntityManagerFactory
+    private final ObjectProvider<ComplaintSearchService> complaintSearchService;
+
+    public ComplaintSearchListener(ObjectProvider<ComplaintSearchService> complaintSearchService) {
+        this.complaintSearchService = complaintSearchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Complaint complaint) {
+        long id = complaint.getId();
+        ComplaintSearchIndex.Fields fields = complaint.isDeleted() ? null : ComplaintSearchService.toFields(complaint);
+
+        AfterCommit.run(() -> complaintSearchService.getObject().update(id, fields));
+    }
+
+    @PostRemove
+    void onRemove(Complaint complaint) {
+        long id = complaint.getId();
+        AfterCommit.run(() -> complaintSearchService.getObject().update(id, null));
+    }
+}
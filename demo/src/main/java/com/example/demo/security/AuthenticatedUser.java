@@ -0,0 +1,18 @@
+package com.example.demo.security;
+
+import com.example.demo.entity.Role;
+
+import java.security.Principal;
+
+/**
+ * Security principal for JWT-authenticated HTTP requests. Holds only the
+ * immutable identity of the user, never the entity: anything that needs the
+ * Citizen/Officer/Admin row loads it through CurrentUser for the request.
+ */
+public record AuthenticatedUser(Long id, String email, Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.security;
+
+import com.example.demo.entity.Admin;
+import com.example.demo.entity.Citizen;
+import com.example.demo.entity.Officer;
+import com.example.demo.entity.Role;
+import com.example.demo.repositories.AdminRepository;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.OfficerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * The user behind the current request. The principal is resolved once per
+ * token by JwtAuthenticationFilter, so ids and references cost no query.
+ * citizen() / officer() / admin() load the current row and are for paths
+ * that read or copy its fields; everything else should pass the id.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUser {
+
+    private final CitizenRepository citizenRepository;
+    private final OfficerRepository officerRepository;
+    private final AdminRepository adminRepository;
+
+    public AuthenticatedUser get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return null;
+    }
+
+    // ---------------- IDS (NO QUERY) ----------------
+    public Long citizenId() {
+        return idOf(Role.CITIZEN, "Citizen");
+    }
+
+    public Long officerId() {
+        return idOf(Role.OFFICER, "Officer");
+    }
+
+    public Long adminId() {
+        return idOf(Role.ADMIN, "Admin");
+    }
+
+    // Unloaded proxies for services that take the entity but only read its id
+    public Citizen citizenReference() {
+        return citizenRepository.getReferenceById(citizenId());
+    }
+
+    public Officer officerReference() {
+        return officerRepository.getReferenceById(officerId());
+    }
+
+    // ---------------- ROWS ----------------
+    public Citizen citizen() {
+        return citizenRepository.findById(citizenId())
+                .orElseThrow(() -> new RuntimeException("Citizen not found"));
+    }
+
+    public Officer officer() {
+        return officerRepository.findById(officerId())
+                .orElseThrow(() -> new RuntimeException("Officer not found"));
+    }
+
+    public Admin admin() {
+        return adminRepository.findById(adminId())
+                .orElseThrow(() -> new RuntimeException("Admin not found"));
+    }
+
+    private Long idOf(Role role, String name) {
+        AuthenticatedUser user = get();
+        if (user == null || user.role() != role) {
+            throw new RuntimeException(name + " not found");
+        }
+        return user.id();
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.demo.security;
 
+import com.example.demo.entity.Admin;
+import com.example.demo.entity.Citizen;
+import com.example.demo.entity.Officer;
 import com.example.demo.entity.Role;
 import com.example.demo.repositories.AdminRepository;
 import com.example.demo.repositories.CitizenRepository;
 import com.example.demo.repositories.OfficerRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,12 +22,19 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.function.Function;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Parsed claims of the current request, for anything downstream that needs them
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".CLAIMS";
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokens;
+
     @Autowired
-    private JwtUtils jwtUtils;
+    private PrincipalCache principalCache;
 
     @Autowired
     private CitizenRepository citizenRepository;
@@ -57,53 +68,77 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String email = jwtUtils.extractEmail(token);
-        String roleFromToken = jwtUtils.extractRole(token);
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Single parse: one signature/expiry check for the whole request, skipped
+        // entirely while the token sits in the shared verified-token cache
+        Claims claims = verifiedTokens.verifyOrNull(token);
+        if (claims == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+
+        String email = claims.getSubject();
 
-            if (jwtUtils.validateToken(token)) {
+        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                // 🔥 FIX: Remove ROLE_ prefix before enum conversion
-                String cleanRole = roleFromToken.startsWith("ROLE_")
-                        ? roleFromToken.substring(5)
-                        : roleFromToken;
+            AuthenticatedUser principal = principalCache.get(token);
 
-                Role roleEnum;
-                try {
-                    roleEnum = Role.valueOf(cleanRole);
-                } catch (IllegalArgumentException ex) {
-                    filterChain.doFilter(request, response);
-                    return;
+            if (principal == null) {
+                principal = resolvePrincipal(email, claims.get("role", String.class));
+                if (principal != null) {
+                    principalCache.put(token, principal);
                 }
+            }
 
-                Object user = null;
+            if (principal != null) {
                 SimpleGrantedAuthority authority =
-                        new SimpleGrantedAuthority("ROLE_" + roleEnum.name());
-
-                switch (roleEnum) {
-                    case CITIZEN -> user = citizenRepository.findByEmail(email);
-                    case OFFICER -> user = officerRepository.findByEmail(email);
-                    case ADMIN -> user = adminRepository.findByEmail(email);
-                }
+                        new SimpleGrantedAuthority("ROLE_" + principal.role().name());
 
-                if (user != null) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    user,
-                                    null,
-                                    Collections.singletonList(authority)
-                            );
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                principal,
+                                null,
+                                Collections.singletonList(authority)
+                        );
 
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
+                authToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request)
+                );
 
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // Cache miss: map the role claim to its repository and load the user
+    private AuthenticatedUser resolvePrincipal(String email, String roleFromToken) {
+        if (roleFromToken == null) return null;
+
+        // 🔥 FIX: Remove ROLE_ prefix before enum conversion
+        String cleanRole = roleFromToken.startsWith("ROLE_")
+                ? roleFromToken.substring(5)
+                : roleFromToken;
+
+        Role roleEnum;
+        try {
+            roleEnum = Role.valueOf(cleanRole);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+
+        Long id = switch (roleEnum) {
+            case CITIZEN -> idOrNull(citizenRepository.findByEmail(email), Citizen::getId);
+            case OFFICER -> idOrNull(officerRepository.findByEmail(email), Officer::getId);
+            case ADMIN -> idOrNull(adminRepository.findByEmail(email), Admin::getId);
+        };
+
+        return id != null ? new AuthenticatedUser(id, email, roleEnum) : null;
+    }
+
+    private static <T> Long idOrNull(T user, Function<T, Long> id) {
+        return user != null ? id.apply(user) : null;
+    }
 }
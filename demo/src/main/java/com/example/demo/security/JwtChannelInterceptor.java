@@ -1,6 +1,9 @@
 package com.example.demo.security;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -12,45 +15,62 @@ import org.springframework.stereotype.Component;
 
 import java.util.Collections;
 
+// Authenticates STOMP CONNECT from the Bearer token; a token already verified
+// by the HTTP filter or an earlier CONNECT is not parsed again
+@Slf4j
 @Component
 public class JwtChannelInterceptor implements ChannelInterceptor {
 
-    @Autowired
-    private JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokens;
 
-    @Override
-    public Message<?> preSend(Message<?> message, MessageChannel channel) {
-
-        StompHeaderAccessor accessor =
-                MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
-
-        if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+    private final Counter authenticated;
+    private final Counter rejected;
+    private final Counter anonymous;
 
-            String authHeader = accessor.getFirstNativeHeader("Authorization");
+    public JwtChannelInterceptor(VerifiedTokenCache verifiedTokens, MeterRegistry meterRegistry) {
+        this.verifiedTokens = verifiedTokens;
 
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        this.authenticated = connectCounter(meterRegistry, "authenticated");
+        this.rejected = connectCounter(meterRegistry, "rejected");
+        this.anonymous = connectCounter(meterRegistry, "anonymous");
+    }
 
-                String token = authHeader.substring(7);
+    private static Counter connectCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("websocket.connect")
+                .description("STOMP CONNECT frames by authentication result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
-                // ✅ Validate FIRST
-                if (jwtUtils.validateToken(token)) {
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
 
-                    String email = jwtUtils.extractEmail(token).toLowerCase();
+        StompHeaderAccessor accessor =
+                MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
 
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
-                                    email,
-                                    null,
-                                    Collections.emptyList()
-                            );
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
 
-                    accessor.setUser(authentication);
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            anonymous.increment();
+            return message;
+        }
 
-                    System.out.println("✅ WebSocket authenticated user: " + email);
-                }
-            }
+        // Single verification: signature, expiry and subject from one parse (or a cache hit)
+        Claims claims = verifiedTokens.verifyOrNull(authHeader.substring(7));
+        if (claims == null || claims.getSubject() == null) {
+            rejected.increment();
+            log.debug("WebSocket CONNECT with invalid token, session {}", accessor.getSessionId());
+            return message;
         }
 
+        String email = claims.getSubject().toLowerCase();
+        accessor.setUser(new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList()));
+        authenticated.increment();
+        log.debug("WebSocket authenticated user: {}", email);
+
         return message;
     }
 }
@@ -14,10 +14,11 @@ public class JwtUtils {
     // Secret key must be at least 32 characters for HS256
     private final String SECRET = "MY_SUPER_SECRET_KEY_12345678901234567890";
 
-    // ------------------ Get signing key ------------------
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
-    }
+    // Key and parser are immutable and thread-safe: build them once
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+    private final JwtParser jwtParser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
 
     // ------------------ GENERATE TOKEN WITH EMAIL + ROLE ------------------
     public String generateToken(String email, String role) {
@@ -26,7 +27,7 @@ public class JwtUtils {
                 .claim("role", role) // include role
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 1 day expiry
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -35,35 +36,27 @@ public class JwtUtils {
         return generateToken(citizen.getEmail(), citizen.getRole().name());
     }
 
+    // ------------------ PARSE ONCE (verifies signature + expiry) ------------------
+    public Claims parseClaims(String token) throws JwtException {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
     // ------------------ EXTRACT EMAIL ------------------
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     // ------------------ EXTRACT ROLE ------------------
     public String extractRole(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role", String.class);
+        return parseClaims(token).get("role", String.class);
     }
 
     // ------------------ VALIDATE TOKEN ------------------
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parseClaims(token);
             return true; // valid token
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             // token is invalid (expired, malformed, signature invalid, etc.)
             return false;
         }
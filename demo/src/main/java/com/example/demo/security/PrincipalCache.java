@@ -0,0 +1,53 @@
+package com.example.demo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Bounded, TTL-evicting cache of the user identity resolved for a JWT.
+ * Keys are SHA-256 hashes of the token, so raw tokens are never held.
+ * The token itself is still verified on every request; a hit only saves
+ * the repository lookup. Only id, email and role are kept, none of which
+ * change after signup, so profile or password changes on any instance
+ * never leave a stale entry behind.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public PrincipalCache(
+            @Value("${app.security.principal-cache.ttl:5m}") Duration ttl,
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public AuthenticatedUser get(String token) {
+        return cache.getIfPresent(hash(token));
+    }
+
+    public void put(String token, AuthenticatedUser principal) {
+        cache.put(hash(token), principal);
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Short-lived cache of tokens whose signature and expiry have already been
+ * checked, shared by the HTTP filter and the STOMP CONNECT interceptor so a
+ * token is HMAC-verified and parsed once per TTL rather than once per use.
+ * Like PrincipalCache it is keyed by the token's SHA-256 hash. An entry never
+ * outlives the token's own exp claim; hits and misses are published as
+ * cache.* metrics under the name "jwt.verified".
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtils jwtUtils;
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(
+            JwtUtils jwtUtils,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.verified-token-cache.ttl:60s}") Duration ttl,
+            @Value("${app.security.verified-token-cache.max-size:10000}") long maxSize
+    ) {
+        this.jwtUtils = jwtUtils;
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(untilExpiredOr(ttl))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    // Claims of a valid token; invalid tokens throw and are never cached
+    public Claims verify(String token) throws JwtException {
+        String key = PrincipalCache.hash(token);
+        Claims claims = cache.getIfPresent(key);
+        if (claims == null) {
+            claims = jwtUtils.parseClaims(token);
+            cache.put(key, claims);
+        }
+        return claims;
+    }
+
+    // Verified claims, or null for a missing, malformed, forged or expired token
+    public Claims verifyOrNull(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            return verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Expiry<String, Claims> untilExpiredOr(Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                Date exp = claims.getExpiration();
+                if (exp == null) return ttlNanos;
+                long remaining = Duration.ofMillis(exp.getTime() - System.currentTimeMillis()).toNanos();
+                return Math.max(0, Math.min(ttlNanos, remaining));
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, claims, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.demo.service;
 
 import com.example.demo.entity.*;
+import com.example.demo.notify.NotificationDispatcher;
 import com.example.demo.payload.*;
 import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.ComplaintSpecifications;
 import com.example.demo.repositories.OfficerRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,7 +23,14 @@ public class AdminComplaintService {
 
     private final ComplaintRepository complaintRepository;
     private final OfficerRepository officerRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationDispatcher notificationDispatcher;
+    private final OfficerWorkloadService officerWorkloadService;
+    private final MapLocationService mapLocationService;
+    private final ComplaintSearchService complaintSearchService;
+    private final ComplaintEventService complaintEventService;
+    private final EmailOutboxService emailOutboxService;
+
+    private static final int MAX_PAGE_SIZE = 500;
 
     // ---------------- GET OFFICER BY ID ----------------
     public Officer getOfficerById(Long officerId) {
@@ -26,14 +38,31 @@ public class AdminComplaintService {
                 .orElseThrow(() -> new RuntimeException("Officer not found"));
     }
 
-    // ---------------- LIST ALL COMPLAINTS ----------------
-    public List<Complaint> listAllComplaints(String search, String status, String priority) {
-        return complaintRepository.findAll().stream()
-                .filter(c -> !c.isDeleted())
-                .filter(c -> status == null || c.getStatus().name().equalsIgnoreCase(status))
-                .filter(c -> priority == null || c.getPriority().name().equalsIgnoreCase(priority))
-                .filter(c -> search == null || c.getTitle().toLowerCase().contains(search.toLowerCase()))
-                .toList();
+    // ---------------- LIST ALL COMPLAINTS (PAGED) ----------------
+    public Page<ComplaintListResponse> listAllComplaints(String search, String status, String priority,
+                                                        int page, int size) {
+        return searchComplaints(search, status, priority, null, page, size);
+    }
+
+    // Text queries are ranked by the search index; filter-only lists stay in SQL (indexed)
+    public Page<ComplaintListResponse> searchComplaints(String search, String status, String priority,
+                                                        String category, int page, int size) {
+        if (search != null && !search.isBlank()) {
+            return complaintSearchService.search(search, status, priority, category,
+                    Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        }
+
+        Pageable pageable = PageRequest.of(
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(Sort.Direction.DESC, "submissionDate").and(Sort.by(Sort.Direction.DESC, "id"))
+        );
+
+        return complaintRepository.findListPage(
+                ComplaintSpecifications.adminFilter(null, status, priority)
+                        .and(ComplaintSpecifications.hasCategory(category)),
+                pageable
+        );
     }
 
     // ---------------- GET COMPLAINT DETAILS ----------------
@@ -46,6 +75,30 @@ public class AdminComplaintService {
         return complaint;
     }
 
+    // Read-only view for the admin detail screen; one query, no entity loading
+    public ComplaintDetailResponse getComplaintDetailView(Long complaintId) {
+        ComplaintDetailResponse detail = complaintRepository.findDetail(complaintId)
+                .orElseThrow(() -> new RuntimeException("Complaint not found"));
+        if (detail.isDeleted()) {
+            throw new RuntimeException("Complaint has been deleted");
+        }
+        return detail;
+    }
+
+    // ---------------- LIKELY DUPLICATES ----------------
+    public List<Complaint> getDuplicates(Long complaintId) {
+        getComplaintDetails(complaintId);
+        return complaintRepository.findByDuplicateOfIdAndDeletedFalseOrderByIdAsc(complaintId);
+    }
+
+    // ---------------- LIFECYCLE EVENTS ----------------
+    public List<ComplaintEventResponse> getEvents(Long complaintId) {
+        if (!complaintRepository.existsById(complaintId)) {
+            throw new RuntimeException("Complaint not found");
+        }
+        return complaintEventService.getEvents(complaintId);
+    }
+
     // ---------------- ASSIGN OFFICER ----------------
     @Transactional
     public Complaint assignOfficer(Long complaintId, ComplaintAssignRequestDto request) {
@@ -72,26 +125,25 @@ public class AdminComplaintService {
         Complaint saved = complaintRepository.save(complaint);
 
         // Notify citizen
-        messagingTemplate.convertAndSendToUser(
+        notificationDispatcher.toUser(
                 saved.getCitizen().getEmail(),
-                "/queue/notify",
-                new NotificationDto(saved.getId(), "Assigned to Officer: " + officer.getName())
+                saved.getId(),
+                "Assigned to Officer: " + officer.getName()
         );
 
         // Notify officer
-        messagingTemplate.convertAndSendToUser(
+        notificationDispatcher.toUser(
                 officer.getEmail(),
-                "/queue/notify",
-                new NotificationDto(saved.getId(), "A new complaint has been assigned to you: " + saved.getTitle())
+                saved.getId(),
+                "A new complaint has been assigned to you: " + saved.getTitle()
         );
 
         // Notify assigned admin only
         if (saved.getAssignedAdmin() != null) {
-            messagingTemplate.convertAndSendToUser(
+            notificationDispatcher.toUser(
                     saved.getAssignedAdmin().getEmail(),
-                    "/queue/notify",
-                    new NotificationDto(saved.getId(),
-                            "Officer " + officer.getName() + " has been assigned to complaint: " + saved.getTitle())
+                    saved.getId(),
+                    "Officer " + officer.getName() + " has been assigned to complaint: " + saved.getTitle()
             );
         }
 
@@ -104,6 +156,7 @@ public class AdminComplaintService {
         Complaint complaint = getComplaintDetails(complaintId);
 
         ComplaintStatus newStatus = ComplaintStatus.valueOf(request.getStatus().toUpperCase());
+        ComplaintStatus oldStatus = complaint.getStatus();
         complaint.setStatus(newStatus);
 
         Officer officer = complaint.getAssignedOfficer();
@@ -122,21 +175,25 @@ public class AdminComplaintService {
 
         Complaint saved = complaintRepository.save(complaint);
 
+        // Mail goes through the outbox, so it is only sent if this transaction commits
+        if (newStatus != oldStatus) {
+            emailOutboxService.enqueueComplaintStatus(saved.getCitizen().getEmail(), saved.getId(),
+                    saved.getTitle(), newStatus.name(), null);
+        }
+
         // Notify citizen
-        messagingTemplate.convertAndSendToUser(
+        notificationDispatcher.toUser(
                 saved.getCitizen().getEmail(),
-                "/queue/notify",
-                new NotificationDto(saved.getId(), "Status updated: " + newStatus.name())
+                saved.getId(),
+                "Status updated: " + newStatus.name()
         );
 
         // Notify assigned admin only
         if (saved.getAssignedAdmin() != null) {
-            messagingTemplate.convertAndSendToUser(
+            notificationDispatcher.toUser(
                     saved.getAssignedAdmin().getEmail(),
-                    "/queue/notify",
-                    new NotificationDto(saved.getId(),
-                            "Officer " + (officer != null ? officer.getName() : "N/A") +
-                                    " updated complaint status to: " + newStatus.name())
+                    saved.getId(),
+                    "Officer " + (officer != null ? officer.getName() : "N/A") + " updated complaint status to: " + newStatus.name()
             );
         }
 
@@ -153,20 +210,18 @@ public class AdminComplaintService {
         Complaint saved = complaintRepository.save(complaint);
 
         // Notify citizen
-        messagingTemplate.convertAndSendToUser(
+        notificationDispatcher.toUser(
                 saved.getCitizen().getEmail(),
-                "/queue/notify",
-                new NotificationDto(saved.getId(), "Complaint stage updated to: " + stage.name())
+                saved.getId(),
+                "Complaint stage updated to: " + stage.name()
         );
 
         // Notify assigned admin only
         if (saved.getAssignedAdmin() != null) {
-            messagingTemplate.convertAndSendToUser(
+            notificationDispatcher.toUser(
                     saved.getAssignedAdmin().getEmail(),
-                    "/queue/notify",
-                    new NotificationDto(saved.getId(),
-                            "Officer " + (saved.getAssignedOfficer() != null ? saved.getAssignedOfficer().getName() : "N/A") +
-                                    " updated complaint stage to: " + stage.name())
+                    saved.getId(),
+                    "Officer " + (saved.getAssignedOfficer() != null ? saved.getAssignedOfficer().getName() : "N/A") + " updated complaint stage to: " + stage.name()
             );
         }
 
@@ -184,20 +239,18 @@ public class AdminComplaintService {
         Complaint saved = complaintRepository.save(complaint);
 
         // Notify citizen
-        messagingTemplate.convertAndSendToUser(
+        notificationDispatcher.toUser(
                 saved.getCitizen().getEmail(),
-                "/queue/notify",
-                new NotificationDto(saved.getId(), "Complaint priority updated to: " + newPriority.name())
+                saved.getId(),
+                "Complaint priority updated to: " + newPriority.name()
         );
 
         // Notify assigned admin only
         if (saved.getAssignedAdmin() != null) {
-            messagingTemplate.convertAndSendToUser(
+            notificationDispatcher.toUser(
                     saved.getAssignedAdmin().getEmail(),
-                    "/queue/notify",
-                    new NotificationDto(saved.getId(),
-                            "Officer " + (saved.getAssignedOfficer() != null ? saved.getAssignedOfficer().getName() : "N/A") +
-                                    " updated complaint priority to: " + newPriority.name())
+                    saved.getId(),
+                    "Officer " + (saved.getAssignedOfficer() != null ? saved.getAssignedOfficer().getName() : "N/A") + " updated complaint priority to: " + newPriority.name()
             );
         }
 
@@ -215,41 +268,31 @@ public class AdminComplaintService {
         complaint.setResolutionDate(LocalDateTime.now());
 
         complaintRepository.save(complaint);
+        mapLocationService.remove(complaint.getId());
 
         // Notify citizen
-        messagingTemplate.convertAndSendToUser(
+        notificationDispatcher.toUser(
                 complaint.getCitizen().getEmail(),
-                "/queue/notify",
-                new NotificationDto(complaint.getId(), "Complaint deleted by admin. Reason: " + reason)
+                complaint.getId(),
+                "Complaint deleted by admin. Reason: " + reason
         );
 
         // Notify assigned admin (if any)
         if (complaint.getAssignedAdmin() != null) {
-            messagingTemplate.convertAndSendToUser(
+            notificationDispatcher.toUser(
                     complaint.getAssignedAdmin().getEmail(),
-                    "/queue/notify",
-                    new NotificationDto(complaint.getId(), "Complaint was deleted. Reason: " + reason)
+                    complaint.getId(),
+                    "Complaint was deleted. Reason: " + reason
             );
         }
     }
 
     // ---------------- OFFICER WORKLOAD ----------------
     public List<OfficerWorkloadResponse> getAllOfficersWorkload() {
-        return officerRepository.findAll().stream()
-                .map(officer -> {
-                    long activeComplaints = complaintRepository.countByAssignedOfficerAndStatusIn(
-                            officer,
-                            List.of(ComplaintStatus.PENDING, ComplaintStatus.IN_PROGRESS)
-                    );
-                    return OfficerWorkloadResponse.builder()
-                            .id(officer.getId())
-                            .name(officer.getName())
-                            .email(officer.getEmail())
-                            .department(officer.getDepartment().name())
-                            .activeComplaints(activeComplaints)
-                            .status(officer.getStatus().name())
-                            .build();
-                })
-                .toList();
+        return getAllOfficersWorkload(null);
+    }
+
+    public List<OfficerWorkloadResponse> getAllOfficersWorkload(String department) {
+        return officerWorkloadService.getWorkload(department);
     }
 }
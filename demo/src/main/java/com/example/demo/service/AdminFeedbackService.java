@@ -1,49 +1,48 @@
 package com.example.demo.service;
-import com.example.demo.entity.Citizen;
-import com.example.demo.entity.Complaint;
-import com.example.demo.entity.Feedback;
 import com.example.demo.payload.FeedbackViewResponse;
-import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.FeedbackRepository;
+import com.example.demo.repositories.FeedbackView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
 @RequiredArgsConstructor
 public class AdminFeedbackService {
 
-    private final ComplaintRepository complaintRepository;
-
-    public List<FeedbackViewResponse> getAllFeedbacks() {
-
-        return complaintRepository.findByFeedbackIsNotNull()
-                .stream()
-                .map((Complaint c) -> {
-
-                    Feedback f = c.getFeedback();
-                    Citizen citizen = c.getCitizen();
-
-                    return FeedbackViewResponse.builder()
-                            .complaintId(c.getId())
-                            .complaintTitle(c.getTitle())
-                            .complaintCategory(c.getCategory() != null ? c.getCategory().name() : null)
-                            .complaintStatus(c.getStatus().name())
-
-                            .citizenId(citizen.getId())
-                            .citizenName(citizen.getName())
-                            .citizenLocation(citizen.getAddress())
-
-                            .rating(f.getRating())
-                            .officerBehaviourRating(f.getOfficerBehaviourRating())
-                            .resolutionStatus(f.getResolutionStatus())
-                            .timeliness(f.getTimeliness())
-                            .feedbackComment(f.getFeedbackComment())
-                            .reopened(f.getReopened())
-                            .submittedAt(f.getFeedbackSubmittedAt())
-                            .build();
-                })
-                .collect(Collectors.toList());
+    static final int MAX_PAGE_SIZE = 500;
+
+    private final FeedbackRepository feedbackRepository;
+
+    // Newest first; one query for the rows plus the page count
+    public Page<FeedbackViewResponse> getAllFeedbacks(int page, int size) {
+        return feedbackRepository.findFeedbackViews(pageOf(page, size))
+                .map(AdminFeedbackService::toViewResponse);
+    }
+
+    static PageRequest pageOf(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    public static FeedbackViewResponse toViewResponse(FeedbackView v) {
+        return FeedbackViewResponse.builder()
+                .complaintId(v.getComplaintId())
+                .complaintTitle(v.getComplaintTitle())
+                .complaintCategory(v.getComplaintCategory() != null ? v.getComplaintCategory().name() : null)
+                .complaintStatus(v.getComplaintStatus() != null ? v.getComplaintStatus().name() : null)
+
+                .citizenId(v.getCitizenId())
+                .citizenName(v.getCitizenName())
+                .citizenLocation(v.getCitizenLocation())
+
+                .rating(v.getRating())
+                .officerBehaviourRating(v.getOfficerBehaviourRating())
+                .resolutionStatus(v.getResolutionStatus())
+                .timeliness(v.getTimeliness())
+                .feedbackComment(v.getFeedbackComment())
+                .reopened(v.getReopened())
+                .submittedAt(v.getSubmittedAt())
+                .build();
     }
 }
@@ -13,14 +13,13 @@ import com.example.demo.repositories.OfficerUpdateRequestRepository;
 import com.example.demo.security.JwtUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import jakarta.mail.MessagingException;
-
 import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 
@@ -41,7 +40,7 @@ public class AdminService {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
     
     
     @Autowired
@@ -79,6 +78,7 @@ public class AdminService {
     }
 
     // -------------------- Create Officer --------------------
+    @Transactional
     public String createOfficer(OfficerSignupRequest request) {
 
         if (officerRepository.findByEmail(request.getEmail()) != null) {
@@ -105,21 +105,18 @@ public class AdminService {
 
         officerRepository.save(officer);
 
-        try {
-            emailService.sendCredentialsEmail(
-                    request.getEmail(),
-                    request.getPassword(),
-                    "Officer"
-            );
-        } catch (MessagingException e) {
-            e.printStackTrace();
-            return "⚠ Officer created but email sending failed!";
-        }
+        // Delivered by EmailOutboxDispatcher once this transaction commits
+        emailOutboxService.enqueueCredentials(
+                request.getEmail(),
+                request.getPassword(),
+                "Officer"
+        );
 
-        return "✅ Officer created successfully! Email sent with login credentials.";
+        return "✅ Officer created successfully! Login credentials will be emailed shortly.";
     }
 
     // -------------------- Admin Forgot Password --------------------
+    @Transactional
     public String forgotPassword(ForgotPasswordRequest request) {
 
         Admin admin = adminRepository.findByEmail(request.getEmail());
@@ -131,12 +128,7 @@ public class AdminService {
         admin.setResetTokenExpiry(java.time.LocalDateTime.now().plusMinutes(10));
         adminRepository.save(admin);
 
-        try {
-            emailService.sendOtpEmail(admin.getEmail(), otp);
-        } catch (MessagingException e) {
-            e.printStackTrace();
-            return "❌ Failed to send OTP email!";
-        }
+        emailOutboxService.enqueueOtp(admin.getEmail(), otp);
 
         return "✅ OTP sent to your registered email!";
     }
@@ -200,13 +192,16 @@ public class AdminService {
     }
 
     // -------------------- Update Admin Profile --------------------
-    public void updateMyProfile(Admin admin, String newName) {
+    // Loads the current row, so a concurrent password reset is never overwritten
+    @Transactional
+    public void updateMyProfile(Long adminId, String newName) {
+
+        Admin admin = adminRepository.findById(adminId)
+                .orElseThrow(() -> new RuntimeException("Admin not found"));
 
         if (newName != null && !newName.trim().isEmpty()) {
             admin.setName(newName.trim());
         }
-
-        adminRepository.save(admin);
     }
     
  // =====================================================
@@ -13,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +25,7 @@ public class CitizenFeedbackService {
     private final ComplaintRepository complaintRepository;
     private final CitizenRepository citizenRepository;
     private final FeedbackRepository feedbackRepository;
+    private final FeedbackStatsService feedbackStatsService;
 
     // -------------------- GET LOGGED-IN CITIZEN --------------------
     public Citizen getLoggedInCitizen() {
@@ -39,6 +41,7 @@ public class CitizenFeedbackService {
 
 
     // -------------------- SUBMIT FEEDBACK --------------------
+    @Transactional
     public String submitFeedback(Long complaintId, FeedbackRequest request) {
 
         // 1. Get logged-in citizen
@@ -68,6 +71,7 @@ public class CitizenFeedbackService {
                 .build();
 
         feedbackRepository.save(feedback);
+        feedbackStatsService.record(feedback);
 
         // 5. Update complaint if reopened
         if (Boolean.TRUE.equals(request.getReopened())) {
@@ -1,15 +1,15 @@
 package com.example.demo.service;
 
 import com.example.demo.entity.*;
+import com.example.demo.notify.NotificationDispatcher;
 import com.example.demo.payload.*;
 import com.example.demo.repositories.CitizenRepository;
 import com.example.demo.repositories.ComplaintRepository;
 import com.example.demo.security.JwtUtils;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,8 +22,8 @@ public class CitizenService {
     private final ComplaintRepository complaintRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final EmailService emailService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final EmailOutboxService emailOutboxService;
 
     // ================= SIGNUP =================
     public String signup(CitizenSignupRequest req) {
@@ -58,6 +58,7 @@ public class CitizenService {
     }
 
     // ================= FORGOT PASSWORD =================
+    @Transactional
     public String forgotPassword(String email) {
         Citizen citizen = citizenRepository.findByEmail(email);
         if (citizen == null) {
@@ -69,11 +70,8 @@ public class CitizenService {
         citizen.setResetTokenExpiry(LocalDateTime.now().plusMinutes(10));
         citizenRepository.save(citizen);
 
-        try {
-            emailService.sendOtpEmail(email, otp);
-        } catch (MessagingException e) {
-            throw new RuntimeException("Failed to send OTP email");
-        }
+        // Delivered by EmailOutboxDispatcher; committed with the reset token
+        emailOutboxService.enqueueOtp(email, otp);
 
         return "OTP has been sent to your email";
     }
@@ -111,16 +109,9 @@ public class CitizenService {
 
         Complaint savedComplaint = complaintRepository.save(complaint);
 
-        NotificationDto payload =
-                new NotificationDto(savedComplaint.getId(), savedComplaint.getStatus().name());
-
-        messagingTemplate.convertAndSendToUser(
-                citizen.getEmail().toLowerCase(),
-                "/queue/notify",
-                payload
-        );
-
-        messagingTemplate.convertAndSend("/topic/admin/complaints", payload);
+        String status = savedComplaint.getStatus().name();
+        notificationDispatcher.toUser(citizen.getEmail(), savedComplaint.getId(), status);
+        notificationDispatcher.toAdmins(savedComplaint.getId(), status);
 
         return mapToCitizenResponse(savedComplaint);
     }
@@ -163,21 +154,20 @@ public class CitizenService {
         complaint.setClarificationMessage(replyMessage);
         complaintRepository.save(complaint);
 
-        NotificationDto payload = new NotificationDto(
-                complaint.getId(),
-                "Citizen replied"
-        );
-
-        messagingTemplate.convertAndSend("/topic/admin/complaints", payload);
+        notificationDispatcher.toAdmins(complaint.getId(), "Citizen replied");
 
         return "Reply submitted successfully";
     }
 
     // ================= UPDATE MY PROFILE =================
+    // Loads the current row, so a concurrent password reset is never overwritten
+    @Transactional
     public CitizenProfileResponse updateMyProfile(
-            Citizen citizen,
+            Long citizenId,
             CitizenProfileUpdateRequest request
     ) {
+        Citizen citizen = citizenRepository.findById(citizenId)
+                .orElseThrow(() -> new RuntimeException("Citizen not found"));
 
         if (request.getName() != null && !request.getName().isBlank()) {
             citizen.setName(request.getName());
@@ -222,8 +212,11 @@ public class CitizenService {
                 .deleted(c.isDeleted())
                 .deletionReason(c.getDeletionReason())
                 .clarificationMessage(c.getClarificationMessage())
+                .duplicateOfId(c.getDuplicateOfId())
                 .adminRemark(c.getAdminRemark())
                 .officerEvidenceUrl(c.getOfficerEvidenceUrl())
+                .officerEvidenceThumbnailUrl(c.getOfficerEvidenceThumbnailUrl())
+                .officerEvidenceMediumUrl(c.getOfficerEvidenceMediumUrl())
                 .expectedCompletionDate(c.getExpectedCompletionDate())
                 .submissionDate(c.getSubmissionDate())
                 .build();
@@ -0,0 +1,321 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.ComplaintEvent;
+import com.example.demo.entity.ComplaintEventType;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.payload.ComplaintEventResponse;
+import com.example.demo.payload.SlaStatsResponse;
+import com.example.demo.repositories.ComplaintEventRepository;
+import com.example.demo.repositories.ComplaintLifecycleView;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.ComplaintSlaView;
+import com.example.demo.repositories.OfficerRepository;
+import com.example.demo.sla.DurationHistogram;
+import com.example.demo.sla.SlaIndex;
+import com.example.demo.sla.SlaMetric;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Complaint lifecycle log and SLA percentiles. Committed events are buffered
+ * and inserted in JDBC batches by a scheduled flush (IDENTITY ids keep
+ * Hibernate from batching). Events still buffered when the process dies are
+ * lost; the flush interval bounds that window. While the database is failing
+ * the buffer is capped at max-pending and the oldest events are dropped.
+ * Completed intervals (first assignment, resolution) also feed in-memory
+ * histograms, rebuilt from the table at startup, so percentile queries never
+ * touch the database.
+ */
+@Slf4j
+@Service
+public class ComplaintEventService implements SmartInitializingSingleton {
+
+    private static final int LOAD_BATCH = 5000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO complaint_events
+                (complaint_id, event_type, from_value, to_value, category, officer_id,
+                 occurred_at, sla_metric, duration_seconds)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final ComplaintEventRepository complaintEventRepository;
+    private final ComplaintRepository complaintRepository;
+    private final OfficerRepository officerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxPending;
+    private final Counter dropped;
+
+    private final Deque<ComplaintEvent> pending = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private volatile SlaIndex slaIndex = new SlaIndex();
+
+    public ComplaintEventService(ComplaintEventRepository complaintEventRepository,
+                                 ComplaintRepository complaintRepository,
+                                 OfficerRepository officerRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.events.batch-size:500}") int batchSize,
+                                 @Value("${app.events.max-pending:10000}") int maxPending) {
+        this.complaintEventRepository = complaintEventRepository;
+        this.complaintRepository = complaintRepository;
+        this.officerRepository = officerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxPending = Math.max(maxPending, 1);
+
+        Gauge.builder("complaint.events.pending", pendingCount, AtomicInteger::get)
+                .description("Complaint events waiting to be written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("complaint.events.dropped")
+                .description("Complaint events dropped because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    // ---------------- APPEND ----------------
+    // Called after commit with the events of one complaint write
+    public void append(List<ComplaintEvent> events) {
+        SlaIndex index = slaIndex;
+        for (ComplaintEvent event : events) {
+            pending.addLast(event);
+            if (event.getSlaMetric() != null && event.getDurationSeconds() != null) {
+                index.record(event.getSlaMetric(),
+                        event.getCategory() != null ? event.getCategory().name() : null,
+                        event.getOfficerId(), event.getDurationSeconds());
+            }
+        }
+        // Backlog past the limit: write on the caller's thread instead of growing
+        if (pendingCount.addAndGet(events.size()) >= maxPending) {
+            flush();
+        }
+    }
+
+    // ---------------- BATCHED WRITES ----------------
+    @Scheduled(fixedDelayString = "${app.events.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        while (true) {
+            List<ComplaintEvent> batch = new ArrayList<>(batchSize);
+            ComplaintEvent event;
+            while (batch.size() < batchSize && (event = pending.pollFirst()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) return;
+            pendingCount.addAndGet(-batch.size());
+
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                // Keep order and retry on the next flush, up to the buffer limit
+                for (int i = batch.size() - 1; i >= 0; i--) pending.addFirst(batch.get(i));
+                pendingCount.addAndGet(batch.size());
+                log.warn("Could not write {} complaint events, will retry: {}", batch.size(), e.getMessage());
+                dropOldest();
+                return;
+            }
+        }
+    }
+
+    private void dropOldest() {
+        int count = 0;
+        while (pendingCount.get() > maxPending && pending.pollFirst() != null) {
+            pendingCount.decrementAndGet();
+            count++;
+        }
+        if (count > 0) {
+            dropped.increment(count);
+            log.warn("Complaint event buffer full, dropped {} oldest events", count);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private void write(List<ComplaintEvent> batch) {
+        transactionTemplate.executeWithoutResult(tx ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, e) -> {
+                    ps.setLong(1, e.getComplaintId());
+                    ps.setString(2, e.getType().name());
+                    ps.setString(3, e.getFromValue());
+                    ps.setString(4, e.getToValue());
+                    ps.setString(5, e.getCategory() != null ? e.getCategory().name() : null);
+                    if (e.getOfficerId() != null) ps.setLong(6, e.getOfficerId());
+                    else ps.setNull(6, Types.BIGINT);
+                    ps.setTimestamp(7, Timestamp.valueOf(e.getOccurredAt()));
+                    ps.setString(8, e.getSlaMetric() != null ? e.getSlaMetric().name() : null);
+                    if (e.getDurationSeconds() != null) ps.setLong(9, e.getDurationSeconds());
+                    else ps.setNull(9, Types.BIGINT);
+                }));
+    }
+
+    // ---------------- STARTUP ----------------
+    // Runs once all beans exist but before the embedded server starts listening
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void load() {
+        seedIfEmpty();
+        rebuildSla();
+    }
+
+    // Installs from before the event log get one CREATED / ASSIGNED / RESOLVED
+    // event per complaint, reconstructed from the complaint's own timestamps
+    void seedIfEmpty() {
+        if (complaintEventRepository.count() > 0) return;
+
+        long afterId = 0;
+        int seeded = 0;
+        while (true) {
+            List<ComplaintLifecycleView> rows =
+                    complaintRepository.findLifecycleRowsAfter(afterId, PageRequest.of(0, LOAD_BATCH));
+            if (rows.isEmpty()) break;
+
+            List<ComplaintEvent> events = new ArrayList<>();
+            for (ComplaintLifecycleView c : rows) {
+                if (c.getSubmissionDate() == null) continue;
+                events.add(seeded(c, ComplaintEventType.CREATED, null, c.getSubmissionDate(), null));
+                if (c.getOfficerId() != null && c.getAssignedDate() != null) {
+                    events.add(seeded(c, ComplaintEventType.ASSIGNED, c.getOfficerId().toString(),
+                            c.getAssignedDate(), SlaMetric.TIME_TO_ASSIGN));
+                }
+                if (c.getStatus() == ComplaintStatus.RESOLVED && c.getResolutionDate() != null) {
+                    events.add(seeded(c, ComplaintEventType.STATUS_CHANGED, ComplaintStatus.RESOLVED.name(),
+                            c.getResolutionDate(), SlaMetric.TIME_TO_RESOLVE));
+                }
+            }
+            for (int i = 0; i < events.size(); i += batchSize) {
+                write(events.subList(i, Math.min(i + batchSize, events.size())));
+            }
+            seeded += events.size();
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+
+        if (seeded > 0) log.info("Seeded {} complaint events from existing complaints", seeded);
+    }
+
+    private static ComplaintEvent seeded(ComplaintLifecycleView c, ComplaintEventType type, String to,
+                                         LocalDateTime at, SlaMetric metric) {
+        return ComplaintEvent.builder()
+                .complaintId(c.getId())
+                .type(type)
+                .toValue(to)
+                .category(c.getCategory())
+                .officerId(c.getOfficerId())
+                .occurredAt(at)
+                .slaMetric(metric)
+                .durationSeconds(metric != null
+                        ? Math.max(0, Duration.between(c.getSubmissionDate(), at).getSeconds())
+                        : null)
+                .build();
+    }
+
+    // Rebuilds the histograms from complaint_events and swaps them in
+    public void rebuildSla() {
+        flush();
+        SlaIndex index = new SlaIndex();
+        long afterId = 0;
+        int intervals = 0;
+        while (true) {
+            List<ComplaintSlaView> rows =
+                    complaintEventRepository.findSlaRowsAfter(afterId, PageRequest.of(0, LOAD_BATCH));
+            if (rows.isEmpty()) break;
+            for (ComplaintSlaView row : rows) {
+                if (row.getDurationSeconds() == null) continue;
+                index.record(row.getSlaMetric(),
+                        row.getCategory() != null ? row.getCategory().name() : null,
+                        row.getOfficerId(), row.getDurationSeconds());
+                intervals++;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+        slaIndex = index;
+        log.info("Loaded {} SLA intervals", intervals);
+    }
+
+    // ---------------- QUERIES ----------------
+    public List<SlaStatsResponse> getSlaStats(String metric, String groupBy) {
+        SlaMetric slaMetric = parse(SlaMetric.class, metric, "metric");
+        SlaIndex.GroupBy group = parse(SlaIndex.GroupBy.class, groupBy, "groupBy");
+
+        Map<String, DurationHistogram> histograms = slaIndex.get(slaMetric, group);
+
+        Map<Long, String> officerNames = new HashMap<>();
+        if (group == SlaIndex.GroupBy.OFFICER && !histograms.isEmpty()) {
+            officerRepository.findAllById(histograms.keySet().stream().map(Long::valueOf).toList())
+                    .forEach(o -> officerNames.put(o.getId(), o.getName()));
+        }
+
+        List<SlaStatsResponse> result = new ArrayList<>();
+        histograms.forEach((key, h) -> result.add(SlaStatsResponse.builder()
+                .metric(slaMetric.name())
+                .key(key)
+                .label(group == SlaIndex.GroupBy.OFFICER
+                        ? officerNames.getOrDefault(Long.valueOf(key), key)
+                        : key)
+                .count(h.count())
+                .meanSeconds(h.mean())
+                .p50Seconds(h.percentile(50))
+                .p90Seconds(h.percentile(90))
+                .p99Seconds(h.percentile(99))
+                .maxSeconds(h.max())
+                .build()));
+        return result;
+    }
+
+    // Oldest first; pending events are written first so the timeline is current
+    public List<ComplaintEventResponse> getEvents(Long complaintId) {
+        flush();
+        return complaintEventRepository.findByComplaintIdOrderByOccurredAtAscIdAsc(complaintId)
+                .stream()
+                .map(e -> ComplaintEventResponse.builder()
+                        .id(e.getId())
+                        .type(e.getType().name())
+                        .fromValue(e.getFromValue())
+                        .toValue(e.getToValue())
+                        .officerId(e.getOfficerId())
+                        .occurredAt(e.getOccurredAt())
+                        .slaMetric(e.getSlaMetric() != null ? e.getSlaMetric().name() : null)
+                        .durationSeconds(e.getDurationSeconds())
+                        .build())
+                .toList();
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.entity.Priority;
+import com.example.demo.payload.ComplaintListResponse;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.ComplaintSearchView;
+import com.example.demo.repositories.ComplaintSpecifications;
+import com.example.demo.search.ComplaintSearchIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranked admin search over complaint text, backed by an embedded Lucene
+ * index on local disk (app.search.index-dir; blank keeps it in memory).
+ * ComplaintSearchListener feeds committed writes into it.
+ *
+ * The index is reused across restarts when the last shutdown was clean and
+ * its size matches the table; otherwise it is rebuilt from the database at
+ * startup. Until it is ready, searches fall back to SQL LIKE filters.
+ */
+@Slf4j
+@Service
+public class ComplaintSearchService implements SmartInitializingSingleton {
+
+    // Deepest result reachable by paging, and the cap on reported totals
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final int REBUILD_BATCH = 2000;
+    private static final String CLEAN_SHUTDOWN = "cleanShutdown";
+
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintSearchIndex index;
+
+    private volatile boolean ready;
+    private volatile boolean dirty;
+    // Ids written by the listener while a rebuild runs; the rebuild must not overwrite them
+    private volatile Set<Long> writtenDuringRebuild;
+
+    public ComplaintSearchService(
+            ComplaintRepository complaintRepository,
+            @Value("${app.search.index-dir:search-index}") String indexDir
+    ) throws IOException {
+        this.complaintRepository = complaintRepository;
+        if (indexDir == null || indexDir.isBlank()) {
+            this.index = new ComplaintSearchIndex(new ByteBuffersDirectory());
+        } else {
+            Path path = Paths.get(System.getProperty("user.dir")).resolve(indexDir).normalize();
+            this.index = new ComplaintSearchIndex(FSDirectory.open(path));
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ---------------- STARTUP ----------------
+    // Opened before the embedded server listens, so no write lands in an index that is being rebuilt
+    @Override
+    public void afterSingletonsInstantiated() {
+        open();
+    }
+
+    public void open() {
+        Map<String, String> committed = index.committedUserData();
+        long live = complaintRepository.countByDeletedFalse();
+
+        if ("true".equals(committed.get(CLEAN_SHUTDOWN)) && index.size() == live) {
+            log.info("Search index reused with {} complaints", live);
+        } else {
+            rebuild();
+        }
+        // Until the next clean shutdown, a restart must not trust this index
+        commit(false);
+        ready = true;
+    }
+
+    public void rebuild() {
+        ready = false;
+        index.deleteAll();
+        writtenDuringRebuild = ConcurrentHashMap.newKeySet();
+        try {
+            long afterId = 0;
+            int total = 0;
+            while (true) {
+                List<ComplaintSearchView> batch =
+                        complaintRepository.findSearchRowsAfter(afterId, PageRequest.of(0, REBUILD_BATCH));
+                if (batch.isEmpty()) break;
+
+                Set<Long> skip = writtenDuringRebuild;
+                for (ComplaintSearchView v : batch) {
+                    if (!skip.contains(v.getId())) index.update(toFields(v));
+                }
+                total += batch.size();
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            log.info("Search index rebuilt with {} complaints", total);
+        } finally {
+            writtenDuringRebuild = null;
+        }
+        ready = true;
+    }
+
+    // ---------------- INCREMENTAL UPDATE ----------------
+    // fields == null removes the complaint (deleted)
+    public void update(long complaintId, ComplaintSearchIndex.Fields fields) {
+        Set<Long> tracking = writtenDuringRebuild;
+        if (tracking != null) tracking.add(complaintId);
+
+        if (fields == null) index.delete(complaintId);
+        else index.update(fields);
+        dirty = true;
+    }
+
+    // Searches already see writes; this bounds what a crash could lose (it triggers a rebuild)
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:30000}")
+    public void commitPending() {
+        if (dirty) commit(false);
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            if (ready) commit(true);
+            index.close();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to close the search index cleanly", e);
+        }
+    }
+
+    private void commit(boolean cleanShutdown) {
+        dirty = false;
+        Map<String, String> userData = new HashMap<>();
+        userData.put(CLEAN_SHUTDOWN, Boolean.toString(cleanShutdown));
+        index.commit(userData);
+    }
+
+    // ---------------- SEARCH ----------------
+    public Page<ComplaintListResponse> search(String text, String status, String priority, String category,
+                                              int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        if ((long) page * size + size > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException(
+                    "Only the first " + MAX_RESULT_WINDOW + " results can be paged; refine the search");
+        }
+
+        if (!ready) return fallback(text, status, priority, category, pageable);
+
+        // Unknown filter values match nothing, as in the SQL filters
+        String statusFilter = enumName(ComplaintStatus.class, status);
+        String priorityFilter = enumName(Priority.class, priority);
+        String categoryFilter = enumName(ComplaintCategory.class, category);
+        if (Objects.equals(statusFilter, "") || Objects.equals(priorityFilter, "")
+                || Objects.equals(categoryFilter, "")) {
+            return Page.empty(pageable);
+        }
+
+        ComplaintSearchIndex.Hits hits = index.search(
+                new ComplaintSearchIndex.Criteria(text, statusFilter, priorityFilter, categoryFilter),
+                (int) pageable.getOffset(), size, MAX_RESULT_WINDOW);
+
+        if (hits.ids().isEmpty()) return new PageImpl<>(List.of(), pageable, hits.total());
+
+        // Rows come back in id order; restore the ranking
+        Map<Long, ComplaintListResponse> byId = new HashMap<>();
+        complaintRepository.findListRows(ComplaintSpecifications.idIn(hits.ids()), Sort.unsorted())
+                .forEach(c -> byId.put(c.getId(), c));
+        List<ComplaintListResponse> content = hits.ids().stream()
+                .map(byId::get)
+                .filter(c -> c != null && !c.isDeleted())
+                .toList();
+
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
+    private Page<ComplaintListResponse> fallback(String text, String status, String priority, String category,
+                                                 Pageable pageable) {
+        Pageable sorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "submissionDate").and(Sort.by(Sort.Direction.DESC, "id")));
+        return complaintRepository.findListPage(
+                ComplaintSpecifications.adminFilter(null, status, priority)
+                        .and(ComplaintSpecifications.hasCategory(category))
+                        .and(ComplaintSpecifications.textContains(text)),
+                sorted);
+    }
+
+    // null when absent, "" when not a known value
+    private static <E extends Enum<E>> String enumName(Class<E> type, String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    // ---------------- MAPPING ----------------
+    public static ComplaintSearchIndex.Fields toFields(Complaint c) {
+        return new ComplaintSearchIndex.Fields(
+                c.getId(), c.getTitle(), c.getDescription(), c.getLocation(),
+                remarks(c.getOfficerRemark(), c.getAdminRemark()),
+                name(c.getStatus()), name(c.getPriority()), name(c.getCategory()),
+                c.getSubmissionDate());
+    }
+
+    private static ComplaintSearchIndex.Fields toFields(ComplaintSearchView v) {
+        return new ComplaintSearchIndex.Fields(
+                v.getId(), v.getTitle(), v.getDescription(), v.getLocation(),
+                remarks(v.getOfficerRemark(), v.getAdminRemark()),
+                name(v.getStatus()), name(v.getPriority()), name(v.getCategory()),
+                v.getSubmissionDate());
+    }
+
+    private static String remarks(String officerRemark, String adminRemark) {
+        if (officerRemark == null) return adminRemark;
+        if (adminRemark == null) return officerRemark;
+        return officerRemark + "\n" + adminRemark;
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -1,35 +1,37 @@
 package com.example.demo.service;
 
+import com.example.demo.duplicate.DuplicateIndex;
 import com.example.demo.entity.*;
+import com.example.demo.notify.NotificationDispatcher;
+import com.example.demo.payload.ComplaintListResponse;
 import com.example.demo.payload.ComplaintRequestDTO;
-import com.example.demo.payload.NotificationDto;
 import com.example.demo.payload.OfficerComplaintResponse;
 import com.example.demo.repositories.ComplaintRepository;
-import com.example.demo.repositories.MapLocationRepository;
+import com.example.demo.repositories.ComplaintSpecifications;
+import com.example.demo.storage.ImageDerivativeService;
+import com.example.demo.storage.ImageFormat;
+import com.example.demo.storage.StoredFile;
+import com.example.demo.storage.UploadStorageService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class ComplaintService {
 
     private final ComplaintRepository complaintRepository;
-    private final MapLocationRepository mapLocationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final MapLocationService mapLocationService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final UploadStorageService uploadStorageService;
+    private final ImageDerivativeService imageDerivativeService;
 
-    // ====================== UPLOAD PATHS ======================
-    private static final String UPLOAD_ROOT =
-            System.getProperty("user.dir") + File.separator + "uploads";
-
-    private static final String COMPLAINT_UPLOAD_DIR =
-            UPLOAD_ROOT + File.separator + "complaints";
+    // ====================== UPLOAD LIMITS ======================
+    private static final long MAX_IMAGE_SIZE = 10 * 1024 * 1024;
 
     // ====================== CREATE ======================
     public Complaint createFromDto(
@@ -42,6 +44,9 @@ public class ComplaintService {
             throw new RuntimeException("Citizen name and phone number must be provided");
         }
 
+        // ✅ Stream the image to disk before any DB work
+        String imageUrl = saveImage(image);
+
         Complaint complaint = new Complaint();
         complaint.setTitle(dto.getTitle());
         complaint.setDescription(dto.getDescription());
@@ -64,13 +69,22 @@ public class ComplaintService {
         complaint.setStatus(ComplaintStatus.PENDING);
         complaint.setComplaintStage(ComplaintStage.REGISTERED);
 
-        // ✅ Save image
-        if (image != null && !image.isEmpty()) {
-            complaint.setImageUrl(saveImage(image));
-        }
+        complaint.setImageUrl(imageUrl);
 
-        Complaint saved = complaintRepository.save(complaint);
-        saveMapLocation(saved);
+        // ✅ Link likely repeats of an open complaint (in-memory, no DB work)
+        DuplicateIndex.Match duplicate = duplicateDetectionService.findDuplicate(
+                complaint.getCategory(), complaint.getLatitude(), complaint.getLongitude(),
+                complaint.getTitle(), complaint.getDescription());
+        if (duplicate != null) complaint.setDuplicateOfId(duplicate.complaintId());
+
+        Complaint saved;
+        try {
+            saved = complaintRepository.save(complaint);
+        } catch (RuntimeException e) {
+            deleteImageIfExists(imageUrl);
+            throw e;
+        }
+        mapLocationService.save(saved);
 
         sendNotification(
                 citizen.getEmail(),
@@ -89,6 +103,23 @@ public class ComplaintService {
             MultipartFile image
     ) {
 
+        // ✅ Stream the new image first; the old one is only removed once the row is saved
+        String newImageUrl = saveImage(image);
+        try {
+            return applyUpdate(citizenId, complaintId, dto, newImageUrl);
+        } catch (RuntimeException e) {
+            deleteImageIfExists(newImageUrl);
+            throw e;
+        }
+    }
+
+    private Complaint applyUpdate(
+            Long citizenId,
+            Long complaintId,
+            ComplaintRequestDTO dto,
+            String newImageUrl
+    ) {
+
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
@@ -96,6 +127,8 @@ public class ComplaintService {
             throw new RuntimeException("Unauthorized");
         }
 
+        String oldImageUrl = complaint.getImageUrl();
+
         if (dto.getTitle() != null) complaint.setTitle(dto.getTitle());
         if (dto.getDescription() != null) complaint.setDescription(dto.getDescription());
         if (dto.getCategory() != null) {
@@ -113,14 +146,13 @@ public class ComplaintService {
             complaint.setStatus(ComplaintStatus.valueOf(dto.getStatus()));
         }
 
-        // ✅ Replace image safely
-        if (image != null && !image.isEmpty()) {
-            deleteImageIfExists(complaint.getImageUrl());
-            complaint.setImageUrl(saveImage(image));
-        }
+        if (newImageUrl != null) complaint.setImageUrl(newImageUrl);
 
         Complaint saved = complaintRepository.save(complaint);
-        saveMapLocation(saved);
+        mapLocationService.save(saved);
+
+        // ✅ Replace image safely
+        if (newImageUrl != null) deleteImageIfExists(oldImageUrl);
 
         sendNotification(
                 saved.getCitizen().getEmail(),
@@ -141,10 +173,12 @@ public class ComplaintService {
             throw new RuntimeException("Unauthorized");
         }
 
-        // ✅ Delete image from disk
-        deleteImageIfExists(complaint.getImageUrl());
-
         complaintRepository.delete(complaint);
+        mapLocationService.remove(complaintId);
+
+        // ✅ Release the complaint's files once the row is gone
+        deleteImageIfExists(complaint.getImageUrl());
+        deleteImageIfExists(complaint.getOfficerEvidenceUrl());
 
         sendNotification(
                 complaint.getCitizen().getEmail(),
@@ -154,8 +188,9 @@ public class ComplaintService {
     }
 
     // ====================== READ ======================
-    public List<Complaint> getComplaintsByCitizen(Citizen citizen) {
-        return complaintRepository.findByCitizen(citizen);
+    public List<ComplaintListResponse> getComplaintsByCitizen(Citizen citizen) {
+        return complaintRepository.findListRows(
+                ComplaintSpecifications.ownedBy(citizen.getId()), Sort.by("id"));
     }
 
     public Complaint getComplaintById(Long complaintId, Citizen citizen) {
@@ -179,50 +214,26 @@ public class ComplaintService {
     }
 
     // ====================== IMAGE SAVE ======================
+    // Returns null when no image was sent
     private String saveImage(MultipartFile image) {
-        try {
-            File dir = new File(COMPLAINT_UPLOAD_DIR);
-            if (!dir.exists()) dir.mkdirs();
+        if (image == null || image.isEmpty()) return null;
 
-            String filename = UUID.randomUUID() + "_" + image.getOriginalFilename();
-            File file = new File(dir, filename);
-            image.transferTo(file);
+        StoredFile stored = uploadStorageService.store(image, MAX_IMAGE_SIZE, ImageFormat.ANY);
+        imageDerivativeService.generateAsync(stored);
 
-            // ✅ Stored in DB: include /uploads/ prefix for direct access
-            return "/uploads/complaints/" + filename;
-
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save image", e);
-        }
+        // ✅ Stored in DB: include /uploads/ prefix for direct access
+        return stored.url();
     }
 
     // ====================== IMAGE DELETE ======================
     private void deleteImageIfExists(String imageUrl) {
-        if (imageUrl == null || imageUrl.isBlank()) return;
-
-        // Remove leading /uploads/ if present to locate file on disk
-        String path = imageUrl.startsWith("/uploads/") ? imageUrl.substring(9) : imageUrl;
-        File file = new File(UPLOAD_ROOT + File.separator + path);
-        if (file.exists() && !file.delete()) {
-            System.err.println("⚠ Failed to delete image: " + file.getAbsolutePath());
-        }
-    }
-
-    // ====================== MAP LOCATION ======================
-    private void saveMapLocation(Complaint complaint) {
-        MapLocation map = new MapLocation();
-        map.setLatitude(complaint.getLatitude());
-        map.setLongitude(complaint.getLongitude());
-        map.setCitizenId(complaint.getCitizen().getId());
-        map.setComplaintId(complaint.getId());
-        mapLocationRepository.save(map);
+        uploadStorageService.delete(imageUrl);
     }
 
     // ====================== WEBSOCKET ======================
     private void sendNotification(String email, Long complaintId, String status) {
-        NotificationDto payload = new NotificationDto(complaintId, status);
-        messagingTemplate.convertAndSendToUser(email.toLowerCase(), "/queue/notify", payload);
-        messagingTemplate.convertAndSend("/topic/admin/complaints", payload);
+        notificationDispatcher.toUser(email, complaintId, status);
+        notificationDispatcher.toAdmins(complaintId, status);
     }
 
     // ====================== MAPPER ======================
@@ -245,9 +256,14 @@ public class ComplaintService {
                 .longitude(c.getLongitude())
                 .submissionDate(c.getSubmissionDate())
                 .imageUrl(c.getImageUrl())
+                .imageThumbnailUrl(c.getImageThumbnailUrl())
+                .imageMediumUrl(c.getImageMediumUrl())
                 .officerEvidenceUrl(c.getOfficerEvidenceUrl())
+                .officerEvidenceThumbnailUrl(c.getOfficerEvidenceThumbnailUrl())
+                .officerEvidenceMediumUrl(c.getOfficerEvidenceMediumUrl())
                 .resolutionDate(c.getResolutionDate())
                 .complaintStage(c.getComplaintStage() != null ? c.getComplaintStage().name() : null)
+                .duplicateOfId(c.getDuplicateOfId())
                 .assignedOfficerName(assignedOfficer != null ? assignedOfficer.getName() : null)
                 .assignedOfficerStatus(
                         assignedOfficer != null && assignedOfficer.getStatus() != null
@@ -0,0 +1,124 @@
+package com.example.demo.service;
+
+import com.example.demo.duplicate.DuplicateIndex;
+import com.example.demo.duplicate.MinHash;
+import com.example.demo.entity.Complaint;
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.repositories.ComplaintDuplicateView;
+import com.example.demo.repositories.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Flags new complaints that likely repeat an open one: same category,
+ * within a short radius, and similar title/description text. Candidates
+ * come from an in-memory {@link DuplicateIndex} loaded at startup and kept
+ * current by ComplaintDuplicateListener, so the check never touches the
+ * database while a citizen is submitting.
+ */
+@Slf4j
+@Service
+public class DuplicateDetectionService implements SmartInitializingSingleton {
+
+    private static final int LOAD_BATCH = 5000;
+
+    private final ComplaintRepository complaintRepository;
+    private final DuplicateIndex index = new DuplicateIndex();
+
+    private final double radiusMeters;
+    private final double minSimilarity;
+    private final Duration window;
+
+    public DuplicateDetectionService(
+            ComplaintRepository complaintRepository,
+            @Value("${app.duplicates.radius-meters:150}") double radiusMeters,
+            @Value("${app.duplicates.min-similarity:0.5}") double minSimilarity,
+            @Value("${app.duplicates.window:30d}") Duration window
+    ) {
+        this.complaintRepository = complaintRepository;
+        this.radiusMeters = radiusMeters;
+        this.minSimilarity = minSimilarity;
+        this.window = window;
+    }
+
+    // ---------------- LOAD ----------------
+    // Filled before the embedded server listens, so early reports are checked against every open complaint
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        index.clear();
+        LocalDateTime since = LocalDateTime.now().minus(window);
+        long afterId = 0;
+        while (true) {
+            List<ComplaintDuplicateView> batch = complaintRepository.findDuplicateCandidatesAfter(
+                    afterId, since, ComplaintStatus.OPEN, PageRequest.of(0, LOAD_BATCH));
+            if (batch.isEmpty()) break;
+
+            for (ComplaintDuplicateView v : batch) {
+                update(v.getId(), toEntry(v.getLatitude(), v.getLongitude(), v.getCategory(),
+                        v.getTitle(), v.getDescription(), v.getSubmissionDate(), v.getDuplicateOfId()));
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        log.info("Duplicate index loaded with {} open complaints", index.size());
+    }
+
+    // ---------------- LOOKUP ----------------
+    // Closest open complaint this report likely repeats (resolved to the original), or null
+    public DuplicateIndex.Match findDuplicate(ComplaintCategory category, Double latitude, Double longitude,
+                                              String title, String description) {
+        if (category == null || latitude == null || longitude == null) return null;
+
+        long notBefore = toMillis(LocalDateTime.now().minus(window));
+        return index.findBest(category, latitude, longitude, MinHash.signature(text(title, description)),
+                radiusMeters, minSimilarity, notBefore);
+    }
+
+    // ---------------- INCREMENTAL UPDATE ----------------
+    // entry == null removes the complaint (closed, deleted, or no coordinates)
+    public void update(long complaintId, DuplicateIndex.Entry entry) {
+        if (entry == null) index.remove(complaintId);
+        else index.put(complaintId, entry);
+    }
+
+    // Lookups already skip old entries; this bounds memory
+    @Scheduled(cron = "${app.duplicates.evict-cron:0 30 3 * * *}")
+    public void evictExpired() {
+        int removed = index.evictOlderThan(toMillis(LocalDateTime.now().minus(window)));
+        if (removed > 0) log.info("Evicted {} expired complaints from the duplicate index", removed);
+    }
+
+    public static boolean isOpen(Complaint complaint) {
+        return !complaint.isDeleted() && complaint.getStatus() != null && complaint.getStatus().isOpen();
+    }
+
+    public static DuplicateIndex.Entry toEntry(Double latitude, Double longitude, ComplaintCategory category,
+                                               String title, String description,
+                                               LocalDateTime submittedAt, Long duplicateOf) {
+        if (latitude == null || longitude == null || category == null) return null;
+        long submitted = submittedAt != null ? toMillis(submittedAt) : System.currentTimeMillis();
+        return new DuplicateIndex.Entry(latitude, longitude, category,
+                MinHash.signature(text(title, description)), submitted, duplicateOf);
+    }
+
+    private static String text(String title, String description) {
+        return description == null ? title : title + " " + description;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.EmailStatus;
+import com.example.demo.mail.OutboxPayloadCipher;
+import com.example.demo.repositories.EmailOutboxRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Background delivery of queued mail. Each poll claims due outbox rows in
+ * batches and hands every batch to the bounded email executor, which sends
+ * it over a single SMTP connection. Failed messages are retried with
+ * exponential backoff until max-attempts, then marked FAILED.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final TypeReference<Map<String, String>> PARAMS = new TypeReference<>() {};
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+    private final OutboxPayloadCipher payloadCipher;
+    private final TaskExecutor emailExecutor;
+
+    private final int batchSize;
+    private final int batchesPerPoll;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration staleClaimAfter;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository outboxRepository,
+            EmailService emailService,
+            ObjectMapper objectMapper,
+            OutboxPayloadCipher payloadCipher,
+            @Qualifier("emailExecutor") TaskExecutor emailExecutor,
+            @Value("${app.mail.outbox.batch-size:20}") int batchSize,
+            @Value("${app.mail.outbox.batches-per-poll:5}") int batchesPerPoll,
+            @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${app.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${app.mail.outbox.max-backoff:30m}") Duration maxBackoff,
+            @Value("${app.mail.outbox.stale-claim-after:10m}") Duration staleClaimAfter
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.objectMapper = objectMapper;
+        this.payloadCipher = payloadCipher;
+        this.emailExecutor = emailExecutor;
+        this.batchSize = batchSize;
+        this.batchesPerPoll = batchesPerPoll;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.staleClaimAfter = staleClaimAfter;
+    }
+
+    // -------------------- POLL --------------------
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.releaseStale(now.minus(staleClaimAfter));
+
+        List<Long> dueIds = outboxRepository.findDueIds(now, PageRequest.of(0, batchSize * batchesPerPoll));
+
+        for (int from = 0; from < dueIds.size(); from += batchSize) {
+            List<Long> chunk = dueIds.subList(from, Math.min(from + batchSize, dueIds.size()));
+            String token = UUID.randomUUID().toString();
+
+            if (outboxRepository.claim(chunk, token, now) == 0) continue;
+
+            try {
+                emailExecutor.execute(() -> sendClaimed(token));
+            } catch (TaskRejectedException e) {
+                // Workers saturated: give the rows back and try on the next poll
+                List<EmailOutbox> rows = outboxRepository.findByClaimTokenOrderByIdAsc(token);
+                rows.forEach(this::release);
+                outboxRepository.saveAll(rows);
+                return;
+            }
+        }
+    }
+
+    // -------------------- WORKER --------------------
+    void sendClaimed(String token) {
+        List<EmailOutbox> rows = outboxRepository.findByClaimTokenOrderByIdAsc(token);
+        Map<MimeMessage, EmailOutbox> batch = new LinkedHashMap<>();
+
+        for (EmailOutbox row : rows) {
+            try {
+                batch.put(buildMessage(row), row);
+            } catch (Exception e) {
+                markFailedAttempt(row, e);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                emailService.sendBatch(batch.keySet().toArray(new MimeMessage[0]));
+                batch.values().forEach(this::markSent);
+            } catch (MailSendException e) {
+                Map<Object, Exception> failed = e.getFailedMessages();
+                batch.forEach((message, row) -> {
+                    if (failed.isEmpty() || failed.containsKey(message)) {
+                        markFailedAttempt(row, failed.getOrDefault(message, e));
+                    } else {
+                        markSent(row);
+                    }
+                });
+            } catch (MailException e) {
+                batch.values().forEach(row -> markFailedAttempt(row, e));
+            }
+        }
+
+        outboxRepository.saveAll(rows);
+    }
+
+    private MimeMessage buildMessage(EmailOutbox row) throws Exception {
+        Map<String, String> params = objectMapper.readValue(payloadCipher.decrypt(row.getPayload()), PARAMS);
+        return emailService.buildEmail(row.getType(), row.getRecipient(), params);
+    }
+
+    private void markSent(EmailOutbox row) {
+        row.setStatus(EmailStatus.SENT);
+        row.setSentAt(LocalDateTime.now());
+        row.setPayload(null); // OTPs and passwords are not kept once delivered
+        row.setClaimToken(null);
+        row.setLastError(null);
+    }
+
+    private void markFailedAttempt(EmailOutbox row, Exception e) {
+        int attempts = row.getAttempts() + 1;
+        row.setAttempts(attempts);
+        row.setClaimToken(null);
+        row.setLastError(truncate(e.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            row.setStatus(EmailStatus.FAILED);
+            row.setPayload(null);
+            log.warn("Giving up on email {} to {} after {} attempts", row.getId(), row.getRecipient(), attempts);
+            return;
+        }
+
+        row.setStatus(EmailStatus.PENDING);
+        row.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+    }
+
+    private void release(EmailOutbox row) {
+        row.setStatus(EmailStatus.PENDING);
+        row.setClaimToken(null);
+    }
+
+    // initial * 2^(attempt-1), capped
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
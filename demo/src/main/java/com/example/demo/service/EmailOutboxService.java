@@ -0,0 +1,64 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.EmailType;
+import com.example.demo.mail.OutboxPayloadCipher;
+import com.example.demo.repositories.EmailOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Queues outgoing mail in the email_outbox table; EmailOutboxDispatcher delivers it.
+// Payloads are stored encrypted, since credentials and OTPs sit there until delivery
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxPayloadCipher payloadCipher;
+
+    // -------------------- OTP (password reset) --------------------
+    @Transactional
+    public EmailOutbox enqueueOtp(String toEmail, String otp) {
+        return enqueue(EmailType.OTP, toEmail, Map.of("otp", otp));
+    }
+
+    // -------------------- Account credentials --------------------
+    @Transactional
+    public EmailOutbox enqueueCredentials(String toEmail, String password, String userType) {
+        return enqueue(EmailType.CREDENTIALS, toEmail, Map.of("password", password, "userType", userType));
+    }
+
+    // -------------------- Complaint status change --------------------
+    @Transactional
+    public EmailOutbox enqueueComplaintStatus(String toEmail, Long complaintId, String title,
+                                              String status, String message) {
+        return enqueue(EmailType.COMPLAINT_STATUS, toEmail, Map.of(
+                "complaintId", String.valueOf(complaintId),
+                "title", title != null ? title : "",
+                "status", status,
+                "message", message != null ? message : ""
+        ));
+    }
+
+    private EmailOutbox enqueue(EmailType type, String toEmail, Map<String, String> params) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return outboxRepository.save(EmailOutbox.builder()
+                    .type(type)
+                    .recipient(toEmail)
+                    .payload(payloadCipher.encrypt(objectMapper.writeValueAsString(params)))
+                    .nextAttemptAt(now)
+                    .createdAt(now)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to queue email", e);
+        }
+    }
+}
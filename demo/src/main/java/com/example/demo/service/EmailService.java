@@ -1,89 +1,63 @@
 package com.example.demo.service;
 
+import com.example.demo.entity.EmailType;
+import com.example.demo.mail.EmailTemplateEngine;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 @Service
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailTemplateEngine templateEngine;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, EmailTemplateEngine templateEngine) {
         this.mailSender = mailSender;
+        this.templateEngine = templateEngine;
     }
 
     // -------------------- Send OTP Email (for password reset) --------------------
     public void sendOtpEmail(String toEmail, String otp) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        mailSender.send(buildOtpEmail(toEmail, otp));
+    }
 
-        helper.setTo(toEmail);
-        helper.setSubject("Your OTP for Password Reset");
+    // -------------------- Send Credentials Email (Admin / Officer / Citizen) --------------------
+    public void sendCredentialsEmail(String toEmail, String password, String userType) throws MessagingException {
+        mailSender.send(buildCredentialsEmail(toEmail, password, userType));
+    }
 
-        String htmlContent = "<!DOCTYPE html>" +
-                "<html>" +
-                "<head>" +
-                "<style>" +
-                ".container {font-family: Arial, sans-serif; padding: 20px; max-width: 500px; margin:auto; border:1px solid #ddd; border-radius:10px;}" +
-                ".header {text-align:center;}" +
-                ".otp {font-size:28px; font-weight:bold; color:#2c7be5; padding:10px 0;}" +
-                ".footer {margin-top:20px; font-size:12px; color:#555; text-align:center;}" +
-                "</style>" +
-                "</head>" +
-                "<body>" +
-                "<div class='container'>" +
-                "<div class='header'><h2>Infosys CivicPulse Hub</h2></div>" +
-                "<p>Hello,</p>" +
-                "<p>Your OTP for password reset is:</p>" +
-                "<div class='otp'>" + otp + "</div>" +
-                "<p>This OTP is valid for 10 minutes.</p>" +
-                "<p>If you didn’t request this, ignore the email.</p>" +
-                "<div class='footer'>© 2025 Infosys CivicPulse Hub. All rights reserved.</div>" +
-                "</div>" +
-                "</body>" +
-                "</html>";
+    // -------------------- Batch send over one SMTP connection --------------------
+    // Per-message failures surface as MailSendException#getFailedMessages()
+    public void sendBatch(MimeMessage... messages) {
+        mailSender.send(messages);
+    }
 
-        helper.setText(htmlContent, true);
-        mailSender.send(message);
+    // -------------------- Build OTP Email --------------------
+    public MimeMessage buildOtpEmail(String toEmail, String otp) throws MessagingException {
+        return buildEmail(EmailType.OTP, toEmail, Map.of("otp", otp));
     }
 
-    // -------------------- Send Credentials Email (Admin / Officer / Citizen) --------------------
-    public void sendCredentialsEmail(String toEmail, String password, String userType) throws MessagingException {
+    // -------------------- Build Credentials Email --------------------
+    public MimeMessage buildCredentialsEmail(String toEmail, String password, String userType) throws MessagingException {
+        return buildEmail(EmailType.CREDENTIALS, toEmail, Map.of("password", password, "userType", userType));
+    }
+
+    // -------------------- Build any templated Email --------------------
+    // Templates are precompiled by EmailTemplateEngine (templates/email/*.html)
+    public MimeMessage buildEmail(EmailType type, String toEmail, Map<String, String> params) throws MessagingException {
+        EmailTemplateEngine.RenderedEmail rendered = templateEngine.render(type, toEmail, params);
+
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
         helper.setTo(toEmail);
-        helper.setSubject("Your " + userType + " Account Credentials");
-
-        String htmlContent = "<!DOCTYPE html>" +
-                "<html>" +
-                "<head>" +
-                "<style>" +
-                ".container {font-family: Arial, sans-serif; padding: 20px; max-width: 500px; margin:auto; border:1px solid #ddd; border-radius:10px;}" +
-                ".header {text-align:center;}" +
-                ".credentials {font-size:16px; font-weight:bold; color:#2c7be5; padding:10px 0;}" +
-                ".footer {margin-top:20px; font-size:12px; color:#555; text-align:center;}" +
-                "</style>" +
-                "</head>" +
-                "<body>" +
-                "<div class='container'>" +
-                "<div class='header'><h2>Infosys CivicPulse Hub</h2></div>" +
-                "<p>Hello " + userType + ",</p>" +
-                "<p>Your account has been created successfully. Use the following credentials to login:</p>" +
-                "<div class='credentials'>" +
-                "Email: " + toEmail + "<br/>" +
-                "Password: " + password +
-                "</div>" +
-                "<p>Please change your password after first login.</p>" +
-                "<div class='footer'>© 2025 Infosys CivicPulse Hub. All rights reserved.</div>" +
-                "</div>" +
-                "</body>" +
-                "</html>";
-
-        helper.setText(htmlContent, true);
-        mailSender.send(message);
+        helper.setSubject(rendered.subject());
+        helper.setText(rendered.html(), true);
+        return message;
     }
 }
@@ -0,0 +1,174 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.FeedbackStatsResponse;
+import com.example.demo.repositories.FeedbackRepository;
+import com.example.demo.repositories.FeedbackStatsRepository;
+import com.example.demo.repositories.FeedbackStatsRepositoryCustom.GroupBy;
+import com.example.demo.repositories.FeedbackStatsSourceView;
+import com.example.demo.repositories.OfficerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Maintains feedback_daily_stats: running sums per (day, department, officer)
+ * updated with each submitted feedback, so dashboard questions are answered by
+ * summing buckets instead of scanning the feedback table. Installs that already
+ * have feedback get the table filled once at startup, before the web server
+ * accepts requests, so no record() can interleave with the delete-and-refill.
+ * With several instances, the first one started on an upgraded database
+ * fills the table; start it before routing traffic to the others.
+ */
+@Slf4j
+@Service
+public class FeedbackStatsService implements SmartInitializingSingleton {
+
+    private static final int REBUILD_BATCH = 5000;
+
+    private final FeedbackStatsRepository feedbackStatsRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final OfficerRepository officerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+
+    public FeedbackStatsService(FeedbackStatsRepository feedbackStatsRepository,
+                                FeedbackRepository feedbackRepository,
+                                OfficerRepository officerRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.feedbackStatsRepository = feedbackStatsRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.officerRepository = officerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ---------------- INCREMENTAL UPDATE ----------------
+    // Joins the caller's transaction: the totals roll back with the feedback
+    @Transactional
+    public void record(Feedback feedback) {
+        Complaint complaint = feedback.getComplaint();
+        LocalDate day = feedback.getFeedbackSubmittedAt() != null
+                ? feedback.getFeedbackSubmittedAt().toLocalDate()
+                : LocalDate.now();
+        Long officerId = complaint.getAssignedOfficer() != null
+                ? complaint.getAssignedOfficer().getId()
+                : FeedbackDailyStats.UNASSIGNED;
+
+        if (!feedbackStatsRepository.existsByDayAndCategoryAndOfficerId(day, complaint.getCategory(), officerId)) {
+            createBucket(day, complaint.getCategory(), officerId);
+        }
+
+        FeedbackDailyStats stats = feedbackStatsRepository.lockBucket(day, complaint.getCategory(), officerId)
+                .orElseThrow(() -> new IllegalStateException("Feedback stats bucket missing"));
+        stats.record(feedback.getRating(), feedback.getOfficerBehaviourRating(),
+                feedback.getTimeliness(), feedback.getResolutionStatus(), feedback.getReopened());
+    }
+
+    // Committed on its own so concurrent first submissions to a bucket
+    // insert one row; the loser of the race just reuses it
+    private void createBucket(LocalDate day, ComplaintCategory category, Long officerId) {
+        try {
+            newTransaction.executeWithoutResult(tx ->
+                    feedbackStatsRepository.saveAndFlush(new FeedbackDailyStats(day, category, officerId)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Feedback stats bucket {}/{}/{} created concurrently", day, category, officerId);
+        }
+    }
+
+    // ---------------- ONE-OFF REBUILD ----------------
+    // Runs once all beans exist but before the embedded server starts listening
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuildIfEmpty();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildIfEmpty() {
+        if (feedbackStatsRepository.count() > 0 || feedbackRepository.count() == 0) return;
+        rebuild();
+    }
+
+    // Recomputes every bucket from the feedback table; not safe while feedback is being submitted
+    public void rebuild() {
+        Map<List<Object>, FeedbackDailyStats> buckets = new HashMap<>();
+        long afterId = 0;
+        int feedbacks = 0;
+        while (true) {
+            List<FeedbackStatsSourceView> batch =
+                    feedbackRepository.findStatsSourceAfter(afterId, PageRequest.of(0, REBUILD_BATCH));
+            if (batch.isEmpty()) break;
+
+            for (FeedbackStatsSourceView v : batch) {
+                if (v.getSubmittedAt() == null || v.getCategory() == null) continue;
+                LocalDate day = v.getSubmittedAt().toLocalDate();
+                Long officerId = v.getOfficerId() != null ? v.getOfficerId() : FeedbackDailyStats.UNASSIGNED;
+                buckets.computeIfAbsent(List.of(day, v.getCategory(), officerId),
+                                k -> new FeedbackDailyStats(day, v.getCategory(), officerId))
+                        .record(v.getRating(), v.getOfficerBehaviourRating(),
+                                v.getTimeliness(), v.getResolutionStatus(), v.getReopened());
+                feedbacks++;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            feedbackStatsRepository.deleteAllInBatch();
+            feedbackStatsRepository.saveAll(buckets.values());
+        });
+        log.info("Rebuilt feedback stats: {} feedbacks in {} buckets", feedbacks, buckets.size());
+    }
+
+    // ---------------- QUERIES ----------------
+    // days <= 0 means all time; otherwise the last `days` days including today
+    public FeedbackStatsResponse getSummary(int days) {
+        return feedbackStatsRepository.aggregate(GroupBy.ALL, since(days), null, null, null).get(0);
+    }
+
+    public List<FeedbackStatsResponse> getByDepartment(int days) {
+        return feedbackStatsRepository.aggregate(GroupBy.DEPARTMENT, since(days), null, null, null);
+    }
+
+    public List<FeedbackStatsResponse> getByOfficer(int days, String department) {
+        List<FeedbackStatsResponse> rows = feedbackStatsRepository.aggregate(
+                GroupBy.OFFICER, since(days), null, parseDepartment(department), null);
+
+        Map<Long, String> names = new HashMap<>();
+        officerRepository.findAllById(rows.stream().map(r -> Long.valueOf(r.getKey())).toList())
+                .forEach(o -> names.put(o.getId(), o.getName()));
+        for (FeedbackStatsResponse row : rows) {
+            long id = Long.parseLong(row.getKey());
+            row.setLabel(id == FeedbackDailyStats.UNASSIGNED ? "Unassigned" : names.getOrDefault(id, row.getKey()));
+        }
+        return rows;
+    }
+
+    public List<FeedbackStatsResponse> getDaily(int days, String department, Long officerId) {
+        return feedbackStatsRepository.aggregate(
+                GroupBy.DAY, since(days), null, parseDepartment(department), officerId);
+    }
+
+    private static LocalDate since(int days) {
+        return days > 0 ? LocalDate.now().minusDays(days - 1L) : null;
+    }
+
+    private static ComplaintCategory parseDepartment(String department) {
+        if (department == null || department.isBlank()) return null;
+        try {
+            return ComplaintCategory.valueOf(department.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid department: " + department);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.AppInstance;
+import com.example.demo.repositories.AppInstanceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keeps the application to one running instance per database. Several
+ * features hold state in this JVM and are only fed by local writes: the map
+ * cluster index, the duplicate index, the search index, the SLA histograms
+ * and deadline queue, and the upload blob locks. A second instance would
+ * serve stale maps, searches and SLA stats and could race on uploads, so
+ * startup fails while another instance has refreshed its row recently.
+ * The STOMP broker is in-process too, which is why there is no relay mode.
+ * Restarting with the same instance id replaces the old row, so a crashed
+ * instance does not block its own restart; a different host has to wait
+ * until the old row is stale.
+ */
+@Slf4j
+@Service
+public class InstanceLeaseService implements SmartInitializingSingleton {
+
+    public enum Check { FAIL, WARN, OFF }
+
+    private final AppInstanceRepository appInstanceRepository;
+    private final String instanceId;
+    private final long staleAfterMs;
+    private final Check check;
+
+    public InstanceLeaseService(AppInstanceRepository appInstanceRepository,
+                                @Value("${app.cluster.instance-id:${HOSTNAME:local}}") String instanceId,
+                                @Value("${app.cluster.heartbeat-ms:10000}") long heartbeatMs,
+                                @Value("${app.cluster.single-instance-check:fail}") String check) {
+        this.appInstanceRepository = appInstanceRepository;
+        this.instanceId = instanceId;
+        this.staleAfterMs = 3 * Math.max(heartbeatMs, 1000);
+        this.check = Check.valueOf(check.trim().toUpperCase(Locale.ROOT));
+    }
+
+    // ---------------- STARTUP ----------------
+    // Before the web server starts: a rejected instance never takes traffic
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (check == Check.OFF) return;
+        claim(LocalDateTime.now());
+    }
+
+    void claim(LocalDateTime now) {
+        List<AppInstance> others = othersAlive(now);
+        if (!others.isEmpty() && check == Check.FAIL) {
+            throw new IllegalStateException("Another instance is running against this database ("
+                    + names(others) + "); map, search, duplicate and SLA indexes are per-instance. "
+                    + "Stop it first, or set app.cluster.single-instance-check=warn");
+        }
+        if (!others.isEmpty()) {
+            log.warn("Other instances are running against this database ({}); "
+                    + "per-instance indexes will drift", names(others));
+        }
+        appInstanceRepository.save(new AppInstance(instanceId, now, now));
+    }
+
+    // ---------------- HEARTBEAT ----------------
+    @Scheduled(fixedDelayString = "${app.cluster.heartbeat-ms:10000}")
+    public void heartbeat() {
+        if (check == Check.OFF) return;
+        LocalDateTime now = LocalDateTime.now();
+        AppInstance self = appInstanceRepository.findById(instanceId)
+                .orElseGet(() -> new AppInstance(instanceId, now, now));
+        self.setLastSeen(now);
+        appInstanceRepository.save(self);
+
+        List<AppInstance> others = othersAlive(now);
+        if (!others.isEmpty()) {
+            log.error("Other instances started against this database ({}); "
+                    + "per-instance indexes will drift", names(others));
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (check == Check.OFF) return;
+        try {
+            appInstanceRepository.deleteById(instanceId);
+        } catch (RuntimeException e) {
+            log.warn("Could not release instance row {}: {}", instanceId, e.getMessage());
+        }
+    }
+
+    private List<AppInstance> othersAlive(LocalDateTime now) {
+        return appInstanceRepository.findByInstanceIdNotAndLastSeenAfter(
+                instanceId, now.minus(Duration.ofMillis(staleAfterMs)));
+    }
+
+    private static String names(List<AppInstance> instances) {
+        return String.join(", ", instances.stream().map(AppInstance::getInstanceId).toList());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.map.ClusterIndex;
+import com.example.demo.map.GeoBounds;
+import com.example.demo.payload.MapClusterResponse;
+import com.example.demo.repositories.ComplaintMapView;
+import com.example.demo.repositories.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-aggregated complaint clusters for zoomed-out map views. The index is
+ * loaded once at startup and then kept current by ComplaintMapListener, so a
+ * request only reads the cells in the viewport. It lives in this JVM, which
+ * matches the single-instance deployment (local uploads, in-process broker).
+ */
+@Slf4j
+@Service
+public class MapClusterService implements SmartInitializingSingleton {
+
+    // Cells are tiles at zoom + 3: about 32px on a 256px map tile
+    public static final int CELL_ZOOM_OFFSET = 3;
+    // Beyond map zoom 12 clients switch to individual points (/api/map/complaints)
+    public static final int MAX_CLUSTER_ZOOM = 12;
+
+    private static final int LOAD_BATCH = 5000;
+
+    private final ComplaintRepository complaintRepository;
+    private final ClusterIndex index = new ClusterIndex(MAX_CLUSTER_ZOOM + CELL_ZOOM_OFFSET);
+
+    public MapClusterService(ComplaintRepository complaintRepository) {
+        this.complaintRepository = complaintRepository;
+    }
+
+    // ---------------- LOAD ----------------
+    // Filled before the embedded server listens, so no request sees a half-loaded index
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        index.clear();
+        long afterId = 0;
+        while (true) {
+            List<ComplaintMapView> batch =
+                    complaintRepository.findMapPointsAfter(afterId, PageRequest.of(0, LOAD_BATCH));
+            if (batch.isEmpty()) break;
+
+            for (ComplaintMapView v : batch) {
+                update(v.getId(), toPoint(v.getLatitude(), v.getLongitude(), v.getCategory(), v.getStatus()));
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        log.info("Map clusters loaded for {} complaints", index.size());
+    }
+
+    // ---------------- INCREMENTAL UPDATE ----------------
+    // point == null removes the complaint (deleted, or no coordinates)
+    public void update(long complaintId, ClusterIndex.Point point) {
+        if (point == null) index.remove(complaintId);
+        else index.put(complaintId, point);
+    }
+
+    public static ClusterIndex.Point toPoint(Double latitude, Double longitude,
+                                             ComplaintCategory category, ComplaintStatus status) {
+        if (latitude == null || longitude == null) return null;
+        return new ClusterIndex.Point(latitude, longitude, category, status);
+    }
+
+    // ---------------- QUERY ----------------
+    public List<MapClusterResponse> getClusters(int zoom, double south, double west, double north, double east) {
+        if (zoom < 0 || zoom > 22) throw new IllegalArgumentException("Invalid zoom: " + zoom);
+        GeoBounds bounds = new GeoBounds(south, west, north, east);
+
+        int level = Math.min(zoom, MAX_CLUSTER_ZOOM) + CELL_ZOOM_OFFSET;
+        return index.clusters(level, bounds).stream()
+                .map(MapClusterService::toResponse)
+                .toList();
+    }
+
+    private static MapClusterResponse toResponse(ClusterIndex.Cluster c) {
+        Map<String, Integer> byCategory = new LinkedHashMap<>();
+        c.byCategory().forEach((k, v) -> byCategory.put(k.name(), v));
+        Map<String, Integer> byStatus = new LinkedHashMap<>();
+        c.byStatus().forEach((k, v) -> byStatus.put(k.name(), v));
+
+        return MapClusterResponse.builder()
+                .tileX(c.x())
+                .tileY(c.y())
+                .latitude(c.latitude())
+                .longitude(c.longitude())
+                .count(c.count())
+                .byCategory(byCategory)
+                .byStatus(byStatus)
+                .build();
+    }
+}
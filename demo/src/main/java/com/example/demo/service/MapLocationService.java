@@ -0,0 +1,169 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.entity.MapLocation;
+import com.example.demo.exception.AccessDeniedException;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.MapLocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps map_location as a one-row-per-complaint projection of the
+ * complaint's coordinates: written when they change, removed with the
+ * complaint. Installs from before this kept one row per save; those are
+ * compacted once at startup, before the unique constraint is added.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MapLocationService implements SmartInitializingSingleton {
+
+    private static final int COMPACTION_BATCH = 500;
+    private static final String UNIQUE_COMPLAINT = "uk_map_location_complaint";
+
+    private final MapLocationRepository mapLocationRepository;
+    private final ComplaintRepository complaintRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    // ---------------- UPSERT ----------------
+    @Transactional
+    public MapLocation save(Complaint complaint) {
+        return save(complaint.getId(), complaint.getCitizen().getId(),
+                complaint.getLatitude(), complaint.getLongitude());
+    }
+
+    // A citizen may only place their own complaint on the map
+    @Transactional
+    public MapLocation saveForCitizen(Long complaintId, Long citizenId, Double latitude, Double longitude) {
+        if (complaintId == null) {
+            throw new IllegalArgumentException("Complaint id is required");
+        }
+        Complaint complaint = complaintRepository.findById(complaintId)
+                .filter(c -> !c.isDeleted())
+                .orElseThrow(() -> new RuntimeException("Complaint not found"));
+        if (!complaint.getCitizen().getId().equals(citizenId)) {
+            throw new AccessDeniedException("You are not allowed");
+        }
+        return save(complaintId, citizenId, latitude, longitude);
+    }
+
+    // No write when the coordinates are unchanged; no row without coordinates.
+    // The complaint row lock makes find-then-insert safe against a concurrent save
+    @Transactional
+    public MapLocation save(Long complaintId, Long citizenId, Double latitude, Double longitude) {
+        if (complaintId == null) {
+            throw new IllegalArgumentException("Complaint id is required");
+        }
+        if (complaintRepository.lockById(complaintId) == null) {
+            throw new RuntimeException("Complaint not found");
+        }
+
+        MapLocation location = mapLocationRepository.findByComplaintId(complaintId).orElse(null);
+
+        if (latitude == null || longitude == null) {
+            if (location != null) mapLocationRepository.delete(location);
+            return null;
+        }
+
+        if (location == null) {
+            location = new MapLocation();
+            location.setComplaintId(complaintId);
+        } else if (Objects.equals(location.getLatitude(), latitude)
+                && Objects.equals(location.getLongitude(), longitude)
+                && Objects.equals(location.getCitizenId(), citizenId)) {
+            return location;
+        }
+
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        location.setCitizenId(citizenId);
+        return mapLocationRepository.save(location);
+    }
+
+    // ---------------- REMOVE ----------------
+    @Transactional
+    public void remove(Long complaintId) {
+        mapLocationRepository.deleteByComplaintId(complaintId);
+    }
+
+    // ---------------- ONE-OFF COMPACTION ----------------
+    // Before the embedded server listens, so findByComplaintId never sees duplicates
+    @Override
+    public void afterSingletonsInstantiated() {
+        compact();
+    }
+
+    // Keeps the newest row per complaint, then adds the unique constraint;
+    // a no-op once the table is compact and constrained
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void compact() {
+        int duplicates = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(tx -> {
+                List<Long> complaintIds =
+                        mapLocationRepository.findDuplicatedComplaintIds(PageRequest.of(0, COMPACTION_BATCH));
+                if (complaintIds.isEmpty()) return 0;
+                List<Long> keepIds = mapLocationRepository.findLatestIds(complaintIds);
+                return mapLocationRepository.deleteAllExcept(complaintIds, keepIds);
+            });
+            if (deleted == null || deleted == 0) break;
+            duplicates += deleted;
+        }
+
+        Integer orphans = transactionTemplate.execute(tx -> mapLocationRepository.deleteOrphans());
+
+        if (duplicates > 0 || (orphans != null && orphans > 0)) {
+            log.info("Compacted map locations: removed {} duplicates and {} orphans", duplicates, orphans);
+        }
+
+        ensureUniqueComplaint();
+    }
+
+    // Fails startup rather than running without the constraint the upsert relies on
+    private void ensureUniqueComplaint() {
+        if (hasUniqueComplaintIndex()) return;
+        jdbcTemplate.execute("ALTER TABLE map_location ADD CONSTRAINT " + UNIQUE_COMPLAINT + " UNIQUE (complaint_id)");
+        if (!hasUniqueComplaintIndex()) {
+            throw new IllegalStateException("map_location has no unique index on complaint_id");
+        }
+        log.info("Added unique constraint {} to map_location", UNIQUE_COMPLAINT);
+    }
+
+    // Matched by column rather than name: databases name the backing index differently
+    private boolean hasUniqueComplaintIndex() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            String table = meta.storesUpperCaseIdentifiers() ? "MAP_LOCATION" : "map_location";
+            Map<String, Set<String>> columnsByIndex = new HashMap<>();
+            try (ResultSet rs = meta.getIndexInfo(con.getCatalog(), con.getSchema(), table, true, false)) {
+                while (rs.next()) {
+                    String index = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (index == null || column == null) continue;
+                    columnsByIndex.computeIfAbsent(index, k -> new HashSet<>()).add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+            return columnsByIndex.containsValue(Set.of("complaint_id"));
+        }));
+    }
+}
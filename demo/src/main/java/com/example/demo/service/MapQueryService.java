@@ -0,0 +1,126 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.MapLocation;
+import com.example.demo.map.GeoBounds;
+import com.example.demo.map.GeoHash;
+import com.example.demo.payload.MapPointResponse;
+import com.example.demo.payload.MapQueryResponse;
+import com.example.demo.repositories.MapLocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MapQueryService implements SmartInitializingSingleton {
+
+    public static final int DEFAULT_LIMIT = 2000;
+    public static final int MAX_LIMIT = 10000;
+    public static final double MAX_RADIUS_METERS = 50_000;
+
+    // Upper bound on geohash ranges per query; more cells means a coarser precision
+    private static final int MAX_CELLS = 16;
+    private static final int BACKFILL_BATCH = 500;
+
+    private final MapLocationRepository mapLocationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // ---------------- VIEWPORT ----------------
+    public MapQueryResponse findInViewport(double south, double west, double north, double east, Integer limit) {
+        GeoBounds bounds = new GeoBounds(south, west, north, east);
+        int max = clampLimit(limit);
+
+        List<MapPointResponse> points = query(bounds, max + 1);
+        return toResponse(points, max);
+    }
+
+    // ---------------- RADIUS ----------------
+    // Box query around the circle, then exact great-circle filter, nearest first
+    public MapQueryResponse findNearby(double latitude, double longitude, double radiusMeters, Integer limit) {
+        if (radiusMeters <= 0 || radiusMeters > MAX_RADIUS_METERS) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + (int) MAX_RADIUS_METERS + " metres");
+        }
+        GeoBounds bounds = GeoBounds.around(latitude, longitude, radiusMeters);
+        int max = clampLimit(limit);
+
+        // The box is ~27% larger than the circle; fetch enough to still fill the limit
+        List<MapPointResponse> candidates = query(bounds, max * 2 + 1);
+        candidates.forEach(p -> p.setDistanceMeters(
+                GeoBounds.distanceMeters(latitude, longitude, p.getLatitude(), p.getLongitude())));
+
+        List<MapPointResponse> points = candidates.stream()
+                .filter(p -> p.getDistanceMeters() <= radiusMeters)
+                .sorted(Comparator.comparingDouble(MapPointResponse::getDistanceMeters))
+                .toList();
+        return toResponse(points, max);
+    }
+
+    // One index range scan per merged run of covering cells
+    private List<MapPointResponse> query(GeoBounds bounds, int limit) {
+        Set<String> cells = GeoHash.covering(bounds, MAX_CELLS);
+
+        if (cells.isEmpty()) {
+            return mapLocationRepository.findPointsInBounds(bounds, null, limit);
+        }
+
+        // Ranges are disjoint and map_location has one row per complaint: no duplicates
+        List<MapPointResponse> rows = new ArrayList<>();
+        for (GeoHash.Range range : GeoHash.ranges(cells)) {
+            if (rows.size() >= limit) break;
+            rows.addAll(mapLocationRepository.findPointsInBounds(bounds, range, limit - rows.size()));
+        }
+        return rows;
+    }
+
+    private static MapQueryResponse toResponse(List<MapPointResponse> points, int max) {
+        boolean truncated = points.size() > max;
+        List<MapPointResponse> page = truncated ? points.subList(0, max) : points;
+        return MapQueryResponse.builder()
+                .points(page)
+                .count(page.size())
+                .truncated(truncated)
+                .build();
+    }
+
+    private static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_LIMIT;
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    // ---------------- GEOHASH BACKFILL ----------------
+    // Before the embedded server listens, so radius queries never miss unhashed rows
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void afterSingletonsInstantiated() {
+        backfillGeohashes();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillGeohashes() {
+        int total = 0;
+        while (true) {
+            Integer updated = transactionTemplate.execute(tx -> {
+                List<MapLocation> batch =
+                        mapLocationRepository.findMissingGeohash(PageRequest.of(0, BACKFILL_BATCH));
+                batch.forEach(MapLocation::updateGeohash);
+                mapLocationRepository.saveAll(batch);
+                return batch.size();
+            });
+            if (updated == null || updated == 0) break;
+            total += updated;
+        }
+        if (total > 0) log.info("Backfilled geohash for {} map locations", total);
+    }
+}
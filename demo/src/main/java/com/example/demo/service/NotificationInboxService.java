@@ -0,0 +1,213 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Notification;
+import com.example.demo.entity.NotificationCursor;
+import com.example.demo.entity.Role;
+import com.example.demo.payload.NotificationCatchUpResponse;
+import com.example.demo.payload.NotificationDto;
+import com.example.demo.payload.UnreadCountResponse;
+import com.example.demo.repositories.AdminRepository;
+import com.example.demo.repositories.NotificationCursorRepository;
+import com.example.demo.repositories.NotificationRepository;
+import com.example.demo.security.AuthenticatedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.Principal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user notification inbox. Every frame the NotificationDispatcher sends
+ * is appended here first, so a user who was offline can catch up from the
+ * last id they saw instead of re-reading their complaint lists. Admin
+ * broadcasts are stored once under ADMINS and read by every admin. Read
+ * state is one cursor per user, so the unread count is an index range count.
+ * Rows older than app.notify.inbox.ttl are deleted in batches.
+ * The id cursor relies on ids becoming visible in id order. IDENTITY ids are
+ * allocated at insert, not at commit, so two concurrent writers could commit
+ * out of order and a reader could move past a row that is not yet visible.
+ * That cannot happen here: the dispatcher's single sender commits each batch
+ * before starting the next, and InstanceLeaseService keeps one instance per
+ * database. Any new writer to this table must keep that ordering.
+ */
+@Slf4j
+@Service
+public class NotificationInboxService {
+
+    public static final String ADMINS = "#admins";
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int COMPACT_BATCH = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (recipient, complaint_id, message, complaint_status, created_at) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    // Who is reading: the lower-cased email and whether admin broadcasts are included
+    public record Reader(String email, boolean admin) {
+
+        List<String> streams() {
+            return admin ? List.of(email, ADMINS) : List.of(email);
+        }
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationCursorRepository cursorRepository;
+    private final AdminRepository adminRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    public NotificationInboxService(NotificationRepository notificationRepository,
+                                    NotificationCursorRepository cursorRepository,
+                                    AdminRepository adminRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${app.notify.inbox.ttl:30d}") Duration ttl) {
+        this.notificationRepository = notificationRepository;
+        this.cursorRepository = cursorRepository;
+        this.adminRepository = adminRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+    }
+
+    // ---------------- APPEND ----------------
+    // One dispatcher batch in one statement batch; ids are set on the entries in order.
+    // Callers must not overlap, see the class comment
+    public void append(List<Notification> batch) {
+        if (batch.isEmpty()) return;
+
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Notification n = batch.get(i);
+                        ps.setString(1, n.getRecipient());
+                        if (n.getComplaintId() != null) ps.setLong(2, n.getComplaintId());
+                        else ps.setNull(2, Types.BIGINT);
+                        ps.setString(3, n.getMessage());
+                        ps.setString(4, n.getComplaintStatus() != null ? n.getComplaintStatus().name() : null);
+                        ps.setTimestamp(5, Timestamp.valueOf(n.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                },
+                keys));
+
+        // Key column names differ by driver (ID, GENERATED_KEY); each row holds just the id
+        List<Map<String, Object>> rows = keys.getKeyList();
+        for (int i = 0; i < batch.size() && i < rows.size(); i++) {
+            batch.get(i).setId(((Number) rows.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    // ---------------- READ ----------------
+    // Notifications after the given id, oldest first; after the read cursor when null
+    public List<NotificationDto> since(Reader reader, Long afterId, int limit) {
+        long after = afterId != null ? Math.max(afterId, 0) : lastReadId(reader);
+        return notificationRepository.findByRecipientInAndIdGreaterThanOrderByIdAsc(
+                        reader.streams(), after, PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)))
+                .stream()
+                .map(NotificationInboxService::toDto)
+                .toList();
+    }
+
+    // One page of since(), fetched one row over to tell whether more remain
+    public NotificationCatchUpResponse catchUp(Reader reader, Long afterId) {
+        long after = afterId != null ? Math.max(afterId, 0) : lastReadId(reader);
+        List<NotificationDto> rows = notificationRepository.findByRecipientInAndIdGreaterThanOrderByIdAsc(
+                        reader.streams(), after, PageRequest.of(0, MAX_PAGE_SIZE + 1))
+                .stream()
+                .map(NotificationInboxService::toDto)
+                .toList();
+        boolean hasMore = rows.size() > MAX_PAGE_SIZE;
+        List<NotificationDto> page = hasMore ? rows.subList(0, MAX_PAGE_SIZE) : rows;
+        long nextSince = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        return new NotificationCatchUpResponse(page, hasMore, nextSince);
+    }
+
+    public UnreadCountResponse unreadCount(Reader reader) {
+        long lastRead = lastReadId(reader);
+        long unread = notificationRepository.countByRecipientInAndIdGreaterThan(reader.streams(), lastRead);
+        Long latest = notificationRepository.findLatestId(reader.streams());
+        return new UnreadCountResponse(unread, lastRead, latest != null ? latest : 0);
+    }
+
+    // Moves the cursor forward only; null marks everything read
+    @Transactional
+    public UnreadCountResponse markRead(Reader reader, Long upToId) {
+        long upTo = upToId != null ? upToId : latestId(reader);
+        NotificationCursor cursor = cursorRepository.findById(reader.email())
+                .orElseGet(() -> new NotificationCursor(reader.email(), 0));
+        if (upTo > cursor.getLastReadId()) {
+            cursor.setLastReadId(upTo);
+            cursorRepository.save(cursor);
+        }
+        return unreadCount(reader);
+    }
+
+    private long lastReadId(Reader reader) {
+        return cursorRepository.findById(reader.email())
+                .map(NotificationCursor::getLastReadId)
+                .orElse(0L);
+    }
+
+    private long latestId(Reader reader) {
+        Long latest = notificationRepository.findLatestId(reader.streams());
+        return latest != null ? latest : 0;
+    }
+
+    // ---------------- READERS ----------------
+    // HTTP requests carry the user's role; STOMP sessions carry the email only
+    public Reader readerOf(Principal principal) {
+        if (principal instanceof Authentication auth && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return new Reader(user.email().toLowerCase(), user.role() == Role.ADMIN);
+        }
+        String email = principal.getName().toLowerCase();
+        return new Reader(email, adminRepository.findByEmail(email) != null);
+    }
+
+    // ---------------- TTL COMPACTION ----------------
+    @Scheduled(fixedDelayString = "${app.notify.inbox.compact-interval-ms:3600000}")
+    public int compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        int deleted = 0;
+        while (true) {
+            List<Long> ids = notificationRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, COMPACT_BATCH));
+            if (ids.isEmpty()) break;
+            notificationRepository.deleteAllByIdInBatch(ids);
+            deleted += ids.size();
+        }
+        if (deleted > 0) {
+            log.info("Compacted {} notifications older than {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private static NotificationDto toDto(Notification n) {
+        return new NotificationDto(n.getComplaintId(), n.getMessage(),
+                n.getComplaintStatus() != null ? n.getComplaintStatus().name() : null, n.getId(), n.getCreatedAt());
+    }
+}
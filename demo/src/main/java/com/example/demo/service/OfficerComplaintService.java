@@ -3,27 +3,29 @@ package com.example.demo.service;
 import com.example.demo.entity.*;
 import com.example.demo.exception.AccessDeniedException;
 import com.example.demo.exception.ComplaintNotFoundException;
-import com.example.demo.payload.NotificationDto;
+import com.example.demo.notify.NotificationDispatcher;
 import com.example.demo.payload.OfficerComplaintResponse;
 import com.example.demo.payload.OfficerFeedbackResponse;
 import com.example.demo.payload.OfficerWorkloadResponse;
 import com.example.demo.repositories.ComplaintRepository;
 import com.example.demo.repositories.FeedbackRepository;
 import com.example.demo.repositories.OfficerRepository;
+import com.example.demo.storage.ImageDerivativeService;
+import com.example.demo.storage.ImageFormat;
+import com.example.demo.storage.StoredFile;
+import com.example.demo.storage.UploadStorageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -33,13 +35,15 @@ public class OfficerComplaintService {
     private final ComplaintRepository complaintRepository;
     private final FeedbackRepository feedbackRepository;
     private final OfficerRepository officerRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationDispatcher notificationDispatcher;
     private final ObjectMapper objectMapper;
+    private final OfficerWorkloadService officerWorkloadService;
+    private final UploadStorageService uploadStorageService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailOutboxService emailOutboxService;
 
-    private final String UPLOAD_DIR = System.getProperty("user.dir") + "/uploads/officer/";
-    private final long MAX_FILE_SIZE = 5 * 1024 * 1024;
-    private final List<String> ALLOWED_FILE_TYPES =
-            List.of("image/png", "image/jpeg", "image/jpg");
+    private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
 
     // ==================== HELPER ====================
     private Officer getManagedOfficer(Officer officer) {
@@ -49,57 +53,53 @@ public class OfficerComplaintService {
 
     // ==================== ASSIGNED COMPLAINTS ====================
     public List<OfficerComplaintResponse> getAssignedComplaintResponses(Officer officer) {
-        Officer managedOfficer = getManagedOfficer(officer);
+        // Same officer on every row: count once, reuse for the whole list
+        long active = complaintRepository.countByAssignedOfficerAndStatusIn(
+                officer, OfficerWorkloadService.ACTIVE_STATUSES);
 
-        return complaintRepository.findByAssignedOfficer(managedOfficer)
+        return complaintRepository.findAssignedWithDetails(officer)
                 .stream()
-                .map(this::mapToOfficerResponse)
+                .map(c -> mapToOfficerResponse(c, active))
                 .toList();
     }
 
     // ==================== UPLOAD EVIDENCE ====================
+    // Runs outside the class-level transaction: the file is streamed and
+    // fsync'ed first, then a short transaction authorizes and records it.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Complaint uploadEvidence(Officer officer, Long complaintId, MultipartFile file) {
-        Complaint complaint = getOfficerComplaint(officer, complaintId);
-
-        if (file == null || file.isEmpty())
-            throw new RuntimeException("File is empty");
-
-        if (!ALLOWED_FILE_TYPES.contains(file.getContentType()))
-            throw new RuntimeException("Only PNG/JPG images allowed");
-
-        if (file.getSize() > MAX_FILE_SIZE)
-            throw new RuntimeException("File size exceeds 5MB");
+        StoredFile stored = uploadStorageService.store(file, MAX_FILE_SIZE, ImageFormat.PHOTOS);
+        imageDerivativeService.generateAsync(stored);
+        String[] previousUrl = new String[1];
 
+        Complaint updated;
         try {
-            File dir = new File(UPLOAD_DIR);
-            if (!dir.exists()) dir.mkdirs();
-
-            String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
-            Path target = Paths.get(UPLOAD_DIR, filename);
-
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            complaint.setOfficerEvidenceUrl("/uploads/officer/" + filename);
-
-            if (complaint.getStatus() == ComplaintStatus.PENDING) {
-                complaint.setStatus(ComplaintStatus.IN_PROGRESS);
-            }
-
-            Complaint saved = complaintRepository.saveAndFlush(complaint);
-            updateOfficerStatus(saved.getAssignedOfficer());
-
-            notifyAdmins(saved, "Officer uploaded evidence");
-            notifyCitizen(saved, "Officer uploaded evidence for your complaint");
-
-            return saved;
-
-        } catch (IOException e) {
-            throw new RuntimeException("Evidence upload failed", e);
+            updated = transactionTemplate.execute(tx -> {
+                Complaint complaint = getOfficerComplaint(officer, complaintId);
+                previousUrl[0] = complaint.getOfficerEvidenceUrl();
+                complaint.setOfficerEvidenceUrl(stored.url());
+
+                if (complaint.getStatus() == ComplaintStatus.PENDING) {
+                    complaint.setStatus(ComplaintStatus.IN_PROGRESS);
+                }
+
+                Complaint saved = complaintRepository.saveAndFlush(complaint);
+                updateOfficerStatus(saved.getAssignedOfficer());
+
+                notifyAdmins(saved, "Officer uploaded evidence");
+                notifyCitizen(saved, "Officer uploaded evidence for your complaint");
+
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            uploadStorageService.delete(stored.url());
+            throw e;
         }
-    }
-    
-    
-   
 
+        // Replaced evidence gives up its reference once the new URL is committed
+        uploadStorageService.delete(previousUrl[0]);
+        return updated;
+    }
 
     // ==================== FEEDBACK ====================
     public OfficerFeedbackResponse getFeedbackForOfficer(Officer officer, Long complaintId) {
@@ -111,21 +111,23 @@ public class OfficerComplaintService {
         return mapToFeedbackResponse(complaint, feedback);
     }
 
+    // Every feedback on the officer's complaints, read in one joined query
     public List<OfficerFeedbackResponse> getAllFeedbackForOfficer(Officer officer) {
-        Officer managedOfficer = getManagedOfficer(officer);
-
-        return complaintRepository.findByAssignedOfficer(managedOfficer)
+        return feedbackRepository.findAllFeedbackViewsByOfficer(officer.getId())
                 .stream()
-                .map(c -> c.getFeedback() != null
-                        ? mapToFeedbackResponse(c, c.getFeedback())
-                        : null)
-                .filter(r -> r != null)
+                .map(v -> OfficerFeedbackResponse.builder()
+                        .complaintId(v.getComplaintId())
+                        .rating(v.getRating())
+                        .officerBehaviourRating(v.getOfficerBehaviourRating())
+                        .resolutionStatus(v.getResolutionStatus())
+                        .timeliness(v.getTimeliness())
+                        .feedbackComment(v.getFeedbackComment())
+                        .feedbackImageUrl(v.getFeedbackImageUrl())
+                        .reopened(v.getReopened())
+                        .feedbackSubmittedAt(v.getSubmittedAt())
+                        .build())
                 .toList();
     }
-    
-    
-    
-    
 
     private OfficerFeedbackResponse mapToFeedbackResponse(Complaint c, Feedback f) {
         return OfficerFeedbackResponse.builder()
@@ -148,9 +150,17 @@ public class OfficerComplaintService {
 
         long active = o != null
                 ? complaintRepository.countByAssignedOfficerAndStatusIn(
-                        o, List.of(ComplaintStatus.PENDING, ComplaintStatus.IN_PROGRESS))
+                        o, OfficerWorkloadService.ACTIVE_STATUSES)
                 : 0;
 
+        return mapToOfficerResponse(c, active);
+    }
+
+    // Batch mode: caller supplies the officer's active count (computed once per list)
+    public OfficerComplaintResponse mapToOfficerResponse(Complaint c, long active) {
+
+        Officer o = c.getAssignedOfficer();
+
         return OfficerComplaintResponse.builder()
                 .id(c.getId())
                 .title(c.getTitle())
@@ -163,9 +173,14 @@ public class OfficerComplaintService {
                 .longitude(c.getLongitude())
                 .submissionDate(c.getSubmissionDate())
                 .imageUrl(c.getImageUrl())
+                .imageThumbnailUrl(c.getImageThumbnailUrl())
+                .imageMediumUrl(c.getImageMediumUrl())
                 .officerEvidenceUrl(c.getOfficerEvidenceUrl())
+                .officerEvidenceThumbnailUrl(c.getOfficerEvidenceThumbnailUrl())
+                .officerEvidenceMediumUrl(c.getOfficerEvidenceMediumUrl())
                 .resolutionDate(c.getResolutionDate())
                 .complaintStage(c.getComplaintStage() != null ? c.getComplaintStage().name() : null)
+                .duplicateOfId(c.getDuplicateOfId())
                 .assignedOfficerName(o != null ? o.getName() : null)
                 .assignedOfficerStatus(o != null && o.getStatus() != null ? o.getStatus().name() : null)
                 .assignedOfficerDepartment(
@@ -196,6 +211,7 @@ public class OfficerComplaintService {
     public Complaint updateStatus(Officer officer, Long id, ComplaintStatus status) {
 
         Complaint complaint = getOfficerComplaint(officer, id);
+        ComplaintStatus oldStatus = complaint.getStatus();
         complaint.setStatus(status);
 
         if (status == ComplaintStatus.RESOLVED) {
@@ -207,6 +223,11 @@ public class OfficerComplaintService {
 
         notifyAdmins(saved, "Complaint status updated");
         notifyCitizen(saved, "Your complaint status updated");
+        // Queued in this transaction; the outbox dispatcher only sees it after commit
+        if (status != oldStatus) {
+            emailOutboxService.enqueueComplaintStatus(saved.getCitizen().getEmail(), saved.getId(),
+                    saved.getTitle(), status.name(), saved.getOfficerRemark());
+        }
 
         return saved;
     }
@@ -219,6 +240,10 @@ public class OfficerComplaintService {
 
     public Complaint updateExpectedCompletionDate(Officer officer, Long id, LocalDate date) {
         Complaint complaint = getOfficerComplaint(officer, id);
+        // A new date re-arms the SLA breach check
+        if (!Objects.equals(complaint.getExpectedCompletionDate(), date)) {
+            complaint.setSlaBreachedAt(null);
+        }
         complaint.setExpectedCompletionDate(date);
         return complaintRepository.saveAndFlush(complaint);
     }
@@ -250,39 +275,19 @@ public class OfficerComplaintService {
 
     // ==================== NOTIFICATIONS ====================
     private void notifyAdmins(Complaint c, String msg) {
-        messagingTemplate.convertAndSend(
-                "/topic/admin/complaints",
-                new NotificationDto(c.getId(), msg)
-        );
+        notificationDispatcher.toAdmins(c.getId(), msg);
     }
 
     private void notifyCitizen(Complaint c, String msg) {
-        messagingTemplate.convertAndSendToUser(
-                c.getCitizen().getEmail().toLowerCase(),
-                "/queue/notify",
-                new NotificationDto(c.getId(), msg)
-        );
+        notificationDispatcher.toUser(c.getCitizen().getEmail(), c.getId(), msg);
     }
 
     // ==================== WORKLOAD ====================
     public List<OfficerWorkloadResponse> getAllOfficersWorkload() {
-        return officerRepository.findAll().stream().map(o -> {
-
-            long active = complaintRepository.countByAssignedOfficerAndStatusIn(
-                    o, List.of(ComplaintStatus.PENDING, ComplaintStatus.IN_PROGRESS));
-
-            String status =
-                    active == 0 ? "AVAILABLE" :
-                    active <= 3 ? "BUSY" : "OVERLOADED";
-
-            return OfficerWorkloadResponse.builder()
-                    .id(o.getId())
-                    .name(o.getName())
-                    .email(o.getEmail())
-                    .department(o.getDepartment() != null ? o.getDepartment().name() : null)
-                    .activeComplaints(active)
-                    .status(status)
-                    .build();
-        }).toList();
+        return getAllOfficersWorkload(null);
+    }
+
+    public List<OfficerWorkloadResponse> getAllOfficersWorkload(String department) {
+        return officerWorkloadService.getWorkloadByLoad(department);
     }
 }
\ No newline at end of file
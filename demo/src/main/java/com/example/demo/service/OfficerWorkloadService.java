@@ -0,0 +1,67 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.payload.OfficerWorkloadResponse;
+import com.example.demo.repositories.OfficerRepository;
+import com.example.demo.repositories.OfficerWorkloadView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OfficerWorkloadService {
+
+    // Complaints that still count against an officer's workload
+    public static final List<ComplaintStatus> ACTIVE_STATUSES =
+            List.of(ComplaintStatus.PENDING, ComplaintStatus.IN_PROGRESS);
+
+    private final OfficerRepository officerRepository;
+
+    // ---------------- STORED OFFICER STATUS ----------------
+    // Used by admin assignment screens, which filter on the persisted status
+    public List<OfficerWorkloadResponse> getWorkload(String department) {
+        return officerRepository.findWorkload(ACTIVE_STATUSES, parseDepartment(department))
+                .stream()
+                .map(v -> toResponse(v, v.getStatus() != null ? v.getStatus().name() : null))
+                .toList();
+    }
+
+    // ---------------- STATUS DERIVED FROM LOAD ----------------
+    public List<OfficerWorkloadResponse> getWorkloadByLoad(String department) {
+        return officerRepository.findWorkload(ACTIVE_STATUSES, parseDepartment(department))
+                .stream()
+                .map(v -> toResponse(v, loadLevel(v.getActiveComplaints())))
+                .toList();
+    }
+
+    private static String loadLevel(long active) {
+        return active == 0 ? "AVAILABLE" :
+               active <= 3 ? "BUSY" : "OVERLOADED";
+    }
+
+    private static ComplaintCategory parseDepartment(String department) {
+        if (department == null || department.isBlank()) return null;
+        try {
+            return ComplaintCategory.valueOf(department.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid department: " + department);
+        }
+    }
+
+    private static OfficerWorkloadResponse toResponse(OfficerWorkloadView v, String status) {
+        return OfficerWorkloadResponse.builder()
+                .id(v.getId())
+                .name(v.getName())
+                .email(v.getEmail())
+                .department(v.getDepartment() != null ? v.getDepartment().name() : null)
+                .activeComplaints(v.getActiveComplaints())
+                .status(status)
+                .build();
+    }
+}
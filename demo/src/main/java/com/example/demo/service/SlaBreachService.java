@@ -0,0 +1,271 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.entity.ComplaintEvent;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.entity.Officer;
+import com.example.demo.notify.NotificationDispatcher;
+import com.example.demo.repositories.ComplaintDeadlineView;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.sla.ComplaintEventListener;
+import com.example.demo.sla.DeadlineQueue;
+import com.example.demo.support.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires SLA breach notifications when an open complaint's expected
+ * completion date has passed. Only deadlines inside a short horizon are
+ * held in memory, in a time-ordered queue loaded by an indexed date-range
+ * query and kept current by ComplaintDeadlineListener; the horizon is
+ * extended as it runs out. A single timer thread sleeps until the earliest
+ * deadline, so there is no periodic scan of open complaints.
+ * A complaint is due once its expected completion day has ended.
+ */
+@Slf4j
+@Service
+public class SlaBreachService implements SmartInitializingSingleton {
+
+    private static final int LOAD_BATCH = 5000;
+    private static final int FIRE_BATCH = 200;
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    private static final Duration RETRY_AFTER = Duration.ofMinutes(1);
+
+    private final ComplaintRepository complaintRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ComplaintEventService complaintEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+
+    private final DeadlineQueue queue = new DeadlineQueue();
+    // Deadlines up to the start of this day are in the queue; null until loaded
+    private volatile LocalDate loadedUntil;
+
+    // Null when scheduling is off (tests call fireDue directly)
+    private final ScheduledExecutorService timer;
+    private ScheduledFuture<?> wakeUp;
+    private LocalDateTime wakeUpAt;
+
+    public SlaBreachService(ComplaintRepository complaintRepository,
+                            NotificationDispatcher notificationDispatcher,
+                            ComplaintEventService complaintEventService,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.sla.breach.horizon-days:2}") int horizonDays,
+                            @Value("${app.scheduling.enabled:true}") boolean schedulingEnabled) {
+        this.complaintRepository = complaintRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.complaintEventService = complaintEventService;
+        this.transactionTemplate = transactionTemplate;
+        this.horizonDays = Math.max(horizonDays, 1);
+        this.timer = schedulingEnabled
+                ? Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "sla-breach");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    // When the complaint should be flagged; null if it is not armed
+    public static LocalDateTime deadlineOf(Complaint complaint) {
+        if (complaint.isDeleted()
+                || complaint.getExpectedCompletionDate() == null
+                || complaint.getSlaBreachedAt() != null
+                || complaint.getStatus() == null || !complaint.getStatus().isOpen()) {
+            return null;
+        }
+        return complaint.getExpectedCompletionDate().plusDays(1).atStartOfDay();
+    }
+
+    // ---------------- LOAD ----------------
+    // Queued before the embedded server listens, so updates are never dropped while loading
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void load() {
+        queue.clear();
+        LocalDate until = LocalDate.now().plusDays(horizonDays);
+        loadRange(EARLIEST, until);
+        loadedUntil = until;
+        log.info("SLA breach queue loaded: {} deadlines before {}", queue.size(), until);
+        rearm();
+    }
+
+    // Keyset pages on (date, id), the index order
+    private void loadRange(LocalDate fromDate, LocalDate toDate) {
+        LocalDate afterDate = fromDate;
+        long afterId = 0;
+        while (true) {
+            List<ComplaintDeadlineView> rows = complaintRepository.findDeadlinesAfter(
+                    afterDate, afterId, toDate, ComplaintStatus.OPEN,
+                    PageRequest.of(0, LOAD_BATCH));
+            if (rows.isEmpty()) break;
+            for (ComplaintDeadlineView row : rows) {
+                queue.put(row.getId(), row.getExpectedCompletionDate().plusDays(1).atStartOfDay());
+            }
+            ComplaintDeadlineView last = rows.get(rows.size() - 1);
+            afterDate = last.getExpectedCompletionDate();
+            afterId = last.getId();
+        }
+    }
+
+    // ---------------- INCREMENTAL UPDATE ----------------
+    // Called after commit; deadlines beyond the horizon are picked up when it moves
+    public void update(long complaintId, LocalDateTime deadline) {
+        LocalDate until = loadedUntil;
+        if (until == null) return;
+
+        if (deadline == null || deadline.isAfter(until.atStartOfDay())) {
+            queue.remove(complaintId);
+        } else {
+            queue.put(complaintId, deadline);
+        }
+        rearm();
+    }
+
+    // ---------------- FIRING ----------------
+    public void fireDue(LocalDateTime now) {
+        while (true) {
+            List<Long> due = queue.pollDue(now, FIRE_BATCH);
+            if (due.isEmpty()) return;
+            for (Long id : due) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> breach(id, now));
+                } catch (RuntimeException e) {
+                    log.warn("SLA breach for complaint {} failed, retrying: {}", id, e.getMessage());
+                    queue.put(id, now.plus(RETRY_AFTER));
+                }
+            }
+        }
+    }
+
+    // Rechecked against the committed row: the queue may be behind a concurrent edit.
+    // The flag is set by a conditional update so only one claimant notifies; the
+    // entity is never saved here, so concurrent edits to other columns survive.
+    private void breach(long complaintId, LocalDateTime now) {
+        Complaint complaint = complaintRepository.findById(complaintId).orElse(null);
+        if (complaint == null) return;
+
+        LocalDateTime deadline = deadlineOf(complaint);
+        if (deadline == null) return;
+        if (deadline.isAfter(now)) {
+            update(complaintId, deadline);
+            return;
+        }
+
+        int claimed = complaintRepository.markSlaBreached(
+                complaintId, now, now.toLocalDate(), ComplaintStatus.OPEN);
+        if (claimed != 1) return;
+
+        // Bulk updates bypass the entity listeners: log the event here. The deadline
+        // already left the queue in pollDue.
+        Complaint breached = complaintRepository.findById(complaintId).orElseThrow();
+        ComplaintEvent event = ComplaintEventListener.breached(breached);
+        AfterCommit.run(() -> complaintEventService.append(List.of(event)));
+        notifyBreach(breached);
+    }
+
+    private void notifyBreach(Complaint complaint) {
+        String due = String.valueOf(complaint.getExpectedCompletionDate());
+
+        Officer officer = complaint.getAssignedOfficer();
+        if (officer != null) {
+            notificationDispatcher.toUser(
+                    officer.getEmail(),
+                    complaint.getId(),
+                    "SLA breached: complaint '" + complaint.getTitle() + "' was due " + due
+            );
+        }
+
+        // Escalation to admins
+        notificationDispatcher.toAdmins(
+                complaint.getId(),
+                "SLA breach escalated: '" + complaint.getTitle() + "' was due " + due
+                        + (officer != null ? " (officer " + officer.getName() + ")" : "")
+        );
+
+        if (complaint.getAssignedAdmin() != null) {
+            notificationDispatcher.toUser(
+                    complaint.getAssignedAdmin().getEmail(),
+                    complaint.getId(),
+                    "SLA breach escalated: '" + complaint.getTitle() + "' was due " + due
+            );
+        }
+    }
+
+    // ---------------- TIMER ----------------
+    private void tick() {
+        synchronized (this) {
+            wakeUp = null;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (!now.isBefore(loadedUntil.atStartOfDay())) {
+                extendHorizon();
+            }
+            fireDue(now);
+        } catch (RuntimeException e) {
+            log.error("SLA breach check failed", e);
+        } finally {
+            rearm();
+        }
+    }
+
+    private void extendHorizon() {
+        LocalDate from = loadedUntil;
+        LocalDate to = LocalDate.now().plusDays(horizonDays);
+        if (!to.isAfter(from)) return;
+        loadRange(from, to);
+        loadedUntil = to;
+    }
+
+    // Sleeps until the earliest deadline, or the end of the horizon if sooner
+    private synchronized void rearm() {
+        if (timer == null || loadedUntil == null) return;
+
+        LocalDateTime horizonEnd = loadedUntil.atStartOfDay();
+        LocalDateTime next = queue.nextDeadline();
+        LocalDateTime at = next == null || next.isAfter(horizonEnd) ? horizonEnd : next;
+
+        if (wakeUp != null) {
+            if (at.equals(wakeUpAt)) return;
+            wakeUp.cancel(false);
+        }
+        long delayMs = Math.max(0, Duration.between(LocalDateTime.now(), at).toMillis());
+        wakeUp = timer.schedule(this::tick, delayMs, TimeUnit.MILLISECONDS);
+        wakeUpAt = at;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (timer != null) timer.shutdownNow();
+    }
+
+    // ---------------- INSPECTION ----------------
+    public int queuedDeadlines() {
+        return queue.size();
+    }
+
+    public LocalDateTime nextDeadline() {
+        return queue.nextDeadline();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.sla;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.service.SlaBreachService;
+import com.example.demo.support.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the SLA deadline queue in step with committed complaint writes:
+ * a new or moved expected completion date arms the complaint, and closing,
+ * deleting or breaching it disarms it.
+ */
+@Component
+public class ComplaintDeadlineListener {
+
+    // Lazy: the service needs repositories, which need this listener's EntityManagerFactory
+    private final ObjectProvider<SlaBreachService> slaBreachService;
+
+    public ComplaintDeadlineListener(ObjectProvider<SlaBreachService> slaBreachService) {
+        this.slaBreachService = slaBreachService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Complaint complaint) {
+        long id = complaint.getId();
+        LocalDateTime deadline = SlaBreachService.deadlineOf(complaint);
+
+        AfterCommit.run(() -> slaBreachService.getObject().update(id, deadline));
+    }
+
+    @PostRemove
+    void onRemove(Complaint complaint) {
+        long id = complaint.getId();
+        AfterCommit.run(() -> slaBreachService.getObject().update(id, null));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.demo.sla;
+
+import com.example.demo.entity.Complaint;
+import com.example.demo.entity.ComplaintEvent;
+import com.example.demo.entity.ComplaintEventType;
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.service.ComplaintEventService;
+import com.example.demo.support.AfterCommit;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns complaint writes into complaint_events: creation, assignment,
+ * status, stage, soft-delete and SLA breach changes, whichever service
+ * made them. The values seen at load time are kept on the entity and
+ * compared at flush; events reach ComplaintEventService only after commit.
+ */
+@Component
+public class ComplaintEventListener {
+
+    // Lazy: the service needs repositories, which need this listener's EntityManagerFactory
+    private final ObjectProvider<ComplaintEventService> complaintEventService;
+
+    public ComplaintEventListener(ObjectProvider<ComplaintEventService> complaintEventService) {
+        this.complaintEventService = complaintEventService;
+    }
+
+    @PostLoad
+    void onLoad(Complaint complaint) {
+        remember(complaint);
+    }
+
+    @PostPersist
+    void onPersist(Complaint complaint) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ComplaintEvent> events = new ArrayList<>();
+        events.add(event(complaint, ComplaintEventType.CREATED, null, name(complaint.getStatus()), now));
+        if (officerId(complaint) != null) {
+            events.add(assigned(complaint, null, now));
+        }
+        remember(complaint);
+        publish(events);
+    }
+
+    @PostUpdate
+    void onUpdate(Complaint complaint) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ComplaintEvent> events = new ArrayList<>();
+
+        Long officerId = officerId(complaint);
+        if (officerId != null && !officerId.equals(complaint.getLoadedOfficerId())) {
+            events.add(assigned(complaint, complaint.getLoadedOfficerId(), now));
+        }
+
+        if (complaint.getStatus() != complaint.getLoadedStatus()) {
+            ComplaintEvent event = event(complaint, ComplaintEventType.STATUS_CHANGED,
+                    name(complaint.getLoadedStatus()), name(complaint.getStatus()), now);
+            if (complaint.getStatus() == ComplaintStatus.RESOLVED) {
+                LocalDateTime resolved = complaint.getResolutionDate() != null ? complaint.getResolutionDate() : now;
+                event.setSlaMetric(SlaMetric.TIME_TO_RESOLVE);
+                event.setDurationSeconds(secondsSinceSubmission(complaint, resolved));
+            }
+            events.add(event);
+        }
+
+        if (complaint.getComplaintStage() != complaint.getLoadedStage()) {
+            events.add(event(complaint, ComplaintEventType.STAGE_CHANGED,
+                    name(complaint.getLoadedStage()), name(complaint.getComplaintStage()), now));
+        }
+
+        if (complaint.isDeleted() && !complaint.isLoadedDeleted()) {
+            events.add(event(complaint, ComplaintEventType.DELETED, null, null, now));
+        }
+
+        if (complaint.getSlaBreachedAt() != null && !complaint.isLoadedSlaBreached()) {
+            events.add(breached(complaint));
+        }
+
+        remember(complaint);
+        if (!events.isEmpty()) publish(events);
+    }
+
+    // Also used by SlaBreachService, which flags breaches with a bulk update
+    public static ComplaintEvent breached(Complaint complaint) {
+        return event(complaint, ComplaintEventType.SLA_BREACHED, null,
+                complaint.getExpectedCompletionDate() != null ? complaint.getExpectedCompletionDate().toString() : null,
+                complaint.getSlaBreachedAt());
+    }
+
+    // Only the first assignment completes TIME_TO_ASSIGN; reassignments are just logged
+    private static ComplaintEvent assigned(Complaint complaint, Long previousOfficerId, LocalDateTime now) {
+        ComplaintEvent event = event(complaint, ComplaintEventType.ASSIGNED,
+                previousOfficerId != null ? previousOfficerId.toString() : null,
+                officerId(complaint).toString(), now);
+        if (previousOfficerId == null) {
+            LocalDateTime assigned = complaint.getAssignedDate() != null ? complaint.getAssignedDate() : now;
+            event.setSlaMetric(SlaMetric.TIME_TO_ASSIGN);
+            event.setDurationSeconds(secondsSinceSubmission(complaint, assigned));
+        }
+        return event;
+    }
+
+    private static ComplaintEvent event(Complaint complaint, ComplaintEventType type,
+                                        String from, String to, LocalDateTime now) {
+        return ComplaintEvent.builder()
+                .complaintId(complaint.getId())
+                .type(type)
+                .fromValue(from)
+                .toValue(to)
+                .category(complaint.getCategory())
+                .officerId(officerId(complaint))
+                .occurredAt(now)
+                .build();
+    }
+
+    private static long secondsSinceSubmission(Complaint complaint, LocalDateTime at) {
+        if (complaint.getSubmissionDate() == null) return 0;
+        return Math.max(0, Duration.between(complaint.getSubmissionDate(), at).getSeconds());
+    }
+
+    // The id of a lazy proxy is read without loading the officer
+    private static Long officerId(Complaint complaint) {
+        return complaint.getAssignedOfficer() != null ? complaint.getAssignedOfficer().getId() : null;
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static void remember(Complaint complaint) {
+        complaint.setLoadedStatus(complaint.getStatus());
+        complaint.setLoadedStage(complaint.getComplaintStage());
+        complaint.setLoadedOfficerId(officerId(complaint));
+        complaint.setLoadedDeleted(complaint.isDeleted());
+        complaint.setLoadedSlaBreached(complaint.getSlaBreachedAt() != null);
+    }
+
+    private void publish(List<ComplaintEvent> events) {
+        AfterCommit.run(() -> complaintEventService.getObject().append(events));
+    }
+}
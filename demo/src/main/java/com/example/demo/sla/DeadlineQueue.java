@@ -0,0 +1,70 @@
+package com.example.demo.sla;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Complaint deadlines ordered by time. A heap plus the current deadline per
+ * complaint: moving or removing a deadline only updates the map, and stale
+ * heap entries are dropped when they reach the top. All operations are
+ * O(log n) or better; thread-safe.
+ */
+public class DeadlineQueue {
+
+    private record Entry(LocalDateTime deadline, long complaintId) {
+    }
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparing(Entry::deadline).thenComparingLong(Entry::complaintId);
+
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(ORDER);
+    private final Map<Long, LocalDateTime> current = new HashMap<>();
+
+    public synchronized void put(long complaintId, LocalDateTime deadline) {
+        LocalDateTime previous = current.put(complaintId, deadline);
+        if (!deadline.equals(previous)) {
+            heap.add(new Entry(deadline, complaintId));
+        }
+    }
+
+    public synchronized void remove(long complaintId) {
+        current.remove(complaintId);
+    }
+
+    // Removes and returns complaints whose deadline is at or before now, earliest first
+    public synchronized List<Long> pollDue(LocalDateTime now, int limit) {
+        List<Long> due = new ArrayList<>();
+        while (due.size() < limit) {
+            Entry head = top();
+            if (head == null || head.deadline().isAfter(now)) break;
+            heap.poll();
+            current.remove(head.complaintId());
+            due.add(head.complaintId());
+        }
+        return due;
+    }
+
+    public synchronized LocalDateTime nextDeadline() {
+        Entry head = top();
+        return head != null ? head.deadline() : null;
+    }
+
+    public synchronized int size() {
+        return current.size();
+    }
+
+    public synchronized void clear() {
+        heap.clear();
+        current.clear();
+    }
+
+    // Skips entries whose complaint has since moved or left the queue
+    private Entry top() {
+        Entry head;
+        while ((head = heap.peek()) != null
+                && !head.deadline().equals(current.get(head.complaintId()))) {
+            heap.poll();
+        }
+        return head;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.sla;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SLA duration histograms per metric, grouped by complaint category and by
+ * officer, plus one overall histogram per metric. Thread-safe; reads never
+ * block writers.
+ */
+public class SlaIndex {
+
+    public enum GroupBy { ALL, CATEGORY, OFFICER }
+
+    public static final String ALL = "ALL";
+
+    private record Key(SlaMetric metric, GroupBy groupBy, String value) {
+    }
+
+    private final Map<Key, DurationHistogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(SlaMetric metric, String category, Long officerId, long seconds) {
+        histogram(metric, GroupBy.ALL, ALL).record(seconds);
+        if (category != null) histogram(metric, GroupBy.CATEGORY, category).record(seconds);
+        if (officerId != null) histogram(metric, GroupBy.OFFICER, officerId.toString()).record(seconds);
+    }
+
+    // Histograms of one metric and grouping, ordered by key
+    public Map<String, DurationHistogram> get(SlaMetric metric, GroupBy groupBy) {
+        Map<String, DurationHistogram> result = new TreeMap<>();
+        histograms.forEach((key, histogram) -> {
+            if (key.metric() == metric && key.groupBy() == groupBy) result.put(key.value(), histogram);
+        });
+        return groupBy == GroupBy.OFFICER ? byNumericKey(result) : result;
+    }
+
+    private DurationHistogram histogram(SlaMetric metric, GroupBy groupBy, String value) {
+        return histograms.computeIfAbsent(new Key(metric, groupBy, value), k -> new DurationHistogram());
+    }
+
+    private static Map<String, DurationHistogram> byNumericKey(Map<String, DurationHistogram> map) {
+        Map<String, DurationHistogram> sorted = new LinkedHashMap<>();
+        map.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey((a, b) -> Long.compare(Long.parseLong(a), Long.parseLong(b))))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+}
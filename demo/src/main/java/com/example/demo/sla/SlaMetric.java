@@ -0,0 +1,7 @@
+package com.example.demo.sla;
+
+// Durations tracked per category and per officer, measured from submission
+public enum SlaMetric {
+    TIME_TO_ASSIGN,
+    TIME_TO_RESOLVE
+}
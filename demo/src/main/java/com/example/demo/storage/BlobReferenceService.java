@@ -0,0 +1,40 @@
+package com.example.demo.storage;
+
+import com.example.demo.entity.UploadBlob;
+import com.example.demo.repositories.UploadBlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Reference counts for stored blobs. Each call commits on its own so the
+// count is settled before UploadStorageService touches the file.
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class BlobReferenceService {
+
+    private final UploadBlobRepository uploadBlobRepository;
+
+    // Returns true when this is the first reference to the content
+    public boolean acquire(String sha256, long size, ImageFormat format) {
+        if (uploadBlobRepository.incrementRefCount(sha256) > 0) return false;
+
+        uploadBlobRepository.save(UploadBlob.builder()
+                .sha256(sha256)
+                .size(size)
+                .contentType(format.contentType())
+                .refCount(1)
+                .createdAt(LocalDateTime.now())
+                .build());
+        return true;
+    }
+
+    // Returns true when the last reference is gone and the file can be removed
+    public boolean release(String sha256) {
+        if (uploadBlobRepository.decrementRefCount(sha256) == 0) return false;
+        return uploadBlobRepository.deleteIfUnreferenced(sha256) > 0;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.demo.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Builds the {@link ImageVariant} copies of an uploaded image off the request
+ * thread, using ImageIO and Java2D only. The source is decoded once with
+ * subsampling close to the largest variant, so a 12MP photo is never fully
+ * expanded in memory, then each variant is scaled down from that.
+ *
+ * Variants are keyed by the blob hash like the original, so deduplicated
+ * uploads reuse them and they are removed together with the blob.
+ */
+@Slf4j
+@Component
+public class ImageDerivativeService {
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final UploadStorageService uploadStorageService;
+    private final Executor imageExecutor;
+
+    public ImageDerivativeService(
+            UploadStorageService uploadStorageService,
+            @Qualifier("imageExecutor") Executor imageExecutor
+    ) {
+        this.uploadStorageService = uploadStorageService;
+        this.imageExecutor = imageExecutor;
+    }
+
+    // Queues variant generation; a full queue only means lists show the original
+    public void generateAsync(StoredFile stored) {
+        if (!ImageVariant.supports(stored.format()) || allVariantsExist(stored.sha256())) return;
+
+        try {
+            imageExecutor.execute(() -> generate(stored.path(), stored.sha256()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant queue full, skipping {}", stored.sha256());
+        }
+    }
+
+    public void generate(Path source, String sha) {
+        try {
+            BufferedImage image = decode(source, maxVariantSide());
+            if (image == null) {
+                log.warn("No decoder for upload {}", source);
+                return;
+            }
+
+            for (ImageVariant variant : ImageVariant.values()) {
+                Path target = uploadStorageService.getRoot().resolve(variant.relativePath(sha));
+                if (Files.exists(target)) continue;
+                Path tmp = writeJpeg(scaleToFit(image, variant.maxSide()), target);
+                if (!uploadStorageService.publishVariant(sha, source, tmp, target)) {
+                    log.debug("Upload {} was deleted while its variants were generated", sha);
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate image variants for {}", source, e);
+        }
+    }
+
+    private boolean allVariantsExist(String sha) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (!Files.exists(uploadStorageService.getRoot().resolve(variant.relativePath(sha)))) return false;
+        }
+        return true;
+    }
+
+    private static int maxVariantSide() {
+        int max = 0;
+        for (ImageVariant variant : ImageVariant.values()) max = Math.max(max, variant.maxSide());
+        return max;
+    }
+
+    // Decodes with the largest subsampling that still leaves at least targetSide pixels
+    static BufferedImage decode(Path source, int targetSide) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) return null;
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longSide / targetSide);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves with bilinear filtering until close, then one final step; never upscales
+    static BufferedImage scaleToFit(BufferedImage source, int maxSide) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSide / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 > targetWidth && current.getHeight() / 2 > targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    // RGB output with transparency flattened onto white, as JPEG has no alpha
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    // Encodes next to the target; the caller publishes the returned temp file
+    private static Path writeJpeg(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), ".variant-", ".part");
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+        return tmp;
+    }
+}
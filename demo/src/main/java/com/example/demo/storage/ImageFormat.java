@@ -0,0 +1,51 @@
+package com.example.demo.storage;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Image types accepted for uploads, recognised by their leading magic bytes
+public enum ImageFormat {
+    PNG("png", "image/png"),
+    JPEG("jpg", "image/jpeg"),
+    GIF("gif", "image/gif"),
+    WEBP("webp", "image/webp");
+
+    // Bytes needed to tell every format apart (WEBP: "RIFF" ???? "WEBP")
+    public static final int HEADER_LENGTH = 12;
+
+    public static final Set<ImageFormat> PHOTOS = EnumSet.of(PNG, JPEG);
+    public static final Set<ImageFormat> ANY = EnumSet.allOf(ImageFormat.class);
+
+    private final String extension;
+    private final String contentType;
+
+    ImageFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public static ImageFormat detect(byte[] head, int length) {
+        if (startsWith(head, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) return PNG;
+        if (startsWith(head, length, 0xFF, 0xD8, 0xFF)) return JPEG;
+        if (startsWith(head, length, 'G', 'I', 'F', '8')) return GIF;
+        if (length >= 12 && startsWith(head, length, 'R', 'I', 'F', 'F')
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') return WEBP;
+        return null;
+    }
+
+    private static boolean startsWith(byte[] head, int length, int... magic) {
+        if (length < magic.length) return false;
+        for (int i = 0; i < magic.length; i++) {
+            if ((head[i] & 0xFF) != magic[i]) return false;
+        }
+        return true;
+    }
+}
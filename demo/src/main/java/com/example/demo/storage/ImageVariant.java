@@ -0,0 +1,46 @@
+package com.example.demo.storage;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Downscaled JPEG copies generated for every blob image
+public enum ImageVariant {
+    THUMBNAIL("thumb", 320),
+    MEDIUM("medium", 1280);
+
+    public static final String DERIVED_FOLDER = "derived";
+
+    // /uploads/blobs/ab/cd/<sha>.<ext>; WEBP has no ImageIO decoder, so it gets no variants
+    private static final Pattern BLOB_URL = Pattern.compile(
+            "^" + UploadStorageService.URL_PREFIX + UploadStorageService.BLOB_FOLDER
+                    + "/[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.(png|jpg|gif)$");
+
+    private final String suffix;
+    private final int maxSide;
+
+    ImageVariant(String suffix, int maxSide) {
+        this.suffix = suffix;
+        this.maxSide = maxSide;
+    }
+
+    public int maxSide() {
+        return maxSide;
+    }
+
+    // derived/ab/cd/<sha>_thumb.jpg
+    public String relativePath(String sha) {
+        return DERIVED_FOLDER + "/" + sha.substring(0, 2) + "/" + sha.substring(2, 4)
+                + "/" + sha + "_" + suffix + ".jpg";
+    }
+
+    // URL of this variant for a stored original, or null when none is produced
+    public String urlFor(String originalUrl) {
+        if (originalUrl == null) return null;
+        Matcher m = BLOB_URL.matcher(originalUrl);
+        return m.matches() ? UploadStorageService.URL_PREFIX + relativePath(m.group(1)) : null;
+    }
+
+    public static boolean supports(ImageFormat format) {
+        return format != ImageFormat.WEBP;
+    }
+}
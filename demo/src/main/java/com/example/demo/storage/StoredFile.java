@@ -0,0 +1,8 @@
+package com.example.demo.storage;
+
+import java.nio.file.Path;
+
+// Result of a completed, fsync'ed upload; deduplicated = content was already stored
+public record StoredFile(String url, Path path, String sha256, long size, ImageFormat format,
+                         boolean deduplicated) {
+}
@@ -0,0 +1,257 @@
+package com.example.demo.storage;
+
+import com.example.demo.exception.InvalidUploadException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streams uploaded images to disk in fixed-size chunks. The format is checked
+ * against the file's magic bytes on the first chunk and the size limit is
+ * enforced while copying, so a bad upload is rejected without reading the
+ * rest of it. The SHA-256 of the content is computed on the same pass, and
+ * the file only appears under its final name once it has been fsync'ed.
+ *
+ * Files are content-addressed: the final path is derived from the hash
+ * (blobs/ab/cd/abcd....png), so identical uploads share one file. Each
+ * complaint field holding a URL is one reference in {@link BlobReferenceService};
+ * {@link #delete(String)} drops a reference and removes the file (and its
+ * {@link ImageVariant}s) with the last one. Variants are published under the
+ * same lock, so one finished after that delete is discarded, not orphaned.
+ *
+ * Callers should store the file before touching the database, so the
+ * request does not hold a connection for the duration of the copy.
+ */
+@Slf4j
+@Component
+public class UploadStorageService {
+
+    public static final String URL_PREFIX = "/uploads/";
+    public static final String BLOB_FOLDER = "blobs";
+    private static final String TMP_FOLDER = ".tmp";
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    // Serializes refcount changes and file create/delete for the same hash
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path root;
+    private final BlobReferenceService blobReferenceService;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public UploadStorageService(
+            @Value("${app.uploads.root:uploads}") String root,
+            BlobReferenceService blobReferenceService
+    ) {
+        this.root = Paths.get(System.getProperty("user.dir")).resolve(root).normalize();
+        this.blobReferenceService = blobReferenceService;
+        for (int i = 0; i < LOCK_STRIPES; i++) locks[i] = new ReentrantLock();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // ---------------- STORE ----------------
+    public StoredFile store(MultipartFile file, long maxBytes, Set<ImageFormat> allowed) {
+        if (file == null || file.isEmpty())
+            throw new InvalidUploadException("File is empty");
+
+        // Cheap check on the declared size before reading anything
+        if (file.getSize() > maxBytes)
+            throw new InvalidUploadException("File size exceeds " + describe(maxBytes));
+
+        Path tmp = null;
+        try {
+            // Temp files live under the root so the final move stays on one filesystem
+            Path tmpDir = Files.createDirectories(root.resolve(TMP_FOLDER));
+            tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+
+            MessageDigest digest = sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+            ImageFormat format = null;
+            long total = 0;
+
+            try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+                 FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxBytes)
+                        throw new InvalidUploadException("File size exceeds " + describe(maxBytes));
+
+                    if (format == null) {
+                        // Wait until the header is complete (or the stream ends)
+                        if (buffer.position() < ImageFormat.HEADER_LENGTH) continue;
+                        format = checkFormat(buffer, allowed);
+                    }
+                    drain(buffer, digest, out);
+                }
+
+                if (format == null) format = checkFormat(buffer, allowed);
+                drain(buffer, digest, out);
+                out.force(true);
+            }
+
+            if (total == 0)
+                throw new InvalidUploadException("File is empty");
+
+            String sha = HexFormat.of().formatHex(digest.digest());
+            String relative = blobPath(sha, format);
+            Path target = root.resolve(relative);
+            boolean deduplicated;
+
+            ReentrantLock lock = lockFor(sha);
+            lock.lock();
+            try {
+                blobReferenceService.acquire(sha, total, format);
+                try {
+                    deduplicated = Files.exists(target);
+                    if (!deduplicated) {
+                        Files.createDirectories(target.getParent());
+                        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                        tmp = null;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    blobReferenceService.release(sha);
+                    throw e;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            return new StoredFile(URL_PREFIX + relative, target, sha, total, format, deduplicated);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store upload", e);
+        } finally {
+            if (tmp != null) deleteQuietly(tmp);
+        }
+    }
+
+    // ---------------- DELETE ----------------
+    // Drops one reference; files from before the blob store are deleted directly
+    public void delete(String url) {
+        Path path = resolve(url);
+        if (path == null) return;
+
+        String sha = blobHash(path);
+        if (sha == null) {
+            deleteQuietly(path);
+            return;
+        }
+
+        ReentrantLock lock = lockFor(sha);
+        lock.lock();
+        try {
+            if (blobReferenceService.release(sha)) {
+                deleteQuietly(path);
+                for (ImageVariant variant : ImageVariant.values()) {
+                    deleteQuietly(root.resolve(variant.relativePath(sha)));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------------- VARIANTS ----------------
+    // Moves a finished variant into place under the blob's lock, unless delete()
+    // removed the original while it was being generated
+    public boolean publishVariant(String sha, Path original, Path tmp, Path target) throws IOException {
+        ReentrantLock lock = lockFor(sha);
+        lock.lock();
+        try {
+            if (!Files.exists(original)) {
+                deleteQuietly(tmp);
+                return false;
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Maps a stored "/uploads/..." URL back to its file, refusing paths outside the root
+    public Path resolve(String url) {
+        if (url == null || url.isBlank()) return null;
+
+        String relative = url.startsWith(URL_PREFIX) ? url.substring(URL_PREFIX.length()) : url;
+        Path path = root.resolve(relative).normalize();
+        return path.startsWith(root) ? path : null;
+    }
+
+    // blobs/ab/cd/<sha>.<ext>: two levels of 256 keep directories small
+    static String blobPath(String sha, ImageFormat format) {
+        return BLOB_FOLDER + "/" + sha.substring(0, 2) + "/" + sha.substring(2, 4)
+                + "/" + sha + "." + format.extension();
+    }
+
+    // The hash a blob path was derived from, or null for legacy uploads
+    private String blobHash(Path path) {
+        if (!path.startsWith(root.resolve(BLOB_FOLDER))) return null;
+
+        String name = path.getFileName().toString();
+        int dot = name.indexOf('.');
+        String sha = dot > 0 ? name.substring(0, dot) : name;
+        return sha.length() == 64 ? sha : null;
+    }
+
+    private ReentrantLock lockFor(String sha) {
+        return locks[Math.floorMod(sha.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static ImageFormat checkFormat(ByteBuffer buffer, Set<ImageFormat> allowed) {
+        ImageFormat format = ImageFormat.detect(buffer.array(), buffer.position());
+        if (format == null || !allowed.contains(format))
+            throw new InvalidUploadException("Unsupported image type");
+        return format;
+    }
+
+    private static void drain(ByteBuffer buffer, MessageDigest digest, FileChannel out) throws IOException {
+        buffer.flip();
+        digest.update(buffer.array(), 0, buffer.limit());
+        while (buffer.hasRemaining()) out.write(buffer);
+        buffer.clear();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload {}", path, e);
+        }
+    }
+
+    private static String describe(long bytes) {
+        return bytes % (1024 * 1024) == 0 ? bytes / (1024 * 1024) + "MB" : bytes + " bytes";
+    }
+}
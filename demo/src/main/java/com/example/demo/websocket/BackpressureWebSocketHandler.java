@@ -0,0 +1,87 @@
+package com.example.demo.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spring's STOMP-over-WebSocket handler with a SlowConsumerSessionDecorator
+ * around every session (WebSocket and SockJS alike). Send-time and buffer
+ * limits come from the transport registration as usual; the overflow policy
+ * and the per-session gauges are added here.
+ */
+public class BackpressureWebSocketHandler extends SubProtocolWebSocketHandler {
+
+    private final OverflowPolicy overflowPolicy;
+    private final Map<String, SlowConsumerSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    private final Counter dropped;
+    private final Counter conflated;
+
+    public BackpressureWebSocketHandler(MessageChannel clientInboundChannel,
+                                        SubscribableChannel clientOutboundChannel,
+                                        OverflowPolicy overflowPolicy,
+                                        MeterRegistry meterRegistry) {
+        super(clientInboundChannel, clientOutboundChannel);
+        this.overflowPolicy = overflowPolicy;
+
+        this.dropped = Counter.builder("websocket.frames.dropped")
+                .description("Frames discarded for slow consumers")
+                .register(meterRegistry);
+        this.conflated = Counter.builder("websocket.frames.conflated")
+                .description("Queued frames replaced by a newer frame for the same complaint")
+                .register(meterRegistry);
+        Gauge.builder("websocket.sessions.buffered.bytes", this, BackpressureWebSocketHandler::bufferedBytes)
+                .description("Bytes queued for slow consumers across all sessions")
+                .register(meterRegistry);
+        Gauge.builder("websocket.sessions.slow", this, BackpressureWebSocketHandler::slowSessions)
+                .description("Sessions with frames waiting in their send buffer")
+                .register(meterRegistry);
+        FunctionCounter.builder("websocket.sessions.limit-exceeded", this, h -> h.getStats().getLimitExceededSessions())
+                .description("Sessions closed for exceeding the send-time or buffer limit")
+                .register(meterRegistry);
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    protected WebSocketSession decorateSession(WebSocketSession session) {
+        SlowConsumerSessionDecorator decorated = new SlowConsumerSessionDecorator(
+                session, getSendTimeLimit(), getSendBufferSizeLimit(), overflowPolicy, dropped, conflated);
+        sessions.put(session.getId(), decorated);
+        return decorated;
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        sessions.remove(session.getId());
+        super.afterConnectionClosed(session, closeStatus);
+    }
+
+    public long bufferedBytes() {
+        long total = 0;
+        for (SlowConsumerSessionDecorator session : sessions.values()) {
+            total += session.getBufferSize();
+        }
+        return total;
+    }
+
+    public int slowSessions() {
+        int slow = 0;
+        for (SlowConsumerSessionDecorator session : sessions.values()) {
+            if (session.getBufferSize() > 0) slow++;
+        }
+        return slow;
+    }
+}
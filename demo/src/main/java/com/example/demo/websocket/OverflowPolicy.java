@@ -0,0 +1,17 @@
+package com.example.demo.websocket;
+
+/**
+ * What happens when a client reads slower than frames are produced and its
+ * send buffer goes over the limit. Only TERMINATE is lossless: clients keep
+ * the highest inbox id they received as their catch-up cursor, so a frame
+ * dropped or replaced behind a later one is never fetched again.
+ */
+public enum OverflowPolicy {
+    // Close the session; the client reconnects and catches up from its inbox
+    TERMINATE,
+    // Discard the oldest queued MESSAGE frames until the buffer fits again; they are lost
+    DROP_OLDEST,
+    // Replace a queued frame for the same destination and complaint, then drop oldest;
+    // replaced text is lost, only suitable for clients that just need the latest state
+    CONFLATE
+}
@@ -0,0 +1,219 @@
+package com.example.demo.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-session outbound buffer with a slow-consumer policy. Works like
+ * Spring's ConcurrentWebSocketSessionDecorator: one thread sends at a time
+ * and the others queue the frame and return, so a slow client never holds
+ * more than one outbound thread. When the queue goes over its byte limit the
+ * OverflowPolicy decides what to give up; frames conflate per subscription,
+ * destination and complaint. Only STOMP MESSAGE frames are ever
+ * dropped or conflated; CONNECTED, RECEIPT and ERROR frames are always kept.
+ * A send blocked past the send-time limit closes the session whatever the
+ * policy, as nothing queued behind it can make progress.
+ */
+public class SlowConsumerSessionDecorator extends WebSocketSessionDecorator {
+
+    private static final Pattern DESTINATION = Pattern.compile("\ndestination:([^\n]*)\n");
+    private static final Pattern SUBSCRIPTION = Pattern.compile("\nsubscription:([^\n]*)\n");
+    private static final Pattern COMPLAINT_ID = Pattern.compile("\"complaintId\"\\s*:\\s*(\\d+)");
+
+    // conflationKey is null for frames that must not be conflated
+    private record Frame(WebSocketMessage<?> message, boolean droppable, String conflationKey) {
+    }
+
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+    private final OverflowPolicy policy;
+    private final Counter dropped;
+    private final Counter conflated;
+
+    // Guarded by itself
+    private final LinkedList<Frame> buffer = new LinkedList<>();
+    private volatile int bufferSize;
+
+    private volatile long sendStartTime;
+    private volatile boolean limitExceeded;
+    private volatile boolean closeInProgress;
+
+    private final Lock flushLock = new ReentrantLock();
+    private final Lock closeLock = new ReentrantLock();
+
+    public SlowConsumerSessionDecorator(WebSocketSession delegate, int sendTimeLimit, int bufferSizeLimit,
+                                        OverflowPolicy policy, Counter dropped, Counter conflated) {
+        super(delegate);
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.policy = policy;
+        this.dropped = dropped;
+        this.conflated = conflated;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public long getTimeSinceSendStarted() {
+        long start = sendStartTime;
+        return start > 0 ? System.currentTimeMillis() - start : 0;
+    }
+
+    // ---------------- SEND ----------------
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (shouldNotSend()) return;
+
+        Frame frame = frameOf(message);
+        synchronized (buffer) {
+            if (!(policy == OverflowPolicy.CONFLATE && replaceQueued(frame))) {
+                buffer.addLast(frame);
+                bufferSize += message.getPayloadLength();
+            }
+        }
+
+        do {
+            if (!tryFlush()) {
+                checkLimits();
+                break;
+            }
+        } while (!isBufferEmpty() && !shouldNotSend());
+    }
+
+    // A queued frame for the same complaint on the same destination is superseded
+    private boolean replaceQueued(Frame frame) {
+        if (frame.conflationKey() == null) return false;
+        ListIterator<Frame> it = buffer.listIterator();
+        while (it.hasNext()) {
+            Frame queued = it.next();
+            if (frame.conflationKey().equals(queued.conflationKey())) {
+                it.set(frame);
+                bufferSize += frame.message().getPayloadLength() - queued.message().getPayloadLength();
+                conflated.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryFlush() throws IOException {
+        if (!flushLock.tryLock()) return false;
+        try {
+            while (!shouldNotSend()) {
+                Frame frame;
+                synchronized (buffer) {
+                    frame = buffer.pollFirst();
+                    if (frame == null) break;
+                    bufferSize -= frame.message().getPayloadLength();
+                }
+                sendStartTime = System.currentTimeMillis();
+                getDelegate().sendMessage(frame.message());
+                sendStartTime = 0;
+            }
+        } finally {
+            sendStartTime = 0;
+            flushLock.unlock();
+        }
+        return true;
+    }
+
+    private boolean isBufferEmpty() {
+        synchronized (buffer) {
+            return buffer.isEmpty();
+        }
+    }
+
+    // ---------------- LIMITS ----------------
+    private void checkLimits() {
+        if (shouldNotSend()) return;
+        if (getTimeSinceSendStarted() > sendTimeLimit) {
+            exceeded("Send time " + getTimeSinceSendStarted() + " (ms) for session '"
+                    + getId() + "' exceeded the allowed limit " + sendTimeLimit);
+        } else if (getBufferSize() > bufferSizeLimit) {
+            if (policy == OverflowPolicy.TERMINATE) {
+                exceeded("Buffer size " + getBufferSize() + " bytes for session '"
+                        + getId() + "' exceeds the allowed limit " + bufferSizeLimit);
+            } else {
+                dropOldest();
+            }
+        }
+    }
+
+    private void dropOldest() {
+        int count = 0;
+        synchronized (buffer) {
+            Iterator<Frame> it = buffer.iterator();
+            while (bufferSize > bufferSizeLimit && it.hasNext()) {
+                Frame frame = it.next();
+                if (frame.droppable()) {
+                    it.remove();
+                    bufferSize -= frame.message().getPayloadLength();
+                    count++;
+                }
+            }
+        }
+        if (count > 0) dropped.increment(count);
+    }
+
+    // Only one thread reports the session; the rest see shouldNotSend() and return
+    private void exceeded(String reason) {
+        if (!closeLock.tryLock()) return;
+        try {
+            if (shouldNotSend()) return;
+            limitExceeded = true;
+            throw new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            closeLock.unlock();
+        }
+    }
+
+    private boolean shouldNotSend() {
+        return limitExceeded || closeInProgress;
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        closeLock.lock();
+        try {
+            if (closeInProgress) return;
+            closeInProgress = true;
+            super.close(limitExceeded ? CloseStatus.SESSION_NOT_RELIABLE : status);
+        } finally {
+            closeLock.unlock();
+        }
+    }
+
+    // ---------------- FRAMES ----------------
+    // Encoded STOMP text: "MESSAGE\ndestination:...\n...\n\n{json}\0"
+    private static Frame frameOf(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage text) || !text.getPayload().startsWith("MESSAGE\n")) {
+            return new Frame(message, false, null);
+        }
+        String payload = text.getPayload();
+        int bodyStart = payload.indexOf("\n\n");
+        if (bodyStart < 0) return new Frame(message, true, null);
+
+        Matcher subscription = SUBSCRIPTION.matcher(payload).region(0, bodyStart + 1);
+        Matcher destination = DESTINATION.matcher(payload).region(0, bodyStart + 1);
+        Matcher complaintId = COMPLAINT_ID.matcher(payload).region(bodyStart, payload.length());
+        String key = subscription.find() && destination.find() && complaintId.find()
+                ? subscription.group(1) + "|" + destination.group(1) + "|" + complaintId.group(1)
+                : null;
+        return new Frame(message, true, key);
+    }
+}
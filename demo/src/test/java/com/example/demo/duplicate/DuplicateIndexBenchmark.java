@@ -0,0 +1,71 @@
+package com.example.demo.duplicate;
+
+import com.example.demo.entity.ComplaintCategory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate lookup latency with 200k open complaints packed into one city
+ * (roughly 25 km x 30 km), i.e. far denser than a real backlog. Covers
+ * signing the new report's text plus the bucket scan around it.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *        -Dexec.mainClass=com.example.demo.duplicate.DuplicateIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class DuplicateIndexBenchmark {
+
+    private static final int COMPLAINTS = 200_000;
+    private static final String[] WORDS = {
+            "pothole", "road", "water", "leak", "pipe", "garbage", "street", "light", "broken",
+            "near", "school", "market", "bus", "stop", "signal", "drain", "overflow", "since",
+            "week", "days", "main", "junction", "colony", "sector", "traffic", "wire"};
+
+    private DuplicateIndex index;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        index = new DuplicateIndex();
+        Random data = new Random(42);
+        ComplaintCategory[] categories = ComplaintCategory.values();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < COMPLAINTS; i++) {
+            index.put(i, new DuplicateIndex.Entry(
+                    18.40 + data.nextDouble() * 0.25, 73.70 + data.nextDouble() * 0.30,
+                    categories[data.nextInt(categories.length)],
+                    MinHash.signature(sentence(data)), now, null));
+        }
+        random = new Random(1);
+    }
+
+    @Benchmark
+    public DuplicateIndex.Match lookup() {
+        return index.findBest(ComplaintCategory.ROADS,
+                18.40 + random.nextDouble() * 0.25, 73.70 + random.nextDouble() * 0.30,
+                MinHash.signature(sentence(random)), 150, 0.5, 0);
+    }
+
+    private static String sentence(Random r) {
+        StringBuilder sb = new StringBuilder();
+        int n = 5 + r.nextInt(10);
+        for (int i = 0; i < n; i++) sb.append(WORDS[r.nextInt(WORDS.length)]).append(' ');
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DuplicateIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.duplicate;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.map.GeoHash;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateIndexTest {
+
+    private static final double RADIUS = 150;
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private final DuplicateIndex index = new DuplicateIndex();
+
+    @Test
+    void similarReportsScoreHighAndUnrelatedOnesLow() {
+        int[] a = MinHash.signature("Large pothole on MG Road near the bus stop");
+        int[] b = MinHash.signature("Big pothole near MG road bus stop!!");
+        int[] c = MinHash.signature("Street light not working since Monday");
+
+        assertThat(MinHash.similarity(a, a)).isEqualTo(1.0);
+        assertThat(MinHash.similarity(a, b)).isGreaterThanOrEqualTo(MIN_SIMILARITY);
+        assertThat(MinHash.similarity(a, c)).isLessThan(0.2);
+    }
+
+    @Test
+    void matchesNearbySimilarReportOfTheSameCategory() {
+        index.put(1, entry(18.52040, 73.85670, ComplaintCategory.ROADS, "Pothole on MG Road near bus stop", null));
+
+        // ~60 m away, reworded
+        DuplicateIndex.Match match = find(18.52090, 73.85690, ComplaintCategory.ROADS,
+                "Huge pothole MG road bus stop");
+
+        assertThat(match).isNotNull();
+        assertThat(match.complaintId()).isEqualTo(1);
+        assertThat(match.distanceMeters()).isLessThan(100);
+    }
+
+    @Test
+    void ignoresOtherCategoriesFarAwayReportsAndDifferentText() {
+        index.put(1, entry(18.52040, 73.85670, ComplaintCategory.ROADS, "Pothole on MG Road near bus stop", null));
+
+        assertThat(find(18.52040, 73.85670, ComplaintCategory.WATER, "Pothole on MG Road near bus stop")).isNull();
+        assertThat(find(18.53040, 73.85670, ComplaintCategory.ROADS, "Pothole on MG Road near bus stop")).isNull();
+        assertThat(find(18.52040, 73.85670, ComplaintCategory.ROADS, "Garbage not collected for a week")).isNull();
+    }
+
+    @Test
+    void matchAcrossACellBoundaryResolvesToTheOriginal() {
+        double lat = 18.52040;
+        double lng = 73.85670;
+        // Step just past the edge of the report's precision-7 cell
+        double edge = Math.ceil(lng / GeoHash.cellWidth(DuplicateIndex.CELL_PRECISION))
+                * GeoHash.cellWidth(DuplicateIndex.CELL_PRECISION);
+        index.put(2, entry(lat, edge + 1e-5, ComplaintCategory.ROADS, "Pothole on MG Road near bus stop", 1L));
+
+        DuplicateIndex.Match match = find(lat, edge - 1e-5, ComplaintCategory.ROADS, "Pothole on MG Road near bus stop");
+
+        assertThat(match).isNotNull();
+        assertThat(match.complaintId()).isEqualTo(1);
+    }
+
+    @Test
+    void removedAndExpiredEntriesNoLongerMatch() {
+        index.put(1, entry(18.52040, 73.85670, ComplaintCategory.ROADS, "Pothole on MG Road", null));
+        index.remove(1);
+        assertThat(find(18.52040, 73.85670, ComplaintCategory.ROADS, "Pothole on MG Road")).isNull();
+
+        index.put(2, new DuplicateIndex.Entry(18.52040, 73.85670, ComplaintCategory.ROADS,
+                MinHash.signature("Pothole on MG Road"), 1_000, null));
+        assertThat(index.evictOlderThan(2_000)).isEqualTo(1);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void reportsWithoutTextAreNeitherIndexedNorMatched() {
+        assertThat(MinHash.signature("")).isNull();
+        assertThat(MinHash.signature("?! ...")).isNull();
+
+        index.put(1, entry(18.52040, 73.85670, ComplaintCategory.ROADS, "!!!", null));
+        assertThat(index.size()).isZero();
+
+        index.put(2, entry(18.52040, 73.85670, ComplaintCategory.ROADS, "Pothole on MG Road", null));
+        assertThat(find(18.52040, 73.85670, ComplaintCategory.ROADS, "???")).isNull();
+    }
+
+    private DuplicateIndex.Match find(double lat, double lng, ComplaintCategory category, String text) {
+        return index.findBest(category, lat, lng, MinHash.signature(text), RADIUS, MIN_SIMILARITY, 0);
+    }
+
+    private static DuplicateIndex.Entry entry(double lat, double lng, ComplaintCategory category,
+                                              String text, Long duplicateOf) {
+        return new DuplicateIndex.Entry(lat, lng, category, MinHash.signature(text),
+                System.currentTimeMillis(), duplicateOf);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.mail;
+
+import com.example.demo.entity.EmailType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render cost of the precompiled templates vs. the per-call string
+ * concatenation EmailService used before.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *        -Dexec.mainClass=com.example.demo.mail.EmailTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailTemplateEngine engine;
+    private String otp;
+
+    @Setup
+    public void setUp() {
+        engine = new EmailTemplateEngine();
+        otp = "482913";
+    }
+
+    @Benchmark
+    public String precompiledTemplate() {
+        return engine.render(EmailType.OTP, "citizen@example.com", Map.of("otp", otp)).html();
+    }
+
+    @Benchmark
+    public String concatenation() {
+        return "<!DOCTYPE html>" +
+                "<html>" +
+                "<head>" +
+                "<style>" +
+                ".container {font-family: Arial, sans-serif; padding: 20px; max-width: 500px; margin:auto; border:1px solid #ddd; border-radius:10px;}" +
+                ".header {text-align:center;}" +
+                ".otp {font-size:28px; font-weight:bold; color:#2c7be5; padding:10px 0;}" +
+                ".footer {margin-top:20px; font-size:12px; color:#555; text-align:center;}" +
+                "</style>" +
+                "</head>" +
+                "<body>" +
+                "<div class='container'>" +
+                "<div class='header'><h2>Infosys CivicPulse Hub</h2></div>" +
+                "<p>Hello,</p>" +
+                "<p>Your OTP for password reset is:</p>" +
+                "<div class='otp'>" + otp + "</div>" +
+                "<p>This OTP is valid for 10 minutes.</p>" +
+                "<p>If you didn’t request this, ignore the email.</p>" +
+                "<div class='footer'>© 2025 Infosys CivicPulse Hub. All rights reserved.</div>" +
+                "</div>" +
+                "</body>" +
+                "</html>";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.mail;
+
+import com.example.demo.entity.EmailType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateTest {
+
+    @Test
+    void rendersPlaceholdersAndEscapesHtml() {
+        EmailTemplate template = EmailTemplate.compile("<p>Hi {{ name }}, code {{code}}</p>", true);
+
+        String html = template.render(Map.of("name", "<b>Asha & co</b>", "code", "42"));
+
+        assertThat(html).isEqualTo("<p>Hi &lt;b&gt;Asha &amp; co&lt;/b&gt;, code 42</p>");
+    }
+
+    @Test
+    void plainTemplatesAreNotEscapedAndMissingValuesAreEmpty() {
+        EmailTemplate subject = EmailTemplate.compile("Your {{userType}} Account {{missing}}", false);
+
+        assertThat(subject.render(Map.of("userType", "R&D"))).isEqualTo("Your R&D Account ");
+    }
+
+    @Test
+    void unclosedPlaceholderIsRejected() {
+        assertThatThrownBy(() -> EmailTemplate.compile("Hello {{name", true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void engineRendersEveryMessageType() {
+        EmailTemplateEngine engine = new EmailTemplateEngine();
+
+        EmailTemplateEngine.RenderedEmail otp =
+                engine.render(EmailType.OTP, "a@b.com", Map.of("otp", "123456"));
+        EmailTemplateEngine.RenderedEmail credentials =
+                engine.render(EmailType.CREDENTIALS, "a@b.com", Map.of("password", "p<w", "userType", "Officer"));
+        EmailTemplateEngine.RenderedEmail status = engine.render(EmailType.COMPLAINT_STATUS, "a@b.com",
+                Map.of("complaintId", "7", "title", "Pothole", "status", "RESOLVED", "message", ""));
+
+        assertThat(otp.subject()).isEqualTo("Your OTP for Password Reset");
+        assertThat(otp.html()).contains("<div class='otp'>123456</div>");
+        assertThat(credentials.subject()).isEqualTo("Your Officer Account Credentials");
+        assertThat(credentials.html()).contains("Email: a@b.com<br/>", "Password: p&lt;w");
+        assertThat(status.subject()).isEqualTo("Update on your complaint #7");
+        assertThat(status.html()).contains("<div class='status'>RESOLVED</div>");
+    }
+}
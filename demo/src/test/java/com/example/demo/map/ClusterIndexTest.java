@@ -0,0 +1,75 @@
+package com.example.demo.map;
+
+import com.example.demo.entity.ComplaintCategory;
+import com.example.demo.entity.ComplaintStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ClusterIndexTest {
+
+    private static final GeoBounds INDIA = new GeoBounds(6, 68, 36, 98);
+
+    private final ClusterIndex index = new ClusterIndex(15);
+
+    @Test
+    void aggregatesCountsCentroidAndBreakdownPerCell() {
+        index.put(1, point(18.52, 73.85, ComplaintCategory.ROADS, ComplaintStatus.PENDING));
+        index.put(2, point(18.54, 73.87, ComplaintCategory.ROADS, ComplaintStatus.RESOLVED));
+        index.put(3, point(28.61, 77.20, ComplaintCategory.WATER, ComplaintStatus.PENDING));
+
+        List<ClusterIndex.Cluster> clusters = index.clusters(5, INDIA);
+
+        assertThat(clusters).hasSize(2);
+        ClusterIndex.Cluster pune = clusters.stream().filter(c -> c.count() == 2).findFirst().orElseThrow();
+        assertThat(pune.latitude()).isCloseTo(18.53, within(1e-9));
+        assertThat(pune.longitude()).isCloseTo(73.86, within(1e-9));
+        assertThat(pune.byCategory()).containsEntry(ComplaintCategory.ROADS, 2);
+        assertThat(pune.byStatus())
+                .containsEntry(ComplaintStatus.PENDING, 1)
+                .containsEntry(ComplaintStatus.RESOLVED, 1);
+    }
+
+    @Test
+    void updatesReplaceThePreviousContribution() {
+        index.put(1, point(18.52, 73.85, ComplaintCategory.ROADS, ComplaintStatus.PENDING));
+        index.put(1, point(28.61, 77.20, ComplaintCategory.ROADS, ComplaintStatus.IN_PROGRESS));
+
+        List<ClusterIndex.Cluster> clusters = index.clusters(5, INDIA);
+
+        assertThat(clusters).singleElement().satisfies(c -> {
+            assertThat(c.count()).isEqualTo(1);
+            assertThat(c.latitude()).isEqualTo(28.61);
+            assertThat(c.byStatus()).containsOnlyKeys(ComplaintStatus.IN_PROGRESS);
+        });
+    }
+
+    @Test
+    void emptyCellsAreDroppedOnRemove() {
+        index.put(1, point(18.52, 73.85, ComplaintCategory.ROADS, ComplaintStatus.PENDING));
+        index.remove(1);
+        index.remove(42);
+
+        for (int level = 0; level <= index.maxLevel(); level++) {
+            assertThat(index.clusters(level, INDIA)).isEmpty();
+        }
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void viewportOnlyReturnsCellsItOverlaps() {
+        index.put(1, point(18.52, 73.85, ComplaintCategory.ROADS, ComplaintStatus.PENDING));
+        index.put(2, point(28.61, 77.20, ComplaintCategory.ROADS, ComplaintStatus.PENDING));
+
+        List<ClusterIndex.Cluster> clusters = index.clusters(12, new GeoBounds(18.4, 73.7, 18.7, 74.0));
+
+        assertThat(clusters).singleElement().extracting(ClusterIndex.Cluster::latitude).isEqualTo(18.52);
+    }
+
+    private static ClusterIndex.Point point(double lat, double lng, ComplaintCategory category, ComplaintStatus status) {
+        return new ClusterIndex.Point(lat, lng, category, status);
+    }
+}
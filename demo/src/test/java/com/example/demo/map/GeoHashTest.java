@@ -0,0 +1,59 @@
+package com.example.demo.map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeoHashTest {
+
+    @Test
+    void encodesKnownReferencePoints() {
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.encode(-25.382708, -49.265506, 8)).isEqualTo("6gkzwgjz");
+        assertThat(GeoHash.encode(18.5204, 73.8567, 12)).startsWith(GeoHash.encode(18.5204, 73.8567, 5));
+    }
+
+    @Test
+    void coveringContainsTheCellOfEveryPointInTheBox() {
+        GeoBounds bounds = new GeoBounds(18.45, 73.75, 18.62, 73.98);
+        Set<String> cells = GeoHash.covering(bounds, 16);
+        assertThat(cells).isNotEmpty().hasSizeLessThanOrEqualTo(16);
+
+        int precision = cells.iterator().next().length();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            double lat = bounds.south() + random.nextDouble() * (bounds.north() - bounds.south());
+            double lng = bounds.west() + random.nextDouble() * (bounds.east() - bounds.west());
+            assertThat(cells).contains(GeoHash.encode(lat, lng, precision));
+        }
+    }
+
+    @Test
+    void consecutiveCellsMergeIntoOneRange() {
+        List<GeoHash.Range> ranges = GeoHash.ranges(Set.of("te7v", "te7u", "te7y", "te7s"));
+
+        assertThat(ranges).containsExactly(
+                new GeoHash.Range("te7s", "te7s~"),
+                new GeoHash.Range("te7u", "te7v~"),
+                new GeoHash.Range("te7y", "te7y~"));
+    }
+
+    @Test
+    void worldViewportNeedsNoCellFilter() {
+        assertThat(GeoHash.covering(new GeoBounds(-90, -180, 90, 180), 16)).isEmpty();
+    }
+
+    @Test
+    void circleBoxContainsTheCircle() {
+        GeoBounds box = GeoBounds.around(18.52, 73.85, 1000);
+
+        assertThat(GeoBounds.distanceMeters(18.52, 73.85, box.north(), 73.85)).isCloseTo(1000, org.assertj.core.data.Offset.offset(5.0));
+        assertThat(GeoBounds.distanceMeters(18.52, 73.85, 18.52, box.east())).isGreaterThanOrEqualTo(995);
+        assertThatThrownBy(() -> new GeoBounds(10, 0, 5, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
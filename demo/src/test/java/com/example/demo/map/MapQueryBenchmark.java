@@ -0,0 +1,162 @@
+package com.example.demo.map;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Viewport and radius latency over 1M map_location rows in H2: geohash
+ * range scans (as MapQueryService issues them) vs. a plain
+ * latitude/longitude BETWEEN, which has no usable index and scans the table.
+ * 80% of the points sit in one city, the rest are spread over the country.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *        -Dexec.mainClass=com.example.demo.map.MapQueryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class MapQueryBenchmark {
+
+    private static final int POINTS = 1_000_000;
+    private static final int MAX_CELLS = 16;
+
+    // ~2 km x 2 km street-level viewport in the city centre
+    private static final GeoBounds VIEWPORT = new GeoBounds(18.51, 73.845, 18.528, 73.864);
+    private static final double CENTER_LAT = 18.5204;
+    private static final double CENTER_LNG = 73.8567;
+    private static final double RADIUS_METERS = 500;
+
+    private Connection connection;
+    private Random random;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:mapbench;DB_CLOSE_DELAY=-1");
+        try (Statement st = connection.createStatement()) {
+            st.execute("""
+                CREATE TABLE map_location (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    latitude DOUBLE, longitude DOUBLE,
+                    geohash VARCHAR(12), complaint_id BIGINT)
+            """);
+        }
+
+        Random data = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO map_location (latitude, longitude, geohash, complaint_id) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < POINTS; i++) {
+                boolean city = data.nextInt(10) < 8;
+                double lat = city ? 18.40 + data.nextDouble() * 0.25 : 8 + data.nextDouble() * 27;
+                double lng = city ? 73.70 + data.nextDouble() * 0.30 : 68 + data.nextDouble() * 29;
+                insert.setDouble(1, lat);
+                insert.setDouble(2, lng);
+                insert.setString(3, GeoHash.encode(lat, lng, GeoHash.MAX_PRECISION));
+                insert.setLong(4, i);
+                insert.addBatch();
+                if (i % 10_000 == 9_999) insert.executeBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE INDEX idx_map_location_geohash ON map_location (geohash)");
+            st.execute("ANALYZE");
+        }
+        random = new Random(1);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int viewportGeohash() throws SQLException {
+        return countInBounds(jitter(VIEWPORT), true, null);
+    }
+
+    @Benchmark
+    public int viewportScan() throws SQLException {
+        return countInBounds(jitter(VIEWPORT), false, null);
+    }
+
+    @Benchmark
+    public int radiusGeohash() throws SQLException {
+        double lat = CENTER_LAT + (random.nextDouble() - 0.5) * 0.02;
+        double lng = CENTER_LNG + (random.nextDouble() - 0.5) * 0.02;
+        return countInBounds(GeoBounds.around(lat, lng, RADIUS_METERS), true, new double[]{lat, lng});
+    }
+
+    // Shifts the viewport slightly per call, as panning would
+    private GeoBounds jitter(GeoBounds b) {
+        double dLat = (random.nextDouble() - 0.5) * 0.02;
+        double dLng = (random.nextDouble() - 0.5) * 0.02;
+        return new GeoBounds(b.south() + dLat, b.west() + dLng, b.north() + dLat, b.east() + dLng);
+    }
+
+    private int countInBounds(GeoBounds bounds, boolean useCells, double[] center) throws SQLException {
+        if (!useCells) return countInRange(bounds, null, center);
+
+        // Same plan as MapQueryService: one index range scan per merged run of cells
+        int count = 0;
+        for (GeoHash.Range range : GeoHash.ranges(GeoHash.covering(bounds, MAX_CELLS))) {
+            count += countInRange(bounds, range, center);
+        }
+        return count;
+    }
+
+    private int countInRange(GeoBounds bounds, GeoHash.Range range, double[] center) throws SQLException {
+        String sql = "SELECT complaint_id, latitude, longitude FROM map_location WHERE "
+                + (range != null ? "geohash BETWEEN ? AND ? AND " : "")
+                + "latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?";
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int i = 1;
+            if (range != null) {
+                ps.setString(i++, range.from());
+                ps.setString(i++, range.to());
+            }
+            ps.setDouble(i++, bounds.south());
+            ps.setDouble(i++, bounds.north());
+            ps.setDouble(i++, bounds.west());
+            ps.setDouble(i, bounds.east());
+
+            int count = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (center == null || GeoBounds.distanceMeters(center[0], center[1],
+                            rs.getDouble(2), rs.getDouble(3)) <= RADIUS_METERS) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapQueryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.notify;
+
+import com.example.demo.entity.ComplaintStatus;
+import com.example.demo.payload.NotificationDto;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.ComplaintStatusView;
+import com.example.demo.service.NotificationInboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationInboxService inbox;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // Long window: only the explicit flush() calls below send
+        inbox = mock(NotificationInboxService.class);
+        ComplaintRepository complaintRepository = mock(ComplaintRepository.class);
+        when(complaintRepository.findStatusesByIdIn(any())).thenReturn(List.of(
+                status(1L, ComplaintStatus.IN_PROGRESS), status(2L, ComplaintStatus.RESOLVED)));
+        dispatcher = new NotificationDispatcher(messagingTemplate, inbox, complaintRepository, meterRegistry, 60_000, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    void updatesForTheSameComplaintAndRecipientShareOneFrame() {
+        dispatcher.toUser("Citizen@Test.com", 1L, "Status updated: IN_PROGRESS");
+        dispatcher.toUser("citizen@test.com", 1L, "Complaint stage updated to: ASSIGNED");
+        dispatcher.toUser("citizen@test.com", 1L, "Status updated: IN_PROGRESS");
+        dispatcher.toUser("citizen@test.com", 2L, "Status updated: RESOLVED");
+        dispatcher.toAdmins(1L, "Complaint status updated");
+
+        assertThat(gauge("notifications.pending")).isEqualTo(3);
+        dispatcher.flush();
+
+        verify(messagingTemplate).convertAndSendToUser(eq("citizen@test.com"), eq(NotificationDispatcher.USER_QUEUE),
+                frame(1L, "Status updated: IN_PROGRESS; Complaint stage updated to: ASSIGNED"));
+        verify(messagingTemplate).convertAndSendToUser(eq("citizen@test.com"), eq(NotificationDispatcher.USER_QUEUE),
+                argThat((NotificationDto dto) -> dto.getComplaintId() == 2L && dto.getStatus().equals("Status updated: RESOLVED")
+                        && "RESOLVED".equals(dto.getComplaintStatus())));
+        verify(messagingTemplate).convertAndSend(eq(NotificationDispatcher.ADMIN_TOPIC),
+                frame(1L, "Complaint status updated"));
+        verify(inbox).append(argThat(rows -> rows.size() == 3));
+        assertThat(counter("notifications.sent")).isEqualTo(3);
+        assertThat(counter("notifications.coalesced")).isEqualTo(2);
+        assertThat(gauge("notifications.pending")).isZero();
+    }
+
+    @Test
+    void notificationsWaitForCommitAndRollbackSendsNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dispatcher.toAdmins(1L, "committed");
+            assertThat(dispatcher.pendingCount()).isZero();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dispatcher.toAdmins(2L, "rolled back");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        dispatcher.flush();
+        verify(messagingTemplate).convertAndSend(eq(NotificationDispatcher.ADMIN_TOPIC), frame(1L, "committed"));
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    void fullQueueDropsAndBrokerFailuresAreCounted() {
+        for (long id = 1; id <= 5; id++) {
+            dispatcher.toAdmins(id, "update");
+        }
+        assertThat(counter("notifications.dropped")).isEqualTo(2);
+
+        doThrow(new IllegalStateException("broker down"))
+                .when(messagingTemplate).convertAndSend(any(String.class), any(Object.class));
+        dispatcher.flush();
+
+        assertThat(counter("notifications.failed")).isEqualTo(3);
+        assertThat(counter("notifications.sent")).isZero();
+    }
+
+    private static NotificationDto frame(Long complaintId, String status) {
+        return argThat(dto -> dto.getComplaintId().equals(complaintId) && dto.getStatus().equals(status));
+    }
+
+    private static ComplaintStatusView status(Long id, ComplaintStatus status) {
+        return new ComplaintStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public ComplaintStatus getStatus() {
+                return status;
+            }
+        };
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.search;
+
+import org.apache.lucene.store.FSDirectory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Search latency distribution (see the p0.99 rows) over 1M synthetic
+ * complaints in an on-disk index: one- and two-word queries, a query with
+ * status/category filters, and a filter-only newest-first page. Results
+ * are the first page of 20, as the admin list requests.
+ *
+ * Text draws from a 20k-word vocabulary with Zipf frequencies (the common
+ * complaint words at the head), and so do the queries.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *        -Dexec.mainClass=com.example.demo.search.ComplaintSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ComplaintSearchBenchmark {
+
+    private static final int COMPLAINTS = 1_000_000;
+    private static final String[] WORDS = {
+            "pothole", "road", "water", "leak", "pipe", "garbage", "street", "light", "broken",
+            "near", "school", "market", "bus", "stop", "signal", "drain", "overflow", "since",
+            "week", "days", "main", "junction", "colony", "sector", "traffic", "wire", "tank",
+            "supply", "dust", "noise", "tree", "fallen", "footpath", "encroachment", "stray", "dogs"};
+    private static final int VOCABULARY = 20_000;
+    private static final String[] PLACES = {
+            "Kothrud", "Shivaji Nagar", "Hadapsar", "Baner", "Aundh", "Wakad", "Viman Nagar", "Katraj"};
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "RESOLVED", "REJECTED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final String[] CATEGORIES = {"WATER", "ROADS", "ELECTRICITY", "SANITATION", "TRAFFIC", "OTHER"};
+
+    private String[] vocabulary;
+    private double[] cumulative;
+    private Path dir;
+    private ComplaintSearchIndex index;
+    private Random random;
+
+    @Setup
+    public void setUp() throws IOException {
+        vocabulary = new String[VOCABULARY];
+        cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary[i] = i < WORDS.length ? WORDS[i] : "w" + Integer.toString(i, 36);
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < VOCABULARY; i++) cumulative[i] /= sum;
+
+        dir = Files.createTempDirectory("search-bench");
+        index = new ComplaintSearchIndex(FSDirectory.open(dir));
+        Random data = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        for (int i = 0; i < COMPLAINTS; i++) {
+            index.update(new ComplaintSearchIndex.Fields(i,
+                    sentence(data, 3 + data.nextInt(4)),
+                    sentence(data, 10 + data.nextInt(30)),
+                    PLACES[data.nextInt(PLACES.length)],
+                    data.nextInt(4) == 0 ? sentence(data, 8) : null,
+                    STATUSES[data.nextInt(STATUSES.length)],
+                    PRIORITIES[data.nextInt(PRIORITIES.length)],
+                    CATEGORIES[data.nextInt(CATEGORIES.length)],
+                    start.plusMinutes(i)));
+        }
+        index.commit(Map.of());
+        random = new Random(1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public ComplaintSearchIndex.Hits oneWord() {
+        return search(word(), null, null);
+    }
+
+    @Benchmark
+    public ComplaintSearchIndex.Hits twoWords() {
+        return search(word() + " " + word(), null, null);
+    }
+
+    @Benchmark
+    public ComplaintSearchIndex.Hits twoWordsFiltered() {
+        return search(word() + " " + PLACES[random.nextInt(PLACES.length)], "PENDING", "ROADS");
+    }
+
+    @Benchmark
+    public ComplaintSearchIndex.Hits filterOnly() {
+        return search(null, "IN_PROGRESS", "WATER");
+    }
+
+    private ComplaintSearchIndex.Hits search(String text, String status, String category) {
+        return index.search(new ComplaintSearchIndex.Criteria(text, status, null, category), 0, 20, 10_000);
+    }
+
+    private String word() {
+        return word(random);
+    }
+
+    // Zipf draw: word i with probability proportional to 1 / (i + 1)
+    private String word(Random r) {
+        int i = Arrays.binarySearch(cumulative, r.nextDouble());
+        return vocabulary[Math.min(i < 0 ? -i - 1 : i, VOCABULARY - 1)];
+    }
+
+    private String sentence(Random r, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) sb.append(word(r)).append(' ');
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ComplaintSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
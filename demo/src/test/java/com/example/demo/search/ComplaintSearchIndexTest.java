@@ -0,0 +1,95 @@
+package com.example.demo.search;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComplaintSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 10, 12, 0);
+
+    private ComplaintSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new ComplaintSearchIndex(new ByteBuffersDirectory());
+        index.update(fields(1, "Pothole on MG Road", "Deep pothole causing accidents", "Shivaji Nagar",
+                null, "PENDING", "HIGH", "ROADS", NOW.minusDays(3)));
+        index.update(fields(2, "Streetlight broken", "No light near the road junction", "MG Road",
+                null, "IN_PROGRESS", "MEDIUM", "ELECTRICITY", NOW.minusDays(2)));
+        index.update(fields(3, "Water leakage", "Pipe burst near school", "Kothrud",
+                "Pothole repair crew informed", "RESOLVED", "LOW", "WATER", NOW.minusDays(1)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveBodyAndRemarkMatches() {
+        ComplaintSearchIndex.Hits hits = search("pothole", null, null, null);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.ids()).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void everyWordMustMatchSomeField() {
+        assertThat(search("mg road light", null, null, null).ids()).containsExactly(2L);
+        assertThat(search("pothole kothrud", null, null, null).ids()).containsExactly(3L);
+        assertThat(search("pothole garbage", null, null, null).ids()).isEmpty();
+    }
+
+    @Test
+    void filtersNarrowWithoutChangingTheOrder() {
+        assertThat(search("road", "IN_PROGRESS", null, null).ids()).containsExactly(2L);
+        assertThat(search("pothole", null, null, "WATER").ids()).containsExactly(3L);
+        assertThat(search(null, null, "HIGH", null).ids()).containsExactly(1L);
+    }
+
+    @Test
+    void filterOnlyQueriesReturnNewestFirstAndPage() {
+        assertThat(search("  ", null, null, null).ids()).containsExactly(3L, 2L, 1L);
+
+        ComplaintSearchIndex.Hits second = index.search(new ComplaintSearchIndex.Criteria(null, null, null, null), 1, 1, 100);
+        assertThat(second.total()).isEqualTo(3);
+        assertThat(second.ids()).containsExactly(2L);
+    }
+
+    @Test
+    void updatesReplaceAndDeletesRemoveImmediately() {
+        index.update(fields(1, "Garbage pile", "Not collected for a week", "Shivaji Nagar",
+                null, "PENDING", "HIGH", "SANITATION", NOW));
+        index.delete(3);
+
+        assertThat(search("pothole", null, null, null).ids()).isEmpty();
+        assertThat(search("garbage", null, null, null).ids()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void commitUserDataIsReadBack() {
+        index.commit(Map.of("cleanShutdown", "true"));
+
+        assertThat(index.committedUserData()).containsEntry("cleanShutdown", "true");
+    }
+
+    private ComplaintSearchIndex.Hits search(String text, String status, String priority, String category) {
+        return index.search(new ComplaintSearchIndex.Criteria(text, status, priority, category), 0, 10, 100);
+    }
+
+    private static ComplaintSearchIndex.Fields fields(long id, String title, String description, String location,
+                                                      String remarks, String status, String priority,
+                                                      String category, LocalDateTime submitted) {
+        return new ComplaintSearchIndex.Fields(id, title, description, location, remarks,
+                status, priority, category, submitted);
+    }
+}
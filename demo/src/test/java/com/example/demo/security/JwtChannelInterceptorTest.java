@@ -0,0 +1,106 @@
+package com.example.demo.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.security.Principal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtChannelInterceptorTest {
+
+    private JwtUtils jwtUtils;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokens;
+    private JwtChannelInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = spy(new JwtUtils());
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokens = new VerifiedTokenCache(jwtUtils, meterRegistry, Duration.ofMinutes(1), 100);
+        interceptor = new JwtChannelInterceptor(verifiedTokens, meterRegistry);
+    }
+
+    @Test
+    void reconnectsWithTheSameTokenAreVerifiedOnce() {
+        String token = jwtUtils.generateToken("Citizen@Test.com", "CITIZEN");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(userOf(connect("Bearer " + token))).isEqualTo("citizen@test.com");
+        }
+
+        verify(jwtUtils, times(1)).parseClaims(anyString());
+        assertThat(connects("authenticated")).isEqualTo(5);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void tokenVerifiedByTheHttpFilterIsNotParsedAgainOnConnect() {
+        String token = jwtUtils.generateToken("officer@test.com", "OFFICER");
+        assertThat(verifiedTokens.verifyOrNull(token)).isNotNull();
+
+        assertThat(userOf(connect("Bearer " + token))).isEqualTo("officer@test.com");
+        verify(jwtUtils, times(1)).parseClaims(anyString());
+    }
+
+    @Test
+    void forgedTokensAreRejectedEveryTimeAndNeverCached() {
+        String token = jwtUtils.generateToken("admin@test.com", "ADMIN");
+        String forged = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertThat(userOf(connect("Bearer " + forged))).isNull();
+        assertThat(userOf(connect("Bearer " + forged))).isNull();
+        assertThat(userOf(connect("Bearer not-a-jwt"))).isNull();
+        assertThat(userOf(connect(null))).isNull();
+
+        verify(jwtUtils, times(3)).parseClaims(anyString());
+        assertThat(connects("rejected")).isEqualTo(3);
+        assertThat(connects("anonymous")).isEqualTo(1);
+        assertThat(connects("authenticated")).isZero();
+    }
+
+    @Test
+    void framesOtherThanConnectAreNotInspected() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.addNativeHeader("Authorization", "Bearer " + jwtUtils.generateToken("x@test.com", "CITIZEN"));
+        accessor.setLeaveMutable(true);
+
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()),
+                mock(MessageChannel.class));
+
+        verify(jwtUtils, never()).parseClaims(anyString());
+        assertThat(accessor.getUser()).isNull();
+    }
+
+    // ---------------- HELPERS ----------------
+    private Message<?> connect(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId("s-1");
+        if (authorization != null) {
+            accessor.addNativeHeader("Authorization", authorization);
+        }
+        accessor.setLeaveMutable(true);
+        return interceptor.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()),
+                mock(MessageChannel.class));
+    }
+
+    private static String userOf(Message<?> message) {
+        Principal user = StompHeaderAccessor.wrap(message).getUser();
+        return user != null ? user.getName() : null;
+    }
+
+    private double connects(String result) {
+        return meterRegistry.get("websocket.connect").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.ComplaintAssignRequestDto;
+import com.example.demo.payload.ComplaintEventResponse;
+import com.example.demo.payload.ComplaintStatusUpdateRequestDto;
+import com.example.demo.payload.SlaStatsResponse;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintEventRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.OfficerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+// Not @Transactional: events are only published after commit
+@SpringBootTest
+class ComplaintEventServiceTest {
+
+    @Autowired
+    private ComplaintEventService complaintEventService;
+
+    @Autowired
+    private AdminComplaintService adminComplaintService;
+
+    @Autowired
+    private ComplaintEventRepository complaintEventRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    @Autowired
+    private OfficerRepository officerRepository;
+
+    private Citizen citizen;
+    private Officer officer;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("events-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+        officer = officerRepository.save(Officer.builder()
+                .name("Events Officer")
+                .email("events-officer@test.com")
+                .password("x")
+                .phoneNo("9999999999")
+                .address("Ward 1")
+                .age(30)
+                .department(ComplaintCategory.ROADS)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        complaintEventService.flush();
+        complaintEventRepository.deleteAllInBatch();
+        complaintRepository.deleteAll(complaintRepository.findByCitizenId(citizen.getId()));
+        officerRepository.delete(officer);
+        citizenRepository.delete(citizen);
+        complaintEventService.rebuildSla();
+    }
+
+    @Test
+    void lifecycleChangesAreLoggedInOrder() {
+        Complaint complaint = save(LocalDateTime.now().minusHours(5));
+
+        ComplaintAssignRequestDto assign = new ComplaintAssignRequestDto();
+        assign.setOfficerId(officer.getId());
+        adminComplaintService.assignOfficer(complaint.getId(), assign);
+        adminComplaintService.updateStage(complaint.getId(), ComplaintStage.INSPECTION);
+        ComplaintStatusUpdateRequestDto resolve = new ComplaintStatusUpdateRequestDto();
+        resolve.setStatus("RESOLVED");
+        adminComplaintService.updateStatus(complaint.getId(), resolve);
+
+        List<ComplaintEventResponse> events = adminComplaintService.getEvents(complaint.getId());
+
+        assertThat(events).extracting(ComplaintEventResponse::getType).containsExactly(
+                "CREATED", "ASSIGNED", "STATUS_CHANGED", "STAGE_CHANGED", "STAGE_CHANGED", "STATUS_CHANGED");
+        ComplaintEventResponse assigned = events.get(1);
+        assertThat(assigned.getSlaMetric()).isEqualTo("TIME_TO_ASSIGN");
+        assertThat(assigned.getDurationSeconds()).isBetween(5 * 3600L - 5, 5 * 3600L + 5);
+        ComplaintEventResponse resolved = events.get(events.size() - 1);
+        assertThat(resolved.getFromValue()).isEqualTo("IN_PROGRESS");
+        assertThat(resolved.getToValue()).isEqualTo("RESOLVED");
+        assertThat(resolved.getSlaMetric()).isEqualTo("TIME_TO_RESOLVE");
+
+        List<SlaStatsResponse> byOfficer = complaintEventService.getSlaStats("time_to_resolve", "officer");
+        assertThat(byOfficer).extracting(SlaStatsResponse::getLabel).contains("Events Officer");
+
+        // Rebuilt histograms match the live ones
+        List<SlaStatsResponse> before = complaintEventService.getSlaStats("TIME_TO_ASSIGN", "CATEGORY");
+        complaintEventService.rebuildSla();
+        assertThat(complaintEventService.getSlaStats("TIME_TO_ASSIGN", "CATEGORY")).isEqualTo(before);
+    }
+
+    @Test
+    void existingComplaintsAreSeededFromTheirTimestamps() {
+        LocalDateTime submitted = LocalDateTime.now().minusDays(3);
+        Complaint complaint = save(submitted);
+        complaintRepository.save(complaintRepository.findById(complaint.getId()).map(c -> {
+            c.setAssignedOfficer(officer);
+            c.setAssignedDate(submitted.plusHours(2));
+            c.setStatus(ComplaintStatus.RESOLVED);
+            c.setResolutionDate(submitted.plusDays(1));
+            return c;
+        }).orElseThrow());
+
+        complaintEventService.flush();
+        complaintEventRepository.deleteAllInBatch();
+        complaintEventService.seedIfEmpty();
+
+        List<ComplaintEventResponse> events = complaintEventService.getEvents(complaint.getId());
+        assertThat(events).extracting(ComplaintEventResponse::getType)
+                .containsExactly("CREATED", "ASSIGNED", "STATUS_CHANGED");
+        assertThat(events.get(1).getDurationSeconds()).isEqualTo(2 * 3600L);
+        assertThat(events.get(2).getDurationSeconds()).isEqualTo(24 * 3600L);
+    }
+
+    @Test
+    void unknownMetricIsRejected() {
+        assertThatThrownBy(() -> complaintEventService.getSlaStats("TIME_TO_LUNCH", "ALL"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void failingWritesKeepOnlyTheNewestEventsUpToTheLimit() {
+        TransactionTemplate failing = mock(TransactionTemplate.class);
+        doThrow(new RuntimeException("database down")).when(failing).executeWithoutResult(any());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ComplaintEventService service = new ComplaintEventService(complaintEventRepository, complaintRepository,
+                officerRepository, mock(JdbcTemplate.class), failing, meterRegistry, 5, 10);
+
+        for (long id = 1; id <= 25; id++) {
+            service.append(List.of(ComplaintEvent.builder()
+                    .complaintId(id)
+                    .type(ComplaintEventType.CREATED)
+                    .occurredAt(LocalDateTime.now())
+                    .build()));
+        }
+
+        assertThat(meterRegistry.get("complaint.events.pending").gauge().value()).isLessThanOrEqualTo(10);
+        assertThat(meterRegistry.get("complaint.events.dropped").counter().count()).isGreaterThanOrEqualTo(15);
+    }
+
+    private Complaint save(LocalDateTime submitted) {
+        return complaintRepository.save(Complaint.builder()
+                .citizen(citizen)
+                .title("Pothole")
+                .category(ComplaintCategory.ROADS)
+                .latitude(18.52)
+                .longitude(73.85)
+                .citizenName("Citizen")
+                .citizenPhone("9999999999")
+                .submissionDate(submitted)
+                .build());
+    }
+}
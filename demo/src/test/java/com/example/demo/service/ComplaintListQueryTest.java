@@ -0,0 +1,157 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.ComplaintDetailResponse;
+import com.example.demo.payload.ComplaintListResponse;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.FeedbackRepository;
+import com.example.demo.repositories.OfficerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Guards the list endpoints against N+1 loading: the statement count must not
+// grow with the number of rows, including while the response is serialized
+@SpringBootTest
+@Transactional
+class ComplaintListQueryTest {
+
+    private static final int COMPLAINTS = 12;
+
+    @Autowired
+    private AdminComplaintService adminComplaintService;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    @Autowired
+    private OfficerRepository officerRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Citizen citizen;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("list-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+
+        for (int i = 0; i < COMPLAINTS; i++) {
+            Officer officer = officerRepository.save(Officer.builder()
+                    .name("Officer " + i)
+                    .email("list-officer-" + i + "@test.com")
+                    .password("x")
+                    .phoneNo("9999999999")
+                    .address("Ward " + i)
+                    .age(30)
+                    .department(ComplaintCategory.ROADS)
+                    .status(OfficerStatus.BUSY)
+                    .build());
+            Complaint complaint = complaintRepository.save(Complaint.builder()
+                    .citizen(citizen)
+                    .title("Complaint " + i)
+                    .description("Description " + i)
+                    .category(ComplaintCategory.ROADS)
+                    .latitude(18.52)
+                    .longitude(73.85)
+                    .citizenName("Citizen")
+                    .citizenPhone("9999999999")
+                    .imageUrl("/uploads/complaint-" + i + ".jpg")
+                    .assignedOfficer(officer)
+                    .build());
+            if (i % 2 == 0) {
+                feedbackRepository.save(Feedback.builder()
+                        .complaint(complaint)
+                        .feedbackBy(citizen)
+                        .rating(4)
+                        .build());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void adminListPageUsesRowQueryAndCountOnly() throws Exception {
+        Page<ComplaintListResponse> page = adminComplaintService.listAllComplaints(null, null, null, 0, 5);
+        objectMapper.writeValueAsString(page.getContent());
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(COMPLAINTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        ComplaintListResponse first = page.getContent().get(0);
+        assertThat(first.getAssignedOfficerName()).startsWith("Officer ");
+        assertThat(first.getAssignedOfficerStatus()).isEqualTo("BUSY");
+        assertThat(first.getImageUrl()).startsWith("/uploads/");
+    }
+
+    @Test
+    void lastAdminPageSkipsCount() {
+        Page<ComplaintListResponse> page = adminComplaintService.listAllComplaints(null, null, null, 0, 50);
+
+        assertThat(page.getContent()).hasSize(COMPLAINTS);
+        assertThat(page.getTotalElements()).isEqualTo(COMPLAINTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void citizenListIsOneStatement() throws Exception {
+        List<ComplaintListResponse> complaints = complaintService.getComplaintsByCitizen(citizen);
+        objectMapper.writeValueAsString(complaints);
+
+        assertThat(complaints).hasSize(COMPLAINTS);
+        assertThat(complaints).filteredOn(ComplaintListResponse::isFeedbackSubmitted).hasSize(COMPLAINTS / 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void adminDetailIsOneStatement() {
+        Long id = complaintRepository.findAll().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        ComplaintDetailResponse detail = adminComplaintService.getComplaintDetailView(id);
+
+        assertThat(detail.getId()).isEqualTo(id);
+        assertThat(detail.getAssignedOfficerEmail()).endsWith("@test.com");
+        assertThat(detail.getAssignedOfficerDepartment()).isEqualTo("ROADS");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
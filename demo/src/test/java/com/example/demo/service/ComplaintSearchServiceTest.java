@@ -0,0 +1,110 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.ComplaintListResponse;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not @Transactional: the index only sees complaints once they commit
+@SpringBootTest
+class ComplaintSearchServiceTest {
+
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+
+    @Autowired
+    private AdminComplaintService adminComplaintService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    private Citizen citizen;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("search-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+        complaintSearchService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        complaintRepository.deleteAll(complaintRepository.findByCitizenId(citizen.getId()));
+        citizenRepository.delete(citizen);
+    }
+
+    @Test
+    void committedWritesAreSearchableAndRanked() {
+        Complaint pothole = save("Pothole on FC Road", "Deep hole near college", ComplaintCategory.ROADS);
+        Complaint light = save("Streetlight broken", "Dark stretch, pothole nearby", ComplaintCategory.ELECTRICITY);
+
+        Page<ComplaintListResponse> page = adminComplaintService.listAllComplaints("pothole", null, null, 0, 20);
+
+        assertThat(page.getContent()).extracting(ComplaintListResponse::getId).containsExactly(pothole.getId(), light.getId());
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void remarksAreIndexedAndDeletedComplaintsDisappear() {
+        Complaint complaint = save("Water supply irregular", null, ComplaintCategory.WATER);
+        complaint.setOfficerRemark("Valve replaced at Kothrud tank");
+        complaintRepository.save(complaint);
+
+        assertThat(search("valve kothrud", null)).extracting(ComplaintListResponse::getId).containsExactly(complaint.getId());
+
+        complaint.setDeleted(true);
+        complaintRepository.save(complaint);
+
+        assertThat(search("valve kothrud", null)).isEmpty();
+    }
+
+    @Test
+    void categoryFilterAndRebuildFromTheDatabase() {
+        Complaint roads = save("Broken divider", "Traffic hazard", ComplaintCategory.ROADS);
+        save("Broken signal", "Traffic lights off", ComplaintCategory.TRAFFIC);
+
+        complaintSearchService.rebuild();
+
+        assertThat(search("broken traffic", "roads")).extracting(ComplaintListResponse::getId).containsExactly(roads.getId());
+        assertThat(search("broken", "NOT_A_CATEGORY")).isEmpty();
+    }
+
+    @Test
+    void pagingBeyondTheResultWindowIsRejected() {
+        assertThatThrownBy(() -> complaintSearchService.search("x", null, null, null, 100, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private java.util.List<ComplaintListResponse> search(String text, String category) {
+        return adminComplaintService.searchComplaints(text, null, null, category, 0, 20).getContent();
+    }
+
+    private Complaint save(String title, String description, ComplaintCategory category) {
+        return complaintRepository.save(Complaint.builder()
+                .title(title)
+                .description(description)
+                .category(category)
+                .citizen(citizen)
+                .citizenName(citizen.getName())
+                .citizenPhone("9999999999")
+                .latitude(18.52)
+                .longitude(73.85)
+                .build());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.ComplaintRequestDTO;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the index only sees complaints once they commit
+@SpringBootTest
+class DuplicateDetectionServiceTest {
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    private Citizen citizen;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("duplicate-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+        duplicateDetectionService.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        complaintRepository.deleteAll(complaintRepository.findByCitizenId(citizen.getId()));
+        citizenRepository.delete(citizen);
+        duplicateDetectionService.load();
+    }
+
+    @Test
+    void repeatedReportIsLinkedToTheOriginal() {
+        Complaint original = submit("Pothole on MG Road near bus stop", 18.52040, 73.85670);
+        Complaint repeat = submit("Big pothole MG road bus stop", 18.52080, 73.85690);
+        Complaint third = submit("Pothole MG road near the bus stop", 18.52010, 73.85650);
+
+        assertThat(original.getDuplicateOfId()).isNull();
+        assertThat(repeat.getDuplicateOfId()).isEqualTo(original.getId());
+        assertThat(third.getDuplicateOfId()).isEqualTo(original.getId());
+    }
+
+    @Test
+    void closedComplaintsAreNotMatched() {
+        Complaint original = submit("Pothole on MG Road near bus stop", 18.52040, 73.85670);
+        original.setStatus(ComplaintStatus.RESOLVED);
+        complaintRepository.save(original);
+
+        Complaint repeat = submit("Pothole on MG Road near bus stop", 18.52040, 73.85670);
+
+        assertThat(repeat.getDuplicateOfId()).isNull();
+    }
+
+    @Test
+    void loadPicksUpOpenComplaintsFromTheDatabase() {
+        Complaint original = submit("Water pipe burst outside school", 18.52040, 73.85670);
+
+        duplicateDetectionService.load();
+
+        assertThat(duplicateDetectionService.findDuplicate(ComplaintCategory.ROADS, 18.52040, 73.85670,
+                "Water pipe burst outside the school", null))
+                .isNotNull()
+                .satisfies(m -> assertThat(m.complaintId()).isEqualTo(original.getId()));
+    }
+
+    private Complaint submit(String title, double lat, double lng) {
+        ComplaintRequestDTO dto = ComplaintRequestDTO.builder()
+                .title(title)
+                .category("ROADS")
+                .citizenName(citizen.getName())
+                .citizenPhone("9999999999")
+                .latitude(lat)
+                .longitude(lng)
+                .build();
+        return complaintService.createFromDto(dto, citizen, null);
+    }
+}
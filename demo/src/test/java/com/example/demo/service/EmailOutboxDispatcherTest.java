@@ -0,0 +1,91 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.EmailStatus;
+import com.example.demo.repositories.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void queuedEmailsAreDeliveredInTheBackground() throws Exception {
+        EmailOutbox otp = emailOutboxService.enqueueOtp("citizen@test.com", "123456");
+        EmailOutbox credentials = emailOutboxService.enqueueCredentials("officer@test.com", "secret", "Officer");
+        assertThat(outboxRepository.findById(credentials.getId()).orElseThrow().getPayload())
+                .startsWith("v1:")
+                .doesNotContain("secret");
+
+        dispatcher.dispatch();
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 2)).isTrue();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).extracting(MimeMessage::getSubject)
+                .containsExactlyInAnyOrder("Your OTP for Password Reset", "Your Officer Account Credentials");
+
+        EmailOutbox sent = awaitStatus(otp.getId(), EmailStatus.SENT);
+        assertThat(sent.getPayload()).isNull();
+        assertThat(awaitStatus(credentials.getId(), EmailStatus.SENT).getSentAt()).isNotNull();
+    }
+
+    @Test
+    void failedSendIsRescheduledWithBackoff() throws Exception {
+        greenMail.stop();
+        EmailOutbox otp = emailOutboxService.enqueueOtp("citizen@test.com", "654321");
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatch();
+
+        EmailOutbox retry = awaitAttempts(otp.getId(), 1);
+        assertThat(retry.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(retry.getNextAttemptAt()).isAfter(before.plus(dispatcher.backoff(1)).minusSeconds(1));
+        assertThat(retry.getLastError()).isNotBlank();
+        assertThat(retry.getPayload()).isNotNull();
+    }
+
+    private EmailOutbox awaitStatus(Long id, EmailStatus status) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            EmailOutbox row = outboxRepository.findById(id).orElseThrow();
+            if (row.getStatus() == status) return row;
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Email " + id + " never reached " + status);
+    }
+
+    private EmailOutbox awaitAttempts(Long id, int attempts) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            EmailOutbox row = outboxRepository.findById(id).orElseThrow();
+            if (row.getAttempts() >= attempts) return row;
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Email " + id + " never reached " + attempts + " attempts");
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.FeedbackRequest;
+import com.example.demo.payload.FeedbackStatsResponse;
+import com.example.demo.repositories.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: stats buckets are created in their own transaction
+@SpringBootTest
+class FeedbackStatsServiceTest {
+
+    @Autowired
+    private FeedbackStatsService feedbackStatsService;
+
+    @Autowired
+    private CitizenFeedbackService citizenFeedbackService;
+
+    @Autowired
+    private FeedbackStatsRepository feedbackStatsRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    @Autowired
+    private OfficerRepository officerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Citizen citizen;
+    private Officer roadsOfficer;
+    private Officer waterOfficer;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("stats-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+        roadsOfficer = officer("Roads Officer", "stats-roads@test.com", ComplaintCategory.ROADS);
+        waterOfficer = officer("Water Officer", "stats-water@test.com", ComplaintCategory.WATER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        feedbackStatsRepository.deleteAllInBatch();
+        feedbackRepository.deleteAllInBatch();
+        complaintRepository.deleteAll(complaintRepository.findByCitizenId(citizen.getId()));
+        officerRepository.deleteAll(List.of(roadsOfficer, waterOfficer));
+        citizenRepository.delete(citizen);
+    }
+
+    @Test
+    void submittedFeedbackUpdatesBuckets() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(citizen.getEmail(), null, List.of()));
+
+        Complaint first = complaint(ComplaintCategory.ROADS, roadsOfficer);
+        Complaint second = complaint(ComplaintCategory.ROADS, roadsOfficer);
+        Complaint third = complaint(ComplaintCategory.WATER, waterOfficer);
+        citizenFeedbackService.submitFeedback(first.getId(), request(5, "ON_TIME", false));
+        citizenFeedbackService.submitFeedback(second.getId(), request(2, "VERY_LATE", true));
+        citizenFeedbackService.submitFeedback(third.getId(), request(4, "SLIGHT_DELAY", false));
+
+        // Same day, department and officer share one bucket
+        assertThat(feedbackStatsRepository.count()).isEqualTo(2);
+
+        List<FeedbackStatsResponse> departments = feedbackStatsService.getByDepartment(90);
+        assertThat(departments).extracting(FeedbackStatsResponse::getKey).containsExactly("ROADS", "WATER");
+        FeedbackStatsResponse roads = departments.get(0);
+        assertThat(roads.getFeedbackCount()).isEqualTo(2);
+        assertThat(roads.getAverageRating()).isEqualTo(3.5);
+        assertThat(roads.getRatingHistogram()).containsExactly(0L, 1L, 0L, 0L, 1L);
+        assertThat(roads.getOnTime()).isEqualTo(1);
+        assertThat(roads.getVeryLate()).isEqualTo(1);
+        assertThat(roads.getReopened()).isEqualTo(1);
+
+        assertThat(feedbackStatsService.getByOfficer(90, "water"))
+                .extracting(FeedbackStatsResponse::getLabel).containsExactly("Water Officer");
+        assertThat(feedbackStatsService.getSummary(0).getFeedbackCount()).isEqualTo(3);
+        assertThat(feedbackStatsService.getDaily(90, null, roadsOfficer.getId())).hasSize(1);
+    }
+
+    @Test
+    void rebuildMatchesIncrementalTotals() {
+        Complaint recent = complaint(ComplaintCategory.ROADS, roadsOfficer);
+        Complaint old = complaint(ComplaintCategory.ROADS, null);
+        feedback(recent, 4, LocalDateTime.now());
+        feedback(old, 1, LocalDateTime.now().minusDays(200));
+
+        FeedbackStatsResponse before = feedbackStatsService.getSummary(0);
+        feedbackStatsService.rebuild();
+        FeedbackStatsResponse after = feedbackStatsService.getSummary(0);
+
+        assertThat(after).isEqualTo(before);
+        assertThat(after.getAverageRating()).isEqualTo(2.5);
+        // Older than the window
+        assertThat(feedbackStatsService.getSummary(90).getFeedbackCount()).isEqualTo(1);
+        assertThat(feedbackStatsService.getByOfficer(0, null))
+                .extracting(FeedbackStatsResponse::getLabel).containsExactly("Unassigned", "Roads Officer");
+    }
+
+    private void feedback(Complaint complaint, int rating, LocalDateTime submittedAt) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            Feedback feedback = feedbackRepository.save(Feedback.builder()
+                    .complaint(complaintRepository.findById(complaint.getId()).orElseThrow())
+                    .feedbackBy(citizen)
+                    .rating(rating)
+                    .timeliness("ON_TIME")
+                    .feedbackSubmittedAt(submittedAt)
+                    .build());
+            feedbackStatsService.record(feedback);
+        });
+    }
+
+    private FeedbackRequest request(int rating, String timeliness, boolean reopened) {
+        FeedbackRequest request = new FeedbackRequest();
+        request.setRating(rating);
+        request.setOfficerBehaviourRating(rating);
+        request.setTimeliness(timeliness);
+        request.setResolutionStatus("RESOLVED");
+        request.setReopened(reopened);
+        return request;
+    }
+
+    private Complaint complaint(ComplaintCategory category, Officer officer) {
+        return complaintRepository.save(Complaint.builder()
+                .citizen(citizen)
+                .title("Complaint")
+                .category(category)
+                .status(ComplaintStatus.RESOLVED)
+                .latitude(18.52)
+                .longitude(73.85)
+                .citizenName("Citizen")
+                .citizenPhone("9999999999")
+                .assignedOfficer(officer)
+                .build());
+    }
+
+    private Officer officer(String name, String email, ComplaintCategory department) {
+        return officerRepository.save(Officer.builder()
+                .name(name)
+                .email(email)
+                .password("x")
+                .phoneNo("9999999999")
+                .address("Ward 1")
+                .age(30)
+                .department(department)
+                .build());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.FeedbackViewResponse;
+import com.example.demo.payload.OfficerFeedbackResponse;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.FeedbackRepository;
+import com.example.demo.repositories.OfficerRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class FeedbackViewQueryTest {
+
+    @Autowired
+    private AdminFeedbackService adminFeedbackService;
+
+    @Autowired
+    private OfficerFeedbackService officerFeedbackService;
+
+    @Autowired
+    private OfficerComplaintService officerComplaintService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    @Autowired
+    private OfficerRepository officerRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Officer first;
+    private Officer second;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Citizen citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("feedback-citizen@test.com")
+                .password("x")
+                .address("Ward 7")
+                .role(Role.CITIZEN)
+                .build());
+        first = officer("feedback-officer-1@test.com");
+        second = officer("feedback-officer-2@test.com");
+
+        for (int i = 0; i < 10; i++) {
+            Complaint complaint = complaintRepository.save(Complaint.builder()
+                    .citizen(citizen)
+                    .title("Complaint " + i)
+                    .category(ComplaintCategory.ROADS)
+                    .status(ComplaintStatus.RESOLVED)
+                    .latitude(18.52)
+                    .longitude(73.85)
+                    .citizenName("Citizen")
+                    .citizenPhone("9999999999")
+                    .assignedOfficer(i < 6 ? first : second)
+                    .build());
+            feedbackRepository.save(Feedback.builder()
+                    .complaint(complaint)
+                    .feedbackBy(citizen)
+                    .rating(1 + i % 5)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void adminPageIsRowQueryAndCount() {
+        Page<FeedbackViewResponse> page = adminFeedbackService.getAllFeedbacks(0, 4);
+
+        assertThat(page.getContent()).hasSize(4);
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(page.getContent().get(0).getComplaintTitle()).isEqualTo("Complaint 9");
+        assertThat(page.getContent().get(0).getCitizenLocation()).isEqualTo("Ward 7");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void officerViewsOnlyCoverTheirComplaints() {
+        Page<FeedbackViewResponse> page = officerFeedbackService.getMyComplaintFeedbacks(second, 0, 20);
+        List<OfficerFeedbackResponse> all = officerComplaintService.getAllFeedbackForOfficer(first);
+
+        assertThat(page.getContent()).extracting(FeedbackViewResponse::getComplaintTitle)
+                .containsExactly("Complaint 9", "Complaint 8", "Complaint 7", "Complaint 6");
+        assertThat(all).hasSize(6);
+        // The officer page is short, so Spring Data skips its count query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private Officer officer(String email) {
+        return officerRepository.save(Officer.builder()
+                .name("Officer")
+                .email(email)
+                .password("x")
+                .phoneNo("9999999999")
+                .address("Ward 1")
+                .age(30)
+                .department(ComplaintCategory.ROADS)
+                .build());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.AppInstance;
+import com.example.demo.repositories.AppInstanceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class InstanceLeaseServiceTest {
+
+    @Autowired
+    private AppInstanceRepository appInstanceRepository;
+
+    // Includes this context's own row, which would count as another instance
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        appInstanceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void secondInstanceIsRejectedWhileTheFirstIsAlive() {
+        LocalDateTime now = LocalDateTime.now();
+        lease("node-a", "fail").claim(now);
+
+        assertThatThrownBy(() -> lease("node-b", "fail").claim(now.plusSeconds(5)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("node-a");
+        assertThat(appInstanceRepository.existsById("node-b")).isFalse();
+
+        // Warn mode starts anyway
+        assertThatCode(() -> lease("node-b", "warn").claim(now.plusSeconds(5))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void staleOrOwnRowsDoNotBlockStartup() {
+        LocalDateTime now = LocalDateTime.now();
+        lease("node-a", "fail").claim(now);
+
+        // Same id: a restart after a crash
+        assertThatCode(() -> lease("node-a", "fail").claim(now.plusSeconds(5))).doesNotThrowAnyException();
+        // Three missed heartbeats later the row no longer counts
+        assertThatCode(() -> lease("node-b", "fail").claim(now.plusSeconds(36))).doesNotThrowAnyException();
+    }
+
+    private InstanceLeaseService lease(String id, String check) {
+        return new InstanceLeaseService(appInstanceRepository, id, 10_000, check);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.MapClusterResponse;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: clusters only change when the write commits
+@SpringBootTest
+class MapClusterServiceTest {
+
+    @Autowired
+    private MapClusterService mapClusterService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Citizen citizen;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("cluster-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+        mapClusterService.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        complaintRepository.deleteAll(complaintRepository.findByCitizenId(citizen.getId()));
+        citizenRepository.delete(citizen);
+        mapClusterService.load();
+    }
+
+    @Test
+    void committedWritesUpdateClustersIncrementally() {
+        Complaint complaint = complaintRepository.save(complaint(18.52, 73.85));
+        complaintRepository.save(complaint(18.53, 73.86));
+
+        assertThat(total(clusters())).isEqualTo(2);
+        assertThat(byStatus(clusters(), "PENDING")).isEqualTo(2);
+
+        complaint.setStatus(ComplaintStatus.RESOLVED);
+        complaintRepository.save(complaint);
+        assertThat(byStatus(clusters(), "PENDING")).isEqualTo(1);
+        assertThat(byStatus(clusters(), "RESOLVED")).isEqualTo(1);
+
+        complaint.setDeleted(true);
+        complaintRepository.save(complaint);
+        assertThat(total(clusters())).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackWritesLeaveClustersUntouched() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            complaintRepository.saveAndFlush(complaint(18.52, 73.85));
+            tx.setRollbackOnly();
+        });
+
+        assertThat(clusters()).isEmpty();
+    }
+
+    @Test
+    void loadRebuildsFromTheDatabase() {
+        complaintRepository.save(complaint(18.52, 73.85));
+        mapClusterService.update(Long.MAX_VALUE, MapClusterService.toPoint(
+                18.52, 73.85, ComplaintCategory.ROADS, ComplaintStatus.PENDING));
+
+        mapClusterService.load();
+
+        assertThat(total(clusters())).isEqualTo(1);
+    }
+
+    private List<MapClusterResponse> clusters() {
+        return mapClusterService.getClusters(10, 18.4, 73.7, 18.7, 74.0);
+    }
+
+    private static int total(List<MapClusterResponse> clusters) {
+        return clusters.stream().mapToInt(MapClusterResponse::getCount).sum();
+    }
+
+    // Summed over cells: the two points may straddle a cell boundary
+    private static int byStatus(List<MapClusterResponse> clusters, String status) {
+        return clusters.stream().mapToInt(c -> c.getByStatus().getOrDefault(status, 0)).sum();
+    }
+
+    private Complaint complaint(double lat, double lng) {
+        return Complaint.builder()
+                .title("Pothole")
+                .category(ComplaintCategory.ROADS)
+                .citizen(citizen)
+                .citizenName(citizen.getName())
+                .citizenPhone("9999999999")
+                .latitude(lat)
+                .longitude(lng)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.exception.AccessDeniedException;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.MapLocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MapLocationServiceTest {
+
+    @Autowired
+    private MapLocationService mapLocationService;
+
+    @Autowired
+    private MapLocationRepository mapLocationRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Citizen citizen;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("location-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+    }
+
+    @Test
+    void repeatedSavesKeepOneRowPerComplaint() {
+        Complaint complaint = addComplaint(18.5204, 73.8567, false);
+
+        MapLocation first = mapLocationService.save(complaint);
+        MapLocation again = mapLocationService.save(complaint);
+
+        complaint.setLatitude(18.5300);
+        MapLocation moved = mapLocationService.save(complaint);
+
+        assertThat(again.getId()).isEqualTo(first.getId());
+        assertThat(moved.getId()).isEqualTo(first.getId());
+        assertThat(mapLocationRepository.count()).isEqualTo(1);
+        assertThat(mapLocationRepository.findByComplaintId(complaint.getId()))
+                .hasValueSatisfying(m -> {
+                    assertThat(m.getLatitude()).isEqualTo(18.5300);
+                    assertThat(m.getGeohash()).startsWith("te");
+                });
+    }
+
+    @Test
+    void citizensCanOnlyPlaceTheirOwnComplaints() {
+        Complaint complaint = addComplaint(18.5204, 73.8567, false);
+        mapLocationService.save(complaint);
+        Citizen other = citizenRepository.save(Citizen.builder()
+                .name("Other")
+                .email("location-other@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+
+        assertThatThrownBy(() -> mapLocationService.saveForCitizen(complaint.getId(), other.getId(), 1.0, 2.0))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(mapLocationRepository.findByComplaintId(complaint.getId()))
+                .hasValueSatisfying(m -> assertThat(m.getLatitude()).isEqualTo(18.5204));
+
+        assertThat(mapLocationService.saveForCitizen(complaint.getId(), citizen.getId(), 18.53, 73.86).getLatitude())
+                .isEqualTo(18.53);
+    }
+
+    @Test
+    void clearedCoordinatesAndRemoveDropTheRow() {
+        Complaint complaint = addComplaint(18.5204, 73.8567, false);
+        mapLocationService.save(complaint);
+
+        assertThat(mapLocationService.save(complaint.getId(), citizen.getId(), 18.5204, null)).isNull();
+        assertThat(mapLocationRepository.count()).isZero();
+
+        mapLocationService.save(complaint);
+        mapLocationService.remove(complaint.getId());
+        assertThat(mapLocationRepository.count()).isZero();
+    }
+
+    // Not transactional: the legacy layout needs the unique constraint dropped (DDL commits in H2)
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void compactionKeepsTheNewestRowAndDropsOrphans() {
+        Complaint live = addComplaint(18.5204, 73.8567, false);
+        Complaint deleted = addComplaint(18.5300, 73.8700, true);
+        jdbcTemplate.execute("ALTER TABLE map_location DROP CONSTRAINT uk_map_location_complaint");
+        try {
+            // Rows as older installs wrote them: one per save, none removed on delete
+            insertRaw(live.getId(), 18.50, 73.80);
+            insertRaw(live.getId(), 18.51, 73.81);
+            insertRaw(live.getId(), 18.52, 73.82);
+            insertRaw(deleted.getId(), 18.53, 73.87);
+            insertRaw(deleted.getId(), 18.53, 73.87);
+            insertRaw(999_999L, 18.54, 73.88);
+            insertRaw(null, 18.55, 73.89);
+
+            mapLocationService.compact();
+
+            assertThat(mapLocationRepository.findAll())
+                    .singleElement()
+                    .satisfies(m -> {
+                        assertThat(m.getComplaintId()).isEqualTo(live.getId());
+                        assertThat(m.getLatitude()).isEqualTo(18.52);
+                    });
+            // The constraint comes back once the table is compact
+            assertThatThrownBy(() -> insertRaw(live.getId(), 18.56, 73.90))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        } finally {
+            mapLocationRepository.deleteAll();
+            mapLocationService.compact();
+            complaintRepository.deleteAll(complaintRepository.findByCitizenId(citizen.getId()));
+            citizenRepository.delete(citizen);
+        }
+    }
+
+    private Complaint addComplaint(double lat, double lng, boolean deleted) {
+        return complaintRepository.save(Complaint.builder()
+                .title("Pothole")
+                .category(ComplaintCategory.ROADS)
+                .citizen(citizen)
+                .citizenName(citizen.getName())
+                .citizenPhone("9999999999")
+                .latitude(lat)
+                .longitude(lng)
+                .deleted(deleted)
+                .build());
+    }
+
+    private void insertRaw(Long complaintId, double lat, double lng) {
+        jdbcTemplate.update("INSERT INTO map_location (complaint_id, latitude, longitude) VALUES (?, ?, ?)",
+                complaintId, lat, lng);
+    }
+}
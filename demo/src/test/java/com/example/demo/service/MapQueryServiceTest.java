@@ -0,0 +1,101 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.MapPointResponse;
+import com.example.demo.payload.MapQueryResponse;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.MapLocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MapQueryServiceTest {
+
+    @Autowired
+    private MapQueryService mapQueryService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private MapLocationRepository mapLocationRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    private Citizen citizen;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("map-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+    }
+
+    @Test
+    void viewportReturnsOnlyLiveComplaintsInsideTheBox() {
+        Long inside = addComplaint(18.5204, 73.8567, false);
+        addComplaint(18.5300, 73.8700, true);
+        addComplaint(19.0760, 72.8777, false);
+
+        MapQueryResponse response = mapQueryService.findInViewport(18.45, 73.75, 18.62, 73.98, null);
+
+        assertThat(response.getPoints()).extracting(MapPointResponse::getComplaintId).containsExactly(inside);
+        assertThat(response.getPoints().get(0).getCategory()).isEqualTo("ROADS");
+        assertThat(response.isTruncated()).isFalse();
+    }
+
+    @Test
+    void nearbyFiltersByExactDistanceAndSortsNearestFirst() {
+        Long near = addComplaint(18.5210, 73.8570, false);    // ~70 m
+        Long farther = addComplaint(18.5260, 73.8567, false); // ~620 m
+        addComplaint(18.5204, 73.8660, false);                 // ~980 m east, outside 900 m
+        addComplaint(18.5280, 73.8640, false);                 // box corner, ~1.1 km
+
+        MapQueryResponse response = mapQueryService.findNearby(18.5204, 73.8567, 900, null);
+
+        assertThat(response.getPoints()).extracting(MapPointResponse::getComplaintId).containsExactly(near, farther);
+        assertThat(response.getPoints().get(0).getDistanceMeters()).isLessThan(100);
+    }
+
+    @Test
+    void limitMarksResponseAsTruncated() {
+        for (int i = 0; i < 5; i++) addComplaint(18.52 + i * 0.001, 73.85, false);
+
+        MapQueryResponse response = mapQueryService.findInViewport(18.45, 73.75, 18.62, 73.98, 3);
+
+        assertThat(response.getCount()).isEqualTo(3);
+        assertThat(response.isTruncated()).isTrue();
+    }
+
+    private Long addComplaint(double lat, double lng, boolean deleted) {
+        Complaint complaint = complaintRepository.save(Complaint.builder()
+                .title("Pothole")
+                .category(ComplaintCategory.ROADS)
+                .citizen(citizen)
+                .citizenName(citizen.getName())
+                .citizenPhone("9999999999")
+                .latitude(lat)
+                .longitude(lng)
+                .deleted(deleted)
+                .build());
+
+        MapLocation location = new MapLocation();
+        location.setLatitude(lat);
+        location.setLongitude(lng);
+        location.setCitizenId(citizen.getId());
+        location.setComplaintId(complaint.getId());
+        mapLocationRepository.save(location);
+        return complaint.getId();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Notification;
+import com.example.demo.notify.NotificationDispatcher;
+import com.example.demo.payload.NotificationCatchUpResponse;
+import com.example.demo.payload.NotificationDto;
+import com.example.demo.payload.UnreadCountResponse;
+import com.example.demo.repositories.NotificationCursorRepository;
+import com.example.demo.repositories.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the dispatcher stores notifications after commit, on its own thread
+@SpringBootTest
+class NotificationInboxServiceTest {
+
+    private static final NotificationInboxService.Reader CITIZEN =
+            new NotificationInboxService.Reader("inbox-citizen@test.com", false);
+    private static final NotificationInboxService.Reader ADMIN =
+            new NotificationInboxService.Reader("inbox-admin@test.com", true);
+
+    @Autowired
+    private NotificationInboxService notificationInboxService;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationCursorRepository notificationCursorRepository;
+
+    // Other tests leave notifications behind (shared context and database)
+    @BeforeEach
+    @AfterEach
+    void clearInbox() {
+        notificationDispatcher.flush();
+        notificationRepository.deleteAllInBatch();
+        notificationCursorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void sentNotificationsCanBeCaughtUpFromTheLastSeenId() {
+        notificationDispatcher.toUser("Inbox-Citizen@test.com", 1L, "Status updated: IN_PROGRESS");
+        notificationDispatcher.toAdmins(1L, "Complaint status updated");
+        notificationDispatcher.flush();
+        notificationDispatcher.toUser("inbox-citizen@test.com", 2L, "Status updated: RESOLVED");
+        notificationDispatcher.flush();
+
+        List<NotificationDto> all = notificationInboxService.since(CITIZEN, 0L, 50);
+        assertThat(all).extracting(NotificationDto::getStatus)
+                .containsExactly("Status updated: IN_PROGRESS", "Status updated: RESOLVED");
+        assertThat(all.get(0).getId()).isLessThan(all.get(1).getId());
+
+        // Reconnect after seeing the first one
+        assertThat(notificationInboxService.since(CITIZEN, all.get(0).getId(), 50))
+                .extracting(NotificationDto::getComplaintId).containsExactly(2L);
+
+        // Admins also read the broadcast stream
+        assertThat(notificationInboxService.since(ADMIN, 0L, 50))
+                .extracting(NotificationDto::getStatus).containsExactly("Complaint status updated");
+    }
+
+    @Test
+    void unreadCountFollowsTheReadCursor() {
+        notificationDispatcher.toUser("inbox-citizen@test.com", 1L, "first");
+        notificationDispatcher.toUser("inbox-citizen@test.com", 2L, "second");
+        notificationDispatcher.flush();
+
+        UnreadCountResponse count = notificationInboxService.unreadCount(CITIZEN);
+        assertThat(count.getUnread()).isEqualTo(2);
+
+        List<NotificationDto> unread = notificationInboxService.since(CITIZEN, null, 50);
+        UnreadCountResponse afterFirst = notificationInboxService.markRead(CITIZEN, unread.get(0).getId());
+        assertThat(afterFirst.getUnread()).isEqualTo(1);
+        assertThat(notificationInboxService.since(CITIZEN, null, 50))
+                .extracting(NotificationDto::getStatus).containsExactly("second");
+
+        // The cursor never moves back
+        assertThat(notificationInboxService.markRead(CITIZEN, null).getUnread()).isZero();
+        assertThat(notificationInboxService.markRead(CITIZEN, 0L).getLastReadId()).isEqualTo(count.getLatestId());
+    }
+
+    @Test
+    void catchUpPagesUntilDrained() {
+        List<Notification> backlog = new ArrayList<>();
+        for (long i = 1; i <= 250; i++) {
+            backlog.add(Notification.builder()
+                    .recipient(CITIZEN.email())
+                    .complaintId(i)
+                    .message("missed " + i)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        notificationInboxService.append(backlog);
+
+        NotificationCatchUpResponse first = notificationInboxService.catchUp(CITIZEN, 0L);
+        assertThat(first.getNotifications()).hasSize(200);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getNextSince()).isEqualTo(first.getNotifications().get(199).getId());
+
+        NotificationCatchUpResponse second = notificationInboxService.catchUp(CITIZEN, first.getNextSince());
+        assertThat(second.getNotifications()).extracting(NotificationDto::getComplaintId)
+                .containsExactlyElementsOf(LongStream.rangeClosed(201, 250).boxed().toList());
+        assertThat(second.isHasMore()).isFalse();
+
+        // Nothing left: the cursor stays where it was
+        NotificationCatchUpResponse drained = notificationInboxService.catchUp(CITIZEN, second.getNextSince());
+        assertThat(drained.getNotifications()).isEmpty();
+        assertThat(drained.getNextSince()).isEqualTo(second.getNextSince());
+    }
+
+    @Test
+    void expiredNotificationsAreCompacted() {
+        Notification old = notificationRepository.save(Notification.builder()
+                .recipient(CITIZEN.email())
+                .message("old")
+                .createdAt(LocalDateTime.now().minusDays(90))
+                .build());
+        notificationDispatcher.toUser(CITIZEN.email(), 1L, "recent");
+        notificationDispatcher.flush();
+
+        assertThat(notificationInboxService.compact()).isEqualTo(1);
+        assertThat(notificationRepository.existsById(old.getId())).isFalse();
+        assertThat(notificationInboxService.since(CITIZEN, 0L, 50))
+                .extracting(NotificationDto::getStatus).containsExactly("recent");
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.OfficerComplaintResponse;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.EmailOutboxRepository;
+import com.example.demo.repositories.OfficerRepository;
+import com.example.demo.security.AuthenticatedUser;
+import com.example.demo.security.CurrentUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OfficerComplaintServiceTest {
+
+    @Autowired
+    private OfficerComplaintService officerComplaintService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private OfficerRepository officerRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Officer officer;
+    private Citizen citizen;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+
+        officer = officerRepository.save(Officer.builder()
+                .name("Officer")
+                .email("officer@test.com")
+                .password("x")
+                .phoneNo("9999999999")
+                .address("Ward 1")
+                .age(30)
+                .department(ComplaintCategory.ROADS)
+                .build());
+    }
+
+    @Test
+    void assignedComplaintListUsesConstantNumberOfStatements() {
+        addComplaints(3);
+        long smallList = countStatements(3);
+
+        addComplaints(30);
+        long largeList = countStatements(33);
+
+        assertThat(largeList).isEqualTo(smallList);
+    }
+
+    @Test
+    void batchMappingReportsActiveCountOnEveryRow() {
+        addComplaints(4);
+        complaintRepository.save(complaint(ComplaintStatus.RESOLVED));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OfficerComplaintResponse> responses =
+                officerComplaintService.getAssignedComplaintResponses(officer);
+
+        assertThat(responses).hasSize(5);
+        assertThat(responses)
+                .extracting(OfficerComplaintResponse::getAssignedOfficerActiveComplaints)
+                .containsOnly(4L);
+    }
+
+    // The controller passes an unloaded reference built from the token's id
+    @Test
+    void assignedListFromTheTokenDoesNotLoadTheOfficer() {
+        addComplaints(2);
+        entityManager.flush();
+        entityManager.clear();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(officer.getId(), officer.getEmail(), Role.OFFICER), null, List.of()));
+        try {
+            Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            stats.clear();
+
+            Officer reference = currentUser.officerReference();
+            assertThat(Hibernate.isInitialized(reference)).isFalse();
+            assertThat(officerComplaintService.getAssignedComplaintResponses(reference)).hasSize(2);
+
+            // One count, one joined list; no officer lookup
+            assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void statusChangeQueuesAMailForTheCitizen() {
+        Complaint complaint = complaintRepository.save(complaint(ComplaintStatus.IN_PROGRESS));
+
+        officerComplaintService.updateStatus(officer, complaint.getId(), ComplaintStatus.IN_PROGRESS);
+        assertThat(statusMails()).isEmpty();
+
+        officerComplaintService.updateStatus(officer, complaint.getId(), ComplaintStatus.RESOLVED);
+        assertThat(statusMails()).extracting(EmailOutbox::getRecipient).containsExactly(citizen.getEmail());
+    }
+
+    private List<EmailOutbox> statusMails() {
+        return emailOutboxRepository.findAll().stream()
+                .filter(m -> m.getType() == EmailType.COMPLAINT_STATUS)
+                .toList();
+    }
+
+    private long countStatements(int expectedRows) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        List<OfficerComplaintResponse> responses =
+                officerComplaintService.getAssignedComplaintResponses(officer);
+
+        assertThat(responses).hasSize(expectedRows);
+        return stats.getPrepareStatementCount();
+    }
+
+    private void addComplaints(int count) {
+        for (int i = 0; i < count; i++) {
+            complaintRepository.save(complaint(ComplaintStatus.IN_PROGRESS));
+        }
+    }
+
+    private Complaint complaint(ComplaintStatus status) {
+        return Complaint.builder()
+                .title("Pothole")
+                .category(ComplaintCategory.ROADS)
+                .status(status)
+                .citizen(citizen)
+                .citizenName(citizen.getName())
+                .citizenPhone("9999999999")
+                .latitude(18.52)
+                .longitude(73.85)
+                .assignedOfficer(officer)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.OfficerWorkloadResponse;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.OfficerRepository;
+import com.example.demo.repositories.OfficerWorkloadView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Active means PENDING or IN_PROGRESS; every other status is off the officer's plate
+@SpringBootTest
+@Transactional
+class OfficerWorkloadQueryTest {
+
+    @Autowired
+    private OfficerWorkloadService officerWorkloadService;
+
+    @Autowired
+    private OfficerRepository officerRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    private Citizen citizen;
+    private Officer busy;
+    private Officer idle;
+    private Officer otherDepartment;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("workload-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+        busy = officer("workload-busy@test.com", ComplaintCategory.ROADS);
+        idle = officer("workload-idle@test.com", ComplaintCategory.ROADS);
+        otherDepartment = officer("workload-water@test.com", ComplaintCategory.WATER);
+
+        for (ComplaintStatus status : ComplaintStatus.values()) {
+            complaint(busy, status);
+        }
+        complaint(busy, ComplaintStatus.PENDING);
+        complaint(otherDepartment, ComplaintStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void countsOnlyPendingAndInProgressComplaints() {
+        Map<Long, OfficerWorkloadView> rows = byId(
+                officerRepository.findWorkload(OfficerWorkloadService.ACTIVE_STATUSES, null),
+                OfficerWorkloadView::getId);
+
+        assertThat(rows.get(busy.getId()).getActiveComplaints()).isEqualTo(3);
+        assertThat(rows.get(otherDepartment.getId()).getActiveComplaints()).isEqualTo(1);
+    }
+
+    @Test
+    void officersWithoutComplaintsAreListedWithZero() {
+        Map<Long, OfficerWorkloadView> rows = byId(
+                officerRepository.findWorkload(OfficerWorkloadService.ACTIVE_STATUSES, null),
+                OfficerWorkloadView::getId);
+
+        assertThat(rows).containsKey(idle.getId());
+        assertThat(rows.get(idle.getId()).getActiveComplaints()).isZero();
+    }
+
+    @Test
+    void departmentFilterAndLoadLevels() {
+        Map<Long, OfficerWorkloadResponse> rows = byId(
+                officerWorkloadService.getWorkloadByLoad("roads"), OfficerWorkloadResponse::getId);
+
+        assertThat(rows).containsKeys(busy.getId(), idle.getId()).doesNotContainKey(otherDepartment.getId());
+        assertThat(rows.get(idle.getId()).getStatus()).isEqualTo("AVAILABLE");
+        assertThat(rows.get(busy.getId()).getStatus()).isEqualTo("BUSY");
+    }
+
+    private Officer officer(String email, ComplaintCategory department) {
+        return officerRepository.save(Officer.builder()
+                .name(email)
+                .email(email)
+                .password("x")
+                .phoneNo("9999999999")
+                .address("Ward 1")
+                .age(30)
+                .department(department)
+                .build());
+    }
+
+    private void complaint(Officer officer, ComplaintStatus status) {
+        complaintRepository.save(Complaint.builder()
+                .citizen(citizen)
+                .assignedOfficer(officer)
+                .title("Pothole")
+                .category(officer.getDepartment())
+                .latitude(18.52)
+                .longitude(73.85)
+                .citizenName("Citizen")
+                .citizenPhone("9999999999")
+                .submissionDate(LocalDateTime.now())
+                .status(status)
+                .build());
+    }
+
+    private static <T> Map<Long, T> byId(List<T> rows, Function<T, Long> id) {
+        return rows.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
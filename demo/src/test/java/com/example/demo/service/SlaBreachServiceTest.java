@@ -0,0 +1,177 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.*;
+import com.example.demo.payload.ComplaintEventResponse;
+import com.example.demo.repositories.CitizenRepository;
+import com.example.demo.repositories.ComplaintDeadlineView;
+import com.example.demo.repositories.ComplaintEventRepository;
+import com.example.demo.repositories.ComplaintRepository;
+import com.example.demo.repositories.OfficerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the deadline queue is only updated after commit
+@SpringBootTest
+class SlaBreachServiceTest {
+
+    @Autowired
+    private SlaBreachService slaBreachService;
+
+    @Autowired
+    private OfficerComplaintService officerComplaintService;
+
+    @Autowired
+    private ComplaintEventService complaintEventService;
+
+    @Autowired
+    private ComplaintEventRepository complaintEventRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private CitizenRepository citizenRepository;
+
+    @Autowired
+    private OfficerRepository officerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Citizen citizen;
+    private Officer officer;
+
+    @BeforeEach
+    void setUp() {
+        citizen = citizenRepository.save(Citizen.builder()
+                .name("Citizen")
+                .email("sla-citizen@test.com")
+                .password("x")
+                .role(Role.CITIZEN)
+                .build());
+        officer = officerRepository.save(Officer.builder()
+                .name("SLA Officer")
+                .email("sla-officer@test.com")
+                .password("x")
+                .phoneNo("9999999999")
+                .address("Ward 1")
+                .age(30)
+                .department(ComplaintCategory.ROADS)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        complaintEventService.flush();
+        complaintEventRepository.deleteAllInBatch();
+        complaintRepository.deleteAll(complaintRepository.findByCitizenId(citizen.getId()));
+        officerRepository.delete(officer);
+        citizenRepository.delete(citizen);
+        complaintEventService.rebuildSla();
+    }
+
+    @Test
+    void overdueComplaintIsBreachedOnce() {
+        Complaint overdue = save(LocalDate.now().minusDays(1), ComplaintStatus.IN_PROGRESS);
+        Complaint dueToday = save(LocalDate.now(), ComplaintStatus.IN_PROGRESS);
+        Complaint resolved = save(LocalDate.now().minusDays(1), ComplaintStatus.RESOLVED);
+
+        assertThat(slaBreachService.nextDeadline()).isEqualTo(LocalDate.now().atStartOfDay());
+
+        LocalDateTime now = LocalDateTime.now();
+        slaBreachService.fireDue(now);
+
+        assertThat(complaintRepository.findById(overdue.getId()).orElseThrow().getSlaBreachedAt()).isNotNull();
+        assertThat(complaintRepository.findById(dueToday.getId()).orElseThrow().getSlaBreachedAt()).isNull();
+        assertThat(complaintRepository.findById(resolved.getId()).orElseThrow().getSlaBreachedAt()).isNull();
+
+        // Breached complaints leave the queue; firing again changes nothing
+        slaBreachService.fireDue(now.plusMinutes(1));
+        complaintEventService.flush();
+        assertThat(complaintEventService.getEvents(overdue.getId()))
+                .extracting(ComplaintEventResponse::getType)
+                .containsOnlyOnce("SLA_BREACHED");
+
+        // The day after, today's complaint is due too
+        slaBreachService.fireDue(LocalDate.now().plusDays(1).atTime(0, 1));
+        assertThat(complaintRepository.findById(dueToday.getId()).orElseThrow().getSlaBreachedAt()).isNotNull();
+    }
+
+    @Test
+    void newExpectedDateRearmsTheCheck() {
+        Complaint complaint = save(LocalDate.now().minusDays(2), ComplaintStatus.IN_PROGRESS);
+        slaBreachService.fireDue(LocalDateTime.now());
+        assertThat(complaintRepository.findById(complaint.getId()).orElseThrow().getSlaBreachedAt()).isNotNull();
+
+        officerComplaintService.updateExpectedCompletionDate(officer, complaint.getId(), LocalDate.now().minusDays(1));
+
+        assertThat(complaintRepository.findById(complaint.getId()).orElseThrow().getSlaBreachedAt()).isNull();
+        slaBreachService.fireDue(LocalDateTime.now());
+        assertThat(complaintRepository.findById(complaint.getId()).orElseThrow().getSlaBreachedAt()).isNotNull();
+    }
+
+    @Test
+    void onlyOneClaimantFlagsTheBreach() {
+        Complaint overdue = save(LocalDate.now().minusDays(1), ComplaintStatus.IN_PROGRESS);
+        LocalDateTime now = LocalDateTime.now();
+
+        int first = transactionTemplate.execute(tx -> complaintRepository.markSlaBreached(
+                overdue.getId(), now, now.toLocalDate(), ComplaintStatus.OPEN));
+        int second = transactionTemplate.execute(tx -> complaintRepository.markSlaBreached(
+                overdue.getId(), now.plusSeconds(1), now.toLocalDate(), ComplaintStatus.OPEN));
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+    }
+
+    @Test
+    void deadlinePagesFollowDateThenId() {
+        LocalDate today = LocalDate.now();
+        Complaint late = save(today.plusDays(1), ComplaintStatus.IN_PROGRESS);
+        Complaint early = save(today.minusDays(1), ComplaintStatus.IN_PROGRESS);
+        Complaint sameDay = save(today.minusDays(1), ComplaintStatus.PENDING);
+
+        List<Long> ids = new ArrayList<>();
+        LocalDate afterDate = today.minusDays(3);
+        long afterId = 0;
+        while (true) {
+            List<ComplaintDeadlineView> page = complaintRepository.findDeadlinesAfter(
+                    afterDate, afterId, today.plusDays(3), ComplaintStatus.OPEN, PageRequest.of(0, 2));
+            if (page.isEmpty()) break;
+            page.forEach(row -> ids.add(row.getId()));
+            afterDate = page.get(page.size() - 1).getExpectedCompletionDate();
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        assertThat(ids).containsSubsequence(early.getId(), sameDay.getId(), late.getId());
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+
+    private Complaint save(LocalDate expected, ComplaintStatus status) {
+        return complaintRepository.save(Complaint.builder()
+                .citizen(citizen)
+                .assignedOfficer(officer)
+                .title("Pothole")
+                .category(ComplaintCategory.ROADS)
+                .latitude(18.52)
+                .longitude(73.85)
+                .citizenName("Citizen")
+                .citizenPhone("9999999999")
+                .submissionDate(LocalDateTime.now().minusDays(5))
+                .status(status)
+                .expectedCompletionDate(expected)
+                .build());
+    }
+}
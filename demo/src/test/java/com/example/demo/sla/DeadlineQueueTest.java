@@ -0,0 +1,55 @@
+package com.example.demo.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineQueueTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void dueDeadlinesArePolledEarliestFirst() {
+        DeadlineQueue queue = new DeadlineQueue();
+        queue.put(3, T0.plusDays(3));
+        queue.put(1, T0.plusDays(1));
+        queue.put(2, T0.plusDays(2));
+
+        assertThat(queue.nextDeadline()).isEqualTo(T0.plusDays(1));
+        assertThat(queue.pollDue(T0.plusDays(2), 10)).containsExactly(1L, 2L);
+        assertThat(queue.pollDue(T0.plusDays(2), 10)).isEmpty();
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.nextDeadline()).isEqualTo(T0.plusDays(3));
+    }
+
+    @Test
+    void movedAndRemovedDeadlinesAreNotFired() {
+        DeadlineQueue queue = new DeadlineQueue();
+        queue.put(1, T0);
+        queue.put(2, T0);
+        queue.put(1, T0.plusDays(5));
+        queue.remove(2);
+
+        assertThat(queue.pollDue(T0.plusDays(1), 10)).isEmpty();
+        assertThat(queue.nextDeadline()).isEqualTo(T0.plusDays(5));
+
+        // Moving back to an earlier deadline only fires once
+        queue.put(1, T0);
+        assertThat(queue.pollDue(T0.plusDays(10), 10)).containsExactly(1L);
+        assertThat(queue.size()).isZero();
+        assertThat(queue.nextDeadline()).isNull();
+    }
+
+    @Test
+    void pollRespectsLimit() {
+        DeadlineQueue queue = new DeadlineQueue();
+        for (long id = 1; id <= 5; id++) {
+            queue.put(id, T0.plusMinutes(id));
+        }
+
+        assertThat(queue.pollDue(T0.plusDays(1), 2)).containsExactly(1L, 2L);
+        assertThat(queue.pollDue(T0.plusDays(1), 10)).containsExactly(3L, 4L, 5L);
+    }
+}
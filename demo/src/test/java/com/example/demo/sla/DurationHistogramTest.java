@@ -0,0 +1,62 @@
+package com.example.demo.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DurationHistogramTest {
+
+    @Test
+    void percentilesStayWithinBucketPrecision() {
+        DurationHistogram histogram = new DurationHistogram();
+        Random random = new Random(7);
+        long[] values = new long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            // Minutes to weeks, log-uniform like real resolution times
+            values[i] = (long) Math.exp(Math.log(60) + random.nextDouble() * Math.log(14 * 24 * 60));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : new double[]{50, 90, 99}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            assertThat((double) histogram.percentile(p)).isCloseTo(exact, within(exact * 0.021));
+        }
+        assertThat(histogram.count()).isEqualTo(values.length);
+        assertThat(histogram.max()).isEqualTo(values[values.length - 1]);
+    }
+
+    @Test
+    void smallAndOutOfRangeValues() {
+        DurationHistogram histogram = new DurationHistogram();
+        assertThat(histogram.percentile(50)).isZero();
+
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(-5);
+        assertThat(histogram.percentile(50)).isZero();
+        assertThat(histogram.percentile(100)).isEqualTo(1);
+
+        histogram.record(DurationHistogram.MAX_TRACKABLE_SECONDS * 3);
+        assertThat(histogram.percentile(100)).isEqualTo(DurationHistogram.MAX_TRACKABLE_SECONDS * 3);
+        assertThat(histogram.mean()).isGreaterThan(0);
+    }
+
+    @Test
+    void slaIndexGroupsByCategoryAndOfficer() {
+        SlaIndex index = new SlaIndex();
+        index.record(SlaMetric.TIME_TO_RESOLVE, "ROADS", 10L, 3600);
+        index.record(SlaMetric.TIME_TO_RESOLVE, "ROADS", 2L, 7200);
+        index.record(SlaMetric.TIME_TO_RESOLVE, "WATER", null, 60);
+        index.record(SlaMetric.TIME_TO_ASSIGN, "ROADS", 10L, 30);
+
+        assertThat(index.get(SlaMetric.TIME_TO_RESOLVE, SlaIndex.GroupBy.ALL).get(SlaIndex.ALL).count()).isEqualTo(3);
+        assertThat(index.get(SlaMetric.TIME_TO_RESOLVE, SlaIndex.GroupBy.CATEGORY)).containsOnlyKeys("ROADS", "WATER");
+        assertThat(index.get(SlaMetric.TIME_TO_RESOLVE, SlaIndex.GroupBy.OFFICER).keySet()).containsExactly("2", "10");
+        assertThat(index.get(SlaMetric.TIME_TO_ASSIGN, SlaIndex.GroupBy.CATEGORY).get("ROADS").max()).isEqualTo(30);
+    }
+}
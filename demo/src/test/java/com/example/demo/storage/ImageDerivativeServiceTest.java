@@ -0,0 +1,97 @@
+package com.example.demo.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDerivativeServiceTest {
+
+    private static final String SHA = "ab12" + "0".repeat(60);
+
+    @TempDir
+    Path root;
+
+    private UploadStorageService storage;
+    private ImageDerivativeService derivatives;
+
+    @BeforeEach
+    void setUp() {
+        storage = new UploadStorageService(root.toString(), null);
+        derivatives = new ImageDerivativeService(storage, Runnable::run);
+    }
+
+    @Test
+    void generatesThumbnailAndMediumWithinTheirBounds() throws Exception {
+        Path source = writePng(2400, 1600, true);
+
+        derivatives.generate(source, SHA);
+
+        BufferedImage thumb = ImageIO.read(root.resolve(ImageVariant.THUMBNAIL.relativePath(SHA)).toFile());
+        BufferedImage medium = ImageIO.read(root.resolve(ImageVariant.MEDIUM.relativePath(SHA)).toFile());
+        assertThat(thumb.getWidth()).isEqualTo(320);
+        assertThat(thumb.getHeight()).isEqualTo(213);
+        assertThat(medium.getWidth()).isEqualTo(1280);
+        assertThat(medium.getHeight()).isEqualTo(853);
+        assertThat(Files.size(root.resolve(ImageVariant.THUMBNAIL.relativePath(SHA))))
+                .isLessThan(Files.size(source));
+    }
+
+    @Test
+    void neverUpscalesSmallImages() throws Exception {
+        Path source = writePng(200, 100, false);
+
+        derivatives.generate(source, SHA);
+
+        BufferedImage medium = ImageIO.read(root.resolve(ImageVariant.MEDIUM.relativePath(SHA)).toFile());
+        assertThat(medium.getWidth()).isEqualTo(200);
+        assertThat(medium.getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    void variantFinishedAfterTheOriginalWasDeletedIsDiscarded() throws Exception {
+        Path original = root.resolve("gone.png");
+        Path target = root.resolve(ImageVariant.THUMBNAIL.relativePath(SHA));
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), ".variant-", ".part");
+
+        assertThat(storage.publishVariant(SHA, original, tmp, target)).isFalse();
+
+        assertThat(tmp).doesNotExist();
+        assertThat(target).doesNotExist();
+    }
+
+    @Test
+    void variantUrlsExistOnlyForDecodableBlobs() {
+        String blob = "/uploads/blobs/ab/12/" + SHA;
+
+        assertThat(ImageVariant.THUMBNAIL.urlFor(blob + ".png"))
+                .isEqualTo("/uploads/derived/ab/12/" + SHA + "_thumb.jpg");
+        assertThat(ImageVariant.MEDIUM.urlFor(blob + ".jpg"))
+                .isEqualTo("/uploads/derived/ab/12/" + SHA + "_medium.jpg");
+        assertThat(ImageVariant.THUMBNAIL.urlFor(blob + ".webp")).isNull();
+        assertThat(ImageVariant.THUMBNAIL.urlFor("/uploads/complaints/old_photo.png")).isNull();
+        assertThat(ImageVariant.THUMBNAIL.urlFor(null)).isNull();
+    }
+
+    private Path writePng(int width, int height, boolean alpha) throws Exception {
+        BufferedImage image = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new java.awt.GradientPaint(0, 0, Color.BLUE, width, height, new Color(255, 0, 0, 128)));
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+
+        Path source = root.resolve("source.png");
+        ImageIO.write(image, "png", source.toFile());
+        return source;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.storage;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload serving throughput on an embedded Tomcat (NIO connector, sendfile
+ * enabled): UploadServingFilter vs. the Spring ResourceHttpRequestHandler
+ * that WebConfig used before, plus a cached-image revalidation (304).
+ * Both sides skip the security chain here, so this isolates the file path.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *        -Dexec.mainClass=com.example.demo.storage.UploadServingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class UploadServingBenchmark {
+
+    private static final String SHA = "ab12" + "5".repeat(60);
+    private static final String RELATIVE = "blobs/ab/12/" + SHA + ".jpg";
+
+    @Param({"65536", "1048576"})
+    public int fileSize;
+
+    private Path root;
+    private Tomcat tomcat;
+    private HttpClient client;
+    private URI filterUri;
+    private URI handlerUri;
+
+    @Setup
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("upload-bench");
+        byte[] content = new byte[fileSize];
+        new Random(1).nextBytes(content);
+        Path blob = root.resolve(RELATIVE);
+        Files.createDirectories(blob.getParent());
+        Files.write(blob, content);
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(root.resolve("tomcat").toString());
+        tomcat.setPort(0);
+        Context context = tomcat.addContext("", root.toString());
+
+        FilterDef filterDef = new FilterDef();
+        filterDef.setFilterName("uploads");
+        filterDef.setFilter(new UploadServingFilter(new UploadStorageService(root.toString(), null)));
+        context.addFilterDef(filterDef);
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName("uploads");
+        filterMap.addURLPattern("/uploads/*");
+        context.addFilterMap(filterMap);
+
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setLocations(List.of(new FileSystemResource(root.toString() + "/")));
+        handler.afterPropertiesSet();
+        Tomcat.addServlet(context, "resources", new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                try {
+                    req.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE,
+                            req.getRequestURI().substring("/static/".length()));
+                    handler.handleRequest(req, resp);
+                } catch (jakarta.servlet.ServletException e) {
+                    throw new IOException(e);
+                }
+            }
+        });
+        context.addServletMappingDecoded("/", "resources");
+
+        tomcat.getConnector();
+        tomcat.start();
+
+        int port = tomcat.getConnector().getLocalPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        filterUri = URI.create("http://localhost:" + port + "/uploads/" + RELATIVE);
+        handlerUri = URI.create("http://localhost:" + port + "/static/" + RELATIVE);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Benchmark
+    public int uploadServingFilter() throws Exception {
+        return fetch(HttpRequest.newBuilder(filterUri).build());
+    }
+
+    @Benchmark
+    public int resourceHandler() throws Exception {
+        return fetch(HttpRequest.newBuilder(handlerUri).build());
+    }
+
+    @Benchmark
+    public int uploadServingFilterRevalidation() throws Exception {
+        return fetch(HttpRequest.newBuilder(filterUri).header("If-None-Match", "\"" + SHA + "\"").build());
+    }
+
+    private int fetch(HttpRequest request) throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) throw new IllegalStateException("HTTP " + response.statusCode());
+        return response.statusCode();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UploadServingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
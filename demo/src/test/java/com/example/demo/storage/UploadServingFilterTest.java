@@ -0,0 +1,110 @@
+package com.example.demo.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadServingFilterTest {
+
+    private static final String SHA = "ab12" + "3".repeat(60);
+    private static final String BLOB_URL = "/uploads/blobs/ab/12/" + SHA + ".png";
+
+    @TempDir
+    Path root;
+
+    private UploadServingFilter filter;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        filter = new UploadServingFilter(new UploadStorageService(root.toString(), null));
+
+        content = new byte[10_000];
+        for (int i = 0; i < content.length; i++) content[i] = (byte) i;
+        Path blob = root.resolve("blobs/ab/12/" + SHA + ".png");
+        Files.createDirectories(blob.getParent());
+        Files.write(blob, content);
+    }
+
+    @Test
+    void servesBlobWithStrongEtagAndImmutableCaching() throws Exception {
+        MockHttpServletResponse response = get(BLOB_URL, null, null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + SHA + "\"");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo(UploadServingFilter.IMMUTABLE_CACHE);
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    void revalidationWithMatchingEtagReturnsNotModified() throws Exception {
+        MockHttpServletResponse response = get(BLOB_URL, "\"" + SHA + "\"", null);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void servesByteRanges() throws Exception {
+        MockHttpServletResponse middle = get(BLOB_URL, null, "bytes=100-199");
+        assertThat(middle.getStatus()).isEqualTo(206);
+        assertThat(middle.getHeader("Content-Range")).isEqualTo("bytes 100-199/10000");
+        assertThat(middle.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+
+        MockHttpServletResponse suffix = get(BLOB_URL, null, "bytes=-500");
+        assertThat(suffix.getHeader("Content-Range")).isEqualTo("bytes 9500-9999/10000");
+        assertThat(suffix.getContentAsByteArray()).hasSize(500);
+
+        MockHttpServletResponse outside = get(BLOB_URL, null, "bytes=20000-");
+        assertThat(outside.getStatus()).isEqualTo(416);
+        assertThat(outside.getHeader("Content-Range")).isEqualTo("bytes */10000");
+    }
+
+    @Test
+    void legacyUploadsGetWeakEtagAndShortCaching() throws Exception {
+        Files.createDirectories(root.resolve("complaints"));
+        Files.write(root.resolve("complaints/old photo.jpg"), content);
+
+        MockHttpServletResponse response = get("/uploads/complaints/old%20photo.jpg", null, null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader("ETag")).startsWith("W/\"10000-");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo(UploadServingFilter.LEGACY_CACHE);
+    }
+
+    @Test
+    void missingHiddenAndEscapingPathsAreNotFound() throws Exception {
+        Files.createDirectories(root.resolve(".tmp"));
+        Files.write(root.resolve(".tmp/upload-1.part"), content);
+
+        assertThat(get("/uploads/blobs/ab/12/missing.png", null, null).getStatus()).isEqualTo(404);
+        assertThat(get("/uploads/.tmp/upload-1.part", null, null).getStatus()).isEqualTo(404);
+        assertThat(get("/uploads/../pom.xml", null, null).getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse get(String uri, String ifNoneMatch, String range) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (ifNoneMatch != null) request.addHeader("If-None-Match", ifNoneMatch);
+        if (range != null) request.addHeader("Range", range);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+
+        // Uploads never continue into the security chain
+        assertThat(chain.getRequest()).isNull();
+        return response;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo.storage;
+
+import com.example.demo.exception.InvalidUploadException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadStorageServiceTest {
+
+    private static final byte[] PNG_HEADER = {
+            (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D
+    };
+
+    @TempDir
+    Path root;
+
+    private UploadStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new UploadStorageService(root.toString(), new InMemoryReferences());
+    }
+
+    @Test
+    void storesPngAndHashesContentWhileStreaming() throws Exception {
+        byte[] content = png(300_000);
+
+        StoredFile stored = storage.store(file("photo.png", content), 1024 * 1024, ImageFormat.ANY);
+
+        assertThat(stored.format()).isEqualTo(ImageFormat.PNG);
+        assertThat(stored.size()).isEqualTo(content.length);
+        assertThat(stored.deduplicated()).isFalse();
+        assertThat(stored.url()).isEqualTo("/uploads/blobs/" + stored.sha256().substring(0, 2) + "/"
+                + stored.sha256().substring(2, 4) + "/" + stored.sha256() + ".png");
+        assertThat(Files.readAllBytes(stored.path())).isEqualTo(content);
+        assertThat(stored.sha256()).isEqualTo(
+                HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+        assertThat(storage.resolve(stored.url())).isEqualTo(stored.path());
+        assertNoPartialFiles();
+    }
+
+    @Test
+    void rejectsContentThatIsNotAnImageRegardlessOfDeclaredType() {
+        byte[] content = "<html>not an image</html>".getBytes();
+
+        assertThatThrownBy(() -> storage.store(file("x.png", content), 1024, ImageFormat.PHOTOS))
+                .isInstanceOf(InvalidUploadException.class)
+                .hasMessage("Unsupported image type");
+        assertNoPartialFiles();
+    }
+
+    @Test
+    void rejectsFormatsOutsideTheAllowedSet() {
+        byte[] gif = {'G', 'I', 'F', '8', '9', 'a', 1, 0, 1, 0, 0, 0, 0};
+
+        assertThatThrownBy(() -> storage.store(file("x.gif", gif), 1024, ImageFormat.PHOTOS))
+                .isInstanceOf(InvalidUploadException.class);
+        assertNoPartialFiles();
+    }
+
+    @Test
+    void rejectsOversizedUploads() {
+        assertThatThrownBy(() -> storage.store(file("big.png", png(2048)), 1024, ImageFormat.PHOTOS))
+                .isInstanceOf(InvalidUploadException.class)
+                .hasMessageContaining("exceeds");
+        assertNoPartialFiles();
+    }
+
+    @Test
+    void identicalUploadsShareOneFileUntilTheLastReferenceIsDropped() {
+        byte[] content = png(10_000);
+
+        StoredFile first = storage.store(file("a.png", content), 1024 * 1024, ImageFormat.ANY);
+        StoredFile second = storage.store(file("b.png", content), 1024 * 1024, ImageFormat.ANY);
+
+        assertThat(second.url()).isEqualTo(first.url());
+        assertThat(second.deduplicated()).isTrue();
+        assertThat(blobCount()).isEqualTo(1);
+
+        storage.delete(first.url());
+        assertThat(Files.exists(first.path())).isTrue();
+
+        storage.delete(second.url());
+        assertThat(Files.exists(first.path())).isFalse();
+    }
+
+    @Test
+    void legacyUploadsAreDeletedDirectly() throws Exception {
+        Path legacy = Files.createDirectories(root.resolve("complaints")).resolve("old_photo.png");
+        Files.write(legacy, png(100));
+
+        storage.delete("/uploads/complaints/old_photo.png");
+
+        assertThat(Files.exists(legacy)).isFalse();
+    }
+
+    @Test
+    void resolveRefusesPathsOutsideTheUploadRoot() {
+        assertThat(storage.resolve("/uploads/../application.properties")).isNull();
+        assertThat(storage.resolve(null)).isNull();
+    }
+
+    private static byte[] png(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        System.arraycopy(PNG_HEADER, 0, content, 0, PNG_HEADER.length);
+        return content;
+    }
+
+    private static MockMultipartFile file(String name, byte[] content) {
+        return new MockMultipartFile("file", name, "image/png", content);
+    }
+
+    private long blobCount() {
+        try (var files = Files.walk(root.resolve(UploadStorageService.BLOB_FOLDER))) {
+            return files.filter(Files::isRegularFile).count();
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    private void assertNoPartialFiles() {
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(p -> p.toString().endsWith(".part"))).isEmpty();
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    // Stands in for the database-backed counts
+    private static class InMemoryReferences extends BlobReferenceService {
+        private final Map<String, Integer> counts = new HashMap<>();
+
+        InMemoryReferences() {
+            super(null);
+        }
+
+        @Override
+        public boolean acquire(String sha256, long size, ImageFormat format) {
+            return counts.merge(sha256, 1, Integer::sum) == 1;
+        }
+
+        @Override
+        public boolean release(String sha256) {
+            Integer left = counts.computeIfPresent(sha256, (k, v) -> v - 1);
+            if (left == null || left > 0) return false;
+            counts.remove(sha256);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.demo.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Fans notification frames out to 2,000 sessions from a pool the size of the
+ * outbound channel, with a handful of clients that stop reading. Fast clients
+ * must get every frame while the stalled ones stay within their buffer limit.
+ */
+class SlowConsumerLoadTest {
+
+    private static final int SESSIONS = 2_000;
+    private static final int SLOW = 16;
+    private static final int FRAMES = 100;
+    private static final int COMPLAINTS = 10;
+    private static final int BUFFER_LIMIT = 4_096;
+    private static final int CHUNK = 100;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService outbound;
+    private CountDownLatch unblock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outbound = Executors.newFixedThreadPool(32);
+        unblock = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        outbound.shutdownNow();
+    }
+
+    @Test
+    void conflateKeepsOneQueuedFramePerComplaintForStalledClients() throws Exception {
+        Load load = run(OverflowPolicy.CONFLATE);
+
+        load.assertFastSessionsGotEverything();
+        for (SlowConsumerSessionDecorator session : load.slow) {
+            assertThat(session.getBufferSize()).isLessThanOrEqualTo(COMPLAINTS * frame(FRAMES, 0).getPayloadLength());
+        }
+        assertThat(load.handler.slowSessions()).isEqualTo(SLOW);
+        assertThat(counter("websocket.frames.conflated")).isPositive();
+        assertThat(counter("websocket.frames.dropped")).isZero();
+
+        unblock.countDown();
+        load.awaitSlowDrained();
+        assertThat(load.handler.bufferedBytes()).isZero();
+    }
+
+    @Test
+    void dropOldestCapsStalledBuffersAtTheLimit() throws Exception {
+        Load load = run(OverflowPolicy.DROP_OLDEST);
+
+        load.assertFastSessionsGotEverything();
+        for (SlowConsumerSessionDecorator session : load.slow) {
+            assertThat(session.getBufferSize()).isBetween(1, BUFFER_LIMIT);
+        }
+        assertThat(gauge("websocket.sessions.slow")).isEqualTo(SLOW);
+        assertThat(gauge("websocket.sessions.buffered.bytes")).isLessThanOrEqualTo(SLOW * BUFFER_LIMIT);
+        assertThat(counter("websocket.frames.dropped")).isPositive();
+        // Stalled sessions are trimmed, not closed
+        assertThat(meterRegistry.get("websocket.sessions.limit-exceeded").functionCounter().count()).isZero();
+
+        unblock.countDown();
+        load.awaitSlowDrained();
+    }
+
+    @Test
+    void terminateClosesTheSessionOnceTheBufferIsFull() throws Exception {
+        WebSocketSession delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("slow");
+        doAnswer(blockingSend(new AtomicInteger())).when(delegate).sendMessage(any());
+        SlowConsumerSessionDecorator session = decorator(delegate, OverflowPolicy.TERMINATE, 60_000);
+
+        sendInBackground(session, frame(0, 0));
+        awaitSendStarted(session);
+
+        assertThatThrownBy(() -> {
+            for (int i = 1; i <= FRAMES; i++) {
+                session.sendMessage(frame(i, i));
+            }
+        }).isInstanceOf(SessionLimitExceededException.class)
+                .extracting(e -> ((SessionLimitExceededException) e).getStatus())
+                .isEqualTo(CloseStatus.SESSION_NOT_RELIABLE);
+
+        // Later frames are ignored; the handler closes the session as not reliable
+        session.sendMessage(frame(FRAMES + 1, 1));
+        session.close(CloseStatus.SERVER_ERROR);
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void sendStuckPastTheTimeLimitClosesTheSessionWhateverThePolicy() throws Exception {
+        SlowConsumerSessionDecorator session = decorator(
+                session("stuck", blockingSend(new AtomicInteger())), OverflowPolicy.CONFLATE, 50);
+
+        sendInBackground(session, frame(0, 0));
+        awaitSendStarted(session);
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> session.sendMessage(frame(1, 1)))
+                .isInstanceOf(SessionLimitExceededException.class)
+                .hasMessageContaining("Send time");
+    }
+
+    @Test
+    void controlFramesAreNeverDroppedOrConflated() throws Exception {
+        AtomicInteger received = new AtomicInteger();
+        SlowConsumerSessionDecorator session = decorator(
+                session("receipts", blockingSend(received)), OverflowPolicy.DROP_OLDEST, 60_000);
+
+        sendInBackground(session, frame(0, 0));
+        awaitSendStarted(session);
+        TextMessage receipt = new TextMessage("RECEIPT\nreceipt-id:r-1\n\n\0");
+        session.sendMessage(receipt);
+        for (int i = 1; i <= FRAMES; i++) {
+            session.sendMessage(frame(i, 1));
+        }
+
+        assertThat(session.getBufferSize()).isLessThanOrEqualTo(BUFFER_LIMIT);
+        unblock.countDown();
+        awaitDrained(session);
+        // the blocked frame, the receipt and whatever MESSAGE frames were kept
+        assertThat(received.get()).isGreaterThan(2).isLessThan(FRAMES + 2);
+    }
+
+    // ---------------- LOAD ----------------
+    private Load run(OverflowPolicy policy) throws Exception {
+        BackpressureWebSocketHandler handler = new BackpressureWebSocketHandler(
+                mock(MessageChannel.class), mock(SubscribableChannel.class), policy, meterRegistry);
+        handler.setSendTimeLimit(60_000);
+        handler.setSendBufferSizeLimit(BUFFER_LIMIT);
+
+        Load load = new Load(handler);
+        for (int i = 0; i < SESSIONS; i++) {
+            AtomicInteger received = new AtomicInteger();
+            boolean slow = i % (SESSIONS / SLOW) == 0;
+            WebSocketSession delegate = session("s-" + i,
+                    slow ? blockingSend(received) : invocation -> received.incrementAndGet());
+            SlowConsumerSessionDecorator decorated = (SlowConsumerSessionDecorator) handler.decorateSession(delegate);
+            (slow ? load.slow : load.fast).add(decorated);
+            (slow ? load.slowReceived : load.fastReceived).add(received);
+        }
+
+        // Every frame to a stalled session but the one blocking its sender returns at once
+        CountDownLatch queued = new CountDownLatch(SLOW * (FRAMES - 1));
+        List<Future<?>> fastSends = new ArrayList<>();
+        for (int f = 0; f < FRAMES; f++) {
+            TextMessage frame = frame(f, f % COMPLAINTS);
+            for (int from = 0; from < load.fast.size(); from += CHUNK) {
+                List<SlowConsumerSessionDecorator> chunk =
+                        load.fast.subList(from, Math.min(from + CHUNK, load.fast.size()));
+                fastSends.add(outbound.submit(() -> {
+                    for (SlowConsumerSessionDecorator session : chunk) {
+                        session.sendMessage(frame);
+                    }
+                    return null;
+                }));
+            }
+            for (SlowConsumerSessionDecorator session : load.slow) {
+                outbound.submit(() -> {
+                    session.sendMessage(frame);
+                    queued.countDown();
+                    return null;
+                });
+            }
+        }
+
+        for (Future<?> send : fastSends) {
+            send.get(30, TimeUnit.SECONDS);
+        }
+        assertThat(queued.await(30, TimeUnit.SECONDS)).isTrue();
+        return load;
+    }
+
+    private class Load {
+        final BackpressureWebSocketHandler handler;
+        final List<SlowConsumerSessionDecorator> fast = new ArrayList<>();
+        final List<SlowConsumerSessionDecorator> slow = new ArrayList<>();
+        final List<AtomicInteger> fastReceived = new ArrayList<>();
+        final List<AtomicInteger> slowReceived = new ArrayList<>();
+
+        Load(BackpressureWebSocketHandler handler) {
+            this.handler = handler;
+        }
+
+        void assertFastSessionsGotEverything() {
+            assertThat(fast).hasSize(SESSIONS - SLOW);
+            assertThat(fastReceived).allSatisfy(received -> assertThat(received.get()).isEqualTo(FRAMES));
+            assertThat(fast).allSatisfy(session -> assertThat(session.getBufferSize()).isZero());
+        }
+
+        void awaitSlowDrained() throws InterruptedException {
+            for (SlowConsumerSessionDecorator session : slow) {
+                awaitDrained(session);
+            }
+            assertThat(slowReceived).allSatisfy(received -> assertThat(received.get()).isBetween(2, FRAMES));
+        }
+    }
+
+    // ---------------- HELPERS ----------------
+    private SlowConsumerSessionDecorator decorator(WebSocketSession delegate, OverflowPolicy policy,
+                                                   int sendTimeLimit) {
+        return new SlowConsumerSessionDecorator(delegate, sendTimeLimit, BUFFER_LIMIT, policy,
+                meterRegistry.counter("websocket.frames.dropped"),
+                meterRegistry.counter("websocket.frames.conflated"));
+    }
+
+    // Stub-only: 200k recorded invocations would dominate the test's memory
+    private static WebSocketSession session(String id, org.mockito.stubbing.Answer<?> onSend) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class, withSettings().stubOnly());
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(onSend).when(session).sendMessage(any());
+        return session;
+    }
+
+    // The first send stalls until the test releases it, like a client that stopped reading
+    private org.mockito.stubbing.Answer<?> blockingSend(AtomicInteger received) {
+        return invocation -> {
+            if (received.getAndIncrement() == 0) {
+                unblock.await(30, TimeUnit.SECONDS);
+            }
+            return null;
+        };
+    }
+
+    private static TextMessage frame(int seq, long complaintId) {
+        return new TextMessage("MESSAGE\ndestination:/user/queue/notify\ncontent-type:application/json"
+                + "\nsubscription:sub-0\nmessage-id:m-" + seq + "\n\n"
+                + "{\"complaintId\":" + complaintId + ",\"message\":\"Status updated: IN_PROGRESS\",\"id\":"
+                + (1_000_000 + seq) + "}\0");
+    }
+
+    private void sendInBackground(SlowConsumerSessionDecorator session, TextMessage frame) {
+        outbound.submit(() -> {
+            session.sendMessage(frame);
+            return null;
+        });
+    }
+
+    private static void awaitSendStarted(SlowConsumerSessionDecorator session) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (session.getTimeSinceSendStarted() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(session.getTimeSinceSendStarted()).isPositive();
+    }
+
+    private static void awaitDrained(SlowConsumerSessionDecorator session) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((session.getBufferSize() > 0 || session.getTimeSinceSendStarted() > 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(session.getBufferSize()).isZero();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}